@@ -0,0 +1,141 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import co.edu.uniandes.dse.musica.MainApplication;
+
+/**
+ * Application context without the web layer over an H2 database filled with a
+ * catalog of the given number of canciones. The other tables keep the
+ * proportions of a real catalog: one album every 10 canciones, one creador
+ * and one playlist every 100, and 200 generos.
+ *
+ * The rows are inserted with plain SQL so that seeding a million canciones
+ * takes seconds instead of going through the services.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+	/**
+	 * Number of canciones in the catalog.
+	 */
+	@Param({ "10000", "100000", "1000000" })
+	private int catalogSize;
+
+	private ConfigurableApplicationContext context;
+
+	private int albums;
+
+	private int creadores;
+
+	private int playlists;
+
+	private int generos;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(MainApplication.class).web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark-" + catalogSize + ";DB_CLOSE_DELAY=-1",
+						"spring.jpa.properties.hibernate.generate_statistics=false", "spring.main.banner-mode=off",
+						"logging.level.root=WARN")
+				.run();
+
+		albums = Math.max(1, catalogSize / 10);
+		creadores = Math.max(1, catalogSize / 100);
+		playlists = Math.max(1, catalogSize / 100);
+		generos = 200;
+		seed(context.getBean(JdbcTemplate.class));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Inserts the catalog with the ids 1 to n and moves the sequences past them,
+	 * so that the rows created by the services do not collide with the seed.
+	 */
+	private void seed(JdbcTemplate jdbc) {
+		jdbc.update("INSERT INTO genero_entity (id, uuid, nombre, version) SELECT x, SECURE_RAND(16), 'Genero ' || x, 0 FROM SYSTEM_RANGE(1, ?)",
+				generos);
+		jdbc.update("INSERT INTO cancion_entity (id, uuid, titulo, titulo_normalizado, duracion, link, portada, version) "
+				+ "SELECT x, SECURE_RAND(16), 'Cancion ' || x, 'cancion ' || x, 120 + MOD(x, 240), 'https://musica.co/canciones/' || x, "
+				+ "'https://musica.co/portadas/' || x, 0 FROM SYSTEM_RANGE(1, ?)", catalogSize);
+		jdbc.update("INSERT INTO album_entity (id, uuid, titulo, imagen, version) "
+				+ "SELECT x, SECURE_RAND(16), 'Album ' || x, 'https://musica.co/albumes/' || x, 0 FROM SYSTEM_RANGE(1, ?)", albums);
+		jdbc.update("INSERT INTO creador_entity (id, uuid, nombre, nombre_normalizado, nacionalidad, imagen, version) "
+				+ "SELECT x, SECURE_RAND(16), 'Creador ' || x, 'creador ' || x, 'Colombia', 'https://musica.co/creadores/' || x, 0 FROM SYSTEM_RANGE(1, ?)",
+				creadores);
+		jdbc.update("INSERT INTO playlist_entity (id, uuid, nombre, fecha_creacion, imagen, version) "
+				+ "SELECT x, SECURE_RAND(16), 'Playlist ' || x, CURRENT_TIMESTAMP, 'https://musica.co/playlists/' || x, 0 "
+				+ "FROM SYSTEM_RANGE(1, ?)", playlists);
+
+		// Every album has 10 canciones, 3 generos and one creador
+		jdbc.update("INSERT INTO album_entity_canciones (album_entity_id, canciones_id) "
+				+ "SELECT MOD(x - 1, ?) + 1, x FROM SYSTEM_RANGE(1, ?)", albums, catalogSize);
+		jdbc.update("INSERT INTO album_entity_generos (album_entity_id, generos_id) "
+				+ "SELECT a.x, MOD(a.x * 7 + g.x, ?) + 1 FROM SYSTEM_RANGE(1, ?) a, SYSTEM_RANGE(0, 2) g", generos,
+				albums);
+		jdbc.update("INSERT INTO creador_entity_albumes (artistas_id, albumes_id) "
+				+ "SELECT MOD(x - 1, ?) + 1, x FROM SYSTEM_RANGE(1, ?)", creadores, albums);
+		// Every playlist has 50 canciones spread over the catalog
+		jdbc.update("INSERT INTO playlist_entity_canciones (playlist_entity_id, canciones_id) "
+				+ "SELECT p.x, MOD(p.x * 7919 + c.x * 104729, ?) + 1 FROM SYSTEM_RANGE(1, ?) p, SYSTEM_RANGE(0, 49) c",
+				catalogSize, playlists);
+		// and a track for each of them, in the order of the join table
+		jdbc.update("INSERT INTO pista_entity (id, uuid, playlist_id, cancion_id, posicion, version) "
+				+ "SELECT ROWNUM(), SECURE_RAND(16), playlist_entity_id, canciones_id, ROWNUM() * 4294967296, 0 "
+				+ "FROM playlist_entity_canciones");
+
+		restartSequence(jdbc, "genero_entity_seq", generos);
+		restartSequence(jdbc, "cancion_entity_seq", catalogSize);
+		restartSequence(jdbc, "album_entity_seq", albums);
+		restartSequence(jdbc, "creador_entity_seq", creadores);
+		restartSequence(jdbc, "playlist_entity_seq", playlists);
+		restartSequence(jdbc, "pista_entity_seq", playlists * 50);
+	}
+
+	private static void restartSequence(JdbcTemplate jdbc, String sequence, int rows) {
+		jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (rows + 1));
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	public int getCatalogSize() {
+		return catalogSize;
+	}
+
+	public long randomCancion() {
+		return random(catalogSize);
+	}
+
+	public long randomAlbum() {
+		return random(albums);
+	}
+
+	public long randomPlaylist() {
+		return random(playlists);
+	}
+
+	public long randomGenero() {
+		return random(generos);
+	}
+
+	private static long random(int size) {
+		return ThreadLocalRandom.current().nextLong(size) + 1;
+	}
+}
@@ -0,0 +1,81 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PlaylistDetailDTO;
+import co.edu.uniandes.dse.musica.services.AlbumService;
+import co.edu.uniandes.dse.musica.services.PlaylistService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
+
+/**
+ * Measures the two halves of a detail GET: loading an entity and mapping it to
+ * its detail DTO inside the read transaction, and writing that DTO as JSON
+ * with the ObjectMapper of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DetailBenchmark {
+
+	private ReadModelService readModelService;
+
+	private AlbumService albumService;
+
+	private PlaylistService playlistService;
+
+	private ObjectMapper objectMapper;
+
+	private AlbumDetailDTO album;
+
+	private PlaylistDetailDTO playlist;
+
+	@Setup
+	public void setUp(CatalogState catalog) throws Exception {
+		readModelService = catalog.getBean(ReadModelService.class);
+		albumService = catalog.getBean(AlbumService.class);
+		playlistService = catalog.getBean(PlaylistService.class);
+		objectMapper = catalog.getBean(ObjectMapper.class);
+
+		album = readModelService.read(() -> albumService.getAlbum(1L), AlbumDetailDTO.class);
+		playlist = readModelService.read(() -> playlistService.getPlaylist(1L), PlaylistDetailDTO.class);
+	}
+
+	@Benchmark
+	public AlbumDetailDTO mapAlbumDetail(CatalogState catalog) throws Exception {
+		long id = catalog.randomAlbum();
+		return readModelService.read(() -> albumService.getAlbum(id), AlbumDetailDTO.class);
+	}
+
+	@Benchmark
+	public PlaylistDetailDTO mapPlaylistDetail(CatalogState catalog) throws Exception {
+		long id = catalog.randomPlaylist();
+		return readModelService.read(() -> playlistService.getPlaylist(id), PlaylistDetailDTO.class);
+	}
+
+	@Benchmark
+	public byte[] serializeAlbumDetail() throws Exception {
+		return objectMapper.writeValueAsBytes(album);
+	}
+
+	@Benchmark
+	public byte[] serializePlaylistDetail() throws Exception {
+		return objectMapper.writeValueAsBytes(playlist);
+	}
+}
@@ -0,0 +1,111 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.services.CancionService;
+import co.edu.uniandes.dse.musica.services.CapituloService;
+
+/**
+ * Compares the first page of canciones and capitulos with a page about 10,000
+ * pages deep, read with a keyset cursor and with an offset. The keyset pages
+ * should cost the same at any depth, the offset ones grow with it. Run it with
+ * -p catalogSize=1000000 so the canciones are deep enough; the capitulos are
+ * seeded here, the first fifth of them without fechaPublicacion and the rest
+ * 100 per day, so the date ordering has both nulls and ties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class KeysetBenchmark {
+
+	private static final int PAGE = KeysetPage.DEFAULT_LIMIT;
+
+	private static final int PAGES = 10_000;
+
+	private static final int CAPITULOS = 250_000;
+
+	private CancionService cancionService;
+
+	private CapituloService capituloService;
+
+	private int pages;
+
+	private String cancionCursor;
+
+	private String capituloCursor;
+
+	@Setup
+	public void setUp(CatalogState catalog) throws Exception {
+		cancionService = catalog.getBean(CancionService.class);
+		capituloService = catalog.getBean(CapituloService.class);
+
+		JdbcTemplate jdbc = catalog.getBean(JdbcTemplate.class);
+		jdbc.update("INSERT INTO capitulo_entity (id, uuid, titulo, titulo_normalizado, imagen, duracion, fecha_publicacion, version) "
+				+ "SELECT x, SECURE_RAND(16), 'Capitulo ' || x, 'capitulo ' || x, 'https://musica.co/capitulos/' || x, 1800, "
+				+ "CASE WHEN x <= ? THEN NULL ELSE DATEADD('DAY', x / 100, DATE '2000-01-01') END, 0 FROM SYSTEM_RANGE(1, ?)",
+				CAPITULOS / 5, CAPITULOS);
+		jdbc.execute("ALTER SEQUENCE capitulo_entity_seq RESTART WITH " + (CAPITULOS + 1));
+		// The same page is read on every call, and H2 would otherwise return the
+		// result of the last run of a statement whose parameters and tables did not change
+		jdbc.execute("SET OPTIMIZE_REUSE_RESULTS 0");
+
+		// The ids follow both orderings, so the row at a depth is the one with that id
+		pages = Math.min(PAGES, catalog.getCatalogSize() / PAGE - 1);
+		cancionCursor = KeysetPage.encodeCursor(String.valueOf((long) pages * PAGE));
+		CapituloEntity capitulo = capituloService.getCapitulo((long) PAGES * PAGE);
+		capituloCursor = KeysetPage.encodeCursor(CapituloService.ORDER_BY_FECHA,
+				String.valueOf(capitulo.getFechaPublicacion().getTime()), capitulo.getId().toString());
+	}
+
+	@Benchmark
+	public KeysetPage<CancionDTO> cancionesFirstPage() throws Exception {
+		return cancionService.getCanciones(null, PAGE);
+	}
+
+	@Benchmark
+	public KeysetPage<CancionDTO> cancionesKeysetDeep() throws Exception {
+		return cancionService.getCanciones(cancionCursor, PAGE);
+	}
+
+	@Benchmark
+	public Page<CancionEntity> cancionesOffsetDeep() {
+		return cancionService.getCanciones(PageRequest.of(pages, PAGE, Sort.by("id")));
+	}
+
+	@Benchmark
+	public KeysetPage<CapituloEntity> capitulosFirstPage() throws Exception {
+		return capituloService.getCapitulos(CapituloService.ORDER_BY_FECHA, null, PAGE);
+	}
+
+	@Benchmark
+	public KeysetPage<CapituloEntity> capitulosKeysetDeep() throws Exception {
+		return capituloService.getCapitulos(CapituloService.ORDER_BY_FECHA, capituloCursor, PAGE);
+	}
+
+	@Benchmark
+	public Page<CapituloEntity> capitulosOffsetDeep() {
+		return capituloService.getCapitulos(PageRequest.of(PAGES, PAGE, Sort.by("fechaPublicacion", "id")));
+	}
+}
@@ -0,0 +1,110 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.mappers.EntityMapperImpl;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Compares the reflective ModelMapper with the mappers generated by MapStruct
+ * on the two detail DTOs with the most associations. The entities are built in
+ * memory so only the mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+	/**
+	 * Number of elements in each association of the mapped entity.
+	 */
+	@Param({ "10", "100" })
+	private int associations;
+
+	private DtoMapper generated;
+
+	private DtoMapper reflective;
+
+	private AlbumEntity album;
+
+	private PodcastEntity podcast;
+
+	@Setup
+	public void setUp() {
+		ModelMapper modelMapper = new ModelMapper();
+		generated = new DtoMapper(modelMapper, new EntityMapperImpl(), true);
+		reflective = new DtoMapper(modelMapper, new EntityMapperImpl(), false);
+
+		PodamFactory factory = new PodamFactoryImpl();
+		long id = 1;
+		album = factory.manufacturePojo(AlbumEntity.class);
+		album.setId(id++);
+		podcast = factory.manufacturePojo(PodcastEntity.class);
+		podcast.setId(id++);
+		for (int i = 0; i < associations; i++) {
+			CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+			creador.setId(id++);
+			album.getArtistas().add(creador);
+			podcast.getCreadores().add(creador);
+
+			CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+			cancion.setId(id++);
+			album.getCanciones().add(cancion);
+
+			GeneroEntity genero = factory.manufacturePojo(GeneroEntity.class);
+			genero.setId(id++);
+			album.getGeneros().add(genero);
+
+			CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+			capitulo.setId(id++);
+			capitulo.setPodcast(podcast);
+			podcast.getCapitulos().add(capitulo);
+		}
+	}
+
+	@Benchmark
+	public AlbumDetailDTO albumDetailModelMapper() {
+		return reflective.map(album, AlbumDetailDTO.class);
+	}
+
+	@Benchmark
+	public AlbumDetailDTO albumDetailGenerated() {
+		return generated.map(album, AlbumDetailDTO.class);
+	}
+
+	@Benchmark
+	public PodcastDetailDTO podcastDetailModelMapper() {
+		return reflective.map(podcast, PodcastDetailDTO.class);
+	}
+
+	@Benchmark
+	public PodcastDetailDTO podcastDetailGenerated() {
+		return generated.map(podcast, PodcastDetailDTO.class);
+	}
+}
@@ -0,0 +1,132 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
+import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
+import co.edu.uniandes.dse.musica.repositories.PistaRepository;
+import co.edu.uniandes.dse.musica.services.PlaylistCancionService;
+import co.edu.uniandes.dse.musica.services.PlaylistService;
+
+/**
+ * Measures the ordered operations on a playlist with the given number of
+ * tracks, each one in its own transaction as a controller would call it.
+ * Inserting and moving write a single row whatever the size of the playlist;
+ * by index, what grows with the index is the walk of the index on the playlist
+ * and the posicion to find the neighbours. By the id of the tracks the
+ * neighbours are read by their ids and a seek of that index, so those should
+ * not grow with the index. Inserting removes the track again, so the playlist
+ * keeps its size. Run it with -p catalogSize=10000, the bigger catalogs do not
+ * change this path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PlaylistOrderBenchmark {
+
+	/**
+	 * Number of tracks in the playlist.
+	 */
+	@Param({ "10000" })
+	private int tracks;
+
+	private PlaylistCancionService playlistCancionService;
+
+	private Long playlist;
+
+	private int indice;
+
+	private int destino;
+
+	/**
+	 * Ids of the tracks, in the order of the playlist when it was created. Moves
+	 * change the order but not the ids.
+	 */
+	private List<Long> pistas;
+
+	private long cancion;
+
+	@Setup(Level.Trial)
+	public void setUp(CatalogState catalog) throws Exception {
+		playlistCancionService = catalog.getBean(PlaylistCancionService.class);
+		PlaylistEntity entity = new PlaylistEntity();
+		entity.setNombre("Orden");
+		playlist = catalog.getBean(PlaylistService.class).createPlaylist(entity).getId();
+
+		Set<CancionEntity> canciones = new LinkedHashSet<>();
+		for (long id = 1; id <= Math.min(tracks, catalog.getCatalogSize()); id++) {
+			CancionEntity cancion = new CancionEntity();
+			cancion.setId(id);
+			canciones.add(cancion);
+		}
+		playlistCancionService.replaceCanciones(playlist, canciones);
+		pistas = catalog.getBean(PistaRepository.class).findIdsInOrder(playlist, Pageable.unpaged());
+	}
+
+	@Setup(Level.Invocation)
+	public void chooseIndices(CatalogState catalog) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		indice = random.nextInt(tracks);
+		destino = random.nextInt(tracks);
+		cancion = catalog.randomCancion();
+	}
+
+	@Benchmark
+	public void insertAndRemove() throws Exception {
+		playlistCancionService.insertCancion(playlist, cancion, indice);
+		playlistCancionService.removeCancionAt(playlist, indice);
+	}
+
+	@Benchmark
+	public PistaEntity append() throws Exception {
+		PistaEntity pista = playlistCancionService.insertCancion(playlist, cancion, null);
+		playlistCancionService.removeCancionAt(playlist, tracks);
+		return pista;
+	}
+
+	@Benchmark
+	public PistaEntity move() throws Exception {
+		return playlistCancionService.moveCancion(playlist, indice, destino);
+	}
+
+	@Benchmark
+	public void insertAndRemoveById() throws Exception {
+		PistaEntity pista = playlistCancionService.insertCancionDespues(playlist, cancion, pistas.get(indice));
+		playlistCancionService.removePista(playlist, pista.getId());
+	}
+
+	@Benchmark
+	public PistaEntity moveById() throws Exception {
+		return playlistCancionService.moveCancionDespues(playlist, pistas.get(indice), pistas.get(destino));
+	}
+
+	@Benchmark
+	public Page<PistaDTO> readPage() throws Exception {
+		return playlistCancionService.getPistas(playlist, PageRequest.of(indice / 50, 50));
+	}
+}
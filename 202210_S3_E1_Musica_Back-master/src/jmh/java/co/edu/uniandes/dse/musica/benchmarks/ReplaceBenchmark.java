@@ -0,0 +1,96 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
+import co.edu.uniandes.dse.musica.services.PlaylistCancionService;
+import co.edu.uniandes.dse.musica.services.PlaylistService;
+
+/**
+ * Measures replacing the canciones of a playlist with a request of the given
+ * size, both on an empty playlist, where every row of the join table is
+ * inserted, and on a playlist that already has them, where only the ids are
+ * resolved and compared. Run it with -p catalogSize=10000 to skip the bigger
+ * catalogs, which do not change this path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReplaceBenchmark {
+
+	/**
+	 * Number of canciones in the request.
+	 */
+	@Param({ "10", "1000", "10000" })
+	private int elements;
+
+	private PlaylistCancionService playlistCancionService;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private Long emptyPlaylist;
+
+	private Long fullPlaylist;
+
+	private Set<CancionEntity> canciones;
+
+	@Setup(Level.Trial)
+	public void setUp(CatalogState catalog) throws Exception {
+		playlistCancionService = catalog.getBean(PlaylistCancionService.class);
+		jdbcTemplate = catalog.getBean(JdbcTemplate.class);
+		PlaylistService playlistService = catalog.getBean(PlaylistService.class);
+
+		PlaylistEntity playlist = new PlaylistEntity();
+		playlist.setNombre("Reemplazo vacio");
+		emptyPlaylist = playlistService.createPlaylist(playlist).getId();
+		playlist = new PlaylistEntity();
+		playlist.setNombre("Reemplazo lleno");
+		fullPlaylist = playlistService.createPlaylist(playlist).getId();
+
+		long first = ThreadLocalRandom.current().nextLong(catalog.getCatalogSize() - elements + 1) + 1;
+		canciones = new LinkedHashSet<>();
+		for (long id = first; id < first + elements; id++) {
+			CancionEntity cancion = new CancionEntity();
+			cancion.setId(id);
+			canciones.add(cancion);
+		}
+		playlistCancionService.replaceCanciones(fullPlaylist, canciones);
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyPlaylist() {
+		jdbcTemplate.update("DELETE FROM pista_entity WHERE playlist_id = ?", emptyPlaylist);
+		jdbcTemplate.update("DELETE FROM playlist_entity_canciones WHERE playlist_entity_id = ?", emptyPlaylist);
+	}
+
+	@Benchmark
+	public Set<CancionEntity> replaceIntoEmpty() throws Exception {
+		return playlistCancionService.replaceCanciones(emptyPlaylist, canciones);
+	}
+
+	@Benchmark
+	public Set<CancionEntity> replaceUnchanged() throws Exception {
+		return playlistCancionService.replaceCanciones(fullPlaylist, canciones);
+	}
+}
@@ -0,0 +1,95 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
+import co.edu.uniandes.dse.musica.exceptions.ServiceUnavailableException;
+import co.edu.uniandes.dse.musica.services.ReproduccionService;
+import co.edu.uniandes.dse.musica.services.UsuarioService;
+
+/**
+ * Measures recording plays from several request threads while the writer
+ * inserts them. The plays accepted per second are what the writer sustains;
+ * the rejected ones show how often the clients were told to retry. The
+ * catalog does not change this path, run it with -p catalogSize=10000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+public class ReproduccionBenchmark {
+
+	/**
+	 * Plays in each request.
+	 */
+	@Param({ "1", "100" })
+	private int plays;
+
+	private ReproduccionService reproduccionService;
+
+	private Long usuarioId;
+
+	private byte[] body;
+
+	/**
+	 * Plays accepted and rejected by each thread.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		public long accepted;
+
+		public long rejected;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp(CatalogState catalog) {
+		reproduccionService = catalog.getBean(ReproduccionService.class);
+		UsuarioEntity usuario = new UsuarioEntity();
+		usuario.setNombre("Oyente");
+		usuarioId = catalog.getBean(UsuarioService.class).createUsuario(usuario).getId();
+
+		StringBuilder json = new StringBuilder("[");
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < plays; i++) {
+			if (i > 0)
+				json.append(',');
+			json.append("{\"cancionId\":").append(random.nextInt(catalog.getCatalogSize()) + 1).append('}');
+		}
+		body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public int record(Counters counters) throws Exception {
+		try {
+			int accepted = reproduccionService.record(usuarioId, new ByteArrayInputStream(body));
+			counters.accepted += accepted;
+			return accepted;
+		} catch (ServiceUnavailableException e) {
+			counters.rejected += plays;
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.uniandes.dse.musica.helpers.InvertedIndex;
+
+/**
+ * Measures the latency of the search index over a synthetic catalog whose
+ * words follow a Zipf distribution, like titles do. The sample mode reports
+ * the percentiles, the p99 is the figure to watch. searchMisspelled runs a
+ * fuzzy search for a word with one letter changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+	private static final String[] TYPES = { "cancion", "album", "creador", "podcast", "capitulo" };
+
+	private static final int WORDS = 50000;
+
+	private static final int QUERIES = 1024;
+
+	@Param({ "1000000" })
+	public int documents;
+
+	private InvertedIndex index;
+
+	private String[] vocabulary;
+
+	private double[] cumulative;
+
+	private String[] oneWord;
+
+	private String[] twoWords;
+
+	private String[] misspelled;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		vocabulary = new String[WORDS];
+		cumulative = new double[WORDS];
+		double total = 0;
+		for (int i = 0; i < WORDS; i++) {
+			vocabulary[i] = word(i);
+			total += 1.0 / (i + 1);
+			cumulative[i] = total;
+		}
+
+		index = new InvertedIndex();
+		for (int doc = 0; doc < documents; doc++) {
+			StringBuilder text = new StringBuilder();
+			for (int w = 2 + random.nextInt(5); w > 0; w--)
+				text.append(randomWord(random)).append(' ');
+			index.put(TYPES[doc % TYPES.length], doc, "Documento " + doc, text.toString());
+		}
+
+		oneWord = new String[QUERIES];
+		twoWords = new String[QUERIES];
+		misspelled = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			oneWord[i] = randomWord(random);
+			twoWords[i] = randomWord(random) + " " + randomWord(random);
+			char[] typo = randomWord(random).toCharArray();
+			typo[1 + random.nextInt(typo.length - 1)] = (char) ('a' + random.nextInt(26));
+			misspelled[i] = new String(typo);
+		}
+	}
+
+	@Benchmark
+	public List<InvertedIndex.Hit> searchOneTerm() {
+		return index.search(oneWord[next++ & (QUERIES - 1)], 20);
+	}
+
+	@Benchmark
+	public List<InvertedIndex.Hit> searchTwoTerms() {
+		return index.search(twoWords[next++ & (QUERIES - 1)], 20);
+	}
+
+	@Benchmark
+	public List<InvertedIndex.Hit> searchMisspelled() {
+		return index.search(misspelled[next++ & (QUERIES - 1)], 20, true);
+	}
+
+	@Benchmark
+	public List<InvertedIndex.Hit> searchCommonTerm() {
+		return index.search(vocabulary[next++ & 7], 20);
+	}
+
+	private String randomWord(Random random) {
+		double target = random.nextDouble() * cumulative[WORDS - 1];
+		int index = Arrays.binarySearch(cumulative, target);
+		return vocabulary[index >= 0 ? index : -index - 1];
+	}
+
+	/**
+	 * A made up word of letters only, different for each number.
+	 */
+	private static String word(int number) {
+		StringBuilder word = new StringBuilder("w");
+		do {
+			word.append((char) ('a' + number % 26));
+			number /= 26;
+		} while (number > 0);
+		return word.append("o").toString();
+	}
+}
@@ -0,0 +1,77 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.services.AlbumGeneroService;
+import co.edu.uniandes.dse.musica.services.CreadorService;
+import co.edu.uniandes.dse.musica.services.PlaylistCancionService;
+
+/**
+ * Measures the write paths of the services that scale with the size of the
+ * catalog, each one in its own transaction as a controller would call it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceBenchmark {
+
+	private static final AtomicLong CREADORES = new AtomicLong();
+
+	private PlaylistCancionService playlistCancionService;
+
+	private AlbumGeneroService albumGeneroService;
+
+	private CreadorService creadorService;
+
+	@Setup
+	public void setUp(CatalogState catalog) {
+		playlistCancionService = catalog.getBean(PlaylistCancionService.class);
+		albumGeneroService = catalog.getBean(AlbumGeneroService.class);
+		creadorService = catalog.getBean(CreadorService.class);
+	}
+
+	@Benchmark
+	public CancionEntity addCancion(CatalogState catalog) throws Exception {
+		return playlistCancionService.addCancion(catalog.randomPlaylist(), catalog.randomCancion());
+	}
+
+	@Benchmark
+	public Set<GeneroEntity> replaceGeneros(CatalogState catalog) throws Exception {
+		List<GeneroEntity> generos = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			GeneroEntity genero = new GeneroEntity();
+			genero.setId(catalog.randomGenero());
+			generos.add(genero);
+		}
+		return albumGeneroService.replaceGeneros(catalog.randomAlbum(), generos);
+	}
+
+	@Benchmark
+	public CreadorEntity createCreador() throws Exception {
+		CreadorEntity creador = new CreadorEntity();
+		creador.setNombre("Nuevo creador " + CREADORES.incrementAndGet());
+		creador.setNacionalidad("Colombia");
+		return creadorService.createCreador(creador);
+	}
+}
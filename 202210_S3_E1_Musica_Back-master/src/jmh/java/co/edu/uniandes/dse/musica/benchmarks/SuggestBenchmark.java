@@ -0,0 +1,102 @@
+package co.edu.uniandes.dse.musica.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.uniandes.dse.musica.helpers.SuggestionTrie;
+
+/**
+ * Measures the suggestions over a synthetic catalog of names, one request per
+ * keystroke of a name that exists, and the cost of renaming an entity. The
+ * setup prints the heap the tree takes for the given cache threshold, next to
+ * the estimate of the tree, and the names dropped to fit in maxBytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SuggestBenchmark {
+
+	private static final String[] SYLLABLES = { "la", "ma", "so", "re", "mi", "no", "che", "sol", "luz", "ca", "de",
+			"to", "ri", "an", "el", " ", " " };
+
+	private static final int PREFIXES = 4096;
+
+	@Param({ "1000000" })
+	public int names;
+
+	@Param({ "64" })
+	public int cacheThreshold;
+
+	/**
+	 * Budget of the tree, 0 for none.
+	 */
+	@Param({ "0" })
+	public long maxBytes;
+
+	private SuggestionTrie trie;
+
+	private String[] prefixes;
+
+	private Random random;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		random = new Random(42);
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+
+		String[] texts = new String[names];
+		trie = new SuggestionTrie(10, cacheThreshold, maxBytes);
+		for (int id = 0; id < names; id++) {
+			texts[id] = name();
+			trie.put("cancion", id, texts[id], random.nextInt(1000));
+		}
+
+		prefixes = new String[PREFIXES];
+		for (int i = 0; i < PREFIXES; i++) {
+			String text = texts[random.nextInt(names)];
+			prefixes[i] = text.substring(0, 1 + random.nextInt(Math.min(8, text.length())));
+		}
+		texts = null;
+		System.gc();
+		System.out.printf("%nTree of %d names: %d MB, estimated %d MB, %d dropped%n", trie.size(),
+				(runtime.totalMemory() - runtime.freeMemory() - before) >> 20, trie.estimatedBytes() >> 20,
+				trie.dropped());
+	}
+
+	@Benchmark
+	public List<SuggestionTrie.Suggestion> suggest() {
+		return trie.suggest(prefixes[next++ & (PREFIXES - 1)], 10);
+	}
+
+	@Benchmark
+	public void rename() {
+		trie.rename("cancion", random.nextInt(names), name());
+	}
+
+	private String name() {
+		StringBuilder name = new StringBuilder();
+		for (int s = 2 + random.nextInt(6); s > 0; s--)
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		return name.toString();
+	}
+}
@@ -0,0 +1,19 @@
+package co.edu.uniandes.dse.musica.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches of the detail DTOs served by the controllers. Size and expiration are
+ * set with spring.cache.caffeine.spec, entries are evicted by
+ * {@link co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor} when the data
+ * they were built from changes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String ALBUM_DETAIL = "albumDetail";
+	public static final String PODCAST_DETAIL = "podcastDetail";
+	public static final String CREADOR_DETAIL = "creadorDetail";
+}
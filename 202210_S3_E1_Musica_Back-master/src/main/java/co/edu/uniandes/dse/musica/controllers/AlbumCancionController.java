@@ -2,10 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,12 +16,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.dto.CountDTO;
 import co.edu.uniandes.dse.musica.dto.CancionDTO;
 import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.AlbumCancionService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 
 @RestController
@@ -32,41 +35,46 @@ public class AlbumCancionController {
 	private AlbumCancionService albumCancionService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping(value = "/{albumId}/canciones/{cancionId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public CancionDetailDTO addCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("albumId") Long albumId)
 			throws EntityNotFoundException, IllegalOperationException {
-		CancionEntity cancionEntity = albumCancionService.addCancion(albumId, cancionId);
-		return modelMapper.map(cancionEntity, CancionDetailDTO.class);
+		return readModelService.write(() -> albumCancionService.addCancion(albumId, cancionId), CancionDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{albumId}/canciones/{cancionId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public CancionDetailDTO getCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("albumId") Long albumId)
+	public ResponseEntity<CancionDetailDTO> getCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("albumId") Long albumId)
 			throws EntityNotFoundException, IllegalOperationException {
-		CancionEntity cancionEntity = albumCancionService.getCancion(albumId, cancionId);
-		return modelMapper.map(cancionEntity, CancionDetailDTO.class);
+		return readModelService.readVersioned(() -> albumCancionService.getCancion(albumId, cancionId), CancionDetailDTO.class).toResponseEntity();
 	}
 
 	@PutMapping(value = "/{albumId}/canciones")
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<CancionDetailDTO> addCanciones(@PathVariable("albumId") Long albumId, @RequestBody Set<CancionDTO> canciones)
 			throws EntityNotFoundException, IllegalOperationException {
-		Set<CancionEntity> entities = modelMapper.map(canciones, new TypeToken<Set<CancionEntity>>() {
-		}.getType());
-		Set<CancionEntity> cancionesList = albumCancionService.replaceCanciones(albumId, entities);
-		return modelMapper.map(cancionesList, new TypeToken<Set<CancionDetailDTO>>() {
+		Set<CancionEntity> entities = dtoMapper.map(canciones, new TypeToken<Set<CancionEntity>>() {
 		}.getType());
+		return readModelService.write(() -> albumCancionService.replaceCanciones(albumId, entities),
+				new TypeToken<Set<CancionDetailDTO>>() {
+				}.getType());
 	}
 
 	@GetMapping(value = "/{albumId}/canciones")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<CancionDetailDTO> getCanciones(@PathVariable("albumId") Long albumId) throws EntityNotFoundException {
-		Set<CancionEntity> cancionEntity = albumCancionService.getCanciones(albumId);
-		return modelMapper.map(cancionEntity, new TypeToken<Set<CancionDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<CancionDetailDTO>> getCanciones(@PathVariable("albumId") Long albumId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<CancionDetailDTO>>readVersioned(() -> albumCancionService.getCanciones(albumId),
+				new TypeToken<Set<CancionDetailDTO>>() {
+				}.getType()).toResponseEntity();
+	}
+
+	@GetMapping(value = "/{albumId}/canciones/count")
+	public CountDTO countCanciones(@PathVariable("albumId") Long albumId) throws EntityNotFoundException {
+		return new CountDTO(albumCancionService.countCanciones(albumId));
 	}
 
 	@DeleteMapping(value = "/{albumId}/canciones/{cancionId}")
@@ -1,27 +1,31 @@
 package co.edu.uniandes.dse.musica.controllers;
 
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.config.CacheConfig;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 import co.edu.uniandes.dse.musica.dto.AlbumDTO;
 import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.AlbumService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 
 
@@ -34,36 +38,40 @@ public class AlbumController {
     private AlbumService albumService; 
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private ReadModelService readModelService;
     
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
     //AlbumDetailDTO albumDetailDTO
     public AlbumDTO create(@RequestBody AlbumDTO albumDTO) throws IllegalOperationException, EntityNotFoundException {
-        AlbumEntity albumEntity = albumService.createAlbum(modelMapper.map(albumDTO, AlbumEntity.class)); 
-        return modelMapper.map(albumEntity, AlbumDTO.class);
+        return readModelService.write(() -> albumService.createAlbum(dtoMapper.map(albumDTO, AlbumEntity.class)),
+                AlbumDTO.class);
     }
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<AlbumDetailDTO> findAll() {
-        List<AlbumEntity> albums = albumService.getAlbums(); 
-        return modelMapper.map(albums, new TypeToken<List<AlbumDetailDTO>>(){}.getType());
+    public Page<AlbumDTO> findAll(Pageable pageable) {
+        return albumService.getAlbumsResumen(pageable);
     }
 
     @GetMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public AlbumDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-        AlbumEntity albumEntity = albumService.getAlbum(id); 
-        return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+    @Cacheable(cacheNames = CacheConfig.ALBUM_DETAIL, key = "#id", sync = true)
+    public ResponseEntity<AlbumDetailDTO> findOne(@PathVariable("id") Long id)
+            throws EntityNotFoundException, IllegalOperationException {
+        return readModelService.readVersioned(() -> albumService.getAlbum(id), AlbumDetailDTO.class).toResponseEntity();
     }
 
     @PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public AlbumDTO update(@PathVariable("id") Long id, @RequestBody AlbumDTO albumDTO) throws EntityNotFoundException, IllegalOperationException {
-        AlbumEntity albumEntity = albumService.updateAlbum(id, modelMapper.map(albumDTO, AlbumEntity.class));
-        return modelMapper.map(albumEntity, AlbumDTO.class); 
+    public AlbumDTO update(@PathVariable("id") Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody AlbumDTO albumDTO) throws EntityNotFoundException, IllegalOperationException {
+        return readModelService.writeIfMatch(ifMatch, () -> albumService.getAlbum(id), AlbumDetailDTO.class,
+                () -> albumService.updateAlbum(id, dtoMapper.map(albumDTO, AlbumEntity.class)),
+                AlbumDTO.class); 
     }
 
     @DeleteMapping(value = "/{id}")
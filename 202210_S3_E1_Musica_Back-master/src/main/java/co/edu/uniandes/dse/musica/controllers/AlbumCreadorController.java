@@ -2,10 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,7 +21,9 @@ import co.edu.uniandes.dse.musica.dto.CreadorDetailDTO;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.AlbumCreadorService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Clase que implementa el recurso "albumes/{id}/creadores".
@@ -36,30 +38,30 @@ public class AlbumCreadorController {
 	private AlbumCreadorService albumCreadorService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping(value = "/{albumId}/creadores/{creadorId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public CreadorDetailDTO addCreador(@PathVariable("albumId") Long albumId, @PathVariable("creadorId") Long creadorId)
 			throws EntityNotFoundException, IllegalOperationException {
-		CreadorEntity creadorEntity = albumCreadorService.addCreador(albumId, creadorId);
-		return modelMapper.map(creadorEntity, CreadorDetailDTO.class);
+		return readModelService.write(() -> albumCreadorService.addCreador(albumId, creadorId), CreadorDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{albumId}/creadores/{creadorId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public CreadorDetailDTO getCreador(@PathVariable("creadorId") Long creadorId, @PathVariable("albumId") Long albumId)
+	public ResponseEntity<CreadorDetailDTO> getCreador(@PathVariable("creadorId") Long creadorId, @PathVariable("albumId") Long albumId)
 			throws EntityNotFoundException, IllegalOperationException {
-		CreadorEntity creadorEntity = albumCreadorService.getCreador(albumId, creadorId);
-		return modelMapper.map(creadorEntity, CreadorDetailDTO.class);
+		return readModelService.readVersioned(() -> albumCreadorService.getCreador(albumId, creadorId), CreadorDetailDTO.class).toResponseEntity();
 	}
 
 	@GetMapping(value = "/{albumId}/creadores")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<CreadorDetailDTO> getCreadores(@PathVariable("albumId") Long albumId) throws EntityNotFoundException {
-		Set<CreadorEntity> creadorEntity = albumCreadorService.getArtistas(albumId);
-		return modelMapper.map(creadorEntity, new TypeToken<Set<CreadorDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<CreadorDetailDTO>> getCreadores(@PathVariable("albumId") Long albumId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<CreadorDetailDTO>>readVersioned(() -> albumCreadorService.getArtistas(albumId),
+				new TypeToken<Set<CreadorDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 	
@@ -67,11 +69,11 @@ public class AlbumCreadorController {
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<CreadorDetailDTO> replaceArtistas(@PathVariable("albumId") Long albumId, @RequestBody Set<CreadorDTO> creadores)
 			throws EntityNotFoundException, IllegalOperationException {
-		Set<CreadorEntity> entities = modelMapper.map(creadores, new TypeToken<Set<CreadorEntity>>() {
-		}.getType());
-		Set<CreadorEntity> creadoresList = albumCreadorService.replaceArtistas(albumId, entities);
-		return modelMapper.map(creadoresList, new TypeToken<Set<CreadorDetailDTO>>() {
+		Set<CreadorEntity> entities = dtoMapper.map(creadores, new TypeToken<Set<CreadorEntity>>() {
 		}.getType());
+		return readModelService.write(() -> albumCreadorService.replaceArtistas(albumId, entities),
+				new TypeToken<Set<CreadorDetailDTO>>() {
+				}.getType());
 
 	}
 
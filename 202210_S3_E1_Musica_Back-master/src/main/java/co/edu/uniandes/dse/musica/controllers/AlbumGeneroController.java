@@ -4,10 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,7 +23,9 @@ import co.edu.uniandes.dse.musica.dto.GeneroDetailDTO;
 import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.AlbumGeneroService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 
 
@@ -40,7 +42,10 @@ public class AlbumGeneroController {
 	private AlbumGeneroService albumGeneroService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	/**
 	 * Busca y devuelve el genero con el ID recibido en la URL, relativo a un album.
@@ -50,11 +55,9 @@ public class AlbumGeneroController {
 	 * @return {@link GeneroDetailDTO} - El libro encontrado en el autor.
 	 */
 	@GetMapping(value = "/{albumId}/generos/{generoId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public GeneroDetailDTO getGenero(@PathVariable("albumId") Long albumId, @PathVariable("generoId") Long generoId)
+	public ResponseEntity<GeneroDetailDTO> getGenero(@PathVariable("albumId") Long albumId, @PathVariable("generoId") Long generoId)
 			throws EntityNotFoundException, IllegalOperationException {
-		GeneroEntity generoEntity = albumGeneroService.getGenero(albumId, generoId);
-		return modelMapper.map(generoEntity, GeneroDetailDTO.class);
+		return readModelService.readVersioned(() -> albumGeneroService.getGenero(albumId, generoId), GeneroDetailDTO.class).toResponseEntity();
 	}
 
 	/**
@@ -65,11 +68,11 @@ public class AlbumGeneroController {
 	 *         Si no hay ninguno retorna una lista vacía.
 	 */
 	@GetMapping(value = "/{albumId}/generos")
-	@ResponseStatus(code = HttpStatus.OK)
-	public List<GeneroDetailDTO> getGeneros(@PathVariable("albumId") Long albumId) throws EntityNotFoundException {
-		List<GeneroEntity> generoEntity = new ArrayList<GeneroEntity>(albumGeneroService.getGeneros(albumId));
-		return modelMapper.map(generoEntity, new TypeToken<List<GeneroDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<List<GeneroDetailDTO>> getGeneros(@PathVariable("albumId") Long albumId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<List<GeneroDetailDTO>>readVersioned(() -> new ArrayList<GeneroEntity>(albumGeneroService.getGeneros(albumId)),
+				new TypeToken<List<GeneroDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 	/**
@@ -82,9 +85,8 @@ public class AlbumGeneroController {
 	@PostMapping(value = "/{albumId}/generos/{generoId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public GeneroDetailDTO addGenero(@PathVariable("albumId") Long albumId, @PathVariable("generoId") Long generoId)
-			throws EntityNotFoundException {
-		GeneroEntity generoEntity = albumGeneroService.addGenero(albumId, generoId);
-		return modelMapper.map(generoEntity, GeneroDetailDTO.class);
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.write(() -> albumGeneroService.addGenero(albumId, generoId), GeneroDetailDTO.class);
 	}
 
 	/**
@@ -99,15 +101,17 @@ public class AlbumGeneroController {
 	@PutMapping(value = "/{albumId}/generos")
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<GeneroDetailDTO> replaceGeneros(@PathVariable("albumId") Long albumId, @RequestBody List<GeneroDTO> generos)
-			throws EntityNotFoundException {
-		List<GeneroEntity> entities = modelMapper.map(generos, new TypeToken<List<GeneroEntity>>() {
+			throws EntityNotFoundException, IllegalOperationException {
+		List<GeneroEntity> entities = dtoMapper.map(generos, new TypeToken<List<GeneroEntity>>() {
 		}.getType());
 		
-		List<GeneroEntity> generosList = new ArrayList<GeneroEntity>();
-		for (GeneroEntity entity : entities) {
-			generosList.add(albumGeneroService.addGenero(albumId, entity.getId()));
-		}
-		return modelMapper.map(generosList, new TypeToken<List<GeneroDetailDTO>>() {
+		return readModelService.write(() -> {
+			List<GeneroEntity> generosList = new ArrayList<GeneroEntity>();
+			for (GeneroEntity entity : entities) {
+				generosList.add(albumGeneroService.addGenero(albumId, entity.getId()));
+			}
+			return generosList;
+		}, new TypeToken<List<GeneroDetailDTO>>() {
 		}.getType());
 
 	}
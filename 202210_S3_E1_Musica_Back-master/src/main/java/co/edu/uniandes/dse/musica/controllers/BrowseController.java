@@ -0,0 +1,52 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.BrowseDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.services.BrowseService;
+
+/**
+ * Class that filters albumes and podcasts by their facets and counts the
+ * values of each facet.
+ */
+@RestController
+@RequestMapping("/browse")
+public class BrowseController {
+
+	@Autowired
+	private BrowseService browseService;
+
+	@GetMapping("/albumes")
+	@ResponseStatus(code = HttpStatus.OK)
+	public BrowseDTO<AlbumDTO> browseAlbumes(@RequestParam(value = "generos", required = false) List<Long> generos,
+			@RequestParam(value = "artistas", required = false) List<Long> artistas,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit,
+			@RequestParam(value = "facetLimit", defaultValue = "10") int facetLimit) throws IllegalOperationException {
+		return browseService.browseAlbumes(generos, artistas, after, limit, facetLimit);
+	}
+
+	@GetMapping("/podcasts")
+	@ResponseStatus(code = HttpStatus.OK)
+	public BrowseDTO<PodcastDTO> browsePodcasts(@RequestParam(value = "temas", required = false) List<Long> temas,
+			@RequestParam(value = "creadores", required = false) List<Long> creadores,
+			@RequestParam(value = "precioMin", required = false) Double precioMin,
+			@RequestParam(value = "precioMax", required = false) Double precioMax,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit,
+			@RequestParam(value = "facetLimit", defaultValue = "10") int facetLimit) throws IllegalOperationException {
+		return browseService.browsePodcasts(temas, creadores, precioMin, precioMax, after, limit, facetLimit);
+	}
+}
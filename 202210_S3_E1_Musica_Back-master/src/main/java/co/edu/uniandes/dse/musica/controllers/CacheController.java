@@ -0,0 +1,38 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.CacheRegionDTO;
+import co.edu.uniandes.dse.musica.services.CacheStatisticsService;
+
+/**
+ * Class that exposes the hit and miss statistics of the second level and query
+ * caches.
+ */
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+	@Autowired
+	private CacheStatisticsService cacheStatisticsService;
+
+	@GetMapping
+	@ResponseStatus(code = HttpStatus.OK)
+	public List<CacheRegionDTO> findAll() {
+		return cacheStatisticsService.getRegionStatistics();
+	}
+
+	@DeleteMapping
+	@ResponseStatus(code = HttpStatus.NO_CONTENT)
+	public void clear() {
+		cacheStatisticsService.clearStatistics();
+	}
+}
@@ -2,10 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,7 +21,9 @@ import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.CancionAlbumService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Clase que implementa el recurso "canciones/{id}/albums".
@@ -36,41 +38,41 @@ public class CancionAlbumController {
 	private CancionAlbumService cancionAlbumService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@GetMapping(value = "/{cancionId}/albums/{albumId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public AlbumDetailDTO getAlbum(@PathVariable("cancionId") Long cancionId, @PathVariable("albumId") Long albumId)
+	public ResponseEntity<AlbumDetailDTO> getAlbum(@PathVariable("cancionId") Long cancionId, @PathVariable("albumId") Long albumId)
 			throws EntityNotFoundException, IllegalOperationException {
-		AlbumEntity albumEntity = cancionAlbumService.getAlbum(albumId, cancionId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+		return readModelService.readVersioned(() -> cancionAlbumService.getAlbum(albumId, cancionId), AlbumDetailDTO.class).toResponseEntity();
 	}
 
 	@GetMapping(value = "/{cancionId}/albums")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<AlbumDetailDTO> getAlbums(@PathVariable("cancionId") Long cancionId) throws EntityNotFoundException {
-		Set<AlbumEntity> albumEntity = cancionAlbumService.getAlbumes(cancionId);
-		return modelMapper.map(albumEntity, new TypeToken<Set<AlbumDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<AlbumDetailDTO>> getAlbums(@PathVariable("cancionId") Long cancionId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<AlbumDetailDTO>>readVersioned(() -> cancionAlbumService.getAlbumes(cancionId),
+				new TypeToken<Set<AlbumDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 	@PostMapping(value = "/{cancionId}/albums/{albumId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public AlbumDetailDTO addAlbum(@PathVariable("albumId") Long albumId, @PathVariable("cancionId") Long cancionId)
 			throws EntityNotFoundException, IllegalOperationException {
-		AlbumEntity albumEntity = cancionAlbumService.addAlbum(albumId, cancionId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+		return readModelService.write(() -> cancionAlbumService.addAlbum(albumId, cancionId), AlbumDetailDTO.class);
 	}
 	
 	@PutMapping(value = "/{cancionId}/albums")
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<AlbumDetailDTO> addAlbums(@PathVariable("cancionId") Long cancionId, @RequestBody Set<AlbumDTO> albums)
 			throws EntityNotFoundException, IllegalOperationException {
-		Set<AlbumEntity> entities = modelMapper.map(albums, new TypeToken<Set<AlbumEntity>>() {
-		}.getType());
-		Set<AlbumEntity> albumsList = cancionAlbumService.replaceAlbumes(cancionId, entities);
-		return modelMapper.map(albumsList, new TypeToken<Set<AlbumDetailDTO>>() {
+		Set<AlbumEntity> entities = dtoMapper.map(albums, new TypeToken<Set<AlbumEntity>>() {
 		}.getType());
+		return readModelService.write(() -> cancionAlbumService.replaceAlbumes(cancionId, entities),
+				new TypeToken<Set<AlbumDetailDTO>>() {
+				}.getType());
 	}
 
 	@DeleteMapping(value = "/{cancionId}/albums/{albumId}")
@@ -2,17 +2,21 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -21,7 +25,10 @@ import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.CancionService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 @RestController
 @RequestMapping("/canciones")
@@ -31,35 +38,58 @@ public class CancionController {
     private CancionService cancionService; 
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private ReadModelService readModelService;
     
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
-    public CancionDTO create(@RequestBody CancionDTO cancionDTO) throws IllegalOperationException {
-        CancionEntity cancionEntity = cancionService.createCancion(modelMapper.map(cancionDTO, CancionEntity.class));
-        return modelMapper.map(cancionEntity, CancionDTO.class);
+    public CancionDTO create(@RequestBody CancionDTO cancionDTO)
+            throws IllegalOperationException, EntityNotFoundException {
+        return readModelService.write(() -> cancionService.createCancion(dtoMapper.map(cancionDTO, CancionEntity.class)),
+                CancionDTO.class);
+    }
+
+    @PostMapping(value = "/batch")
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public List<CancionDTO> createBatch(@RequestBody List<CancionDTO> cancionDTOs)
+            throws IllegalOperationException, EntityNotFoundException {
+        List<CancionEntity> canciones = dtoMapper.map(cancionDTOs, new TypeToken<List<CancionEntity>>() {
+        }.getType());
+        return readModelService.write(() -> cancionService.createCanciones(canciones),
+                new TypeToken<List<CancionDTO>>() {
+                }.getType());
     }
 
     @GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<CancionDTO> findAll() {
-        List<CancionEntity> canciones = cancionService.getCanciones(); 
-        return modelMapper.map(canciones, new TypeToken<List<CancionDetailDTO>>(){}.getType());
+    public Page<CancionDTO> findAll(Pageable pageable) {
+        return cancionService.getCancionesResumen(pageable);
     }
 
-    @GetMapping(value = "/{id}")
+    @GetMapping(params = "limit")
     @ResponseStatus(code = HttpStatus.OK)
-    public CancionDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-        CancionEntity cancionEntity = cancionService.getCancion(id);
-        return modelMapper.map(cancionEntity, CancionDetailDTO.class);
+    public KeysetPage<CancionDTO> findAllAfter(@RequestParam("limit") int limit,
+            @RequestParam(value = "after", required = false) String after)
+            throws IllegalOperationException {
+        return cancionService.getCanciones(after, limit);
+    }
+
+    @GetMapping(value = "/{id}")
+    public ResponseEntity<CancionDetailDTO> findOne(@PathVariable("id") Long id)
+            throws EntityNotFoundException, IllegalOperationException {
+        return readModelService.readVersioned(() -> cancionService.getCancion(id), CancionDetailDTO.class).toResponseEntity();
     }
 
     @PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public CancionDTO update(@PathVariable("id") Long id, @RequestBody CancionDTO cancionDTO) throws EntityNotFoundException, IllegalOperationException {
-        CancionEntity cancionEntity = cancionService.updateCancion(id, modelMapper.map(cancionDTO, CancionEntity.class)); 
-        return modelMapper.map(cancionEntity, CancionDTO.class);
+    public CancionDTO update(@PathVariable("id") Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody CancionDTO cancionDTO) throws EntityNotFoundException, IllegalOperationException {
+        return readModelService.writeIfMatch(ifMatch, () -> cancionService.getCancion(id), CancionDetailDTO.class,
+                () -> cancionService.updateCancion(id, dtoMapper.map(cancionDTO, CancionEntity.class)),
+                CancionDTO.class);
     }
 
     @DeleteMapping(value = "/{id}")
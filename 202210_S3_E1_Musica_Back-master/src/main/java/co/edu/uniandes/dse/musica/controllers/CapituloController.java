@@ -0,0 +1,62 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.CapituloDetailDTO;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.services.CapituloService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
+
+/**
+ * Class that represents the capitulo controller. Capitulos are created and
+ * modified through their podcast, so this resource is read only.
+ */
+@RestController
+@RequestMapping("/capitulos")
+public class CapituloController {
+
+	@Autowired
+	private CapituloService capituloService;
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
+
+	@GetMapping
+	@ResponseStatus(code = HttpStatus.OK)
+	public Page<CapituloDetailDTO> findAll(Pageable pageable)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readPage(() -> capituloService.getCapitulos(pageable), CapituloDetailDTO.class);
+	}
+
+	@GetMapping(params = "limit")
+	@ResponseStatus(code = HttpStatus.OK)
+	public KeysetPage<CapituloDetailDTO> findAllAfter(@RequestParam("limit") int limit,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "orden", defaultValue = CapituloService.ORDER_BY_ID) String orden)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readKeysetPage(() -> capituloService.getCapitulos(orden, after, limit),
+				CapituloDetailDTO.class);
+	}
+
+	@GetMapping(value = "/{capituloId}")
+	public ResponseEntity<CapituloDetailDTO> findOne(@PathVariable("capituloId") Long capituloId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> capituloService.getCapitulo(capituloId), CapituloDetailDTO.class).toResponseEntity();
+	}
+}
@@ -2,10 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,7 +21,9 @@ import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.CreadorAlbumService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Clase que implementa el recurso "creadores/{id}/albums".
@@ -36,42 +38,42 @@ public class CreadorAlbumController {
 	private CreadorAlbumService creadorAlbumService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping(value = "/{creadorId}/albums/{albumId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public AlbumDetailDTO addAlbum(@PathVariable("albumId") Long albumId, @PathVariable("creadorId") Long creadorId)
 			throws EntityNotFoundException, IllegalOperationException {
-		AlbumEntity albumEntity = creadorAlbumService.addAlbum(albumId, creadorId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+		return readModelService.write(() -> creadorAlbumService.addAlbum(albumId, creadorId), AlbumDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{creadorId}/albums/{albumId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public AlbumDetailDTO getAlbum(@PathVariable("albumId") Long albumId, @PathVariable("creadorId") Long creadorId)
+	public ResponseEntity<AlbumDetailDTO> getAlbum(@PathVariable("albumId") Long albumId, @PathVariable("creadorId") Long creadorId)
 			throws EntityNotFoundException, IllegalOperationException {
-		AlbumEntity albumEntity = creadorAlbumService.getAlbum(albumId, creadorId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+		return readModelService.readVersioned(() -> creadorAlbumService.getAlbum(albumId, creadorId), AlbumDetailDTO.class).toResponseEntity();
 	}
 
 	@PutMapping(value = "/{creadorId}/albums")
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<AlbumDetailDTO> replaceAlbums(@PathVariable("creadorId") Long creadorId, @RequestBody Set<AlbumDTO> albums)
-			throws EntityNotFoundException {
-		Set<AlbumEntity> entities = modelMapper.map(albums, new TypeToken<Set<AlbumEntity>>() {
-		}.getType());
-		Set<AlbumEntity> albumsList = creadorAlbumService.replaceAlbumes(creadorId, entities);
-		return modelMapper.map(albumsList, new TypeToken<Set<AlbumDetailDTO>>() {
+			throws EntityNotFoundException, IllegalOperationException {
+		Set<AlbumEntity> entities = dtoMapper.map(albums, new TypeToken<Set<AlbumEntity>>() {
 		}.getType());
+		return readModelService.write(() -> creadorAlbumService.replaceAlbumes(creadorId, entities),
+				new TypeToken<Set<AlbumDetailDTO>>() {
+				}.getType());
 	}
 
 
 	@GetMapping(value = "/{creadorId}/albums")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<AlbumDetailDTO> getAlbums(@PathVariable("creadorId") Long creadorId) throws EntityNotFoundException {
-		Set<AlbumEntity> albumEntity = creadorAlbumService.getAlbumes(creadorId);
-		return modelMapper.map(albumEntity, new TypeToken<Set<AlbumDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<AlbumDetailDTO>> getAlbums(@PathVariable("creadorId") Long creadorId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<AlbumDetailDTO>>readVersioned(() -> creadorAlbumService.getAlbumes(creadorId),
+				new TypeToken<Set<AlbumDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 
@@ -1,29 +1,31 @@
 package co.edu.uniandes.dse.musica.controllers;
 
-import java.util.List;
-
-import javax.transaction.Transactional;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.config.CacheConfig;
 import co.edu.uniandes.dse.musica.dto.CreadorDTO;
 import co.edu.uniandes.dse.musica.dto.CreadorDetailDTO;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.CreadorService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Class that represents the creador controller.
@@ -32,54 +34,50 @@ import co.edu.uniandes.dse.musica.services.CreadorService;
  */
 @RestController
 @RequestMapping("/creadores")
-@Transactional
 public class CreadorController {
 
 	@Autowired
 	private CreadorService creadorService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
-	@Transactional
 	public CreadorDTO create(@RequestBody CreadorDTO creadorDTO)
 			throws IllegalOperationException, EntityNotFoundException {
-		CreadorEntity creadorEntity = creadorService.createCreador(modelMapper.map(creadorDTO, CreadorEntity.class));
-		return modelMapper.map(creadorEntity, CreadorDTO.class);
+		return readModelService.write(() -> creadorService.createCreador(dtoMapper.map(creadorDTO, CreadorEntity.class)),
+				CreadorDTO.class);
 	}
 
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public List<CreadorDetailDTO> findAll() {
-		List<CreadorEntity> creadores = creadorService.getCreadores();
-		return modelMapper.map(creadores, new TypeToken<List<CreadorDetailDTO>>() {
-		}.getType());
+	public Page<CreadorDTO> findAll(Pageable pageable) {
+		return creadorService.getCreadoresResumen(pageable);
 	}
 
 	@GetMapping(value = "/{creadorId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public CreadorDetailDTO findOne(@PathVariable("creadorId") Long creadorId) throws EntityNotFoundException {
-		CreadorEntity creadorEntity = creadorService.getCreador(creadorId);
-		return modelMapper.map(creadorEntity, CreadorDetailDTO.class);
+	@Cacheable(cacheNames = CacheConfig.CREADOR_DETAIL, key = "#creadorId", sync = true)
+	public ResponseEntity<CreadorDetailDTO> findOne(@PathVariable("creadorId") Long creadorId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> creadorService.getCreador(creadorId), CreadorDetailDTO.class).toResponseEntity();
 	}
 
 	@PutMapping(value = "/{creadorId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public CreadorDTO update(@PathVariable("creadorId") Long creadorId, @RequestBody CreadorDTO creadorDTO)
+	public CreadorDTO update(@PathVariable("creadorId") Long creadorId,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody CreadorDTO creadorDTO)
 			throws EntityNotFoundException, IllegalOperationException {
-		CreadorEntity creadorEntity = creadorService.updateCreador(creadorId,
-				modelMapper.map(creadorDTO, CreadorEntity.class));
-		return modelMapper.map(creadorEntity, CreadorDTO.class);
+		return readModelService.writeIfMatch(ifMatch, () -> creadorService.getCreador(creadorId), CreadorDetailDTO.class,
+				() -> creadorService.updateCreador(creadorId, dtoMapper.map(creadorDTO, CreadorEntity.class)),
+				CreadorDTO.class);
 	}
 
 	@DeleteMapping(value = "/{creadorId}")
 	@ResponseStatus(code = HttpStatus.NO_CONTENT)
-	@Transactional
 	public void delete(@PathVariable("creadorId") Long creadorId)
 			throws EntityNotFoundException, IllegalOperationException {
 		creadorService.deleteCreador(creadorId);
@@ -0,0 +1,37 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.services.ExportService;
+
+/**
+ * Class that exports the whole catalog as newline-delimited JSON. The rows are
+ * written straight to the response while they are read from the database.
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+	public static final String NDJSON = "application/x-ndjson";
+
+	@Autowired
+	private ExportService exportService;
+
+	@GetMapping(value = "/{resource}")
+	public void export(@PathVariable("resource") String resource, HttpServletResponse response)
+			throws EntityNotFoundException, IOException {
+		// Errors after the first row cannot change the status anymore
+		exportService.checkResource(resource);
+		response.setContentType(NDJSON);
+		exportService.export(resource, response.getOutputStream());
+	}
+}
@@ -3,10 +3,10 @@ package co.edu.uniandes.dse.musica.controllers;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,12 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.dto.CountDTO;
 import co.edu.uniandes.dse.musica.dto.AlbumDTO;
 import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.GeneroAlbumService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 
 
@@ -39,7 +42,10 @@ public class GeneroAlbumController {
 	private GeneroAlbumService generoAlbumService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	/**
 	 * Busca y devuelve el libro con el ID recibido en la URL, relativo a un autor.
@@ -49,11 +55,9 @@ public class GeneroAlbumController {
 	 * @return {@link AlbumDetailDTO} - El libro encontrado en el autor.
 	 */
 	@GetMapping(value = "/{generoId}/albums/{albumId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public AlbumDetailDTO getAlbum(@PathVariable("generoId") Long generoId, @PathVariable("albumId") Long albumId)
+	public ResponseEntity<AlbumDetailDTO> getAlbum(@PathVariable("generoId") Long generoId, @PathVariable("albumId") Long albumId)
 			throws EntityNotFoundException, IllegalOperationException {
-		AlbumEntity albumEntity = generoAlbumService.getAlbum(generoId, albumId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+		return readModelService.readVersioned(() -> generoAlbumService.getAlbum(generoId, albumId), AlbumDetailDTO.class).toResponseEntity();
 	}
 
 	/**
@@ -64,11 +68,22 @@ public class GeneroAlbumController {
 	 *         Si no hay ninguno retorna una lista vacía.
 	 */
 	@GetMapping(value = "/{generoId}/albums")
-	@ResponseStatus(code = HttpStatus.OK)
-	public List<AlbumDetailDTO> getAlbums(@PathVariable("generoId") Long generoId) throws EntityNotFoundException {
-		List<AlbumEntity> albumEntity = generoAlbumService.getAlbums(generoId);
-		return modelMapper.map(albumEntity, new TypeToken<List<AlbumDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<List<AlbumDetailDTO>> getAlbums(@PathVariable("generoId") Long generoId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<List<AlbumDetailDTO>>readVersioned(() -> generoAlbumService.getAlbums(generoId),
+				new TypeToken<List<AlbumDetailDTO>>() {
+				}.getType()).toResponseEntity();
+	}
+
+	/**
+	 * Cuenta los albumes de un genero sin devolverlos
+	 *
+	 * @param generoId Identificador del genero que se esta buscando.
+	 * @return JSON {@link CountDTO} - El numero de albumes del genero.
+	 */
+	@GetMapping(value = "/{generoId}/albums/count")
+	public CountDTO countAlbums(@PathVariable("generoId") Long generoId) throws EntityNotFoundException {
+		return new CountDTO(generoAlbumService.countAlbums(generoId));
 	}
 
 	/**
@@ -81,9 +96,8 @@ public class GeneroAlbumController {
 	@PostMapping(value = "/{generoId}/albums/{albumId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public AlbumDetailDTO addAlbum(@PathVariable("generoId") Long generoId, @PathVariable("albumId") Long albumId)
-			throws EntityNotFoundException {
-		AlbumEntity albumEntity = generoAlbumService.addAlbum(generoId, albumId);
-		return modelMapper.map(albumEntity, AlbumDetailDTO.class);
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.write(() -> generoAlbumService.addAlbum(generoId, albumId), AlbumDetailDTO.class);
 	}
 
 	/**
@@ -98,15 +112,17 @@ public class GeneroAlbumController {
 	@PutMapping(value = "/{generoId}/albums")
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<AlbumDetailDTO> replaceAlbums(@PathVariable("generoId") Long generoId, @RequestBody List<AlbumDTO> albums)
-			throws EntityNotFoundException {
-		List<AlbumEntity> entities = modelMapper.map(albums, new TypeToken<List<AlbumEntity>>() {
+			throws EntityNotFoundException, IllegalOperationException {
+		List<AlbumEntity> entities = dtoMapper.map(albums, new TypeToken<List<AlbumEntity>>() {
 		}.getType());
 		
-		List<AlbumEntity> albumsList = new ArrayList<AlbumEntity>();
-		for (AlbumEntity entity : entities) {
-			albumsList.add(generoAlbumService.addAlbum(generoId, entity.getId()));
-		}
-		return modelMapper.map(albumsList, new TypeToken<List<AlbumDetailDTO>>() {
+		return readModelService.write(() -> {
+			List<AlbumEntity> albumsList = new ArrayList<AlbumEntity>();
+			for (AlbumEntity entity : entities) {
+				albumsList.add(generoAlbumService.addAlbum(generoId, entity.getId()));
+			}
+			return albumsList;
+		}, new TypeToken<List<AlbumDetailDTO>>() {
 		}.getType());
 
 	}
@@ -1,17 +1,17 @@
 package co.edu.uniandes.dse.musica.controllers;
 
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,7 +21,9 @@ import co.edu.uniandes.dse.musica.dto.GeneroDetailDTO;
 import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.GeneroService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 @RestController
 @RequestMapping("/generos")
@@ -31,20 +33,22 @@ public class GeneroController {
 	private GeneroService generoService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 	
 	/**
-	 * Busca y devuelve todos los generos que existen en la aplicacion.
+	 * Busca y devuelve una pagina de los generos que existen en la aplicacion.
 	 *
-	 * @return JSONArray {@link GeneroDetailDTO} - Los generos encontrados en la
-	 *         aplicación. Si no hay ninguno retorna una lista vacía.
+	 * @param pageable Pagina, tamaño y orden solicitados (page, size, sort).
+	 * @return JSON Page {@link GeneroDTO} - Los generos encontrados en la
+	 *         pagina. Si no hay ninguno retorna una pagina vacía.
 	 */
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<GeneroDetailDTO> findAll() {
-		List<GeneroEntity> generos = generoService.getGeneros();
-		return modelMapper.map(generos, new TypeToken<List<GeneroDetailDTO>>() {
-		}.getType());
+	public Page<GeneroDTO> findAll(Pageable pageable) {
+		return generoService.getGenerosResumen(pageable);
 	}
 	
 	/**
@@ -55,10 +59,9 @@ public class GeneroController {
 	 * @return JSON {@link GeneroDetailDTO} - El genero buscado
 	 */
 	@GetMapping(value = "/{id}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public GeneroDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-		GeneroEntity generoEntity = generoService.getGenero(id);
-		return modelMapper.map(generoEntity, GeneroDetailDTO.class);
+	public ResponseEntity<GeneroDetailDTO> findOne(@PathVariable("id") Long id)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> generoService.getGenero(id), GeneroDetailDTO.class).toResponseEntity();
 	}
 	
 	/**
@@ -73,8 +76,8 @@ public class GeneroController {
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public GeneroDTO create(@RequestBody GeneroDTO generoDTO) throws IllegalOperationException, EntityNotFoundException {
-		GeneroEntity generoEntity = generoService.createGenero(modelMapper.map(generoDTO, GeneroEntity.class));
-		return modelMapper.map(generoEntity, GeneroDTO.class);
+		return readModelService.write(() -> generoService.createGenero(dtoMapper.map(generoDTO, GeneroEntity.class)),
+				GeneroDTO.class);
 	}
 
 	/**
@@ -88,10 +91,12 @@ public class GeneroController {
 	 */
 	@PutMapping(value = "/{id}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public GeneroDTO update(@PathVariable("id") Long id, @RequestBody GeneroDTO generoDTO)
+	public GeneroDTO update(@PathVariable("id") Long id,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody GeneroDTO generoDTO)
 			throws EntityNotFoundException, IllegalOperationException {
-		GeneroEntity generoEntity = generoService.updateGenero(id, modelMapper.map(generoDTO, GeneroEntity.class));
-		return modelMapper.map(generoEntity, GeneroDTO.class);
+		return readModelService.writeIfMatch(ifMatch, () -> generoService.getGenero(id), GeneroDetailDTO.class,
+				() -> generoService.updateGenero(id, dtoMapper.map(generoDTO, GeneroEntity.class)),
+				GeneroDTO.class);
 	}
 
 	/**
@@ -0,0 +1,39 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.ImportReportDTO;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.services.ImportService;
+
+/**
+ * Class that imports a catalog file. The body is read while it is uploaded,
+ * as NDJSON or, when the content type is text/csv, as CSV.
+ */
+@RestController
+@RequestMapping("/import")
+public class ImportController {
+
+	public static final String CSV = "text/csv";
+
+	@Autowired
+	private ImportService importService;
+
+	@PostMapping(value = "/albumes")
+	@ResponseStatus(code = HttpStatus.OK)
+	public ImportReportDTO importAlbumes(HttpServletRequest request) throws IllegalOperationException, IOException {
+		String contentType = request.getContentType();
+		ImportService.Format format = contentType != null && contentType.startsWith(CSV) ? ImportService.Format.CSV
+				: ImportService.Format.NDJSON;
+		return importService.importAlbumes(request.getInputStream(), format);
+	}
+}
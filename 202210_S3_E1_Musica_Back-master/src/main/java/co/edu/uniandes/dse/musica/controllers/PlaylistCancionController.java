@@ -2,10 +2,12 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,15 +15,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.dto.CountDTO;
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
 import co.edu.uniandes.dse.musica.dto.CancionDTO;
 import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.PlaylistCancionService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 
 @RestController
@@ -31,41 +39,48 @@ public class PlaylistCancionController {
 	@Autowired
 	private PlaylistCancionService playlistCancionService;
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 	
 	@PostMapping(value = "/{playlistId}/canciones/{cancionId}")
     @ResponseStatus(code = HttpStatus.OK)
     public CancionDetailDTO addCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("playlistId") Long playlistId)
-                    throws EntityNotFoundException {
-            CancionEntity cancionEntity = playlistCancionService.addCancion(playlistId, cancionId);
-            return modelMapper.map(cancionEntity, CancionDetailDTO.class);
+                    throws EntityNotFoundException, IllegalOperationException {
+            return readModelService.write(() -> playlistCancionService.addCancion(playlistId, cancionId),
+                    CancionDetailDTO.class);
     }
 	
 	@GetMapping(value = "/{playlistId}/canciones/{cancionId}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public CancionDetailDTO getCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("playlistId") Long playlistId)
+    public ResponseEntity<CancionDetailDTO> getCancion(@PathVariable("cancionId") Long cancionId, @PathVariable("playlistId") Long playlistId)
                     throws EntityNotFoundException, IllegalOperationException {
-            CancionEntity cancionEntity = playlistCancionService.getCancion(playlistId, cancionId);
-            return modelMapper.map(cancionEntity, CancionDetailDTO.class);
+            return readModelService.readVersioned(() -> playlistCancionService.getCancion(playlistId, cancionId),
+                    CancionDetailDTO.class).toResponseEntity();
     }
 	
 	@PutMapping(value = "/{playlistId}/canciones")
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<CancionDetailDTO> addCanciones(@PathVariable("playlistId") Long playlistId, @RequestBody Set<CancionDTO> canciones)
-			throws EntityNotFoundException {
-		Set<CancionEntity> entities = modelMapper.map(canciones, new TypeToken<Set<CancionEntity>>() {
-		}.getType());
-		Set<CancionEntity> cancionesList = playlistCancionService.replaceCanciones(playlistId, entities);
-		return modelMapper.map(cancionesList, new TypeToken<Set<CancionDetailDTO>>() {
+			throws EntityNotFoundException, IllegalOperationException {
+		Set<CancionEntity> entities = dtoMapper.map(canciones, new TypeToken<Set<CancionEntity>>() {
 		}.getType());
+		return readModelService.write(() -> playlistCancionService.replaceCanciones(playlistId, entities),
+				new TypeToken<Set<CancionDetailDTO>>() {
+				}.getType());
 	}
 	
 	@GetMapping(value = "/{playlistId}/canciones")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<CancionDetailDTO> getCanciones(@PathVariable("playlistId") Long playlistId) throws EntityNotFoundException {
-		Set<CancionEntity> cancionEntity = playlistCancionService.getCanciones(playlistId);
-		return modelMapper.map(cancionEntity, new TypeToken<Set<CancionDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<CancionDetailDTO>> getCanciones(@PathVariable("playlistId") Long playlistId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<CancionDetailDTO>>readVersioned(() -> playlistCancionService.getCanciones(playlistId),
+				new TypeToken<Set<CancionDetailDTO>>() {
+				}.getType()).toResponseEntity();
+	}
+
+	@GetMapping(value = "/{playlistId}/canciones/count")
+	public CountDTO countCanciones(@PathVariable("playlistId") Long playlistId) throws EntityNotFoundException {
+		return new CountDTO(playlistCancionService.countCanciones(playlistId));
 	}
 	
 	@DeleteMapping(value = "/{playlistId}/canciones/{cancionId}")
@@ -74,6 +89,66 @@ public class PlaylistCancionController {
 			throws EntityNotFoundException {
 		playlistCancionService.removeCancion(playlistId, cancionId);
 	}
+
+	@GetMapping(value = "/{playlistId}/pistas")
+	public Page<PistaDTO> getPistas(@PathVariable("playlistId") Long playlistId, Pageable pageable)
+			throws EntityNotFoundException {
+		return playlistCancionService.getPistas(playlistId, pageable);
+	}
+
+	/**
+	 * Inserts the cancion after the track with id despues, or at indice. Without
+	 * either of them the track is added at the end.
+	 */
+	@PostMapping(value = "/{playlistId}/pistas")
+	@ResponseStatus(code = HttpStatus.CREATED)
+	public PistaDTO insertCancion(@PathVariable("playlistId") Long playlistId, @RequestParam("cancionId") Long cancionId,
+			@RequestParam(value = "despues", required = false) Long despues,
+			@RequestParam(value = "indice", required = false) Integer indice)
+			throws EntityNotFoundException, IllegalOperationException {
+		if (despues != null && indice != null)
+			throw new IllegalOperationException(ErrorMessage.PISTA_DESPUES_AND_INDICE);
+		if (despues != null)
+			return readModelService.write(() -> playlistCancionService.insertCancionDespues(playlistId, cancionId, despues),
+					PistaDTO.class);
+		return readModelService.write(() -> playlistCancionService.insertCancion(playlistId, cancionId, indice),
+				PistaDTO.class);
+	}
+
+	/**
+	 * Moves the track right after the track with id despues. Without despues the
+	 * track is moved to the start of the playlist.
+	 */
+	@PutMapping(value = "/{playlistId}/pistas/{pistaId}")
+	@ResponseStatus(code = HttpStatus.OK)
+	public PistaDTO movePista(@PathVariable("playlistId") Long playlistId, @PathVariable("pistaId") Long pistaId,
+			@RequestParam(value = "despues", required = false) Long despues)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.write(() -> playlistCancionService.moveCancionDespues(playlistId, pistaId, despues),
+				PistaDTO.class);
+	}
+
+	@DeleteMapping(value = "/{playlistId}/pistas/{pistaId}")
+	@ResponseStatus(code = HttpStatus.NO_CONTENT)
+	public void removePista(@PathVariable("playlistId") Long playlistId, @PathVariable("pistaId") Long pistaId)
+			throws EntityNotFoundException {
+		playlistCancionService.removePista(playlistId, pistaId);
+	}
+
+	@PutMapping(value = "/{playlistId}/pistas/indices/{indice}")
+	@ResponseStatus(code = HttpStatus.OK)
+	public PistaDTO moveCancion(@PathVariable("playlistId") Long playlistId, @PathVariable("indice") int indice,
+			@RequestParam("hasta") int hasta) throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.write(() -> playlistCancionService.moveCancion(playlistId, indice, hasta),
+				PistaDTO.class);
+	}
+
+	@DeleteMapping(value = "/{playlistId}/pistas/indices/{indice}")
+	@ResponseStatus(code = HttpStatus.NO_CONTENT)
+	public void removeCancionAt(@PathVariable("playlistId") Long playlistId, @PathVariable("indice") int indice)
+			throws EntityNotFoundException {
+		playlistCancionService.removeCancionAt(playlistId, indice);
+	}
 	
 
 }
@@ -1,16 +1,16 @@
 package co.edu.uniandes.dse.musica.controllers;
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,7 +20,9 @@ import co.edu.uniandes.dse.musica.dto.PlaylistDetailDTO;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.PlaylistService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 @RestController
 @RequestMapping("/playlists")
@@ -30,36 +32,38 @@ public class PlaylistController {
      private PlaylistService playlistService;
 
      @Autowired
-     private ModelMapper modelMapper;
+     private DtoMapper dtoMapper;
+
+     @Autowired
+     private ReadModelService readModelService;
      
      @PostMapping
      @ResponseStatus(code = HttpStatus.CREATED)
       public PlaylistDTO create(@RequestBody PlaylistDTO playlistDTO) throws IllegalOperationException, EntityNotFoundException {
-    	 	 PlaylistEntity playlistEntity = playlistService.createPlaylist(modelMapper.map(playlistDTO, PlaylistEntity.class));
-             return modelMapper.map(playlistEntity, PlaylistDTO.class);
+    	 	 return readModelService.write(() -> playlistService.createPlaylist(dtoMapper.map(playlistDTO, PlaylistEntity.class)),
+    	 	 		PlaylistDTO.class);
           }
      
      @GetMapping
      @ResponseStatus(code = HttpStatus.OK)
-     public List<PlaylistDetailDTO> findAll() {
-             List<PlaylistEntity> playlists = playlistService.getPlaylists();
-             return modelMapper.map(playlists, new TypeToken<List<PlaylistDetailDTO>>() {
-             }.getType());
+     public Page<PlaylistDTO> findAll(Pageable pageable) {
+             return playlistService.getPlaylistsResumen(pageable);
      }
      
      @GetMapping(value = "/{id}")
-     @ResponseStatus(code = HttpStatus.OK)
-     public PlaylistDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-    	 	 PlaylistEntity playlistEntity = playlistService.getPlaylist(id);
-             return modelMapper.map(playlistEntity, PlaylistDetailDTO.class);
+     public ResponseEntity<PlaylistDetailDTO> findOne(@PathVariable("id") Long id)
+             throws EntityNotFoundException, IllegalOperationException {
+    	 	 return readModelService.readVersioned(() -> playlistService.getPlaylist(id), PlaylistDetailDTO.class).toResponseEntity();
      }
      
      @PutMapping(value = "/{id}")
      @ResponseStatus(code = HttpStatus.OK)
-     public PlaylistDTO update(@PathVariable("id") Long id, @RequestBody PlaylistDTO playlistDTO)
+     public PlaylistDTO update(@PathVariable("id") Long id,
+             @RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody PlaylistDTO playlistDTO)
                      throws EntityNotFoundException, IllegalOperationException {
-    	 	 PlaylistEntity playlistEntity = playlistService.updatePlaylist(id, modelMapper.map(playlistDTO, PlaylistEntity.class));
-             return modelMapper.map(playlistEntity, PlaylistDTO.class);
+    	 	 return readModelService.writeIfMatch(ifMatch, () -> playlistService.getPlaylist(id), PlaylistDetailDTO.class,
+    	 	 		() -> playlistService.updatePlaylist(id, dtoMapper.map(playlistDTO, PlaylistEntity.class)),
+    	 	 		PlaylistDTO.class);
      }
      
      @DeleteMapping(value = "/{id}")
@@ -1,13 +1,12 @@
 package co.edu.uniandes.dse.musica.controllers;
 
+import java.util.List;
 import java.util.Set;
 
-import javax.transaction.Transactional;
-
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,8 +23,10 @@ import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.CapituloService;
 import co.edu.uniandes.dse.musica.services.PodcastCapituloService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Class to represent association of a podcast with its capitulos as a resource.
@@ -34,7 +35,6 @@ import co.edu.uniandes.dse.musica.services.PodcastCapituloService;
  */
 @RestController
 @RequestMapping("/podcasts")
-@Transactional
 public class PodcastCapituloController {
 
     @Autowired
@@ -44,63 +44,68 @@ public class PodcastCapituloController {
     private PodcastCapituloService podcastCapituloService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private ReadModelService readModelService;
 
     @PostMapping(value = "/{podcastId}/capitulos")
     @ResponseStatus(code = HttpStatus.CREATED)
-    @Transactional
     public CapituloDTO create(@PathVariable("podcastId") Long podcastId, @RequestBody CapituloDTO capituloDTO)
             throws IllegalOperationException, EntityNotFoundException {
-        CapituloEntity capituloEntity = capituloService
-                .createCapitulo(modelMapper.map(capituloDTO, CapituloEntity.class));
-        podcastCapituloService.addCapituloToPodcast(podcastId, capituloEntity.getId());
-        return modelMapper.map(capituloEntity, CapituloDTO.class);
+        CapituloEntity newCapitulo = dtoMapper.map(capituloDTO, CapituloEntity.class);
+        return readModelService.write(() -> {
+            CapituloEntity capituloEntity = capituloService.createCapitulo(newCapitulo);
+            podcastCapituloService.addCapituloToPodcast(podcastId, capituloEntity.getId());
+            return capituloEntity;
+        }, CapituloDTO.class);
+    }
+
+    @PostMapping(value = "/{podcastId}/capitulos/batch")
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public List<CapituloDTO> createBatch(@PathVariable("podcastId") Long podcastId,
+            @RequestBody List<CapituloDTO> capituloDTOs) throws IllegalOperationException, EntityNotFoundException {
+        List<CapituloEntity> capitulos = dtoMapper.map(capituloDTOs, new TypeToken<List<CapituloEntity>>() {
+        }.getType());
+        return readModelService.write(() -> podcastCapituloService.createCapitulosOfPodcast(podcastId, capitulos),
+                new TypeToken<List<CapituloDTO>>() {
+                }.getType());
     }
 
     @GetMapping(value = "/{podcastId}/capitulos/{capituloId}")
-    @ResponseStatus(code = HttpStatus.OK)
-    @Transactional
-    public CapituloDTO getCapituloOfPodcast(@PathVariable("capituloId") Long capituloId,
+    public ResponseEntity<CapituloDTO> getCapituloOfPodcast(@PathVariable("capituloId") Long capituloId,
             @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
-        CapituloEntity capituloEntity = podcastCapituloService.getCapituloOfPodcast(podcastId, capituloId);
-        return modelMapper.map(capituloEntity, CapituloDTO.class);
+        return readModelService.readVersioned(() -> podcastCapituloService.getCapituloOfPodcast(podcastId, capituloId),
+                CapituloDTO.class).toResponseEntity();
     }
 
     @GetMapping(value = "/{podcastId}/capitulos")
-    @ResponseStatus(code = HttpStatus.OK)
-    @Transactional
-    public Set<CapituloDetailDTO> getCapitulosOfPodcast(@PathVariable("podcastId") Long podcastId)
-            throws EntityNotFoundException {
-        Set<CapituloEntity> capitulos = podcastCapituloService.getCapitulosOfPodcast(podcastId);
-        return modelMapper.map(capitulos, new TypeToken<Set<CapituloDetailDTO>>() {
-        }.getType());
+    public ResponseEntity<Set<CapituloDetailDTO>> getCapitulosOfPodcast(@PathVariable("podcastId") Long podcastId)
+            throws EntityNotFoundException, IllegalOperationException {
+        return readModelService.<Set<CapituloDetailDTO>>readVersioned(() -> podcastCapituloService.getCapitulosOfPodcast(podcastId),
+                new TypeToken<Set<CapituloDetailDTO>>() {
+                }.getType()).toResponseEntity();
     }
 
     @PutMapping(value = "/{podcastId}/capitulos")
     @ResponseStatus(code = HttpStatus.OK)
-    @Transactional
     public Set<CapituloDetailDTO> replaceCapitulosOfPodcast(@PathVariable("podcastId") Long podcastId,
             @RequestBody Set<PodcastDTO> podcasts) throws EntityNotFoundException, IllegalOperationException {
-        Set<CapituloEntity> capituloEntities = modelMapper.map(podcasts, new TypeToken<Set<CapituloEntity>>() {
+        Set<CapituloEntity> capituloEntities = dtoMapper.map(podcasts, new TypeToken<Set<CapituloEntity>>() {
         }.getType());
 
-        Set<CapituloEntity> replacedCapitulos = podcastCapituloService.replaceCapitulosOfPodcast(podcastId,
-                capituloEntities);
-
-        for (CapituloEntity capitulo : replacedCapitulos) {
-            capituloService.updateCapitulo(capitulo.getId(), capitulo);
-        }
-
-        return modelMapper.map(replacedCapitulos, new TypeToken<Set<CapituloDetailDTO>>() {
-        }.getType());
+        return readModelService.write(() -> podcastCapituloService.replaceCapitulosOfPodcast(podcastId, capituloEntities),
+                new TypeToken<Set<CapituloDetailDTO>>() {
+                }.getType());
     }
 
     @DeleteMapping(value = "/{podcastId}/capitulos/{capituloId}")
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
-    @Transactional
     public void removeCapituloOfPodcast(@PathVariable("capituloId") Long capituloId,
             @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
-        podcastCapituloService.removeCapituloOfPodcast(podcastId, capituloId);
-        capituloService.deleteCapitulo(capituloId);
+        readModelService.write(() -> {
+            podcastCapituloService.removeCapituloOfPodcast(podcastId, capituloId);
+            capituloService.deleteCapitulo(capituloId);
+        });
     }
 }
\ No newline at end of file
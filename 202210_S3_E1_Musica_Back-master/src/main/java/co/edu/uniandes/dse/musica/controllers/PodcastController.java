@@ -1,29 +1,31 @@
 package co.edu.uniandes.dse.musica.controllers;
 
-import java.util.List;
-
-import javax.transaction.Transactional;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.config.CacheConfig;
 import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.PodcastService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
  * Class that represents the podcast controller.
@@ -32,51 +34,48 @@ import co.edu.uniandes.dse.musica.services.PodcastService;
  */
 @RestController
 @RequestMapping("/podcasts")
-@Transactional
 public class PodcastController {
 
 	@Autowired
 	private PodcastService podcastService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
-	@Transactional
 	public PodcastDTO create(@RequestBody PodcastDTO podcastDTO) throws IllegalOperationException, EntityNotFoundException {
-		PodcastEntity podcastEntity = podcastService.createPodcast(modelMapper.map(podcastDTO, PodcastEntity.class));
-		return modelMapper.map(podcastEntity, PodcastDTO.class);
+		return readModelService.write(() -> podcastService.createPodcast(dtoMapper.map(podcastDTO, PodcastEntity.class)),
+				PodcastDTO.class);
 	}
 
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public List<PodcastDetailDTO> findAll() {
-		List<PodcastEntity> podcasts = podcastService.getPodcasts();
-		return modelMapper.map(podcasts, new TypeToken<List<PodcastDetailDTO>>() {
-			}.getType());
+	public Page<PodcastDTO> findAll(Pageable pageable) {
+		return podcastService.getPodcastsResumen(pageable);
 	}
 
 	@GetMapping(value = "/{podcastId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public PodcastDetailDTO findOne(@PathVariable("podcastId") Long podcastId) throws EntityNotFoundException {
-		PodcastEntity podcastEntity = podcastService.getPodcast(podcastId);
-		return modelMapper.map(podcastEntity, PodcastDetailDTO.class);
+	@Cacheable(cacheNames = CacheConfig.PODCAST_DETAIL, key = "#podcastId", sync = true)
+	public ResponseEntity<PodcastDetailDTO> findOne(@PathVariable("podcastId") Long podcastId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> podcastService.getPodcast(podcastId), PodcastDetailDTO.class).toResponseEntity();
 	}
 
 	@PutMapping(value = "/{podcastId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public PodcastDTO update(@PathVariable("podcastId") Long podcastId, @RequestBody PodcastDTO podcastDTO) throws EntityNotFoundException, IllegalOperationException {
-		PodcastEntity podcastEntity = podcastService.updatePodcast(podcastId, modelMapper.map(podcastDTO, PodcastEntity.class));
-		return modelMapper.map(podcastEntity, PodcastDTO.class);
+	public PodcastDTO update(@PathVariable("podcastId") Long podcastId,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody PodcastDTO podcastDTO) throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.writeIfMatch(ifMatch, () -> podcastService.getPodcast(podcastId), PodcastDetailDTO.class,
+				() -> podcastService.updatePodcast(podcastId, dtoMapper.map(podcastDTO, PodcastEntity.class)),
+				PodcastDTO.class);
 	}
 
 	@DeleteMapping(value = "/{podcastId}")
 	@ResponseStatus(code = HttpStatus.NO_CONTENT)
-	@Transactional
 	public void delete(@PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
 		podcastService.deletePodcast(podcastId);
 	}
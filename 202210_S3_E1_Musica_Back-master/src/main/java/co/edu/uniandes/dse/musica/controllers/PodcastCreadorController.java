@@ -2,12 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.Set;
 
-import javax.transaction.Transactional;
-
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,7 +21,9 @@ import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.PodcastCreadorService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 
 /**
 * Class to represent association of a podcast with its creadores as a
@@ -33,58 +33,54 @@ resource.
 */
 @RestController
 @RequestMapping("/podcasts")
-@Transactional
 public class PodcastCreadorController {
 
 	@Autowired
 	private PodcastCreadorService podcastCreadorService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	private Long podcastId;
 
 	@PostMapping(value = "/{podcastId}/creadores/{creadorId}")
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
 	public CreadorDetailDTO addCreadorToPodcast(@PathVariable("creadorId") Long creadorId, @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
-		CreadorEntity creadorEntity = podcastCreadorService.addCreadorToPodcast(podcastId, creadorId);
-		return modelMapper.map(creadorEntity, CreadorDetailDTO.class);
+		return readModelService.write(() -> podcastCreadorService.addCreadorToPodcast(podcastId, creadorId),
+				CreadorDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{podcastId}/creadores/{creadorId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public CreadorDetailDTO getCreadorOfPodcast(@PathVariable("creadorId") Long creadorId, @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
-		CreadorEntity creadorEntity = podcastCreadorService.getCreadorOfPodcast(podcastId, creadorId);
-		return modelMapper.map(creadorEntity, CreadorDetailDTO.class);
+	public ResponseEntity<CreadorDetailDTO> getCreadorOfPodcast(@PathVariable("creadorId") Long creadorId, @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> podcastCreadorService.getCreadorOfPodcast(podcastId, creadorId),
+				CreadorDetailDTO.class).toResponseEntity();
 	}
 
 	@GetMapping(value = "/{podcastId}/creadores")
-	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
-	public Set<CreadorDetailDTO> getCreadoresOfPodcast(@PathVariable("podcastId") Long podcastId) throws EntityNotFoundException {
+	public ResponseEntity<Set<CreadorDetailDTO>> getCreadoresOfPodcast(@PathVariable("podcastId") Long podcastId)
+			throws EntityNotFoundException, IllegalOperationException {
 		this.podcastId = podcastId;
-		Set<CreadorEntity> creadores = podcastCreadorService.getCreadoresOfPodcast(this.podcastId);
-		return modelMapper.map(creadores, new TypeToken<Set<CreadorDetailDTO>>() {
-		}.getType());
+		return readModelService.<Set<CreadorDetailDTO>>readVersioned(() -> podcastCreadorService.getCreadoresOfPodcast(this.podcastId),
+				new TypeToken<Set<CreadorDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 	@PutMapping(value = "/{podcastId}/creadores")
 	@ResponseStatus(code = HttpStatus.OK)
-	@Transactional
 	public Set<CreadorDetailDTO> replaceCreadoresOfPodcast(@PathVariable("podcastId") Long podcastId, @RequestBody Set<PodcastDTO> podcasts) throws EntityNotFoundException, IllegalOperationException {
-		Set<CreadorEntity> creadorEntities = modelMapper.map(podcasts, new TypeToken<Set<CreadorEntity>>() {
+		Set<CreadorEntity> creadorEntities = dtoMapper.map(podcasts, new TypeToken<Set<CreadorEntity>>() {
 		}.getType());
 
-		Set<CreadorEntity> replacedCreadores = podcastCreadorService.replaceCreadoresOfPodcast(podcastId, creadorEntities);
-		return modelMapper.map(replacedCreadores, new TypeToken<Set<CreadorDetailDTO>>() {
-		}.getType());
+		return readModelService.write(() -> podcastCreadorService.replaceCreadoresOfPodcast(podcastId, creadorEntities),
+				new TypeToken<Set<CreadorDetailDTO>>() {
+				}.getType());
 	}
 
 	@DeleteMapping(value = "/{podcastId}/creadores/{creadorId}")
 	@ResponseStatus(code = HttpStatus.NO_CONTENT)
-	@Transactional
 	public void removeCreadorOfPodcast(@PathVariable("creadorId") Long creadorId, @PathVariable("podcastId") Long podcastId) throws EntityNotFoundException, IllegalOperationException {
 		podcastCreadorService.removeCreadorOfPodcast(podcastId, creadorId);
 	}
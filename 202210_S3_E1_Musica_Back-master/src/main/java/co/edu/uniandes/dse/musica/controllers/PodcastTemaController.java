@@ -3,10 +3,10 @@ package co.edu.uniandes.dse.musica.controllers;
 import java.util.List;
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,7 +24,9 @@ import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.entities.TemaEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.PodcastTemaService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 import co.edu.uniandes.dse.musica.services.TemaPodcastService;
 
 /**
@@ -40,30 +42,30 @@ public class PodcastTemaController {
 	private PodcastTemaService podcastTemaService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping(value = "/{podcastId}/temas/{temaId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public TemaDetailDTO addTema(@PathVariable("temaId") Long temaId, @PathVariable("podcastId") Long podcastId)
 			throws EntityNotFoundException, IllegalOperationException {
-		TemaEntity temaEntity = podcastTemaService.addTema(podcastId, temaId);
-		return modelMapper.map(temaEntity, TemaDetailDTO.class);
+		return readModelService.write(() -> podcastTemaService.addTema(podcastId, temaId), TemaDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{podcastId}/temas/{temaId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public TemaDetailDTO getTema(@PathVariable("podcastId") Long podcastId, @PathVariable("temaId") Long temaId)
+	public ResponseEntity<TemaDetailDTO> getTema(@PathVariable("podcastId") Long podcastId, @PathVariable("temaId") Long temaId)
 			throws EntityNotFoundException, IllegalOperationException {
-		TemaEntity temaEntity = podcastTemaService.getTema(podcastId, temaId);
-		return modelMapper.map(temaEntity, TemaDetailDTO.class);
+		return readModelService.readVersioned(() -> podcastTemaService.getTema(podcastId, temaId), TemaDetailDTO.class).toResponseEntity();
 	}
 
 	@GetMapping(value = "/{podcastId}/temas")
-	@ResponseStatus(code = HttpStatus.OK)
-	public Set<TemaDetailDTO> getTemas(@PathVariable("podcastId") Long podcastId) throws EntityNotFoundException {
-		Set<TemaEntity> temaEntity = podcastTemaService.getTemas(podcastId);
-		return modelMapper.map(temaEntity, new TypeToken<Set<TemaDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<Set<TemaDetailDTO>> getTemas(@PathVariable("podcastId") Long podcastId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<Set<TemaDetailDTO>>readVersioned(() -> podcastTemaService.getTemas(podcastId),
+				new TypeToken<Set<TemaDetailDTO>>() {
+				}.getType()).toResponseEntity();
 	}
 
 	
@@ -71,11 +73,11 @@ public class PodcastTemaController {
 	@ResponseStatus(code = HttpStatus.OK)
 	public Set<TemaDetailDTO> replaceTemas(@PathVariable("podcastId") Long podcastId, @RequestBody List<TemaEntity> podcasts)
 			throws EntityNotFoundException, IllegalOperationException {
-		List<TemaEntity> entities = modelMapper.map(podcasts, new TypeToken<List<TemaEntity>>() {
-		}.getType());
-		Set<TemaEntity> temaList = podcastTemaService.replaceTemas(podcastId, entities);
-		return modelMapper.map(temaList, new TypeToken<Set<TemaDetailDTO>>() {
+		List<TemaEntity> entities = dtoMapper.map(podcasts, new TypeToken<List<TemaEntity>>() {
 		}.getType());
+		return readModelService.write(() -> podcastTemaService.replaceTemas(podcastId, entities),
+				new TypeToken<Set<TemaDetailDTO>>() {
+				}.getType());
 
 	}
 
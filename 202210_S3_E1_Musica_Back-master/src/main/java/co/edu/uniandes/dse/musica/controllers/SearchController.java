@@ -0,0 +1,34 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.SearchResultDTO;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.services.SearchService;
+
+/**
+ * Class that searches the catalog by text.
+ */
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+	@Autowired
+	private SearchService searchService;
+
+	@GetMapping
+	@ResponseStatus(code = HttpStatus.OK)
+	public List<SearchResultDTO> search(@RequestParam("q") String query,
+			@RequestParam(value = "limit", defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit,
+			@RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy) {
+		return searchService.search(query, limit, fuzzy);
+	}
+}
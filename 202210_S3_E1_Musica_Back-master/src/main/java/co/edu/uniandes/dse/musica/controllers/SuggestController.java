@@ -0,0 +1,32 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.dto.SuggestionDTO;
+import co.edu.uniandes.dse.musica.services.SuggestService;
+
+/**
+ * Class that suggests names while the user types them.
+ */
+@RestController
+@RequestMapping("/suggest")
+public class SuggestController {
+
+	@Autowired
+	private SuggestService suggestService;
+
+	@GetMapping
+	@ResponseStatus(code = HttpStatus.OK)
+	public List<SuggestionDTO> suggest(@RequestParam("prefix") String prefix,
+			@RequestParam(value = "limit", defaultValue = "10") int limit) {
+		return suggestService.suggest(prefix, limit);
+	}
+}
@@ -1,17 +1,17 @@
 package co.edu.uniandes.dse.musica.controllers;
 
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +21,8 @@ import co.edu.uniandes.dse.musica.dto.TemaDetailDTO;
 import co.edu.uniandes.dse.musica.entities.TemaEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 import co.edu.uniandes.dse.musica.services.TemaService;
 
 @RestController
@@ -31,20 +33,22 @@ public class TemaController {
 	private TemaService temaService;
 	
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 	
 	/**
-	 * Busca y devuelve todos los temas que existen en la aplicacion.
+	 * Busca y devuelve una pagina de los temas que existen en la aplicacion.
 	 *
-	 * @return JSONArray {@link TemaDTODetails} - Los temas encontrados en la
-	 *         aplicación. Si no hay ninguno retorna una lista vacía.
+	 * @param pageable Pagina, tamaño y orden solicitados (page, size, sort).
+	 * @return JSON Page {@link TemaDTO} - Los temas encontrados en la
+	 *         pagina. Si no hay ninguno retorna una pagina vacía.
 	 */
 	@GetMapping
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<TemaDetailDTO> findAll() {
-		List<TemaEntity> temas = temaService.getTemas();
-		return modelMapper.map(temas, new TypeToken<List<TemaDetailDTO>>() {
-		}.getType());
+	public Page<TemaDTO> findAll(Pageable pageable) {
+		return temaService.getTemasResumen(pageable);
 	}
 	
 	/**
@@ -55,10 +59,9 @@ public class TemaController {
 	 * @return JSON {@link TemaDTODetails} - El tema buscado
 	 */
 	@GetMapping(value = "/{id}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public TemaDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-		TemaEntity temaEntity = temaService.getTema(id);
-		return modelMapper.map(temaEntity, TemaDetailDTO.class);
+	public ResponseEntity<TemaDetailDTO> findOne(@PathVariable("id") Long id)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> temaService.getTema(id), TemaDetailDTO.class).toResponseEntity();
 	}
 	
 	/**
@@ -73,8 +76,8 @@ public class TemaController {
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public TemaDTO create(@RequestBody TemaDTO temaDTO) throws IllegalOperationException, EntityNotFoundException {
-		TemaEntity temaEntity = temaService.createtema(modelMapper.map(temaDTO, TemaEntity.class));
-		return modelMapper.map(temaEntity, TemaDTO.class);
+		return readModelService.write(() -> temaService.createtema(dtoMapper.map(temaDTO, TemaEntity.class)),
+				TemaDTO.class);
 	}
 
 	/**
@@ -88,10 +91,12 @@ public class TemaController {
 	 */
 	@PutMapping(value = "/{id}")
 	@ResponseStatus(code = HttpStatus.OK)
-	public TemaDTO update(@PathVariable("id") Long id, @RequestBody TemaDTO temaDTO)
+	public TemaDTO update(@PathVariable("id") Long id,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody TemaDTO temaDTO)
 			throws EntityNotFoundException, IllegalOperationException {
-		TemaEntity temaEntity = temaService.updateTema(id, modelMapper.map(temaDTO, TemaEntity.class));
-		return modelMapper.map(temaEntity, TemaDTO.class);
+		return readModelService.writeIfMatch(ifMatch, () -> temaService.getTema(id), TemaDetailDTO.class,
+				() -> temaService.updateTema(id, dtoMapper.map(temaDTO, TemaEntity.class)),
+				TemaDTO.class);
 	}
 
 	/**
@@ -3,10 +3,10 @@ package co.edu.uniandes.dse.musica.controllers;
 import java.util.List;
 import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,12 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.dto.CountDTO;
 import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 import co.edu.uniandes.dse.musica.services.TemaPodcastService;
 
 /**
@@ -38,30 +41,35 @@ public class TemaPodcastController {
 	private TemaPodcastService temaPodcastService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 
 	@PostMapping(value = "/{temaId}/podcasts/{podcastId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public PodcastDetailDTO addPodcast(@PathVariable("temaId") Long temaId, @PathVariable("podcastId") Long podcastId)
 			throws EntityNotFoundException, IllegalOperationException {
-		PodcastEntity podcastEntity = temaPodcastService.addPodcast(temaId, podcastId);
-		return modelMapper.map(podcastEntity, PodcastDetailDTO.class);
+		return readModelService.write(() -> temaPodcastService.addPodcast(temaId, podcastId), PodcastDetailDTO.class);
 	}
 
 	@GetMapping(value = "/{temaId}/podcasts/{podcastId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public PodcastDetailDTO getPodcast(@PathVariable("temaId") Long temaId, @PathVariable("podcastId") Long podcastId)
+	public ResponseEntity<PodcastDetailDTO> getPodcast(@PathVariable("temaId") Long temaId, @PathVariable("podcastId") Long podcastId)
 			throws EntityNotFoundException, IllegalOperationException {
-		PodcastEntity podcastEntity = temaPodcastService.getPodcast(temaId, podcastId);
-		return modelMapper.map(podcastEntity, PodcastDetailDTO.class);
+		return readModelService.readVersioned(() -> temaPodcastService.getPodcast(temaId, podcastId), PodcastDetailDTO.class).toResponseEntity();
 	}
 
 	@GetMapping(value = "{temaId}/podcasts")
-	@ResponseStatus(code = HttpStatus.OK)
-	public List<PodcastDetailDTO> getPodcasts(@PathVariable("temaId") Long temaId) throws EntityNotFoundException {
-		List<PodcastEntity> podcastEntity = temaPodcastService.getPodcasts(temaId);
-		return modelMapper.map(podcastEntity, new TypeToken<List<PodcastDetailDTO>>() {
-		}.getType());
+	public ResponseEntity<List<PodcastDetailDTO>> getPodcasts(@PathVariable("temaId") Long temaId)
+			throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.<List<PodcastDetailDTO>>readVersioned(() -> temaPodcastService.getPodcasts(temaId),
+				new TypeToken<List<PodcastDetailDTO>>() {
+				}.getType()).toResponseEntity();
+	}
+
+	@GetMapping(value = "{temaId}/podcasts/count")
+	public CountDTO countPodcasts(@PathVariable("temaId") Long temaId) throws EntityNotFoundException {
+		return new CountDTO(temaPodcastService.countPodcasts(temaId));
 	}
 
 	
@@ -69,11 +77,11 @@ public class TemaPodcastController {
 	@ResponseStatus(code = HttpStatus.OK)
 	public List<PodcastDetailDTO> replacePodcasts(@PathVariable("temaId") Long podcastId, @RequestBody List<PodcastDTO> podcasts)
 			throws EntityNotFoundException, IllegalOperationException {
-		List<PodcastEntity> entities = modelMapper.map(podcasts, new TypeToken<List<PodcastEntity>>() {
-		}.getType());
-		List<PodcastEntity> podcastList = temaPodcastService.replacePodcasts(podcastId, entities);
-		return modelMapper.map(podcastList, new TypeToken<List<PodcastDetailDTO>>() {
+		List<PodcastEntity> entities = dtoMapper.map(podcasts, new TypeToken<List<PodcastEntity>>() {
 		}.getType());
+		return readModelService.write(() -> temaPodcastService.replacePodcasts(podcastId, entities),
+				new TypeToken<List<PodcastDetailDTO>>() {
+				}.getType());
 
 	}
 
@@ -1,16 +1,16 @@
 package co.edu.uniandes.dse.musica.controllers;
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,6 +20,8 @@ import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 import co.edu.uniandes.dse.musica.dto.UsuarioDTO;
 import co.edu.uniandes.dse.musica.dto.UsuarioDetailDTO;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 import co.edu.uniandes.dse.musica.services.UsuarioService;
 
 
@@ -31,38 +33,40 @@ public class UsuarioController {
     private UsuarioService usuarioService;
 	
 	@Autowired
-    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 	
 	@PostMapping
 	@ResponseStatus(code = HttpStatus.CREATED)
 	 public UsuarioDTO create(@RequestBody UsuarioDTO usuarioDTO) throws IllegalOperationException, EntityNotFoundException {
-		UsuarioEntity usuarioEntity = usuarioService.createUsuario(modelMapper.map(usuarioDTO, UsuarioEntity.class));
-	        return modelMapper.map(usuarioEntity, UsuarioDTO.class);
+		return readModelService.write(() -> usuarioService.createUsuario(dtoMapper.map(usuarioDTO, UsuarioEntity.class)),
+				UsuarioDTO.class);
 	     }
 	
 	
 	@GetMapping
     @ResponseStatus(code = HttpStatus.OK)
-    public List<UsuarioDetailDTO> findAll() {
-            List<UsuarioEntity> usuarios = usuarioService.getUsuarios();
-            return modelMapper.map(usuarios, new TypeToken<List<UsuarioDetailDTO>>() {
-            }.getType());
+    public Page<UsuarioDTO> findAll(Pageable pageable) {
+            return usuarioService.getUsuariosResumen(pageable);
     }
 	
 	@GetMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public UsuarioDetailDTO findOne(@PathVariable("id") Long id) throws EntityNotFoundException {
-		UsuarioEntity usuarioEntity = usuarioService.getUsuario(id);
-            return modelMapper.map(usuarioEntity, UsuarioDetailDTO.class);
+    public ResponseEntity<UsuarioDetailDTO> findOne(@PathVariable("id") Long id)
+            throws EntityNotFoundException, IllegalOperationException {
+		return readModelService.readVersioned(() -> usuarioService.getUsuario(id), UsuarioDetailDTO.class).toResponseEntity();
     }
 	
 	
 	@PutMapping(value = "/{id}")
     @ResponseStatus(code = HttpStatus.OK)
-    public UsuarioDTO update(@PathVariable("id") Long id, @RequestBody UsuarioDTO usuarioDTO)
+    public UsuarioDTO update(@PathVariable("id") Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody UsuarioDTO usuarioDTO)
                     throws EntityNotFoundException, IllegalOperationException {
-		UsuarioEntity usuarioEntity = usuarioService.updateUsuario(id, modelMapper.map(usuarioDTO, UsuarioEntity.class));
-            return modelMapper.map(usuarioEntity, UsuarioDTO.class);
+		return readModelService.writeIfMatch(ifMatch, () -> usuarioService.getUsuario(id), UsuarioDetailDTO.class,
+				() -> usuarioService.updateUsuario(id, dtoMapper.map(usuarioDTO, UsuarioEntity.class)),
+				UsuarioDTO.class);
     }
 	
 	@DeleteMapping(value = "/{id}")
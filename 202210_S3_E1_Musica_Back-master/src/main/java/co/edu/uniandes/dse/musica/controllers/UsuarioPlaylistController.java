@@ -2,10 +2,10 @@ package co.edu.uniandes.dse.musica.controllers;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import co.edu.uniandes.dse.musica.dto.CountDTO;
 import co.edu.uniandes.dse.musica.dto.CreadorDTO;
 import co.edu.uniandes.dse.musica.dto.PlaylistDTO;
 import co.edu.uniandes.dse.musica.dto.PlaylistDetailDTO;
@@ -23,7 +24,9 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
 import co.edu.uniandes.dse.musica.services.AlbumCreadorService;
+import co.edu.uniandes.dse.musica.services.ReadModelService;
 import co.edu.uniandes.dse.musica.services.UsuarioPlaylistService;
 
 @RestController
@@ -34,43 +37,50 @@ public class UsuarioPlaylistController {
 	private  UsuarioPlaylistService  usuarioPlaylistService;
 
 	@Autowired
-	private ModelMapper modelMapper;
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ReadModelService readModelService;
 	
 	@PostMapping(value = "/{usuarioId}/playlists/{playlistId}")
     @ResponseStatus(code = HttpStatus.OK)
     public PlaylistDetailDTO addPlaylist(@PathVariable("playlistId") Long playlistId, @PathVariable("usuarioId") Long usuarioId)
-                    throws EntityNotFoundException {
-            PlaylistEntity playlistEntity = usuarioPlaylistService.addPlaylist(playlistId, usuarioId);
-            return modelMapper.map(playlistEntity, PlaylistDetailDTO.class);
+                    throws EntityNotFoundException, IllegalOperationException {
+            return readModelService.write(() -> usuarioPlaylistService.addPlaylist(playlistId, usuarioId),
+                    PlaylistDetailDTO.class);
     }
 	
 	
 	@GetMapping(value = "/{usuarioId}/playlists/{playlistId}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public PlaylistDetailDTO getPlaylist(@PathVariable("playlistId") Long playlistId, @PathVariable("usuarioId") Long usuarioId)
+    public ResponseEntity<PlaylistDetailDTO> getPlaylist(@PathVariable("playlistId") Long playlistId, @PathVariable("usuarioId") Long usuarioId)
                     throws EntityNotFoundException, IllegalOperationException {
-            PlaylistEntity playlistEntity = usuarioPlaylistService.getPlaylist(playlistId, usuarioId);
-            return modelMapper.map(playlistEntity, PlaylistDetailDTO.class);
+            return readModelService.readVersioned(() -> usuarioPlaylistService.getPlaylist(playlistId, usuarioId),
+                    PlaylistDetailDTO.class).toResponseEntity();
     }
 	
 	@PutMapping(value = "/{usuarioId}/playlists")
     @ResponseStatus(code = HttpStatus.OK)
     public List<PlaylistDetailDTO> addPlaylists(@PathVariable("usuarioId") Long usuarioId, @RequestBody List<PlaylistDTO> playlists)
-                    throws EntityNotFoundException {
-            List<PlaylistEntity> entities = modelMapper.map(playlists, new TypeToken<List<PlaylistEntity>>() {
+                    throws EntityNotFoundException, IllegalOperationException {
+            List<PlaylistEntity> entities = dtoMapper.map(playlists, new TypeToken<List<PlaylistEntity>>() {
             }.getType());
-            List<PlaylistEntity> playlistsList = usuarioPlaylistService.replacePlaylists(usuarioId, entities);
-            return modelMapper.map(playlistsList, new TypeToken<List<PlaylistDetailDTO>>() {
-            }.getType());        
+            return readModelService.write(() -> usuarioPlaylistService.replacePlaylists(usuarioId, entities),
+                    new TypeToken<List<PlaylistDetailDTO>>() {
+                    }.getType());        
     }
 	
 	
 	@GetMapping(value = "/{usuarioId}/playlists")
-    @ResponseStatus(code = HttpStatus.OK)
-    public List<PlaylistDetailDTO> getPlaylists(@PathVariable("usuarioId") Long usuarioId) throws EntityNotFoundException {
-            List<PlaylistEntity> playlistEntity = usuarioPlaylistService.getPlaylists(usuarioId);
-            return modelMapper.map(playlistEntity, new TypeToken<List<PlaylistDetailDTO>>() {
-            }.getType());
+    public ResponseEntity<List<PlaylistDetailDTO>> getPlaylists(@PathVariable("usuarioId") Long usuarioId)
+            throws EntityNotFoundException, IllegalOperationException {
+            return readModelService.<List<PlaylistDetailDTO>>readVersioned(() -> usuarioPlaylistService.getPlaylists(usuarioId),
+                    new TypeToken<List<PlaylistDetailDTO>>() {
+                    }.getType()).toResponseEntity();
+    }
+
+	@GetMapping(value = "/{usuarioId}/playlists/count")
+    public CountDTO countPlaylists(@PathVariable("usuarioId") Long usuarioId) throws EntityNotFoundException {
+            return new CountDTO(usuarioPlaylistService.countPlaylists(usuarioId));
     }
 	
 	@DeleteMapping(value = "/{usuarioId}/playlists/{playlistId}")
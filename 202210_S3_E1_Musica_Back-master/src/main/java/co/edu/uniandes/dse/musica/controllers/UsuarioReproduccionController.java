@@ -0,0 +1,38 @@
+package co.edu.uniandes.dse.musica.controllers;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.exceptions.ServiceUnavailableException;
+import co.edu.uniandes.dse.musica.services.ReproduccionService;
+
+/**
+ * Class that receives the plays of a usuario. They are accepted with 202 and
+ * written shortly after; when too many are waiting the answer is 503 with a
+ * Retry-After header.
+ */
+@RestController
+@RequestMapping("/usuarios")
+public class UsuarioReproduccionController {
+
+	@Autowired
+	private ReproduccionService reproduccionService;
+
+	@PostMapping(value = "/{usuarioId}/reproducciones")
+	@ResponseStatus(code = HttpStatus.ACCEPTED)
+	public void record(@PathVariable("usuarioId") Long usuarioId, HttpServletRequest request)
+			throws EntityNotFoundException, IllegalOperationException, ServiceUnavailableException, IOException {
+		reproduccionService.record(usuarioId, request.getInputStream());
+	}
+}
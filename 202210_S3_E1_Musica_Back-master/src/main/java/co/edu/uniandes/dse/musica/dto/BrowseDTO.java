@@ -0,0 +1,26 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A page of the results of a faceted browse, how many results there are in
+ * total and the counts of the values of each facet.
+ *
+ * @param <T> type of the results
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrowseDTO<T> {
+	private List<T> content;
+	private String nextCursor;
+	private long total;
+	private Map<String, List<FacetCountDTO>> facetas;
+}
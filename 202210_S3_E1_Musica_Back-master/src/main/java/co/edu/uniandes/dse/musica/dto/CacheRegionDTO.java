@@ -0,0 +1,20 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hit and miss counters of one second level cache region.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionDTO {
+	private String region;
+	private long hitCount;
+	private long missCount;
+	private long putCount;
+}
@@ -0,0 +1,18 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Number of elements of an association, for the clients that do not need the
+ * elements themselves.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountDTO {
+	private long count;
+}
@@ -0,0 +1,23 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How many results have a value of a facet. A value is an entity, with its id
+ * and name, or a range of prices, with its bounds; the upper bound is
+ * excluded and is null for the last range.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+	private Long id;
+	private String nombre;
+	private Double desde;
+	private Double hasta;
+	private long cantidad;
+}
@@ -0,0 +1,18 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A row of an imported file that could not be written.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+	private long line;
+	private String message;
+}
@@ -0,0 +1,22 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Result of importing a file: how many rows were read, written and rejected,
+ * the throughput and the first errors found.
+ */
+@Getter
+@Setter
+public class ImportReportDTO {
+	private long rows;
+	private long imported;
+	private long failed;
+	private long elapsedMillis;
+	private double rowsPerSecond;
+	private List<ImportErrorDTO> errors = new ArrayList<>();
+}
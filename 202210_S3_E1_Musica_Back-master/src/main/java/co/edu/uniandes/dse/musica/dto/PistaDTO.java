@@ -0,0 +1,26 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Track of a playlist: the cancion at one place of its order. The index of a
+ * track is its place in the page that returns it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PistaDTO {
+	private Long id;
+	private CancionDTO cancion;
+
+	/**
+	 * Builds the track from the columns selected by the page queries, without
+	 * loading the entities.
+	 */
+	public PistaDTO(Long id, Long cancionId, String titulo, Integer duracion, String link, String portada) {
+		this.id = id;
+		this.cancion = new CancionDTO(cancionId, titulo, duracion, link, portada);
+	}
+}
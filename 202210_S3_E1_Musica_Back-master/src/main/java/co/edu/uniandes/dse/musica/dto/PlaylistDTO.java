@@ -3,11 +3,15 @@ package co.edu.uniandes.dse.musica.dto;
 
 import java.util.Date;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 
 public class PlaylistDTO {
 	
@@ -0,0 +1,21 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An entity found by a search: its type, id and title, and how well it
+ * matches the query.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+	private String tipo;
+	private Long id;
+	private String titulo;
+	private double score;
+}
@@ -0,0 +1,21 @@
+package co.edu.uniandes.dse.musica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A name suggested while the user types: the type and id of its entity and
+ * how popular it is.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+	private String tipo;
+	private Long id;
+	private String texto;
+	private long popularidad;
+}
@@ -1,10 +1,14 @@
 package co.edu.uniandes.dse.musica.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter; 
+import lombok.NoArgsConstructor;
 import lombok.Setter; 
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class UsuarioDTO {
     private Long id;
     private String nombre; 
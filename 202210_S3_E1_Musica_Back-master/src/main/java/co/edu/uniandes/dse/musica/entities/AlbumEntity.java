@@ -3,9 +3,15 @@ package co.edu.uniandes.dse.musica.entities;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,6 +26,8 @@ import uk.co.jemos.podam.common.PodamExclude;
  @Getter
  @Setter
  @Entity
+ @Cacheable
+ @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "albums")
  public class AlbumEntity extends BaseEntity {
 
     private String imagen;
@@ -30,11 +38,13 @@ import uk.co.jemos.podam.common.PodamExclude;
     private Set<CreadorEntity> artistas = new LinkedHashSet<>();
 
     @PodamExclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "albums-generos")
     @ManyToMany()
     private Set<GeneroEntity> generos = new LinkedHashSet<>();
 
     @PodamExclude
     @ManyToMany
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private Set<CancionEntity> canciones = new LinkedHashSet<>();
 
 
@@ -24,12 +24,24 @@ SOFTWARE.
 
 package co.edu.uniandes.dse.musica.entities;
 
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
 
 /**
@@ -43,11 +55,47 @@ import uk.co.jemos.podam.common.PodamExclude;
 @MappedSuperclass
 public abstract class BaseEntity {
 
+	/**
+	 * Identificador tomado de una secuencia por entidad. El optimizador
+	 * pooled-lo reserva bloques de 50 valores, así que Hibernate conoce el id
+	 * antes del INSERT y puede enviar las inserciones en lotes de JDBC, cosa
+	 * que IDENTITY no permite.
+	 */
 	@PodamExclude
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "musica_seq")
+	@GenericGenerator(name = "musica_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo") })
 	private Long id;
 
+	/**
+	 * Versión para el bloqueo optimista. Hibernate la incrementa en cada
+	 * actualización y con ella se calculan los ETag de los recursos.
+	 */
+	@PodamExclude
+	@Version
+	private Long version;
+
+	/**
+	 * Fecha de la última modificación, usada como Last-Modified de los recursos.
+	 */
+	@PodamExclude
+	@UpdateTimestamp
+	private Instant fechaModificacion;
+
+	/**
+	 * Identidad de la entidad desde que se crea, antes de que tenga id. equals y
+	 * hashCode se basan en ella y no en el id generado, así una entidad nueva no
+	 * cambia de hash al guardarse dentro de los Set de las asociaciones y dos
+	 * entidades nuevas nunca son iguales entre sí.
+	 */
+	@PodamExclude
+	@Setter(AccessLevel.NONE)
+	@Column(nullable = false, updatable = false, length = 16)
+	private UUID uuid = UUID.randomUUID();
+
 	public Long getId() {
 		return id;
 	}
@@ -55,4 +103,48 @@ public abstract class BaseEntity {
 	public void setId(Long id) {
 		this.id = id;
 	}
+
+	/**
+	 * Conserva la identidad de la entidad guardada y también su versión cuando la
+	 * entidad recibida para actualizarla no trae una. Así una actualización sin
+	 * If-Match se comporta como antes y una con If-Match se valida contra la
+	 * versión del cliente.
+	 *
+	 * @param actual la entidad tal como está en la base de datos
+	 */
+	public void heredarVersion(BaseEntity actual) {
+		this.uuid = actual.getUuid();
+		if (this.version == null) {
+			this.version = actual.getVersion();
+			this.fechaModificacion = actual.getFechaModificacion();
+		}
+	}
+
+	/**
+	 * Marca la entidad como modificada aunque ninguno de sus atributos propios
+	 * haya cambiado, por ejemplo cuando cambia el lado inverso de una asociación
+	 * que hace parte de su representación. Incrementa la versión y la fecha de
+	 * modificación al hacer flush.
+	 */
+	public void marcarModificada() {
+		this.fechaModificacion = Instant.now();
+	}
+
+	/**
+	 * Dos entidades son iguales si tienen la misma identidad. Se lee con el
+	 * getter para que funcione también con los proxies de Hibernate.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof BaseEntity))
+			return false;
+		return getUuid().equals(((BaseEntity) o).getUuid());
+	}
+
+	@Override
+	public int hashCode() {
+		return getUuid().hashCode();
+	}
 }
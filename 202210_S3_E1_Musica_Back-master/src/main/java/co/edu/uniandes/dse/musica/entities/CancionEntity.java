@@ -4,7 +4,12 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
+import javax.persistence.Table;
+
+import co.edu.uniandes.dse.musica.helpers.TextNormalizer;
+import lombok.AccessLevel;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -21,6 +26,7 @@ import uk.co.jemos.podam.common.PodamExclude;
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(name = "idx_cancion_titulo_normalizado", columnList = "tituloNormalizado"))
 public class CancionEntity extends BaseEntity {
 
     private String titulo;
@@ -28,8 +34,21 @@ public class CancionEntity extends BaseEntity {
      private String link;
     private String portada;
 
+    /**
+     * Titulo sin tildes, mayúsculas ni espacios de más. Lo mantiene setTitulo y
+     * su índice permite saber si un álbum ya tiene una canción con ese título
+     * sin cargar las canciones del álbum.
+     */
+    @PodamExclude
+    @Setter(AccessLevel.NONE)
+    private String tituloNormalizado;
 
     @PodamExclude
     @ManyToMany
     Set <AlbumEntity> albumes = new LinkedHashSet<>();
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+        this.tituloNormalizado = TextNormalizer.normalize(titulo);
+    }
 }
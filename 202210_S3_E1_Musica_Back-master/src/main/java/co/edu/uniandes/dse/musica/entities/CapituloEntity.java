@@ -4,10 +4,16 @@ import java.util.Date;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
 
+import co.edu.uniandes.dse.musica.helpers.TextNormalizer;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
@@ -18,6 +24,9 @@ import uk.co.jemos.podam.common.PodamExclude;
  * @author Esteban Gonzalez Ruales
  */
 @Entity
+@Table(indexes = @Index(name = "idx_capitulo_fecha_id", columnList = "fechaPublicacion, id"),
+		uniqueConstraints = @UniqueConstraint(name = "uk_capitulo_podcast_titulo", columnNames = { "podcast_id",
+				"tituloNormalizado" }))
 @Getter
 @Setter
 public class CapituloEntity extends BaseEntity {
@@ -28,6 +37,15 @@ public class CapituloEntity extends BaseEntity {
 	@Temporal(TemporalType.DATE)
 	private Date fechaPublicacion;
 
+	/**
+	 * Titulo without accents, case or extra spaces. It is kept by setTitulo and
+	 * its unique index with the podcast is what prevents two capitulos of a
+	 * podcast with the same titulo.
+	 */
+	@PodamExclude
+	@Setter(AccessLevel.NONE)
+	private String tituloNormalizado;
+
 	@PodamExclude
 	@ManyToOne(cascade = CascadeType.PERSIST)
 	private PodcastEntity podcast;
@@ -38,6 +56,7 @@ public class CapituloEntity extends BaseEntity {
 
 	public void setTitulo(String titulo) {
 		this.titulo = titulo;
+		this.tituloNormalizado = TextNormalizer.normalize(titulo);
 	}
 
 	public String getImagen() {
@@ -5,9 +5,17 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import co.edu.uniandes.dse.musica.helpers.TextNormalizer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
@@ -18,6 +26,9 @@ import uk.co.jemos.podam.common.PodamExclude;
  * @author Esteban Gonzalez Ruales
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_creador_nombre_normalizado", columnNames = "nombreNormalizado"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "creadores")
 @Getter
 @Setter
 public class CreadorEntity extends BaseEntity {
@@ -26,7 +37,16 @@ public class CreadorEntity extends BaseEntity {
 	private String nacionalidad;
 	private String imagen;
 
+	/**
+	 * Nombre without accents, case or extra spaces. It is kept by setNombre and
+	 * its unique index is what prevents two creadores with the same name.
+	 */
+	@PodamExclude
+	@Setter(AccessLevel.NONE)
+	private String nombreNormalizado;
+
 	@PodamExclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "creadores-albumes")
 	@ManyToMany
 	private Set<AlbumEntity> albumes = new LinkedHashSet<AlbumEntity>();
 
@@ -40,6 +60,11 @@ public class CreadorEntity extends BaseEntity {
 
 	public void setNombre(String nombre) {
 		this.nombre = nombre;
+		this.nombreNormalizado = TextNormalizer.normalize(nombre);
+	}
+
+	public String getNombreNormalizado() {
+		return nombreNormalizado;
 	}
 
 	public String getNacionalidad() {
@@ -3,9 +3,15 @@ package co.edu.uniandes.dse.musica.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,12 +26,16 @@ import uk.co.jemos.podam.common.PodamExclude;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "generos")
 public class GeneroEntity extends BaseEntity{
 	
 	private String nombre;
 	
 	@PodamExclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "generos-albumes")
 	@ManyToMany
+	@LazyCollection(LazyCollectionOption.EXTRA)
 	private List<AlbumEntity> albumes = new ArrayList<>();
 	
 }
@@ -0,0 +1,50 @@
+package co.edu.uniandes.dse.musica.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.co.jemos.podam.common.PodamExclude;
+
+/**
+ * Posición de una canción en el orden de una playlist. Una canción puede estar
+ * varias veces en la misma playlist, una vez por pista.
+ *
+ * Las pistas se ordenan por su posición, un rango con espacio entre pistas
+ * vecinas: insertar o mover una pista le da una posición entre las de sus
+ * vecinas, así que solo se escribe su propia fila. Las posiciones se vuelven a
+ * repartir solo cuando dos vecinas quedan seguidas.
+ *
+ * Las consultas ordenan por la playlist, la posición y el id, en el orden del
+ * primer índice, para que H2 recorra el índice en vez de ordenar las pistas de
+ * la playlist. El segundo índice da la última posición sin recorrerlas.
+ */
+@Entity
+@Table(indexes = { @Index(name = "idx_pista_playlist_posicion", columnList = "playlist_id, posicion, id"),
+		@Index(name = "idx_pista_playlist_ultima", columnList = "playlist_id, posicion desc") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class PistaEntity extends BaseEntity {
+
+	@PodamExclude
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	private PlaylistEntity playlist;
+
+	@PodamExclude
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	private CancionEntity cancion;
+
+	private long posicion;
+
+	public PistaEntity(PlaylistEntity playlist, CancionEntity cancion, long posicion) {
+		this.playlist = playlist;
+		this.cancion = cancion;
+		this.posicion = posicion;
+	}
+}
@@ -7,6 +7,9 @@ import java.util.Set;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
@@ -24,6 +27,7 @@ public class PlaylistEntity extends BaseEntity {
 
     @PodamExclude
     @ManyToMany
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private Set<CancionEntity> canciones = new HashSet<CancionEntity>();
 
 
@@ -0,0 +1,45 @@
+package co.edu.uniandes.dse.musica.entities;
+
+import java.time.Instant;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+
+/**
+ * Reproducción de una canción o de un capítulo por un usuario.
+ *
+ * Las reproducciones solo se insertan, en lotes de JDBC escritos por
+ * ReproduccionService, y nunca se modifican. Por eso no heredan de BaseEntity:
+ * no tienen versión ni fecha de modificación, el id lo asigna la base de datos
+ * y los ids del usuario, la canción y el capítulo son columnas sin llave
+ * foránea, que no cuestan nada al insertar.
+ */
+@Entity
+@Immutable
+@Getter
+public class ReproduccionEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private Long usuarioId;
+
+	/**
+	 * Canción reproducida, o null si se reprodujo un capítulo.
+	 */
+	private Long cancionId;
+
+	/**
+	 * Capítulo reproducido, o null si se reprodujo una canción.
+	 */
+	private Long capituloId;
+
+	private Instant fecha;
+}
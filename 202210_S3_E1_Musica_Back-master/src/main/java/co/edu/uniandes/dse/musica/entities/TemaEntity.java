@@ -5,9 +5,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+
 import lombok.Getter;
 import lombok.Setter;
 import uk.co.jemos.podam.common.PodamExclude;
@@ -19,6 +25,8 @@ import uk.co.jemos.podam.common.PodamExclude;
  * @author Andres Parraga
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "temas")
 @Getter
 @Setter
 public class TemaEntity extends BaseEntity {
@@ -27,6 +35,7 @@ public class TemaEntity extends BaseEntity {
     
     @PodamExclude
     @ManyToMany
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private List<PodcastEntity> podcasts = new ArrayList<>(); 
 
 
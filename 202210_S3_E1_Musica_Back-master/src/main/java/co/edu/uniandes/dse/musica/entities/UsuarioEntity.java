@@ -3,9 +3,15 @@ package co.edu.uniandes.dse.musica.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,6 +28,8 @@ import uk.co.jemos.podam.common.PodamExclude;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
 public class UsuarioEntity extends BaseEntity {
 
     private String nombre; 
@@ -30,7 +38,8 @@ public class UsuarioEntity extends BaseEntity {
 
 
 	@PodamExclude
-    @OneToMany		
+    @OneToMany
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private List <PlaylistEntity> playlists = new ArrayList<>();
     
     
@@ -9,6 +9,21 @@ public final class ErrorMessage {
 	public static final String PODCAST_NOT_FOUND = "The podcast with the given id was not found";
 	public static final String CAPITULO_NOT_FOUND = "The capitulo with the given id was not found";
 	public static final String CREADOR_NOT_FOUND = "The creador with the given id was not found";
+	public static final String CREADOR_ALREADY_EXISTS = "Creador already exists.";
+	public static final String CANCION_ALREADY_IN_ALBUM = "Cancion already exists in album";
+	public static final String CAPITULO_ALREADY_IN_PODCAST = "Chapter already exists in podcast.";
+	public static final String PISTA_NOT_FOUND = "The playlist has no track at the given index";
+	public static final String PISTA_ID_NOT_FOUND = "The playlist has no track with the given id";
+	public static final String INVALID_PISTA_INDEX = "The index is outside of the playlist";
+	public static final String PISTA_DESPUES_AND_INDICE = "Give either the track to insert after or the index, not both";
 	public static final String GENERO_NOT_FOUND = "The genre with the given id was not found";
 	public static final String USUARIO_NOT_FOUND = "The user with the given id was not found";
+	public static final String INVALID_CURSOR = "The cursor is not valid for this listing";
+	public static final String RESOURCE_MODIFIED = "The resource was modified after the given ETag was issued";
+	public static final String EXPORT_NOT_FOUND = "The given resource cannot be exported";
+	public static final String INVALID_PRICE_RANGE = "The minimum price cannot be greater than the maximum price";
+	public static final String INVALID_PLAY = "Each play must have either a cancionId or a capituloId";
+	public static final String INVALID_PLAYS_BODY = "The body must be a play or an array of plays";
+	public static final String TOO_MANY_PLAYS = "The request has more plays than the buffer can hold";
+	public static final String PLAYS_BUFFER_FULL = "Too many plays are waiting to be written, retry later";
 }
\ No newline at end of file
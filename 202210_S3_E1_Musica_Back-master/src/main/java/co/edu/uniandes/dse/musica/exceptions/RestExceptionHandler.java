@@ -1,10 +1,15 @@
 package co.edu.uniandes.dse.musica.exceptions;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -42,6 +47,50 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    /**
+     * Handles PropertyReferenceException, thrown when a list is requested sorted
+     * by a property that the resource does not have.
+     *
+     * @param ex the PropertyReferenceException
+     * @return the ApiError object
+     */
+    @ExceptionHandler(PropertyReferenceException.class)
+    protected ResponseEntity<Object> handlePropertyReference(
+    		PropertyReferenceException ex) {
+        ApiError apiError = new ApiError(BAD_REQUEST);
+        apiError.setMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
+    /**
+     * Handles ObjectOptimisticLockingFailureException, thrown when another
+     * request updated the same entity after it was read.
+     *
+     * @param ex the ObjectOptimisticLockingFailureException
+     * @return the ApiError object
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    protected ResponseEntity<Object> handleOptimisticLockingFailure(
+    		ObjectOptimisticLockingFailureException ex) {
+        ApiError apiError = new ApiError(PRECONDITION_FAILED);
+        apiError.setMessage(ErrorMessage.RESOURCE_MODIFIED);
+        return buildResponseEntity(apiError);
+    }
+
+    /**
+     * Handles ServiceUnavailableException. Tells the client when to retry.
+     *
+     * @param ex the ServiceUnavailableException
+     * @return the ApiError object
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    protected ResponseEntity<Object> handleServiceUnavailable(
+    		ServiceUnavailableException ex) {
+        ApiError apiError = new ApiError(SERVICE_UNAVAILABLE);
+        apiError.setMessage(ex.getMessage());
+        return ResponseEntity.status(SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiError);
+    }
+
     private ResponseEntity<Object> buildResponseEntity(ApiError apiError) {
         return new ResponseEntity<>(apiError, apiError.getStatus());
     }
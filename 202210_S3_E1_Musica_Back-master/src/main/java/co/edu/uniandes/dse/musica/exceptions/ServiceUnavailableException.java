@@ -0,0 +1,14 @@
+package co.edu.uniandes.dse.musica.exceptions;
+
+/*
+ * Excepción que se lanza cuando el servicio no puede aceptar más trabajo por
+ * ahora y el cliente debe reintentar
+ */
+public class ServiceUnavailableException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public ServiceUnavailableException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,29 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs the changes of the in-memory indexes once the transaction that caused
+ * them commits, so a rollback leaves the indexes as they were. Outside of a
+ * transaction the change runs right away. Changes registered by the same
+ * transaction run in the order they were registered.
+ */
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	static void run(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,205 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Hibernate;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import co.edu.uniandes.dse.musica.entities.BaseEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+
+/**
+ * Set operations used by the services that change the elements of an
+ * association. The requested entities are loaded with one IN query and the
+ * collection is changed only by its difference with the request, so Hibernate
+ * writes one join table row per element that actually changed and sends them
+ * in JDBC batches.
+ */
+public final class Associations {
+
+	public static final JoinTable PLAYLIST_CANCIONES = new JoinTable("playlist_entity_canciones", "playlist_entity_id",
+			"canciones_id");
+
+	public static final JoinTable ALBUM_CANCIONES = new JoinTable("album_entity_canciones", "album_entity_id",
+			"canciones_id");
+
+	public static final JoinTable CANCION_ALBUMES = new JoinTable("cancion_entity_albumes", "cancion_entity_id",
+			"albumes_id");
+
+	private Associations() {
+	}
+
+	/**
+	 * Loads the entities referenced by the given ones with a single query. The
+	 * result keeps the order of the references without repeated ids.
+	 *
+	 * @param repository      repository of the referenced entities
+	 * @param references      entities that only need to carry their id
+	 * @param notFoundMessage message of the exception when an id does not exist
+	 * @return the managed entities
+	 * @throws EntityNotFoundException if one of the ids does not exist
+	 */
+	public static <T extends BaseEntity> List<T> findAllById(JpaRepository<T, Long> repository,
+			Collection<? extends BaseEntity> references, String notFoundMessage) throws EntityNotFoundException {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (BaseEntity reference : references) {
+			if (reference.getId() == null)
+				throw new EntityNotFoundException(notFoundMessage);
+			ids.add(reference.getId());
+		}
+
+		Map<Long, T> byId = new HashMap<>();
+		for (T entity : repository.findAllById(ids))
+			byId.put(entity.getId(), entity);
+
+		List<T> entities = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			T entity = byId.get(id);
+			if (entity == null)
+				throw new EntityNotFoundException(notFoundMessage);
+			entities.add(entity);
+		}
+		return entities;
+	}
+
+	/**
+	 * Adds to a collection the entities it does not have yet. Membership is
+	 * checked against a hash set, as contains is linear on a list.
+	 *
+	 * @param current  association to change
+	 * @param entities entities that must be in the association
+	 * @return the entities that were added
+	 */
+	public static <T> List<T> addMissing(Collection<T> current, Collection<T> entities) {
+		Set<T> present = new HashSet<>(current);
+		List<T> added = new ArrayList<>();
+		for (T entity : entities)
+			if (present.add(entity))
+				added.add(entity);
+		current.addAll(added);
+		return added;
+	}
+
+	/**
+	 * Leaves in a collection exactly the given entities, removing and adding only
+	 * the ones that differ.
+	 *
+	 * @param current  association to change
+	 * @param entities entities the association must have
+	 * @return the entities that were removed
+	 */
+	public static <T> List<T> replace(Collection<T> current, Collection<T> entities) {
+		Set<T> wanted = new HashSet<>(entities);
+		List<T> removed = new ArrayList<>();
+		for (T entity : current)
+			if (!wanted.contains(entity))
+				removed.add(entity);
+		if (!removed.isEmpty())
+			current.removeAll(new HashSet<>(removed));
+		addMissing(current, entities);
+		return removed;
+	}
+
+	/**
+	 * Whether an association has an entity. A collection already loaded answers
+	 * in memory; otherwise the given existence query answers from the join table,
+	 * so the collection is not loaded just for this.
+	 *
+	 * @param current association to check
+	 * @param entity  entity to look for
+	 * @param exists  query that tells whether the entity is in the association
+	 * @return whether the association has the entity
+	 */
+	public static <T> boolean contains(Collection<T> current, T entity, BooleanSupplier exists) {
+		return Hibernate.isInitialized(current) ? current.contains(entity) : exists.getAsBoolean();
+	}
+
+	/**
+	 * Adds an entity to an association without loading the association, the
+	 * counterpart of {@link #remove}. The caller checks first that the entity is
+	 * not in the association, with {@link #contains}, and marks the owner as
+	 * modified.
+	 *
+	 * @param entityManager entity manager of the current transaction
+	 * @param current       association to change
+	 * @param entity        entity to add
+	 * @param table         join table of the association
+	 * @param ownerId       id of the entity that owns the association
+	 */
+	public static <T extends BaseEntity> void add(EntityManager entityManager, Collection<T> current, T entity,
+			JoinTable table, Long ownerId) {
+		if (Hibernate.isInitialized(current)) {
+			current.add(entity);
+			return;
+		}
+		entityManager.flush();
+		entityManager
+				.createNativeQuery("insert into " + table.name + " (" + table.ownerColumn + ", " + table.elementColumn
+						+ ") values (?1, ?2)")
+				.setParameter(1, ownerId)
+				.setParameter(2, entity.getId())
+				.unwrap(NativeQuery.class)
+				.addSynchronizedQuerySpace(table.name)
+				.executeUpdate();
+	}
+
+	/**
+	 * Removes an entity from an association without loading the association.
+	 * When the collection is already loaded it is changed as usual. Otherwise
+	 * its row is deleted from the join table with one statement, which only
+	 * invalidates the second level cache entries of that table. The caller marks
+	 * the owner as modified, as the statement does not change its version.
+	 *
+	 * @param entityManager entity manager of the current transaction
+	 * @param current       association to change
+	 * @param entity        entity to remove
+	 * @param table         join table of the association
+	 * @param ownerId       id of the entity that owns the association
+	 */
+	public static <T extends BaseEntity> void remove(EntityManager entityManager, Collection<T> current, T entity,
+			JoinTable table, Long ownerId) {
+		if (Hibernate.isInitialized(current)) {
+			current.remove(entity);
+			return;
+		}
+		entityManager.flush();
+		entityManager
+				.createNativeQuery("delete from " + table.name + " where " + table.ownerColumn + " = ?1 and "
+						+ table.elementColumn + " = ?2")
+				.setParameter(1, ownerId)
+				.setParameter(2, entity.getId())
+				.unwrap(NativeQuery.class)
+				.addSynchronizedQuerySpace(table.name)
+				.executeUpdate();
+	}
+
+	/**
+	 * Join table of a @ManyToMany association, with the column of the owner and
+	 * the column of the elements.
+	 */
+	public static final class JoinTable {
+
+		private final String name;
+
+		private final String ownerColumn;
+
+		private final String elementColumn;
+
+		private JoinTable(String name, String ownerColumn, String elementColumn) {
+			this.name = name;
+			this.ownerColumn = ownerColumn;
+			this.elementColumn = elementColumn;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one line of a CSV file in its fields. Fields may be quoted with double
+ * quotes, and a quote inside a quoted field is written twice. A quoted field
+ * cannot span several lines.
+ */
+public final class CsvLine {
+
+	private CsvLine() {
+	}
+
+	/**
+	 * Splits a line in its fields.
+	 *
+	 * @param line line without its line terminator
+	 * @return the fields, without quotes
+	 * @throws IllegalArgumentException if a quoted field is not closed
+	 */
+	public static List<String> parse(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"')
+					field.append(c);
+				else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+					field.append(line.charAt(++i));
+				else
+					quoted = false;
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted)
+			throw new IllegalArgumentException("Unclosed quote in CSV line");
+		fields.add(field.toString());
+		return fields;
+	}
+}
@@ -0,0 +1,79 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import co.edu.uniandes.dse.musica.config.CacheConfig;
+import co.edu.uniandes.dse.musica.entities.BaseEntity;
+
+/**
+ * Evicts the cached detail DTOs of the albums, podcasts and creadores whose
+ * data is changed by a service. The entries are evicted right away and again
+ * once the transaction ends, so a read that runs before the commit can not
+ * leave the old data in the cache. Does nothing when caching is not enabled.
+ */
+@Component
+public class DetailCacheEvictor {
+
+	@Autowired
+	private ObjectProvider<CacheManager> cacheManager;
+
+	public void evictAlbum(Long albumId) {
+		evict(CacheConfig.ALBUM_DETAIL, List.of(albumId));
+	}
+
+	public void evictAlbums(Collection<Long> albumIds) {
+		evict(CacheConfig.ALBUM_DETAIL, albumIds);
+	}
+
+	public void evictPodcast(Long podcastId) {
+		evict(CacheConfig.PODCAST_DETAIL, List.of(podcastId));
+	}
+
+	public void evictPodcasts(Collection<Long> podcastIds) {
+		evict(CacheConfig.PODCAST_DETAIL, podcastIds);
+	}
+
+	public void evictCreador(Long creadorId) {
+		evict(CacheConfig.CREADOR_DETAIL, List.of(creadorId));
+	}
+
+	public void evictCreadores(Collection<Long> creadorIds) {
+		evict(CacheConfig.CREADOR_DETAIL, creadorIds);
+	}
+
+	/**
+	 * Ids of the given entities, to evict the entries of an association.
+	 */
+	public static List<Long> idsOf(Collection<? extends BaseEntity> entities) {
+		return entities.stream().map(BaseEntity::getId).collect(Collectors.toList());
+	}
+
+	private void evict(String cacheName, Collection<Long> ids) {
+		CacheManager manager = cacheManager.getIfAvailable();
+		if (manager == null || ids.isEmpty())
+			return;
+		Cache cache = manager.getCache(cacheName);
+		if (cache == null)
+			return;
+		List<Long> keys = List.copyOf(ids);
+		keys.forEach(cache::evict);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					keys.forEach(cache::evict);
+				}
+			});
+		}
+	}
+}
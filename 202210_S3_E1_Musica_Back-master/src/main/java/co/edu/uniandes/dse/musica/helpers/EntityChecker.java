@@ -1,5 +1,7 @@
 package co.edu.uniandes.dse.musica.helpers;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,4 +45,28 @@ public class EntityChecker {
 		Optional<CapituloEntity> chapter = capituloRepository.findById(chapterId);
 		return chapter.orElseThrow(() -> new EntityNotFoundException(ErrorMessage.CAPITULO_NOT_FOUND));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Loads the creadores with the ids of the given ones in a single query.
+	 */
+	public final List<CreadorEntity> checkCreadoresExist(Collection<CreadorEntity> creadores)
+			throws EntityNotFoundException {
+		return Associations.findAllById(creadorRepository, creadores, ErrorMessage.CREADOR_NOT_FOUND);
+	}
+
+	/**
+	 * Loads the podcasts with the ids of the given ones in a single query.
+	 */
+	public final List<PodcastEntity> checkPodcastsExist(Collection<PodcastEntity> podcasts)
+			throws EntityNotFoundException {
+		return Associations.findAllById(podcastRepository, podcasts, ErrorMessage.PODCAST_NOT_FOUND);
+	}
+
+	/**
+	 * Loads the capitulos with the ids of the given ones in a single query.
+	 */
+	public final List<CapituloEntity> checkCapitulosExist(Collection<CapituloEntity> capitulos)
+			throws EntityNotFoundException {
+		return Associations.findAllById(capituloRepository, capitulos, ErrorMessage.CAPITULO_NOT_FOUND);
+	}
+}
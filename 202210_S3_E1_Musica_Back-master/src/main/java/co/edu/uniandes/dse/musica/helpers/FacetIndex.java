@@ -0,0 +1,494 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facets of one type of entity, kept in memory to filter and count without
+ * going to the database. Each value of a facet, for example a genero, has the
+ * {@link IdBitmap} of the documents that have it, and a number field, such as
+ * the precio, keeps a bitmap per distinct number.
+ *
+ * A query selects some values of some facets and a range of a number field.
+ * A document matches when it has one of the selected values of every facet
+ * and its number is in the range. The count of a value is the number of
+ * documents it would match with the other filters, so selecting a value does
+ * not hide the other values of its facet.
+ *
+ * Queries share a read lock and changes take a write lock.
+ */
+public class FacetIndex {
+
+	private IdBitmap documents = new IdBitmap();
+
+	/**
+	 * Documents by facet and value.
+	 */
+	private final Map<String, Map<Long, IdBitmap>> facets = new HashMap<>();
+
+	private final Map<String, NumberField> numbers = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private static class NumberField {
+
+		final Map<Long, Double> values = new HashMap<>();
+
+		final NavigableMap<Double, IdBitmap> documents = new TreeMap<>();
+	}
+
+	/**
+	 * Filters of a query and the page it asks for.
+	 */
+	public static class Query {
+
+		private final Map<String, Collection<Long>> selected = new LinkedHashMap<>();
+
+		private String rangeField;
+
+		private Double min;
+
+		private Double max;
+
+		private double[] bounds = new double[0];
+
+		private long after = -1;
+
+		private int limit = KeysetPage.DEFAULT_LIMIT;
+
+		private int facetLimit = 10;
+
+		/**
+		 * Keeps the documents that have any of the given values of a facet. An
+		 * empty collection does not filter.
+		 */
+		public Query select(String facet, Collection<Long> values) {
+			if (values != null && !values.isEmpty())
+				selected.put(facet, values);
+			return this;
+		}
+
+		/**
+		 * Keeps the documents whose number is between min and max, both included.
+		 * A null bound is open.
+		 */
+		public Query range(String field, Double min, Double max) {
+			this.rangeField = field;
+			this.min = min;
+			this.max = max;
+			return this;
+		}
+
+		/**
+		 * Lower bounds of the ranges of the number field that are counted. The
+		 * last range has no upper bound.
+		 */
+		public Query buckets(double... bounds) {
+			this.bounds = bounds.clone();
+			Arrays.sort(this.bounds);
+			return this;
+		}
+
+		/**
+		 * Returns the documents after the given id, at most limit of them.
+		 */
+		public Query page(long after, int limit) {
+			this.after = after;
+			this.limit = limit;
+			return this;
+		}
+
+		/**
+		 * Maximum number of values counted per facet, the largest counts first.
+		 */
+		public Query facetLimit(int facetLimit) {
+			this.facetLimit = facetLimit;
+			return this;
+		}
+	}
+
+	/**
+	 * A value of a facet and the number of documents it matches.
+	 */
+	public static class Count {
+
+		private final long value;
+
+		private final long count;
+
+		Count(long value, long count) {
+			this.value = value;
+			this.count = count;
+		}
+
+		public long getValue() {
+			return value;
+		}
+
+		public long getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * A range of the number field and the number of documents in it.
+	 */
+	public static class RangeCount {
+
+		private final double from;
+
+		private final Double to;
+
+		private final long count;
+
+		RangeCount(double from, Double to, long count) {
+			this.from = from;
+			this.to = to;
+			this.count = count;
+		}
+
+		public double getFrom() {
+			return from;
+		}
+
+		/**
+		 * Upper bound, excluded, or null for the last range.
+		 */
+		public Double getTo() {
+			return to;
+		}
+
+		public long getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * Documents that match a query and the counts of the facets.
+	 */
+	public static class Result {
+
+		private final long total;
+
+		private final long[] ids;
+
+		private final Map<String, List<Count>> counts;
+
+		private final List<RangeCount> ranges;
+
+		Result(long total, long[] ids, Map<String, List<Count>> counts, List<RangeCount> ranges) {
+			this.total = total;
+			this.ids = ids;
+			this.counts = counts;
+			this.ranges = ranges;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		/**
+		 * Ids of the page in ascending order. There is one more than the limit
+		 * when there is a next page.
+		 */
+		public long[] getIds() {
+			return ids;
+		}
+
+		public Map<String, List<Count>> getCounts() {
+			return counts;
+		}
+
+		public List<RangeCount> getRanges() {
+			return ranges;
+		}
+	}
+
+	/**
+	 * Registers a document, so it matches a query without filters.
+	 */
+	public void addDocument(long id) {
+		lock.writeLock().lock();
+		try {
+			documents.add(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document with its values and numbers.
+	 */
+	public void removeDocument(long id) {
+		lock.writeLock().lock();
+		try {
+			documents.remove(id);
+			for (Map<Long, IdBitmap> values : facets.values())
+				values.values().removeIf(bitmap -> bitmap.remove(id) && bitmap.isEmpty());
+			for (NumberField field : numbers.values())
+				removeNumber(field, id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gives a value of a facet to a document.
+	 */
+	public void add(String facet, long id, long value) {
+		lock.writeLock().lock();
+		try {
+			facets.computeIfAbsent(facet, f -> new HashMap<>()).computeIfAbsent(value, v -> new IdBitmap()).add(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Takes a value of a facet from a document.
+	 */
+	public void remove(String facet, long id, long value) {
+		lock.writeLock().lock();
+		try {
+			Map<Long, IdBitmap> values = facets.get(facet);
+			IdBitmap bitmap = values == null ? null : values.get(value);
+			if (bitmap != null && bitmap.remove(id) && bitmap.isEmpty())
+				values.remove(value);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Leaves a document with exactly the given values of a facet. Every value of
+	 * the facet is checked, so it is meant for facets with few values or for
+	 * changes that are not frequent.
+	 */
+	public void set(String facet, long id, Collection<Long> values) {
+		Set<Long> wanted = new HashSet<>(values);
+		lock.writeLock().lock();
+		try {
+			Map<Long, IdBitmap> current = facets.computeIfAbsent(facet, f -> new HashMap<>());
+			Iterator<Map.Entry<Long, IdBitmap>> entries = current.entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<Long, IdBitmap> entry = entries.next();
+				if (!wanted.contains(entry.getKey()) && entry.getValue().remove(id) && entry.getValue().isEmpty())
+					entries.remove();
+			}
+			for (Long value : wanted)
+				current.computeIfAbsent(value, v -> new IdBitmap()).add(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Leaves a value of a facet with exactly the given documents.
+	 */
+	public void setValue(String facet, long value, Collection<Long> ids) {
+		IdBitmap bitmap = new IdBitmap();
+		ids.forEach(bitmap::add);
+		lock.writeLock().lock();
+		try {
+			Map<Long, IdBitmap> values = facets.computeIfAbsent(facet, f -> new HashMap<>());
+			if (bitmap.isEmpty())
+				values.remove(value);
+			else
+				values.put(value, bitmap);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a value from a facet, for example when its genero is deleted.
+	 */
+	public void removeValue(String facet, long value) {
+		lock.writeLock().lock();
+		try {
+			Map<Long, IdBitmap> values = facets.get(facet);
+			if (values != null)
+				values.remove(value);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Sets the number of a document in a number field.
+	 */
+	public void setNumber(String field, long id, double number) {
+		lock.writeLock().lock();
+		try {
+			NumberField numberField = numbers.computeIfAbsent(field, f -> new NumberField());
+			removeNumber(numberField, id);
+			numberField.values.put(id, number);
+			numberField.documents.computeIfAbsent(number, n -> new IdBitmap()).add(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			documents = new IdBitmap();
+			facets.clear();
+			numbers.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of documents.
+	 */
+	public long size() {
+		lock.readLock().lock();
+		try {
+			return documents.cardinality();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the documents that match a query and counts the values of every
+	 * facet and the ranges of the number field.
+	 */
+	public Result browse(Query query) {
+		lock.readLock().lock();
+		try {
+			Map<String, IdBitmap> filters = new LinkedHashMap<>();
+			for (Map.Entry<String, Collection<Long>> selected : query.selected.entrySet()) {
+				Map<Long, IdBitmap> values = facets.getOrDefault(selected.getKey(), Map.of());
+				List<IdBitmap> bitmaps = new ArrayList<>();
+				for (Long value : new HashSet<>(selected.getValue()))
+					if (values.containsKey(value))
+						bitmaps.add(values.get(value));
+				filters.put(selected.getKey(), or(bitmaps));
+			}
+			NumberField field = query.rangeField == null ? null : numbers.get(query.rangeField);
+			if (query.rangeField != null && (query.min != null || query.max != null))
+				filters.put(query.rangeField, field == null ? new IdBitmap() : or(inRange(field, query.min, query.max)));
+
+			IdBitmap matches = intersect(filters.values());
+			Map<String, List<Count>> counts = new LinkedHashMap<>();
+			for (Map.Entry<String, Map<Long, IdBitmap>> facet : facets.entrySet()) {
+				IdBitmap base = filters.containsKey(facet.getKey()) ? intersectExcept(filters, facet.getKey()) : matches;
+				counts.put(facet.getKey(), count(base, facet.getValue(), query.facetLimit));
+			}
+			List<RangeCount> ranges = new ArrayList<>();
+			if (field != null && query.bounds.length > 0) {
+				IdBitmap base = filters.containsKey(query.rangeField) ? intersectExcept(filters, query.rangeField)
+						: matches;
+				ranges = countRanges(base, field, query.bounds);
+			}
+			return new Result(matches.cardinality(), matches.toArray(query.after, query.limit + 1), counts, ranges);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static void removeNumber(NumberField field, long id) {
+		Double previous = field.values.remove(id);
+		if (previous == null)
+			return;
+		IdBitmap bitmap = field.documents.get(previous);
+		if (bitmap.remove(id) && bitmap.isEmpty())
+			field.documents.remove(previous);
+	}
+
+	private static List<IdBitmap> inRange(NumberField field, Double min, Double max) {
+		NavigableMap<Double, IdBitmap> range = field.documents;
+		if (min != null)
+			range = range.tailMap(min, true);
+		if (max != null)
+			range = range.headMap(max, true);
+		return new ArrayList<>(range.values());
+	}
+
+	/**
+	 * Documents in every filter but the one of the given facet.
+	 */
+	private IdBitmap intersectExcept(Map<String, IdBitmap> filters, String facet) {
+		List<IdBitmap> others = new ArrayList<>();
+		for (Map.Entry<String, IdBitmap> filter : filters.entrySet())
+			if (!filter.getKey().equals(facet))
+				others.add(filter.getValue());
+		return intersect(others);
+	}
+
+	/**
+	 * Documents in all the given sets, starting with the smallest one so that
+	 * every step is as cheap as possible.
+	 */
+	private IdBitmap intersect(Collection<IdBitmap> sets) {
+		if (sets.isEmpty())
+			return documents;
+		List<IdBitmap> sorted = new ArrayList<>(sets);
+		sorted.sort(Comparator.comparingLong(IdBitmap::cardinality));
+		IdBitmap result = IdBitmap.and(sorted.get(0), documents);
+		for (int i = 1; i < sorted.size() && !result.isEmpty(); i++)
+			result = IdBitmap.and(result, sorted.get(i));
+		return result;
+	}
+
+	/**
+	 * Union of the given sets, merged in pairs so that no set is copied more
+	 * than a logarithmic number of times.
+	 */
+	private static IdBitmap or(List<IdBitmap> sets) {
+		if (sets.isEmpty())
+			return new IdBitmap();
+		List<IdBitmap> level = sets;
+		while (level.size() > 1) {
+			List<IdBitmap> next = new ArrayList<>((level.size() + 1) / 2);
+			for (int i = 0; i + 1 < level.size(); i += 2)
+				next.add(IdBitmap.or(level.get(i), level.get(i + 1)));
+			if (level.size() % 2 == 1)
+				next.add(level.get(level.size() - 1));
+			level = next;
+		}
+		return level.get(0);
+	}
+
+	private static List<Count> count(IdBitmap base, Map<Long, IdBitmap> values, int limit) {
+		List<Count> counts = new ArrayList<>();
+		if (base.isEmpty())
+			return counts;
+		for (Map.Entry<Long, IdBitmap> value : values.entrySet()) {
+			long count = IdBitmap.andCardinality(base, value.getValue());
+			if (count > 0)
+				counts.add(new Count(value.getKey(), count));
+		}
+		counts.sort(Comparator.comparingLong(Count::getCount).reversed().thenComparingLong(Count::getValue));
+		return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+	}
+
+	private static List<RangeCount> countRanges(IdBitmap base, NumberField field, double[] bounds) {
+		long[] counts = new long[bounds.length];
+		for (Map.Entry<Double, IdBitmap> number : field.documents.tailMap(bounds[0], true).entrySet()) {
+			int at = Arrays.binarySearch(bounds, number.getKey());
+			int bucket = at >= 0 ? at : -at - 2;
+			counts[bucket] += IdBitmap.andCardinality(base, number.getValue());
+		}
+		List<RangeCount> ranges = new ArrayList<>(bounds.length);
+		for (int i = 0; i < bounds.length; i++)
+			ranges.add(new RangeCount(bounds[i], i + 1 < bounds.length ? bounds[i + 1] : null, counts[i]));
+		return ranges;
+	}
+}
@@ -0,0 +1,167 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.musica.entities.BaseEntity;
+
+/**
+ * Keeps the facets of albumes and podcasts in sync with the associations
+ * changed by the services. Like {@link SearchIndexer}, the ids are read when
+ * the service calls this class and the facets change once the transaction
+ * commits.
+ *
+ * An album has a genero when either of them lists the other, since the album
+ * and the genero keep their side of the association in different join tables;
+ * the same goes for the temas and the creadores of a podcast. The service that
+ * changes one side passes the ids of both, so that a change on one side does
+ * not hide what the other side says. The artistas of an album are a single
+ * join table, changed one pair at a time.
+ */
+@Component
+public class FacetIndexer {
+
+	public static final String GENEROS = "generos";
+
+	public static final String ARTISTAS = "artistas";
+
+	public static final String TEMAS = "temas";
+
+	public static final String CREADORES = "creadores";
+
+	public static final String PRECIO = "precio";
+
+	private final FacetIndex albumes = new FacetIndex();
+
+	private final FacetIndex podcasts = new FacetIndex();
+
+	@Value("${musica.browse.precio-rangos:0,5,10,20}")
+	private double[] precioRangos;
+
+	public FacetIndex getAlbumes() {
+		return albumes;
+	}
+
+	public FacetIndex getPodcasts() {
+		return podcasts;
+	}
+
+	/**
+	 * Lower bounds of the ranges of precio counted when browsing podcasts.
+	 */
+	public double[] getPrecioRangos() {
+		return precioRangos.clone();
+	}
+
+	/**
+	 * Ids of the given entities followed by the given ids, without repetitions.
+	 */
+	public static List<Long> union(Collection<? extends BaseEntity> entities, Collection<Long> ids) {
+		Set<Long> union = new LinkedHashSet<>(DetailCacheEvictor.idsOf(entities));
+		union.addAll(ids);
+		return List.copyOf(union);
+	}
+
+	/**
+	 * Registers an album with the generos it has.
+	 */
+	public void indexAlbum(Long albumId, Collection<Long> generoIds) {
+		List<Long> generos = List.copyOf(generoIds);
+		AfterCommit.run(() -> {
+			albumes.addDocument(albumId);
+			albumes.set(GENEROS, albumId, generos);
+		});
+	}
+
+	public void setAlbumGeneros(Long albumId, Collection<Long> generoIds) {
+		List<Long> generos = List.copyOf(generoIds);
+		AfterCommit.run(() -> albumes.set(GENEROS, albumId, generos));
+	}
+
+	public void setGeneroAlbumes(Long generoId, Collection<Long> albumIds) {
+		List<Long> ids = List.copyOf(albumIds);
+		AfterCommit.run(() -> albumes.setValue(GENEROS, generoId, ids));
+	}
+
+	public void addAlbumArtista(Long albumId, Long creadorId) {
+		AfterCommit.run(() -> albumes.add(ARTISTAS, albumId, creadorId));
+	}
+
+	public void removeAlbumArtista(Long albumId, Long creadorId) {
+		AfterCommit.run(() -> albumes.remove(ARTISTAS, albumId, creadorId));
+	}
+
+	public void removeAlbum(Long albumId) {
+		AfterCommit.run(() -> albumes.removeDocument(albumId));
+	}
+
+	/**
+	 * Registers a podcast with its precio, temas and creadores.
+	 */
+	public void indexPodcast(Long podcastId, double precio, Collection<Long> temaIds, Collection<Long> creadorIds) {
+		List<Long> temas = List.copyOf(temaIds);
+		List<Long> creadores = List.copyOf(creadorIds);
+		AfterCommit.run(() -> {
+			podcasts.addDocument(podcastId);
+			podcasts.setNumber(PRECIO, podcastId, precio);
+			podcasts.set(TEMAS, podcastId, temas);
+			podcasts.set(CREADORES, podcastId, creadores);
+		});
+	}
+
+	public void setPodcastTemas(Long podcastId, Collection<Long> temaIds) {
+		List<Long> temas = List.copyOf(temaIds);
+		AfterCommit.run(() -> podcasts.set(TEMAS, podcastId, temas));
+	}
+
+	public void setPodcastCreadores(Long podcastId, Collection<Long> creadorIds) {
+		List<Long> creadores = List.copyOf(creadorIds);
+		AfterCommit.run(() -> podcasts.set(CREADORES, podcastId, creadores));
+	}
+
+	public void setTemaPodcasts(Long temaId, Collection<Long> podcastIds) {
+		List<Long> ids = List.copyOf(podcastIds);
+		AfterCommit.run(() -> podcasts.setValue(TEMAS, temaId, ids));
+	}
+
+	/**
+	 * Sets the albumes a creador is artista of and the podcasts it creates.
+	 */
+	public void indexCreador(Long creadorId, Collection<Long> albumIds, Collection<Long> podcastIds) {
+		List<Long> albumIdList = List.copyOf(albumIds);
+		AfterCommit.run(() -> albumes.setValue(ARTISTAS, creadorId, albumIdList));
+		setCreadorPodcasts(creadorId, podcastIds);
+	}
+
+	public void setCreadorPodcasts(Long creadorId, Collection<Long> podcastIds) {
+		List<Long> ids = List.copyOf(podcastIds);
+		AfterCommit.run(() -> podcasts.setValue(CREADORES, creadorId, ids));
+	}
+
+	public void removePodcast(Long podcastId) {
+		AfterCommit.run(() -> podcasts.removeDocument(podcastId));
+	}
+
+	public void removeGenero(Long generoId) {
+		AfterCommit.run(() -> albumes.removeValue(GENEROS, generoId));
+	}
+
+	public void removeTema(Long temaId) {
+		AfterCommit.run(() -> podcasts.removeValue(TEMAS, temaId));
+	}
+
+	/**
+	 * Removes a creador both as artista of albumes and as creador of podcasts.
+	 */
+	public void removeCreador(Long creadorId) {
+		AfterCommit.run(() -> {
+			albumes.removeValue(ARTISTAS, creadorId);
+			podcasts.removeValue(CREADORES, creadorId);
+		});
+	}
+}
@@ -0,0 +1,479 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of entity ids, laid out like a Roaring bitmap. The ids are
+ * split in chunks of 65536 by their high bits. A chunk with up to 4096 ids
+ * keeps them in a sorted array of chars, and a fuller chunk turns into a plain
+ * bitmap of 8 KB. A sparse set takes about two bytes per id and a dense one a
+ * bit per id, and intersections go chunk by chunk without decompressing.
+ *
+ * Ids must not be negative. Not thread safe: {@link FacetIndex} calls it under
+ * its own lock.
+ */
+public final class IdBitmap {
+
+	private static final int ARRAY_MAX = 4096;
+
+	private static final int WORDS = 1024;
+
+	private long[] keys = new long[4];
+
+	private Container[] containers = new Container[4];
+
+	private int chunks;
+
+	/**
+	 * Adds an id.
+	 *
+	 * @return true if the id was not in the set
+	 */
+	public boolean add(long id) {
+		long key = id >>> 16;
+		char low = (char) id;
+		int at = find(key);
+		if (at < 0) {
+			insert(-at - 1, key, new ArrayContainer().add(low));
+			return true;
+		}
+		int before = containers[at].cardinality;
+		containers[at] = containers[at].add(low);
+		return containers[at].cardinality != before;
+	}
+
+	/**
+	 * Removes an id.
+	 *
+	 * @return true if the id was in the set
+	 */
+	public boolean remove(long id) {
+		int at = find(id >>> 16);
+		if (at < 0)
+			return false;
+		int before = containers[at].cardinality;
+		Container container = containers[at].remove((char) id);
+		if (container.cardinality == 0)
+			delete(at);
+		else
+			containers[at] = container;
+		return container.cardinality != before;
+	}
+
+	public boolean contains(long id) {
+		int at = find(id >>> 16);
+		return at >= 0 && containers[at].contains((char) id);
+	}
+
+	public long cardinality() {
+		long cardinality = 0;
+		for (int i = 0; i < chunks; i++)
+			cardinality += containers[i].cardinality;
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return chunks == 0;
+	}
+
+	/**
+	 * Smallest id of the set that is not under the given one, or -1 if there is
+	 * none.
+	 */
+	public long next(long from) {
+		if (from < 0)
+			from = 0;
+		int at = find(from >>> 16);
+		if (at >= 0) {
+			int low = containers[at].next((int) (from & 0xFFFF));
+			if (low >= 0)
+				return keys[at] << 16 | low;
+			at++;
+		} else {
+			at = -at - 1;
+		}
+		return at < chunks ? keys[at] << 16 | containers[at].next(0) : -1;
+	}
+
+	/**
+	 * The first ids of the set that are over the given one, in order.
+	 *
+	 * @param after ids up to this one are skipped
+	 * @param limit maximum number of ids
+	 */
+	public long[] toArray(long after, int limit) {
+		long[] ids = new long[(int) Math.min(limit, cardinality())];
+		int size = 0;
+		for (long id = next(after + 1); id >= 0 && size < limit; id = next(id + 1))
+			ids[size++] = id;
+		return size == ids.length ? ids : Arrays.copyOf(ids, size);
+	}
+
+	/**
+	 * New set with the ids that are in both sets.
+	 */
+	public static IdBitmap and(IdBitmap a, IdBitmap b) {
+		IdBitmap result = new IdBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < a.chunks && j < b.chunks) {
+			if (a.keys[i] < b.keys[j]) {
+				i++;
+			} else if (a.keys[i] > b.keys[j]) {
+				j++;
+			} else {
+				Container container = a.containers[i].and(b.containers[j]);
+				if (container.cardinality > 0)
+					result.insert(result.chunks, a.keys[i], container);
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Number of ids that are in both sets, without building the intersection.
+	 */
+	public static long andCardinality(IdBitmap a, IdBitmap b) {
+		long cardinality = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.chunks && j < b.chunks) {
+			if (a.keys[i] < b.keys[j]) {
+				i++;
+			} else if (a.keys[i] > b.keys[j]) {
+				j++;
+			} else {
+				cardinality += a.containers[i].andCardinality(b.containers[j]);
+				i++;
+				j++;
+			}
+		}
+		return cardinality;
+	}
+
+	/**
+	 * New set with the ids that are in any of the two sets.
+	 */
+	public static IdBitmap or(IdBitmap a, IdBitmap b) {
+		IdBitmap result = new IdBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < a.chunks || j < b.chunks) {
+			if (j == b.chunks || i < a.chunks && a.keys[i] < b.keys[j]) {
+				result.insert(result.chunks, a.keys[i], a.containers[i].copy());
+				i++;
+			} else if (i == a.chunks || a.keys[i] > b.keys[j]) {
+				result.insert(result.chunks, b.keys[j], b.containers[j].copy());
+				j++;
+			} else {
+				result.insert(result.chunks, a.keys[i], a.containers[i].or(b.containers[j]));
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	private int find(long key) {
+		return Arrays.binarySearch(keys, 0, chunks, key);
+	}
+
+	private void insert(int at, long key, Container container) {
+		if (chunks == keys.length) {
+			keys = Arrays.copyOf(keys, chunks * 2);
+			containers = Arrays.copyOf(containers, chunks * 2);
+		}
+		System.arraycopy(keys, at, keys, at + 1, chunks - at);
+		System.arraycopy(containers, at, containers, at + 1, chunks - at);
+		keys[at] = key;
+		containers[at] = container;
+		chunks++;
+	}
+
+	private void delete(int at) {
+		System.arraycopy(keys, at + 1, keys, at, chunks - at - 1);
+		System.arraycopy(containers, at + 1, containers, at, chunks - at - 1);
+		containers[--chunks] = null;
+	}
+
+	/**
+	 * The low 16 bits of the ids of one chunk. Changes return the container to
+	 * keep, which is a different kind when the cardinality crosses ARRAY_MAX.
+	 */
+	private abstract static class Container {
+
+		int cardinality;
+
+		abstract Container add(char value);
+
+		abstract Container remove(char value);
+
+		abstract boolean contains(char value);
+
+		/**
+		 * Smallest value not under from, or -1.
+		 */
+		abstract int next(int from);
+
+		abstract Container and(Container other);
+
+		abstract int andCardinality(Container other);
+
+		abstract Container or(Container other);
+
+		abstract Container copy();
+	}
+
+	private static final class ArrayContainer extends Container {
+
+		char[] values;
+
+		ArrayContainer() {
+			values = new char[4];
+		}
+
+		ArrayContainer(char[] values, int cardinality) {
+			this.values = values;
+			this.cardinality = cardinality;
+		}
+
+		@Override
+		Container add(char value) {
+			int at = Arrays.binarySearch(values, 0, cardinality, value);
+			if (at >= 0)
+				return this;
+			if (cardinality == ARRAY_MAX)
+				return toBitmap().add(value);
+			at = -at - 1;
+			if (cardinality == values.length)
+				values = Arrays.copyOf(values, Math.max(4, Math.min(ARRAY_MAX, cardinality * 2)));
+			System.arraycopy(values, at, values, at + 1, cardinality - at);
+			values[at] = value;
+			cardinality++;
+			return this;
+		}
+
+		@Override
+		Container remove(char value) {
+			int at = Arrays.binarySearch(values, 0, cardinality, value);
+			if (at >= 0) {
+				System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+				cardinality--;
+			}
+			return this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+		}
+
+		@Override
+		int next(int from) {
+			int at = Arrays.binarySearch(values, 0, cardinality, (char) from);
+			if (at < 0)
+				at = -at - 1;
+			return at < cardinality ? values[at] : -1;
+		}
+
+		@Override
+		Container and(Container other) {
+			char[] result = new char[Math.min(cardinality, other.cardinality)];
+			int size = 0;
+			if (other instanceof ArrayContainer) {
+				char[] others = ((ArrayContainer) other).values;
+				int i = 0;
+				int j = 0;
+				while (i < cardinality && j < other.cardinality) {
+					if (values[i] < others[j]) {
+						i++;
+					} else if (values[i] > others[j]) {
+						j++;
+					} else {
+						result[size++] = values[i];
+						i++;
+						j++;
+					}
+				}
+			} else {
+				for (int i = 0; i < cardinality; i++)
+					if (other.contains(values[i]))
+						result[size++] = values[i];
+			}
+			return new ArrayContainer(result, size);
+		}
+
+		@Override
+		int andCardinality(Container other) {
+			int count = 0;
+			if (other instanceof ArrayContainer) {
+				char[] others = ((ArrayContainer) other).values;
+				int i = 0;
+				int j = 0;
+				while (i < cardinality && j < other.cardinality) {
+					if (values[i] < others[j]) {
+						i++;
+					} else if (values[i] > others[j]) {
+						j++;
+					} else {
+						count++;
+						i++;
+						j++;
+					}
+				}
+			} else {
+				for (int i = 0; i < cardinality; i++)
+					if (other.contains(values[i]))
+						count++;
+			}
+			return count;
+		}
+
+		@Override
+		Container or(Container other) {
+			if (other instanceof BitmapContainer)
+				return other.or(this);
+			char[] others = ((ArrayContainer) other).values;
+			char[] result = new char[cardinality + other.cardinality];
+			int size = 0;
+			int i = 0;
+			int j = 0;
+			while (i < cardinality || j < other.cardinality) {
+				if (j == other.cardinality || i < cardinality && values[i] < others[j]) {
+					result[size++] = values[i++];
+				} else if (i == cardinality || values[i] > others[j]) {
+					result[size++] = others[j++];
+				} else {
+					result[size++] = values[i];
+					i++;
+					j++;
+				}
+			}
+			ArrayContainer union = new ArrayContainer(result, size);
+			return size > ARRAY_MAX ? union.toBitmap() : union;
+		}
+
+		@Override
+		Container copy() {
+			return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+		}
+
+		BitmapContainer toBitmap() {
+			BitmapContainer bitmap = new BitmapContainer();
+			for (int i = 0; i < cardinality; i++)
+				bitmap.words[values[i] >>> 6] |= 1L << values[i];
+			bitmap.cardinality = cardinality;
+			return bitmap;
+		}
+	}
+
+	private static final class BitmapContainer extends Container {
+
+		final long[] words = new long[WORDS];
+
+		@Override
+		Container add(char value) {
+			long before = words[value >>> 6];
+			words[value >>> 6] = before | 1L << value;
+			if (words[value >>> 6] != before)
+				cardinality++;
+			return this;
+		}
+
+		@Override
+		Container remove(char value) {
+			long before = words[value >>> 6];
+			words[value >>> 6] = before & ~(1L << value);
+			if (words[value >>> 6] != before)
+				cardinality--;
+			return cardinality <= ARRAY_MAX ? toArray() : this;
+		}
+
+		@Override
+		boolean contains(char value) {
+			return (words[value >>> 6] & 1L << value) != 0;
+		}
+
+		@Override
+		int next(int from) {
+			int word = from >>> 6;
+			if (word >= WORDS)
+				return -1;
+			long bits = words[word] & -1L << from;
+			while (bits == 0) {
+				if (++word == WORDS)
+					return -1;
+				bits = words[word];
+			}
+			return word * 64 + Long.numberOfTrailingZeros(bits);
+		}
+
+		@Override
+		Container and(Container other) {
+			if (other instanceof ArrayContainer)
+				return other.and(this);
+			long[] others = ((BitmapContainer) other).words;
+			BitmapContainer result = new BitmapContainer();
+			int count = 0;
+			for (int i = 0; i < WORDS; i++) {
+				result.words[i] = words[i] & others[i];
+				count += Long.bitCount(result.words[i]);
+			}
+			result.cardinality = count;
+			return count <= ARRAY_MAX ? result.toArray() : result;
+		}
+
+		@Override
+		int andCardinality(Container other) {
+			if (other instanceof ArrayContainer)
+				return other.andCardinality(this);
+			long[] others = ((BitmapContainer) other).words;
+			int count = 0;
+			for (int i = 0; i < WORDS; i++)
+				count += Long.bitCount(words[i] & others[i]);
+			return count;
+		}
+
+		@Override
+		Container or(Container other) {
+			BitmapContainer result = (BitmapContainer) copy();
+			if (other instanceof ArrayContainer) {
+				ArrayContainer array = (ArrayContainer) other;
+				for (int i = 0; i < array.cardinality; i++)
+					result.add(array.values[i]);
+				return result;
+			}
+			long[] others = ((BitmapContainer) other).words;
+			int count = 0;
+			for (int i = 0; i < WORDS; i++) {
+				result.words[i] |= others[i];
+				count += Long.bitCount(result.words[i]);
+			}
+			result.cardinality = count;
+			return result;
+		}
+
+		@Override
+		Container copy() {
+			BitmapContainer copy = new BitmapContainer();
+			System.arraycopy(words, 0, copy.words, 0, WORDS);
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		ArrayContainer toArray() {
+			char[] values = new char[Math.max(4, cardinality)];
+			int size = 0;
+			for (int i = 0; i < WORDS; i++) {
+				long bits = words[i];
+				while (bits != 0) {
+					values[size++] = (char) (i * 64 + Long.numberOfTrailingZeros(bits));
+					bits &= bits - 1;
+				}
+			}
+			return new ArrayContainer(values, size);
+		}
+	}
+}
@@ -0,0 +1,555 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index in memory ranked with BM25. Each document is an entity of a
+ * given type and id with a title to show and the text to search.
+ *
+ * Documents get consecutive numbers, so every posting list is sorted just by
+ * appending to it. Replacing or removing a document only marks its number as
+ * deleted; the posting lists are compacted once the deleted documents
+ * outnumber the live ones. A query matches the documents that have all its
+ * terms: the shortest posting list is walked and the others are searched
+ * forward from their last position, so a query costs about the length of its
+ * rarest term.
+ *
+ * A fuzzy search also matches the terms that look or sound like the terms of
+ * the query, found with {@link TermDictionary}. Each term of the query then
+ * matches any of its variants, and a variant scores less the further it is
+ * from the term.
+ *
+ * Searches share a read lock and changes take a write lock.
+ */
+public class InvertedIndex {
+
+	private static final float K1 = 1.2f;
+
+	private static final float B = 0.75f;
+
+	/**
+	 * Documents deleted before the posting lists are compacted, at least.
+	 */
+	private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+	/**
+	 * Variants of a term a fuzzy search matches at most: the closest ones and,
+	 * among them, the most frequent.
+	 */
+	private static final int MAX_VARIANTS = 8;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Postings> postings = new HashMap<>();
+
+	private final TermDictionary dictionary = new TermDictionary();
+
+	/**
+	 * Number of the live document of each entity, by type and id.
+	 */
+	private final Map<String, Map<Long, Integer>> documents = new HashMap<>();
+
+	private String[] types = new String[1024];
+
+	private long[] ids = new long[1024];
+
+	private String[] titles = new String[1024];
+
+	private int[] lengths = new int[1024];
+
+	private final BitSet deleted = new BitSet();
+
+	private int size;
+
+	private int live;
+
+	private int deletedCount;
+
+	private long totalLength;
+
+	/**
+	 * A document found by a search.
+	 */
+	public static class Hit {
+
+		private final String type;
+
+		private final long id;
+
+		private final String title;
+
+		private final double score;
+
+		Hit(String type, long id, String title, double score) {
+			this.type = type;
+			this.id = id;
+			this.title = title;
+			this.score = score;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public double getScore() {
+			return score;
+		}
+	}
+
+	/**
+	 * Documents that contain a term and how many times, sorted by document.
+	 */
+	private static class Postings {
+
+		int[] docs = new int[4];
+
+		int[] freqs = new int[4];
+
+		int size;
+
+		/**
+		 * Highest frequency ever added, a bound for the score of the list.
+		 */
+		int maxFreq;
+
+		void add(int doc, int freq) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				freqs = Arrays.copyOf(freqs, size * 2);
+			}
+			docs[size] = doc;
+			freqs[size] = freq;
+			size++;
+			maxFreq = Math.max(maxFreq, freq);
+		}
+
+		/**
+		 * Position of the first document not lower than the given one, starting
+		 * at from. Gallops forward and then searches the last interval.
+		 */
+		int advance(int from, int doc) {
+			int bound = 1;
+			while (from + bound < size && docs[from + bound] < doc)
+				bound *= 2;
+			int index = Arrays.binarySearch(docs, from + bound / 2, Math.min(from + bound + 1, size), doc);
+			return index >= 0 ? index : -index - 1;
+		}
+	}
+
+	/**
+	 * Cursor over the documents that match one term of a fuzzy query through
+	 * any of its variants. A document scores as its best variant.
+	 */
+	private static class Variants {
+
+		final Postings[] lists;
+
+		final float[] weights;
+
+		final int[] positions;
+
+		final int total;
+
+		Variants(Postings[] lists, float[] weights) {
+			this.lists = lists;
+			this.weights = weights;
+			this.positions = new int[lists.length];
+			int sum = 0;
+			for (Postings list : lists)
+				sum += list.size;
+			this.total = sum;
+		}
+
+		/**
+		 * Lowest document not read yet, or -1 when every list is read.
+		 */
+		int next() {
+			int doc = Integer.MAX_VALUE;
+			for (int v = 0; v < lists.length; v++)
+				if (positions[v] < lists[v].size)
+					doc = Math.min(doc, lists[v].docs[positions[v]]);
+			return doc == Integer.MAX_VALUE ? -1 : doc;
+		}
+
+		boolean exhausted() {
+			for (int v = 0; v < lists.length; v++)
+				if (positions[v] < lists[v].size)
+					return false;
+			return true;
+		}
+
+		/**
+		 * Moves every list to the given document, or past it, and scores it.
+		 * Returns 0 when no variant is in the document.
+		 */
+		float score(int doc, float norm) {
+			float best = 0;
+			for (int v = 0; v < lists.length; v++) {
+				Postings list = lists[v];
+				positions[v] = list.advance(positions[v], doc);
+				if (positions[v] < list.size && list.docs[positions[v]] == doc) {
+					int freq = list.freqs[positions[v]++];
+					best = Math.max(best, weights[v] * freq * (K1 + 1) / (freq + norm));
+				}
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Adds a document, replacing the one with the same type and id.
+	 *
+	 * @param type  type of the entity
+	 * @param id    id of the entity
+	 * @param title text returned with the hits
+	 * @param text  text to search, usually the title and other fields
+	 */
+	public void put(String type, long id, String title, String text) {
+		List<String> terms = SearchTokenizer.tokenize(text);
+		Map<String, Integer> freqs = new LinkedHashMap<>();
+		for (String term : terms)
+			freqs.merge(term, 1, Integer::sum);
+
+		lock.writeLock().lock();
+		try {
+			delete(type, id);
+			int doc = size++;
+			if (doc == ids.length)
+				grow();
+			types[doc] = type;
+			ids[doc] = id;
+			titles[doc] = title;
+			lengths[doc] = terms.size();
+			live++;
+			totalLength += terms.size();
+			documents.computeIfAbsent(type, key -> new HashMap<>()).put(id, doc);
+			freqs.forEach((term, freq) -> postings.computeIfAbsent(term, key -> {
+				dictionary.add(key);
+				return new Postings();
+			}).add(doc, freq));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document, if it is in the index.
+	 *
+	 * @param type type of the entity
+	 * @param id   id of the entity
+	 */
+	public void remove(String type, long id) {
+		lock.writeLock().lock();
+		try {
+			delete(type, id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes every document.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			dictionary.clear();
+			documents.clear();
+			deleted.clear();
+			deletedCount = 0;
+			Arrays.fill(types, 0, size, null);
+			Arrays.fill(titles, 0, size, null);
+			size = 0;
+			live = 0;
+			totalLength = 0;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of documents in the index.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return live;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the documents that contain every term of a query, best first.
+	 *
+	 * @param query text to search
+	 * @param limit maximum number of hits
+	 * @return the hits, sorted by descending score
+	 */
+	public List<Hit> search(String query, int limit) {
+		return search(query, limit, false);
+	}
+
+	/**
+	 * Finds the documents that contain every term of a query, best first.
+	 *
+	 * @param query text to search
+	 * @param limit maximum number of hits
+	 * @param fuzzy whether the terms also match the ones that look or sound
+	 *              like them
+	 * @return the hits, sorted by descending score
+	 */
+	public List<Hit> search(String query, int limit, boolean fuzzy) {
+		List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+		if (terms.isEmpty() || limit <= 0)
+			return new ArrayList<>();
+
+		lock.readLock().lock();
+		try {
+			if (fuzzy)
+				return searchFuzzy(terms, limit);
+			Postings[] lists = new Postings[terms.size()];
+			for (int i = 0; i < lists.length; i++) {
+				lists[i] = postings.get(terms.get(i));
+				if (lists[i] == null)
+					return new ArrayList<>();
+			}
+			Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+			float[] idfs = new float[lists.length];
+			for (int i = 0; i < lists.length; i++)
+				idfs[i] = (float) Math.log(1 + (live - lists[i].size + 0.5) / (lists[i].size + 0.5));
+			float averageLength = live == 0 ? 1 : (float) totalLength / live;
+
+			PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getScore));
+			int[] positions = new int[lists.length];
+			Postings rarest = lists[0];
+			candidates: for (int p = 0; p < rarest.size; p++) {
+				int doc = rarest.docs[p];
+				if (deleted.get(doc))
+					continue;
+				float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+				float score = idfs[0] * rarest.freqs[p] * (K1 + 1) / (rarest.freqs[p] + norm);
+				for (int i = 1; i < lists.length; i++) {
+					Postings list = lists[i];
+					positions[i] = list.advance(positions[i], doc);
+					if (positions[i] == list.size)
+						break candidates;
+					if (list.docs[positions[i]] != doc)
+						continue candidates;
+					int freq = list.freqs[positions[i]];
+					score += idfs[i] * freq * (K1 + 1) / (freq + norm);
+				}
+				if (best.size() < limit || score > best.peek().getScore()) {
+					best.add(new Hit(types[doc], ids[doc], titles[doc], score));
+					if (best.size() > limit)
+						best.poll();
+				}
+			}
+
+			List<Hit> hits = new ArrayList<>(best);
+			hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+			return hits;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<Hit> searchFuzzy(List<String> terms, int limit) {
+		float averageLength = live == 0 ? 1 : (float) totalLength / live;
+		Variants[] slots = new Variants[terms.size()];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = variants(terms.get(i));
+			if (slots[i].total == 0)
+				return new ArrayList<>();
+		}
+		if (slots.length == 1)
+			return searchVariants(slots[0], averageLength, limit);
+		Arrays.sort(slots, Comparator.comparingInt(slot -> slot.total));
+
+		PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getScore));
+		Variants rarest = slots[0];
+		candidates: for (int doc = rarest.next(); doc >= 0; doc = rarest.next()) {
+			float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+			float score = rarest.score(doc, norm);
+			if (deleted.get(doc))
+				continue;
+			for (int i = 1; i < slots.length; i++) {
+				float slotScore = slots[i].score(doc, norm);
+				if (slotScore == 0) {
+					if (slots[i].exhausted())
+						break candidates;
+					continue candidates;
+				}
+				score += slotScore;
+			}
+			if (best.size() < limit || score > best.peek().getScore()) {
+				best.add(new Hit(types[doc], ids[doc], titles[doc], score));
+				if (best.size() > limit)
+					best.poll();
+			}
+		}
+
+		List<Hit> hits = new ArrayList<>(best);
+		hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+		return hits;
+	}
+
+	/**
+	 * Search for a single term, a variant at a time from the one that can
+	 * score the most. Once the hits found score more than the best score of the
+	 * next variant, the rest of the variants cannot change them and are not
+	 * read.
+	 */
+	private List<Hit> searchVariants(Variants slot, float averageLength, int limit) {
+		Integer[] order = new Integer[slot.lists.length];
+		float[] bounds = new float[order.length];
+		for (int v = 0; v < order.length; v++) {
+			order[v] = v;
+			int freq = slot.lists[v].maxFreq;
+			bounds[v] = slot.weights[v] * freq * (K1 + 1) / (freq + K1 * (1 - B + B * freq / averageLength));
+		}
+		Arrays.sort(order, (a, b) -> Float.compare(bounds[b], bounds[a]));
+
+		PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getScore));
+		Map<Integer, Hit> kept = new HashMap<>();
+		for (int v : order) {
+			if (best.size() == limit && bounds[v] <= best.peek().getScore())
+				break;
+			Postings list = slot.lists[v];
+			for (int p = 0; p < list.size; p++) {
+				int doc = list.docs[p];
+				if (deleted.get(doc))
+					continue;
+				float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+				float score = slot.weights[v] * list.freqs[p] * (K1 + 1) / (list.freqs[p] + norm);
+				if (best.size() == limit && score <= best.peek().getScore())
+					continue;
+				// A document of several variants keeps the score of the best one
+				Hit previous = kept.get(doc);
+				if (previous != null) {
+					if (previous.getScore() >= score)
+						continue;
+					best.remove(previous);
+				}
+				Hit hit = new Hit(types[doc], ids[doc], titles[doc], score);
+				best.add(hit);
+				kept.put(doc, hit);
+				if (best.size() > limit)
+					kept.values().remove(best.poll());
+			}
+		}
+
+		List<Hit> hits = new ArrayList<>(best);
+		hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+		return hits;
+	}
+
+	/**
+	 * Variants of a term in the index: the closest ones and, among them, the
+	 * most frequent. A variant at distance d counts 1 / (1 + d) of its BM25
+	 * score.
+	 */
+	private Variants variants(String term) {
+		List<Map.Entry<String, Integer>> variants = new ArrayList<>();
+		for (Map.Entry<String, Integer> variant : dictionary.similar(term).entrySet())
+			if (postings.containsKey(variant.getKey()))
+				variants.add(variant);
+		variants.sort(Comparator.comparing((Map.Entry<String, Integer> variant) -> variant.getValue())
+				.thenComparing(variant -> -postings.get(variant.getKey()).size));
+
+		int count = Math.min(MAX_VARIANTS, variants.size());
+		Postings[] lists = new Postings[count];
+		float[] weights = new float[count];
+		for (int v = 0; v < count; v++) {
+			lists[v] = postings.get(variants.get(v).getKey());
+			weights[v] = (float) Math.log(1 + (live - lists[v].size + 0.5) / (lists[v].size + 0.5))
+					/ (1 + variants.get(v).getValue());
+		}
+		return new Variants(lists, weights);
+	}
+
+	private void delete(String type, long id) {
+		Map<Long, Integer> ofType = documents.get(type);
+		Integer doc = ofType == null ? null : ofType.remove(id);
+		if (doc == null)
+			return;
+		deleted.set(doc);
+		titles[doc] = null;
+		live--;
+		deletedCount++;
+		totalLength -= lengths[doc];
+		if (deletedCount >= Math.max(MIN_DELETED_TO_COMPACT, live))
+			compact();
+	}
+
+	/**
+	 * Numbers the live documents again from 0, in the same order, and removes
+	 * the deleted ones from the posting lists.
+	 */
+	private void compact() {
+		int[] renumbered = new int[size];
+		int next = 0;
+		for (int doc = 0; doc < size; doc++) {
+			if (deleted.get(doc)) {
+				renumbered[doc] = -1;
+				continue;
+			}
+			renumbered[doc] = next;
+			types[next] = types[doc];
+			ids[next] = ids[doc];
+			titles[next] = titles[doc];
+			lengths[next] = lengths[doc];
+			next++;
+		}
+		Arrays.fill(types, next, size, null);
+		Arrays.fill(titles, next, size, null);
+		size = next;
+		deleted.clear();
+		deletedCount = 0;
+
+		postings.values().removeIf(list -> {
+			int kept = 0;
+			for (int i = 0; i < list.size; i++) {
+				int doc = renumbered[list.docs[i]];
+				if (doc >= 0) {
+					list.docs[kept] = doc;
+					list.freqs[kept] = list.freqs[i];
+					kept++;
+				}
+			}
+			list.size = kept;
+			return kept == 0;
+		});
+		for (Map<Long, Integer> ofType : documents.values())
+			ofType.replaceAll((id, doc) -> renumbered[doc]);
+	}
+
+	private void grow() {
+		int capacity = ids.length * 2;
+		types = Arrays.copyOf(types, capacity);
+		ids = Arrays.copyOf(ids, capacity);
+		titles = Arrays.copyOf(titles, capacity);
+		lengths = Arrays.copyOf(lengths, capacity);
+	}
+}
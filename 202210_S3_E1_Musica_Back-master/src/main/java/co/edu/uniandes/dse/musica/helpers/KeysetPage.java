@@ -0,0 +1,108 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import lombok.Getter;
+
+/**
+ * Class that represents one page of a keyset (seek) listing. Instead of a page
+ * number it carries an opaque cursor that encodes the sort key of its last
+ * element, so the next page starts with an index seek on that key.
+ *
+ * @param <T> type of the elements of the page
+ */
+@Getter
+public class KeysetPage<T> {
+
+	public static final int DEFAULT_LIMIT = 20;
+	public static final int MAX_LIMIT = 100;
+
+	private static final String SEPARATOR = "|";
+
+	private final List<T> content;
+
+	/**
+	 * Cursor to request the following page, or null when this is the last one.
+	 */
+	private final String nextCursor;
+
+	public KeysetPage(List<T> content, String nextCursor) {
+		this.content = content;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Builds a page from the result of a query that asked for one row more than
+	 * the limit. The extra row is only used to know whether there is a next page.
+	 *
+	 * @param rows     rows returned by the query, at most limit + 1
+	 * @param limit    requested page size
+	 * @param cursorOf function that encodes the cursor of a row
+	 * @return the page, with a cursor pointing after its last element
+	 */
+	public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+		if (rows.size() <= limit)
+			return new KeysetPage<>(rows, null);
+		List<T> content = rows.subList(0, limit);
+		return new KeysetPage<>(content, cursorOf.apply(content.get(limit - 1)));
+	}
+
+	public <R> KeysetPage<R> map(Function<? super T, ? extends R> converter) {
+		return new KeysetPage<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor);
+	}
+
+	/**
+	 * Keeps the requested limit between 1 and MAX_LIMIT.
+	 */
+	public static int clampLimit(int limit) {
+		return Math.max(1, Math.min(limit, MAX_LIMIT));
+	}
+
+	/**
+	 * Encodes the given keys as an opaque, URL safe cursor.
+	 */
+	public static String encodeCursor(String... keys) {
+		String raw = String.join(SEPARATOR, keys);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor produced by encodeCursor.
+	 *
+	 * @param cursor the cursor sent by the client
+	 * @param keys   number of keys the cursor must contain
+	 * @return the keys of the cursor
+	 * @throws IllegalOperationException if the cursor is malformed
+	 */
+	public static String[] decodeCursor(String cursor, int keys) throws IllegalOperationException {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+			if (parts.length != keys)
+				throw new IllegalOperationException(ErrorMessage.INVALID_CURSOR);
+			return parts;
+		} catch (IllegalArgumentException e) {
+			throw new IllegalOperationException(ErrorMessage.INVALID_CURSOR);
+		}
+	}
+
+	/**
+	 * Parses a numeric key of a decoded cursor.
+	 *
+	 * @throws IllegalOperationException if the key is not a number
+	 */
+	public static long parseKey(String key) throws IllegalOperationException {
+		try {
+			return Long.parseLong(key);
+		} catch (NumberFormatException e) {
+			throw new IllegalOperationException(ErrorMessage.INVALID_CURSOR);
+		}
+	}
+}
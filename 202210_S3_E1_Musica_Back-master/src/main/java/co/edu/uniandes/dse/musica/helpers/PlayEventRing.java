@@ -0,0 +1,244 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer of play events between the requests that receive them and
+ * the thread that writes them to the database.
+ *
+ * The events are kept in parallel arrays of longs allocated once, so holding
+ * an event creates no object. A batch is accepted whole or not at all: when
+ * the buffer has no room for it {@link #offer(Batch)} returns false right
+ * away, which lets the caller push back on the client instead of blocking a
+ * request thread.
+ *
+ * An id of 0 means the event has no such id, since the sequences start at 1.
+ */
+public final class PlayEventRing {
+
+	private final long[] usuarios;
+
+	private final long[] canciones;
+
+	private final long[] capitulos;
+
+	private final long[] fechas;
+
+	private final int mask;
+
+	/**
+	 * Sequence of the next event to read and of the next event to write. Both
+	 * only grow; the slot of a sequence is {@code sequence & mask}.
+	 */
+	private long head;
+
+	private long tail;
+
+	private long rejected;
+
+	private long lost;
+
+	/**
+	 * Creates a buffer for at least the given number of events, rounded up to a
+	 * power of two.
+	 */
+	public PlayEventRing(int capacity) {
+		if (capacity < 1 || capacity > 1 << 30)
+			throw new IllegalArgumentException("The capacity must be between 1 and 2^30");
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		usuarios = new long[size];
+		canciones = new long[size];
+		capitulos = new long[size];
+		fechas = new long[size];
+		mask = size - 1;
+	}
+
+	public int capacity() {
+		return mask + 1;
+	}
+
+	public synchronized int size() {
+		return (int) (tail - head);
+	}
+
+	/**
+	 * Number of events rejected because the buffer was full.
+	 */
+	public synchronized long rejected() {
+		return rejected;
+	}
+
+	/**
+	 * Number of events drained that could not be written nor put back.
+	 */
+	public synchronized long lost() {
+		return lost;
+	}
+
+	/**
+	 * Adds all the events of the batch, or none when they do not fit.
+	 *
+	 * @return whether the events were added
+	 */
+	public synchronized boolean offer(Batch batch) {
+		if (!put(batch)) {
+			rejected += batch.size;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Puts back events drained that could not be written, to drain them again
+	 * after the ones in the buffer. When they do not fit, because new events
+	 * took their room, they are counted as lost instead.
+	 *
+	 * @return whether the events were put back
+	 */
+	public synchronized boolean requeue(Batch batch) {
+		if (!put(batch)) {
+			lost += batch.size;
+			return false;
+		}
+		return true;
+	}
+
+	private boolean put(Batch batch) {
+		if (batch.size > capacity() - (tail - head))
+			return false;
+		int slot = (int) (tail & mask);
+		int first = Math.min(batch.size, capacity() - slot);
+		copy(batch, 0, slot, first, true);
+		copy(batch, first, 0, batch.size - first, true);
+		tail += batch.size;
+		notifyAll();
+		return true;
+	}
+
+	/**
+	 * Moves up to max events to the given batch, which is cleared first.
+	 *
+	 * @return number of events moved
+	 */
+	public synchronized int drain(Batch into, int max) {
+		int count = (int) Math.min(max, tail - head);
+		into.clear();
+		into.ensureCapacity(count);
+		int slot = (int) (head & mask);
+		int first = Math.min(count, capacity() - slot);
+		copy(into, 0, slot, first, false);
+		copy(into, first, 0, count - first, false);
+		into.size = count;
+		head += count;
+		return count;
+	}
+
+	/**
+	 * Copies a run of events between a batch and the arrays of the buffer, into
+	 * the buffer or out of it.
+	 */
+	private void copy(Batch batch, int from, int slot, int length, boolean in) {
+		if (length == 0)
+			return;
+		if (in) {
+			System.arraycopy(batch.usuarios, from, usuarios, slot, length);
+			System.arraycopy(batch.canciones, from, canciones, slot, length);
+			System.arraycopy(batch.capitulos, from, capitulos, slot, length);
+			System.arraycopy(batch.fechas, from, fechas, slot, length);
+		} else {
+			System.arraycopy(usuarios, slot, batch.usuarios, from, length);
+			System.arraycopy(canciones, slot, batch.canciones, from, length);
+			System.arraycopy(capitulos, slot, batch.capitulos, from, length);
+			System.arraycopy(fechas, slot, batch.fechas, from, length);
+		}
+	}
+
+	/**
+	 * Waits until the buffer holds at least the given number of events or the
+	 * timeout passes.
+	 *
+	 * @return number of events in the buffer
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public synchronized int await(int events, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		long left;
+		while (tail - head < events && (left = deadline - System.nanoTime()) > 0)
+			TimeUnit.NANOSECONDS.timedWait(this, left);
+		return (int) (tail - head);
+	}
+
+	/**
+	 * Events kept in parallel arrays that grow as needed. Requests fill one to
+	 * offer their events and the writer reuses one to drain the buffer.
+	 */
+	public static final class Batch {
+
+		private long[] usuarios;
+
+		private long[] canciones;
+
+		private long[] capitulos;
+
+		private long[] fechas;
+
+		private int size;
+
+		public Batch(int capacity) {
+			int length = Math.max(1, capacity);
+			usuarios = new long[length];
+			canciones = new long[length];
+			capitulos = new long[length];
+			fechas = new long[length];
+		}
+
+		public void add(long usuario, long cancion, long capitulo, long fecha) {
+			if (size == usuarios.length)
+				ensureCapacity(size * 2);
+			usuarios[size] = usuario;
+			canciones[size] = cancion;
+			capitulos[size] = capitulo;
+			fechas[size] = fecha;
+			size++;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		void ensureCapacity(int capacity) {
+			if (capacity <= usuarios.length)
+				return;
+			usuarios = Arrays.copyOf(usuarios, capacity);
+			canciones = Arrays.copyOf(canciones, capacity);
+			capitulos = Arrays.copyOf(capitulos, capacity);
+			fechas = Arrays.copyOf(fechas, capacity);
+		}
+
+		public void clear() {
+			size = 0;
+		}
+
+		public long usuario(int i) {
+			return usuarios[i];
+		}
+
+		public long cancion(int i) {
+			return canciones[i];
+		}
+
+		public long capitulo(int i) {
+			return capitulos[i];
+		}
+
+		/**
+		 * Time of the play in milliseconds since the epoch.
+		 */
+		public long fecha(int i) {
+			return fechas[i];
+		}
+	}
+}
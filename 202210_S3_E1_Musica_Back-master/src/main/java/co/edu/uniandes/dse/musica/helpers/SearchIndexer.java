@@ -0,0 +1,132 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+
+/**
+ * Keeps the search index and the suggestions in sync with the entities changed
+ * by the services. The text of an entity is read when the service calls this
+ * class, but the index only changes once the transaction commits, so a
+ * rollback leaves it as it was. Outside of a transaction the index changes
+ * right away.
+ *
+ * Suggestions are the names of canciones, albumes, creadores and podcasts. A
+ * changed name keeps the popularity it had. The popularity of canciones,
+ * albumes and creadores changes as canciones enter and leave playlists, and
+ * all of it is computed again when the suggestions are rebuilt.
+ */
+@Component
+public class SearchIndexer {
+
+	public static final String CANCION = "cancion";
+
+	public static final String ALBUM = "album";
+
+	public static final String CREADOR = "creador";
+
+	public static final String PODCAST = "podcast";
+
+	public static final String CAPITULO = "capitulo";
+
+	private final InvertedIndex index = new InvertedIndex();
+
+	@Value("${musica.suggest.top-k:10}")
+	private int suggestTopK;
+
+	@Value("${musica.suggest.cache-threshold:64}")
+	private int suggestCacheThreshold;
+
+	/**
+	 * Estimated bytes the suggestions can take, 0 for no limit. Over it the least
+	 * popular names are dropped, and they are not suggested again until they are
+	 * renamed or the suggestions are rebuilt. Each name takes about 300 bytes.
+	 */
+	@Value("${musica.suggest.max-bytes:0}")
+	private long suggestMaxBytes;
+
+	private SuggestionTrie suggestions;
+
+	@PostConstruct
+	void createSuggestions() {
+		suggestions = new SuggestionTrie(suggestTopK, suggestCacheThreshold, suggestMaxBytes);
+	}
+
+	public InvertedIndex getIndex() {
+		return index;
+	}
+
+	public SuggestionTrie getSuggestions() {
+		return suggestions;
+	}
+
+	public void indexCancion(CancionEntity cancion) {
+		put(CANCION, cancion.getId(), cancion.getTitulo(), cancion.getTitulo(), true);
+	}
+
+	public void indexAlbum(AlbumEntity album) {
+		put(ALBUM, album.getId(), album.getTitulo(), album.getTitulo(), true);
+	}
+
+	public void indexCreador(CreadorEntity creador) {
+		put(CREADOR, creador.getId(), creador.getNombre(), creador.getNombre(), true);
+	}
+
+	public void indexPodcast(PodcastEntity podcast) {
+		put(PODCAST, podcast.getId(), podcast.getTitulo(), podcastText(podcast.getTitulo(), podcast.getDescripcion()),
+				true);
+	}
+
+	public void indexCapitulo(CapituloEntity capitulo) {
+		put(CAPITULO, capitulo.getId(), capitulo.getTitulo(), capitulo.getTitulo(), false);
+	}
+
+	public void remove(String type, Long id) {
+		AfterCommit.run(() -> {
+			index.remove(type, id);
+			suggestions.remove(type, id);
+		});
+	}
+
+	public void removeAll(String type, Collection<Long> ids) {
+		List<Long> copy = List.copyOf(ids);
+		AfterCommit.run(() -> copy.forEach(id -> {
+			index.remove(type, id);
+			suggestions.remove(type, id);
+		}));
+	}
+
+	/**
+	 * Adds to the popularity of the suggestions of a type, by id.
+	 */
+	public void addPopularity(String type, Map<Long, Long> deltas) {
+		Map<Long, Long> copy = Map.copyOf(deltas);
+		AfterCommit.run(() -> copy.forEach((id, delta) -> suggestions.addPopularity(type, id, delta)));
+	}
+
+	/**
+	 * Text searched for a podcast: its title and its description.
+	 */
+	public static String podcastText(String titulo, String descripcion) {
+		return descripcion == null ? titulo : titulo + " " + descripcion;
+	}
+
+	private void put(String type, Long id, String title, String text, boolean suggested) {
+		AfterCommit.run(() -> {
+			index.put(type, id, title, text);
+			if (suggested)
+				suggestions.rename(type, id, title);
+		});
+	}
+}
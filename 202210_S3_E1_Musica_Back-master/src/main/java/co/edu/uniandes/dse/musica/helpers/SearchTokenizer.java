@@ -0,0 +1,65 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text in the terms of the search index. The text is normalized with
+ * {@link TextNormalizer}, so accents and case do not matter, and split on
+ * anything that is not a letter or a digit. Spanish stop words are dropped and
+ * plurals are reduced to their singular with a few suffix rules, so that
+ * "Canciones de Amor" and "canción amor" give the same terms.
+ */
+public final class SearchTokenizer {
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "al", "con", "de", "del", "el", "en", "es", "la",
+			"las", "lo", "los", "o", "para", "por", "que", "se", "su", "sus", "un", "una", "unos", "unas", "y");
+
+	private SearchTokenizer() {
+	}
+
+	/**
+	 * Gets the terms of a text, in order and with repetitions.
+	 *
+	 * @param text text to split, may be null
+	 * @return the terms of the text
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		String normalized = TextNormalizer.normalize(text);
+		if (normalized == null)
+			return terms;
+		int start = -1;
+		for (int i = 0; i <= normalized.length(); i++) {
+			boolean inWord = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				String word = normalized.substring(start, i);
+				if (!STOP_WORDS.contains(word))
+					terms.add(singular(word));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Reduces a Spanish plural to its singular: luces to luz, canciones to
+	 * cancion, amores to amor and casas to casa. Short words and numbers are
+	 * kept as they are.
+	 */
+	static String singular(String word) {
+		int length = word.length();
+		if (length <= 3 || !Character.isLetter(word.charAt(length - 1)))
+			return word;
+		if (word.endsWith("ces"))
+			return word.substring(0, length - 3) + "z";
+		if (word.endsWith("es") && length > 4 && "lrndj".indexOf(word.charAt(length - 3)) >= 0)
+			return word.substring(0, length - 2);
+		if (word.endsWith("s") && !word.endsWith("ss"))
+			return word.substring(0, length - 1);
+		return word;
+	}
+}
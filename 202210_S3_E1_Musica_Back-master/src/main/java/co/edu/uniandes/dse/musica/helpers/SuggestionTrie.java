@@ -0,0 +1,587 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix tree of names for type-ahead suggestions, ranked by popularity. Names
+ * are compared normalized with {@link TextNormalizer}.
+ *
+ * The tree is compressed: a node keeps the whole run of characters that leads
+ * to it, so there is one node per branch and not per character. A node whose
+ * subtree has at least cacheThreshold names keeps its best topK names, so the
+ * suggestions for a common prefix are read and not searched. Smaller subtrees
+ * are walked on each request, which is cheap for them and keeps the memory
+ * used by the cached lists low: only a few nodes have big subtrees.
+ *
+ * The tree keeps an estimate of the bytes it takes: each name, with its
+ * strings, its entries in the maps and its share of the nodes, and each cached
+ * list. With a budget, once the estimate goes over it the least popular names
+ * are dropped until it fits again. A dropped name is not suggested until it is
+ * put again, by a rename or a rebuild; a change in the popularity of a name
+ * that was dropped does not bring it back.
+ *
+ * Suggestions share a read lock and changes take a write lock.
+ */
+public class SuggestionTrie {
+
+	private static final char[] NO_CHARS = new char[0];
+
+	private static final Node[] NO_NODES = new Node[0];
+
+	private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+	/**
+	 * Most popular first, then the shortest name and then the lowest id.
+	 */
+	private static final Comparator<Suggestion> BEST = Comparator.comparingLong(Suggestion::getPopularity).reversed()
+			.thenComparingInt(suggestion -> suggestion.key.length()).thenComparingLong(Suggestion::getId);
+
+	/**
+	 * Estimated bytes of a name besides its characters: the Suggestion, the
+	 * headers of its strings, its entries in the maps and its share of the
+	 * nodes. Measured with SuggestBenchmark on a million names. The tables of
+	 * the maps do not shrink when names are dropped, which the estimate leaves
+	 * out.
+	 */
+	private static final long NAME_BYTES = 250;
+
+	/**
+	 * Estimated bytes of the entry of a name in the set by popularity, only kept
+	 * with a budget.
+	 */
+	private static final long RANK_BYTES = 40;
+
+	private final int topK;
+
+	private final int cacheThreshold;
+
+	private final long maxBytes;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Node root = new Node("");
+
+	/**
+	 * Suggestion of each entity, by type and id.
+	 */
+	private final Map<String, Map<Long, Suggestion>> suggestions = new HashMap<>();
+
+	/**
+	 * Names from the most popular to the least popular, to drop the last ones
+	 * when the tree goes over its budget. Null without a budget.
+	 */
+	private final TreeSet<Suggestion> byPopularity;
+
+	private int size;
+
+	private long bytes;
+
+	private long dropped;
+
+	/**
+	 * A name that can be suggested.
+	 */
+	public static class Suggestion {
+
+		private final String type;
+
+		private final long id;
+
+		private final String text;
+
+		private final long popularity;
+
+		private final String key;
+
+		Suggestion(String type, long id, String text, long popularity, String key) {
+			this.type = type;
+			this.id = id;
+			this.text = text;
+			this.popularity = popularity;
+			this.key = key;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		public long getPopularity() {
+			return popularity;
+		}
+	}
+
+	private static class Node {
+
+		String edge;
+
+		char[] firsts = NO_CHARS;
+
+		Node[] children = NO_NODES;
+
+		/**
+		 * Names that end at this node.
+		 */
+		Suggestion[] ends = NO_SUGGESTIONS;
+
+		/**
+		 * Names in the subtree.
+		 */
+		int count;
+
+		/**
+		 * Best names of the subtree, sorted, or null when the subtree is small.
+		 */
+		Suggestion[] top;
+
+		Node(String edge) {
+			this.edge = edge;
+		}
+
+		int child(char first) {
+			return Arrays.binarySearch(firsts, first);
+		}
+	}
+
+	/**
+	 * A tree without a budget.
+	 *
+	 * @param topK           suggestions kept for each big subtree, the most a
+	 *                       request can get
+	 * @param cacheThreshold names a subtree needs to keep its best names
+	 */
+	public SuggestionTrie(int topK, int cacheThreshold) {
+		this(topK, cacheThreshold, 0);
+	}
+
+	/**
+	 * @param topK           suggestions kept for each big subtree, the most a
+	 *                       request can get
+	 * @param cacheThreshold names a subtree needs to keep its best names
+	 * @param maxBytes       estimated bytes the tree can take, or 0 for no budget
+	 */
+	public SuggestionTrie(int topK, int cacheThreshold, long maxBytes) {
+		this.topK = topK;
+		this.cacheThreshold = Math.max(1, cacheThreshold);
+		this.maxBytes = Math.max(0, maxBytes);
+		this.byPopularity = maxBytes > 0 ? new TreeSet<>(BEST.thenComparing(Suggestion::getType)) : null;
+	}
+
+	/**
+	 * Adds a name, replacing the one of the same type and id.
+	 *
+	 * @param type       type of the entity
+	 * @param id         id of the entity
+	 * @param text       name to suggest
+	 * @param popularity rank of the name, the highest first
+	 */
+	public void put(String type, long id, String text, long popularity) {
+		String key = TextNormalizer.normalize(text);
+		lock.writeLock().lock();
+		try {
+			delete(type, id);
+			if (key == null || key.isEmpty())
+				return;
+			Suggestion suggestion = new Suggestion(type, id, text, popularity, key);
+			suggestions.computeIfAbsent(type, t -> new HashMap<>()).put(id, suggestion);
+			insert(suggestion);
+			size++;
+			bytes += bytesOf(suggestion);
+			if (byPopularity != null) {
+				byPopularity.add(suggestion);
+				fit();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Changes the name of an entity and keeps its popularity. Adds it with no
+	 * popularity when it is new.
+	 */
+	public void rename(String type, long id, String text) {
+		lock.writeLock().lock();
+		try {
+			Map<Long, Suggestion> ofType = suggestions.get(type);
+			Suggestion old = ofType == null ? null : ofType.get(id);
+			put(type, id, text, old == null ? 0 : old.popularity);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds to the popularity of a name, if it is in the tree. The popularity
+	 * does not go below 0.
+	 */
+	public void addPopularity(String type, long id, long delta) {
+		lock.writeLock().lock();
+		try {
+			Map<Long, Suggestion> ofType = suggestions.get(type);
+			Suggestion old = ofType == null ? null : ofType.get(id);
+			if (old != null && delta != 0)
+				put(type, id, old.text, Math.max(0, old.popularity + delta));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a name, if it is in the tree.
+	 */
+	public void remove(String type, long id) {
+		lock.writeLock().lock();
+		try {
+			delete(type, id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes every name.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			suggestions.clear();
+			root.firsts = NO_CHARS;
+			root.children = NO_NODES;
+			root.ends = NO_SUGGESTIONS;
+			root.count = 0;
+			root.top = null;
+			if (byPopularity != null)
+				byPopularity.clear();
+			size = 0;
+			bytes = 0;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of names in the tree.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Estimated bytes the tree takes.
+	 */
+	public long estimatedBytes() {
+		lock.readLock().lock();
+		try {
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of names dropped to keep the tree within its budget.
+	 */
+	public long dropped() {
+		lock.readLock().lock();
+		try {
+			return dropped;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the most popular names that start with a prefix.
+	 *
+	 * @param prefix start of the name, compared normalized
+	 * @param limit  maximum number of suggestions, at most topK
+	 * @return the suggestions, best first
+	 */
+	public List<Suggestion> suggest(String prefix, int limit) {
+		String key = TextNormalizer.normalize(prefix);
+		int max = Math.min(limit, topK);
+		if (key == null || key.isEmpty() || max <= 0)
+			return new ArrayList<>();
+
+		lock.readLock().lock();
+		try {
+			Node node = find(key);
+			if (node == null)
+				return new ArrayList<>();
+			Suggestion[] best = node.top != null ? node.top : collect(node, max);
+			return new ArrayList<>(Arrays.asList(best).subList(0, Math.min(max, best.length)));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Node whose subtree has the names that start with the key, or null.
+	 */
+	private Node find(String key) {
+		Node node = root;
+		int i = 0;
+		while (i < key.length()) {
+			int c = node.child(key.charAt(i));
+			if (c < 0)
+				return null;
+			Node child = node.children[c];
+			int common = commonPrefix(child.edge, key, i);
+			if (i + common == key.length())
+				return child;
+			if (common < child.edge.length())
+				return null;
+			i += common;
+			node = child;
+		}
+		return node;
+	}
+
+	private void insert(Suggestion suggestion) {
+		String key = suggestion.key;
+		List<Node> path = new ArrayList<>();
+		Node node = root;
+		path.add(node);
+		int i = 0;
+		while (i < key.length()) {
+			int c = node.child(key.charAt(i));
+			if (c < 0) {
+				Node leaf = new Node(key.substring(i));
+				addChild(node, leaf);
+				node = leaf;
+				path.add(node);
+				break;
+			}
+			Node child = node.children[c];
+			int common = commonPrefix(child.edge, key, i);
+			if (common < child.edge.length()) {
+				// The key leaves the edge halfway, the edge is split there
+				Node middle = new Node(child.edge.substring(0, common));
+				child.edge = child.edge.substring(common);
+				middle.firsts = new char[] { child.edge.charAt(0) };
+				middle.children = new Node[] { child };
+				middle.count = child.count;
+				setTop(middle, child.top);
+				node.children[c] = middle;
+				child = middle;
+			}
+			i += common;
+			node = child;
+			path.add(node);
+		}
+		node.ends = append(node.ends, suggestion);
+
+		// From the leaf up, so that a list built from the children has the name
+		for (int p = path.size() - 1; p >= 0; p--) {
+			Node onPath = path.get(p);
+			onPath.count++;
+			if (onPath.top != null)
+				setTop(onPath, offer(onPath.top, suggestion));
+			else if (onPath.count >= cacheThreshold)
+				setTop(onPath, collect(onPath, topK));
+		}
+	}
+
+	private void delete(String type, long id) {
+		Map<Long, Suggestion> ofType = suggestions.get(type);
+		Suggestion suggestion = ofType == null ? null : ofType.remove(id);
+		if (suggestion == null)
+			return;
+		size--;
+		bytes -= bytesOf(suggestion);
+		if (byPopularity != null)
+			byPopularity.remove(suggestion);
+
+		String key = suggestion.key;
+		List<Node> path = new ArrayList<>();
+		Node node = root;
+		path.add(node);
+		int i = 0;
+		while (i < key.length()) {
+			node = node.children[node.child(key.charAt(i))];
+			i += node.edge.length();
+			path.add(node);
+		}
+		node.ends = without(node.ends, suggestion);
+
+		// From the leaf up too, so that the children are right when a list is rebuilt
+		for (int p = path.size() - 1; p >= 0; p--) {
+			Node onPath = path.get(p);
+			onPath.count--;
+			if (onPath.count < cacheThreshold)
+				setTop(onPath, null);
+			else if (onPath.top != null && Arrays.asList(onPath.top).contains(suggestion))
+				setTop(onPath, collect(onPath, topK));
+		}
+		for (int p = path.size() - 1; p > 0; p--)
+			prune(path.get(p - 1), path.get(p));
+	}
+
+	/**
+	 * Drops the least popular names while the tree is over its budget.
+	 */
+	private void fit() {
+		while (bytes > maxBytes && !byPopularity.isEmpty()) {
+			Suggestion worst = byPopularity.last();
+			delete(worst.type, worst.id);
+			dropped++;
+		}
+	}
+
+	private long bytesOf(Suggestion suggestion) {
+		return NAME_BYTES + (byPopularity != null ? RANK_BYTES : 0) + suggestion.text.length()
+				+ 2L * suggestion.key.length();
+	}
+
+	/**
+	 * Caches the best names of a node, or stops caching them with null, keeping
+	 * the estimate of the bytes.
+	 */
+	private void setTop(Node node, Suggestion[] top) {
+		bytes += bytesOf(top) - bytesOf(node.top);
+		node.top = top;
+	}
+
+	private static long bytesOf(Suggestion[] top) {
+		return top == null ? 0 : 16 + 4L * top.length;
+	}
+
+	/**
+	 * Removes a node without names, or merges it with its only child.
+	 */
+	private void prune(Node parent, Node node) {
+		if (node.ends.length > 0 || node.children.length > 1)
+			return;
+		setTop(node, null);
+		int c = parent.child(node.edge.charAt(0));
+		if (node.children.length == 0) {
+			parent.firsts = removeAt(parent.firsts, c);
+			Node[] children = new Node[parent.children.length - 1];
+			System.arraycopy(parent.children, 0, children, 0, c);
+			System.arraycopy(parent.children, c + 1, children, c, children.length - c);
+			parent.children = children;
+		} else {
+			Node child = node.children[0];
+			child.edge = node.edge + child.edge;
+			parent.children[c] = child;
+		}
+	}
+
+	/**
+	 * Best names of a subtree. Uses the cached lists of the children, which
+	 * already have the best names of their own subtrees.
+	 */
+	private Suggestion[] collect(Node node, int limit) {
+		PriorityQueue<Suggestion> best = new PriorityQueue<>(limit + 1, BEST.reversed());
+		collect(node, limit, best, true);
+		Suggestion[] sorted = best.toArray(NO_SUGGESTIONS);
+		Arrays.sort(sorted, BEST);
+		return sorted;
+	}
+
+	private static void collect(Node node, int limit, PriorityQueue<Suggestion> best, boolean start) {
+		if (!start && node.top != null) {
+			for (Suggestion suggestion : node.top)
+				keep(suggestion, limit, best);
+			return;
+		}
+		for (Suggestion suggestion : node.ends)
+			keep(suggestion, limit, best);
+		for (Node child : node.children)
+			collect(child, limit, best, false);
+	}
+
+	private static void keep(Suggestion suggestion, int limit, PriorityQueue<Suggestion> best) {
+		if (best.size() < limit) {
+			best.add(suggestion);
+		} else if (BEST.compare(suggestion, best.peek()) < 0) {
+			best.poll();
+			best.add(suggestion);
+		}
+	}
+
+	/**
+	 * Sorted list with a new name, cut at topK. A new array, so readers of the
+	 * old one are not affected.
+	 */
+	private Suggestion[] offer(Suggestion[] top, Suggestion suggestion) {
+		int at = Arrays.binarySearch(top, suggestion, BEST);
+		int index = at >= 0 ? at : -at - 1;
+		if (index >= topK)
+			return top;
+		Suggestion[] offered = new Suggestion[Math.min(top.length + 1, topK)];
+		System.arraycopy(top, 0, offered, 0, index);
+		offered[index] = suggestion;
+		System.arraycopy(top, index, offered, index + 1, offered.length - index - 1);
+		return offered;
+	}
+
+	private static void addChild(Node node, Node child) {
+		int at = -node.child(child.edge.charAt(0)) - 1;
+		char[] firsts = new char[node.firsts.length + 1];
+		Node[] children = new Node[node.children.length + 1];
+		System.arraycopy(node.firsts, 0, firsts, 0, at);
+		System.arraycopy(node.children, 0, children, 0, at);
+		firsts[at] = child.edge.charAt(0);
+		children[at] = child;
+		System.arraycopy(node.firsts, at, firsts, at + 1, node.firsts.length - at);
+		System.arraycopy(node.children, at, children, at + 1, node.children.length - at);
+		node.firsts = firsts;
+		node.children = children;
+	}
+
+	private static int commonPrefix(String edge, String key, int from) {
+		int max = Math.min(edge.length(), key.length() - from);
+		int i = 0;
+		while (i < max && edge.charAt(i) == key.charAt(from + i))
+			i++;
+		return i;
+	}
+
+	private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+		Suggestion[] appended = Arrays.copyOf(suggestions, suggestions.length + 1);
+		appended[suggestions.length] = suggestion;
+		return appended;
+	}
+
+	private static Suggestion[] without(Suggestion[] suggestions, Suggestion suggestion) {
+		int at = Arrays.asList(suggestions).indexOf(suggestion);
+		if (at < 0)
+			return suggestions;
+		if (suggestions.length == 1)
+			return NO_SUGGESTIONS;
+		Suggestion[] kept = new Suggestion[suggestions.length - 1];
+		System.arraycopy(suggestions, 0, kept, 0, at);
+		System.arraycopy(suggestions, at + 1, kept, at, kept.length - at);
+		return kept;
+	}
+
+	private static char[] removeAt(char[] chars, int at) {
+		char[] kept = new char[chars.length - 1];
+		System.arraycopy(chars, 0, kept, 0, at);
+		System.arraycopy(chars, at + 1, kept, at, kept.length - at);
+		return kept;
+	}
+}
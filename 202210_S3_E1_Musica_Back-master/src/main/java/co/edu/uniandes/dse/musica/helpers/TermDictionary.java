@@ -0,0 +1,221 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Terms of the search index, to find the ones that look like a misspelled term.
+ *
+ * Each term is filed under its bigrams and its length, with a mark at both
+ * ends. Two terms at edit distance k share at least max(length) + 1 - 2k
+ * bigrams, so a close term is in one of the shortest lists of the bigrams of
+ * the query, and the edit distance is only computed for the terms of those
+ * lists. Terms are also filed under a Spanish phonetic key, so that spellings
+ * that sound the same match even when they are further apart: "xoxe" and
+ * "shoshe" both give "sose".
+ *
+ * Not thread safe: {@link InvertedIndex} calls it under its own lock.
+ */
+class TermDictionary {
+
+	private static final char END = '$';
+
+	private static final IntList EMPTY = new IntList();
+
+	private final Map<String, Integer> numbers = new HashMap<>();
+
+	private String[] terms = new String[1024];
+
+	private int size;
+
+	/**
+	 * Term numbers by bigram and length.
+	 */
+	private final Map<Long, IntList> bigrams = new HashMap<>();
+
+	/**
+	 * Term numbers by phonetic key.
+	 */
+	private final Map<String, IntList> sounds = new HashMap<>();
+
+	private static class IntList {
+
+		int[] values = new int[2];
+
+		int size;
+
+		void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+	}
+
+	/**
+	 * Adds a term, if it is not there yet.
+	 */
+	void add(String term) {
+		if (numbers.containsKey(term))
+			return;
+		int number = size++;
+		if (number == terms.length)
+			terms = Arrays.copyOf(terms, number * 2);
+		terms[number] = term;
+		numbers.put(term, number);
+		String padded = END + term + END;
+		for (int i = 0; i + 1 < padded.length(); i++)
+			bigrams.computeIfAbsent(key(padded, i, term.length()), k -> new IntList()).add(number);
+		sounds.computeIfAbsent(phonetic(term), k -> new IntList()).add(number);
+	}
+
+	void clear() {
+		numbers.clear();
+		bigrams.clear();
+		sounds.clear();
+		Arrays.fill(terms, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Edit distance allowed for a term: none for very short terms, one up to
+	 * five letters and two for longer terms.
+	 */
+	static int maxDistance(String term) {
+		return term.length() < 3 ? 0 : term.length() <= 5 ? 1 : 2;
+	}
+
+	/**
+	 * Terms that look like the given one, with their distance to it. A term
+	 * that only sounds the same is at distance maxDistance + 1. The term itself
+	 * is included when it is in the dictionary.
+	 */
+	Map<String, Integer> similar(String term) {
+		Map<String, Integer> similar = new HashMap<>();
+		int max = maxDistance(term);
+		if (max > 0) {
+			String padded = END + term + END;
+			IntList[] lists = new IntList[padded.length() - 1];
+			for (int length = Math.max(1, term.length() - max); length <= term.length() + max; length++) {
+				for (int i = 0; i < lists.length; i++) {
+					IntList list = bigrams.get(key(padded, i, length));
+					lists[i] = list == null ? EMPTY : list;
+				}
+				// A close term shares at least needed bigrams, so it is in one of the
+				// lists left after dropping the needed - 1 longest ones
+				int needed = Math.max(term.length(), length) + 1 - 2 * max;
+				Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+				Set<Integer> candidates = new HashSet<>();
+				for (int i = 0; i < lists.length - Math.max(0, needed - 1); i++)
+					for (int j = 0; j < lists[i].size; j++)
+						candidates.add(lists[i].values[j]);
+				for (int number : candidates) {
+					int distance = distance(term, terms[number], max);
+					if (distance <= max)
+						similar.put(terms[number], distance);
+				}
+			}
+		} else if (numbers.containsKey(term)) {
+			similar.put(term, 0);
+		}
+
+		IntList sameSound = sounds.get(phonetic(term));
+		for (int j = 0, n = sameSound == null ? 0 : sameSound.size; j < n; j++)
+			similar.putIfAbsent(terms[sameSound.values[j]], max + 1);
+		return similar;
+	}
+
+	private static long key(String padded, int at, int length) {
+		return ((long) padded.charAt(at) << 40) | ((long) padded.charAt(at + 1) << 16) | Math.min(length, 0xFFFF);
+	}
+
+	/**
+	 * Levenshtein distance, or max + 1 as soon as it is known to be over max.
+	 */
+	static int distance(String a, String b, int max) {
+		if (Math.abs(a.length() - b.length()) > max)
+			return max + 1;
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++)
+			previous[j] = j;
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int best = current[0];
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				best = Math.min(best, current[j]);
+			}
+			if (best > max)
+				return max + 1;
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return Math.min(previous[b.length()], max + 1);
+	}
+
+	/**
+	 * Spanish phonetic key of a normalized term: letters that sound the same
+	 * are written the same, the silent h is dropped and doubled letters are
+	 * written once.
+	 */
+	static String phonetic(String term) {
+		StringBuilder key = new StringBuilder(term.length());
+		for (int i = 0; i < term.length(); i++) {
+			char c = term.charAt(i);
+			char next = i + 1 < term.length() ? term.charAt(i + 1) : 0;
+			boolean soft = next == 'e' || next == 'i';
+			char sound;
+			switch (c) {
+			case 'h':
+				continue;
+			case 'c':
+				if (next == 'h') {
+					sound = 'C';
+					i++;
+				} else {
+					sound = soft ? 's' : 'k';
+				}
+				break;
+			case 'q':
+				sound = 'k';
+				if (next == 'u')
+					i++;
+				break;
+			case 'g':
+				sound = soft ? 'j' : 'g';
+				if (next == 'u' && i + 2 < term.length() && "ei".indexOf(term.charAt(i + 2)) >= 0)
+					i++;
+				break;
+			case 'l':
+				sound = next == 'l' ? 'y' : 'l';
+				if (next == 'l')
+					i++;
+				break;
+			case 'z':
+			case 'x':
+				sound = 's';
+				break;
+			case 'v':
+				sound = 'b';
+				break;
+			case 'w':
+				sound = 'u';
+				break;
+			case 'i':
+				sound = 'y';
+				break;
+			default:
+				sound = c;
+			}
+			if (key.length() == 0 || key.charAt(key.length() - 1) != sound)
+				key.append(sound);
+		}
+		return key.toString();
+	}
+}
@@ -0,0 +1,33 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes names so that the ones a person would read as the same compare
+ * equal: "Beyoncé", "beyonce" and " BEYONCE " all give "beyonce". Used for the
+ * shadow columns that back the uniqueness of a name with an index.
+ */
+public final class TextNormalizer {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	private TextNormalizer() {
+	}
+
+	/**
+	 * Removes accents, case and repeated or surrounding whitespace.
+	 *
+	 * @param text text to normalize, may be null
+	 * @return the normalized text, or null when the text is null
+	 */
+	public static String normalize(String text) {
+		if (text == null)
+			return null;
+		String withoutMarks = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+		return SPACES.matcher(withoutMarks.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,168 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import co.edu.uniandes.dse.musica.entities.BaseEntity;
+import lombok.Getter;
+
+/**
+ * A DTO together with the validators of its representation. The ETag is a
+ * digest of the id and version of every entity the DTO was mapped from, and
+ * Last-Modified is the most recent modification date among them, so both
+ * change whenever the JSON of the DTO can change without having to serialize
+ * it. Collections only get an ETag: removing an element from them leaves the
+ * dates of the remaining ones untouched.
+ *
+ * @param <T> type of the DTO
+ */
+@Getter
+public class Versioned<T> {
+
+	private static final Map<Class<?>, List<Field>> DTO_FIELDS = new ConcurrentHashMap<>();
+
+	private final T content;
+
+	/**
+	 * Strong ETag, already quoted.
+	 */
+	private final String etag;
+
+	/**
+	 * Last modification date in milliseconds, or -1 when it is not known.
+	 */
+	private final long lastModified;
+
+	public Versioned(T content, String etag, long lastModified) {
+		this.content = content;
+		this.etag = etag;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Computes the validators of a DTO. Only the associations that the DTO type
+	 * exposes are visited, following the property names ModelMapper matches.
+	 *
+	 * @param source  entity or collection of entities the DTO was mapped from
+	 * @param dtoType type of the DTO, or of the DTO collection
+	 * @param content the mapped DTO
+	 * @return the DTO with its ETag and Last-Modified
+	 */
+	public static <T> Versioned<T> of(Object source, Type dtoType, T content) {
+		Digest digest = new Digest();
+		String tag = digest.visit(source, dtoType);
+		String etag = "\"" + DigestUtils.md5DigestAsHex(tag.getBytes(StandardCharsets.UTF_8)) + "\"";
+		long lastModified = source instanceof BaseEntity && digest.lastModified != null
+				? digest.lastModified.toEpochMilli()
+				: -1;
+		return new Versioned<>(content, etag, lastModified);
+	}
+
+	/**
+	 * Tells whether an If-Match header accepts the given ETag. Only strong
+	 * comparison is allowed, so weak tags never match.
+	 *
+	 * @param ifMatch value of the If-Match header
+	 * @param etag    current ETag of the resource
+	 */
+	public static boolean matches(String ifMatch, String etag) {
+		for (String tag : ifMatch.split(",")) {
+			tag = tag.trim();
+			if (tag.equals("*") || tag.equals(etag))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Builds a 200 response with the ETag and Last-Modified headers. Spring
+	 * answers 304 without writing the body when the request validators match.
+	 */
+	public ResponseEntity<T> toResponseEntity() {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag);
+		if (lastModified >= 0)
+			builder.lastModified(lastModified);
+		return builder.body(content);
+	}
+
+	/**
+	 * Walks the entities behind a DTO and collects their ids and versions.
+	 */
+	private static class Digest {
+
+		private Instant lastModified;
+
+		private String visit(Object source, Type dtoType) {
+			if (source == null)
+				return "null";
+			if (source instanceof Collection)
+				return visitAll((Collection<?>) source, dtoType);
+			if (!(source instanceof BaseEntity))
+				return "";
+
+			BaseEntity entity = (BaseEntity) source;
+			if (entity.getFechaModificacion() != null
+					&& (lastModified == null || entity.getFechaModificacion().isAfter(lastModified)))
+				lastModified = entity.getFechaModificacion();
+
+			StringBuilder tag = new StringBuilder().append(Hibernate.getClass(entity).getSimpleName()).append(':')
+					.append(entity.getId()).append(':').append(entity.getVersion());
+			BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+			for (Field field : fieldsOf(rawClass(dtoType))) {
+				if (!wrapper.isReadableProperty(field.getName()))
+					continue;
+				Object value = wrapper.getPropertyValue(field.getName());
+				if (value instanceof BaseEntity || value instanceof Collection)
+					tag.append('{').append(field.getName()).append('=')
+							.append(visit(value, field.getGenericType())).append('}');
+			}
+			return tag.toString();
+		}
+
+		private String visitAll(Collection<?> sources, Type dtoType) {
+			Type elementType = dtoType instanceof ParameterizedType
+					? ((ParameterizedType) dtoType).getActualTypeArguments()[0]
+					: Object.class;
+			List<String> tags = new ArrayList<>();
+			for (Object element : sources)
+				tags.add(visit(element, elementType));
+			// Sets have no stable order, lists keep the order they are shown in
+			if (sources instanceof Set)
+				Collections.sort(tags);
+			return tags.toString();
+		}
+
+		private static Class<?> rawClass(Type type) {
+			if (type instanceof Class)
+				return (Class<?>) type;
+			if (type instanceof ParameterizedType)
+				return rawClass(((ParameterizedType) type).getRawType());
+			return Object.class;
+		}
+
+		private static List<Field> fieldsOf(Class<?> dtoClass) {
+			return DTO_FIELDS.computeIfAbsent(dtoClass, type -> {
+				List<Field> fields = new ArrayList<>();
+				for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+					Collections.addAll(fields, current.getDeclaredFields());
+				return fields;
+			});
+		}
+	}
+}
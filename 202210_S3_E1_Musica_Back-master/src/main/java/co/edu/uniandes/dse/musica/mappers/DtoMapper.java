@@ -0,0 +1,186 @@
+package co.edu.uniandes.dse.musica.mappers;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDetailDTO;
+import co.edu.uniandes.dse.musica.dto.GeneroDTO;
+import co.edu.uniandes.dse.musica.dto.GeneroDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.dto.PlaylistDTO;
+import co.edu.uniandes.dse.musica.dto.PlaylistDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.dto.TemaDTO;
+import co.edu.uniandes.dse.musica.dto.TemaDetailDTO;
+import co.edu.uniandes.dse.musica.dto.UsuarioDTO;
+import co.edu.uniandes.dse.musica.dto.UsuarioDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
+import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.entities.TemaEntity;
+import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
+
+/**
+ * Single entry point for entity/DTO mapping. Uses the mappers generated by
+ * MapStruct in {@link EntityMapper} and falls back to the reflective
+ * ModelMapper for the pairs it does not know, or for every pair when
+ * musica.mapping.generated is false.
+ */
+@Component
+@Import(EntityMapperImpl.class)
+public class DtoMapper {
+
+	@Autowired
+	private ModelMapper modelMapper;
+
+	@Autowired
+	private EntityMapper entityMapper;
+
+	@Value("${musica.mapping.generated:true}")
+	private boolean generated;
+
+	/**
+	 * Generated mappings by target class and then by source class.
+	 */
+	private final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> mappings = new HashMap<>();
+
+	public DtoMapper() {
+	}
+
+	/**
+	 * Builds a mapper outside of Spring, for benchmarks and tests.
+	 */
+	public DtoMapper(ModelMapper modelMapper, EntityMapper entityMapper, boolean generated) {
+		this.modelMapper = modelMapper;
+		this.entityMapper = entityMapper;
+		this.generated = generated;
+		registerMappings();
+	}
+
+	@PostConstruct
+	void registerMappings() {
+		register(AlbumEntity.class, AlbumDTO.class, entityMapper::toAlbumDTO);
+		register(AlbumEntity.class, AlbumDetailDTO.class, entityMapper::toAlbumDetailDTO);
+		register(AlbumDTO.class, AlbumEntity.class, entityMapper::toAlbumEntity);
+		register(CancionEntity.class, CancionDTO.class, entityMapper::toCancionDTO);
+		register(CancionEntity.class, CancionDetailDTO.class, entityMapper::toCancionDetailDTO);
+		register(CancionDTO.class, CancionEntity.class, entityMapper::toCancionEntity);
+		register(CapituloEntity.class, CapituloDTO.class, entityMapper::toCapituloDTO);
+		register(CapituloEntity.class, CapituloDetailDTO.class, entityMapper::toCapituloDetailDTO);
+		register(CapituloDTO.class, CapituloEntity.class, entityMapper::toCapituloEntity);
+		register(CreadorEntity.class, CreadorDTO.class, entityMapper::toCreadorDTO);
+		register(CreadorEntity.class, CreadorDetailDTO.class, entityMapper::toCreadorDetailDTO);
+		register(CreadorDTO.class, CreadorEntity.class, entityMapper::toCreadorEntity);
+		register(GeneroEntity.class, GeneroDTO.class, entityMapper::toGeneroDTO);
+		register(GeneroEntity.class, GeneroDetailDTO.class, entityMapper::toGeneroDetailDTO);
+		register(GeneroDTO.class, GeneroEntity.class, entityMapper::toGeneroEntity);
+		register(PistaEntity.class, PistaDTO.class, entityMapper::toPistaDTO);
+		register(PlaylistEntity.class, PlaylistDTO.class, entityMapper::toPlaylistDTO);
+		register(PlaylistEntity.class, PlaylistDetailDTO.class, entityMapper::toPlaylistDetailDTO);
+		register(PlaylistDTO.class, PlaylistEntity.class, entityMapper::toPlaylistEntity);
+		register(PodcastEntity.class, PodcastDTO.class, entityMapper::toPodcastDTO);
+		register(PodcastEntity.class, PodcastDetailDTO.class, entityMapper::toPodcastDetailDTO);
+		register(PodcastDTO.class, PodcastEntity.class, entityMapper::toPodcastEntity);
+		register(TemaEntity.class, TemaDTO.class, entityMapper::toTemaDTO);
+		register(TemaEntity.class, TemaDetailDTO.class, entityMapper::toTemaDetailDTO);
+		register(TemaDTO.class, TemaEntity.class, entityMapper::toTemaEntity);
+		register(UsuarioEntity.class, UsuarioDTO.class, entityMapper::toUsuarioDTO);
+		register(UsuarioEntity.class, UsuarioDetailDTO.class, entityMapper::toUsuarioDetailDTO);
+		register(UsuarioDTO.class, UsuarioEntity.class, entityMapper::toUsuarioEntity);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <S, D> void register(Class<S> sourceClass, Class<D> targetClass, Function<S, D> mapping) {
+		mappings.computeIfAbsent(targetClass, target -> new HashMap<>()).put(sourceClass,
+				(Function<Object, Object>) mapping);
+	}
+
+	/**
+	 * Maps an object to the given class.
+	 *
+	 * @param source   entity or DTO to map
+	 * @param dtoClass class of the result
+	 * @return the mapped object
+	 */
+	@SuppressWarnings("unchecked")
+	public <D> D map(Object source, Class<D> dtoClass) {
+		Function<Object, Object> mapping = generated ? mappingFor(source, dtoClass) : null;
+		if (mapping == null)
+			return modelMapper.map(source, dtoClass);
+		return (D) mapping.apply(source);
+	}
+
+	/**
+	 * Maps an object to a generic type, usually a list or set of DTOs built with
+	 * a TypeToken. Lists and sets are mapped element by element.
+	 *
+	 * @param source  object or collection to map
+	 * @param dtoType type of the result
+	 * @return the mapped object
+	 */
+	@SuppressWarnings("unchecked")
+	public <D> D map(Object source, Type dtoType) {
+		if (dtoType instanceof Class)
+			return map(source, (Class<D>) dtoType);
+		if (!generated || !(source instanceof Collection) || !(dtoType instanceof ParameterizedType))
+			return modelMapper.map(source, dtoType);
+
+		ParameterizedType collectionType = (ParameterizedType) dtoType;
+		Type rawType = collectionType.getRawType();
+		Type elementType = collectionType.getActualTypeArguments()[0];
+		if (!(elementType instanceof Class) || (rawType != List.class && rawType != Set.class))
+			return modelMapper.map(source, dtoType);
+
+		Collection<?> elements = (Collection<?>) source;
+		Collection<Object> result = rawType == List.class ? new ArrayList<>(elements.size())
+				: new LinkedHashSet<>(Math.max(16, elements.size() * 2));
+		for (Object element : elements)
+			result.add(map(element, (Class<?>) elementType));
+		return (D) result;
+	}
+
+	/**
+	 * Finds the generated mapping for the class of the source, or for one of its
+	 * superclasses when the source is a Hibernate proxy.
+	 */
+	private Function<Object, Object> mappingFor(Object source, Class<?> dtoClass) {
+		Map<Class<?>, Function<Object, Object>> byTarget = mappings.get(dtoClass);
+		if (byTarget == null || source == null)
+			return null;
+		for (Class<?> type = source.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+			Function<Object, Object> mapping = byTarget.get(type);
+			if (mapping != null)
+				return mapping;
+		}
+		return null;
+	}
+}
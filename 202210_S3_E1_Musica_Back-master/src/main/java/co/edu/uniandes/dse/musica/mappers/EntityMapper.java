@@ -0,0 +1,115 @@
+package co.edu.uniandes.dse.musica.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDetailDTO;
+import co.edu.uniandes.dse.musica.dto.GeneroDTO;
+import co.edu.uniandes.dse.musica.dto.GeneroDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.dto.PlaylistDTO;
+import co.edu.uniandes.dse.musica.dto.PlaylistDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.dto.TemaDTO;
+import co.edu.uniandes.dse.musica.dto.TemaDetailDTO;
+import co.edu.uniandes.dse.musica.dto.UsuarioDTO;
+import co.edu.uniandes.dse.musica.dto.UsuarioDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
+import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.entities.TemaEntity;
+import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
+
+/**
+ * Mapper between entities and DTOs generated at compile time by MapStruct. It
+ * follows the same rules as ModelMapper: properties are matched by name, the
+ * collections of a detail DTO hold basic DTOs, and a DTO mapped to an entity
+ * only fills the attributes the DTO has.
+ *
+ * The detail methods are named so that MapStruct never picks them to map a
+ * nested association, which must always use the basic DTO.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface EntityMapper {
+
+	String DETAIL = "detail";
+
+	AlbumDTO toAlbumDTO(AlbumEntity album);
+
+	@Named(DETAIL)
+	AlbumDetailDTO toAlbumDetailDTO(AlbumEntity album);
+
+	AlbumEntity toAlbumEntity(AlbumDTO album);
+
+	CancionDTO toCancionDTO(CancionEntity cancion);
+
+	@Named(DETAIL)
+	CancionDetailDTO toCancionDetailDTO(CancionEntity cancion);
+
+	CancionEntity toCancionEntity(CancionDTO cancion);
+
+	CapituloDTO toCapituloDTO(CapituloEntity capitulo);
+
+	@Named(DETAIL)
+	CapituloDetailDTO toCapituloDetailDTO(CapituloEntity capitulo);
+
+	CapituloEntity toCapituloEntity(CapituloDTO capitulo);
+
+	CreadorDTO toCreadorDTO(CreadorEntity creador);
+
+	@Named(DETAIL)
+	CreadorDetailDTO toCreadorDetailDTO(CreadorEntity creador);
+
+	CreadorEntity toCreadorEntity(CreadorDTO creador);
+
+	GeneroDTO toGeneroDTO(GeneroEntity genero);
+
+	@Named(DETAIL)
+	GeneroDetailDTO toGeneroDetailDTO(GeneroEntity genero);
+
+	GeneroEntity toGeneroEntity(GeneroDTO genero);
+
+	PistaDTO toPistaDTO(PistaEntity pista);
+
+	PlaylistDTO toPlaylistDTO(PlaylistEntity playlist);
+
+	@Named(DETAIL)
+	PlaylistDetailDTO toPlaylistDetailDTO(PlaylistEntity playlist);
+
+	PlaylistEntity toPlaylistEntity(PlaylistDTO playlist);
+
+	PodcastDTO toPodcastDTO(PodcastEntity podcast);
+
+	@Named(DETAIL)
+	PodcastDetailDTO toPodcastDetailDTO(PodcastEntity podcast);
+
+	PodcastEntity toPodcastEntity(PodcastDTO podcast);
+
+	TemaDTO toTemaDTO(TemaEntity tema);
+
+	@Named(DETAIL)
+	TemaDetailDTO toTemaDetailDTO(TemaEntity tema);
+
+	TemaEntity toTemaEntity(TemaDTO tema);
+
+	UsuarioDTO toUsuarioDTO(UsuarioEntity usuario);
+
+	@Named(DETAIL)
+	UsuarioDetailDTO toUsuarioDetailDTO(UsuarioEntity usuario);
+
+	UsuarioEntity toUsuarioEntity(UsuarioDTO usuario);
+}
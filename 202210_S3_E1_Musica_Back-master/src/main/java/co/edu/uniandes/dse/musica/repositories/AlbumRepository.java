@@ -1,8 +1,26 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 
 
@@ -15,5 +33,133 @@ import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 
 @Repository
 public interface AlbumRepository extends JpaRepository<AlbumEntity, Long> {
-    
+
+    /**
+     * Loads the given albums together with their artistas in a single query.
+     */
+    @EntityGraph(attributePaths = "artistas")
+    List<AlbumEntity> findWithArtistasByIdIn(Collection<Long> ids);
+
+    /**
+     * Loads the given albums together with their generos in a single query.
+     */
+    @EntityGraph(attributePaths = "generos")
+    List<AlbumEntity> findWithGenerosByIdIn(Collection<Long> ids);
+
+    /**
+     * Loads the given albums together with their canciones in a single query.
+     */
+    @EntityGraph(attributePaths = "canciones")
+    List<AlbumEntity> findWithCancionesByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of albums that selects only the columns of {@link AlbumDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     * The result is kept in the query cache until one of its tables changes.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.AlbumDTO(a.id, a.titulo, a.imagen) from AlbumEntity a",
+            countQuery = "select count(a) from AlbumEntity a")
+    Page<AlbumDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Ids of the albums that contain the given cancion.
+     */
+    @Query("select a.id from AlbumEntity a join a.canciones c where c.id = :cancionId")
+    List<Long> findIdsByCancionId(@Param("cancionId") Long cancionId);
+
+    /**
+     * Whether the album has a cancion with the given normalized titulo, without
+     * loading its canciones.
+     */
+    @Query("select count(c) > 0 from AlbumEntity a join a.canciones c where a.id = :albumId"
+            + " and c.tituloNormalizado = :titulo")
+    boolean existsCancionByTitulo(@Param("albumId") Long albumId, @Param("titulo") String tituloNormalizado);
+
+    /**
+     * Pairs of cancion id and normalized titulo of the canciones of the album
+     * whose titulo is one of the given ones.
+     */
+    @Query("select c.id, c.tituloNormalizado from AlbumEntity a join a.canciones c where a.id = :albumId"
+            + " and c.tituloNormalizado in :titulos")
+    List<Object[]> findCancionTitulosIn(@Param("albumId") Long albumId, @Param("titulos") Collection<String> titulos);
+
+    /**
+     * Whether the album has the given cancion, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(a) > 0 from AlbumEntity a join a.canciones c where a.id = :albumId and c.id = :cancionId")
+    boolean hasCancion(@Param("albumId") Long albumId, @Param("cancionId") Long cancionId);
+
+    /**
+     * Whether the album has the given artista, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(a) > 0 from AlbumEntity a join a.artistas c where a.id = :albumId and c.id = :creadorId")
+    boolean hasArtista(@Param("albumId") Long albumId, @Param("creadorId") Long creadorId);
+
+    /**
+     * Whether the album has the given genero, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(a) > 0 from AlbumEntity a join a.generos g where a.id = :albumId and g.id = :generoId")
+    boolean hasGenero(@Param("albumId") Long albumId, @Param("generoId") Long generoId);
+
+    /**
+     * Ids of the albums that have the given genero.
+     */
+    @Query("select a.id from AlbumEntity a join a.generos g where g.id = :generoId")
+    List<Long> findIdsByGeneroId(@Param("generoId") Long generoId);
+
+    /**
+     * Every album ordered by id, read from a forward-only cursor a fetch at a time.
+     * The albums are read only and skip the second level cache, so the caller only
+     * has to detach them once written. Needs an open transaction.
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE") })
+    @Query("select a from AlbumEntity a order by a.id")
+    Stream<AlbumEntity> streamAll();
+
+    /**
+     * The id and titulo of every album, read a fetch at a time to build the search
+     * index. Needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.id, a.titulo from AlbumEntity a")
+    Stream<Object[]> streamSearchTexts();
+
+    /**
+     * Pairs of album id and cancion id of every cancion of an album.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.id, c.id from AlbumEntity a join a.canciones c")
+    Stream<Object[]> streamCancionIds();
+
+    /**
+     * Ids of the albums of the given canciones, once for each cancion an album
+     * has.
+     */
+    @Query("select a.id from AlbumEntity a join a.canciones c where c.id in :cancionIds")
+    List<Long> findIdsByCancionIdIn(@Param("cancionIds") Collection<Long> cancionIds);
+
+    /**
+     * Only the columns of {@link AlbumDTO} of the given albums, ordered by id.
+     */
+    @Query("select new co.edu.uniandes.dse.musica.dto.AlbumDTO(a.id, a.titulo, a.imagen) from AlbumEntity a where a.id in :ids order by a.id")
+    List<AlbumDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The id of every album, read a fetch at a time. Needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.id from AlbumEntity a")
+    Stream<Long> streamIds();
+
+    /**
+     * Pairs of album id and genero id of every genero of an album.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.id, g.id from AlbumEntity a join a.generos g")
+    Stream<Object[]> streamGeneroIds();
 }
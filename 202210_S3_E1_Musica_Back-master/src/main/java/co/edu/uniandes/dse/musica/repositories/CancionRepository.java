@@ -1,8 +1,21 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 
 
@@ -15,6 +28,38 @@ import co.edu.uniandes.dse.musica.entities.CancionEntity;
 
 @Repository
 public interface CancionRepository extends JpaRepository<CancionEntity, Long> {
-    
-}
 
+    /**
+     * Keyset page of canciones ordered by id, starting right after the given id.
+     * Selects only the columns of {@link CancionDTO}. Only the size of the
+     * pageable is used, the offset must always be 0.
+     */
+    @Query("select new co.edu.uniandes.dse.musica.dto.CancionDTO(c.id, c.titulo, c.duracion, c.link, c.portada) "
+            + "from CancionEntity c where c.id > :id order by c.id")
+    List<CancionDTO> findSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Page of canciones that selects only the columns of {@link CancionDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     */
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.CancionDTO(c.id, c.titulo, c.duracion, c.link, c.portada) from CancionEntity c",
+            countQuery = "select count(c) from CancionEntity c")
+    Page<CancionDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Every cancion as a {@link CancionDTO}, ordered by id. The rows are read from a
+     * forward-only cursor a fetch at a time and no entity is loaded, so the stream can
+     * be written out without holding the table in memory. Needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new co.edu.uniandes.dse.musica.dto.CancionDTO(c.id, c.titulo, c.duracion, c.link, c.portada) "
+            + "from CancionEntity c order by c.id")
+    Stream<CancionDTO> streamAllSummaries();
+
+    /**
+     * Number of playlists of each cancion that is in at least one, as pairs of
+     * cancion id and count.
+     */
+    @Query("select c.id, count(p) from PlaylistEntity p join p.canciones c group by c.id")
+    List<Object[]> countPlaylistsByCancion();
+}
@@ -1,9 +1,24 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 
 /**
  * Interface that persists a Capitulo.
@@ -14,4 +29,103 @@ import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 @Repository
 public interface CapituloRepository extends JpaRepository<CapituloEntity, Long> {
 
-}
\ No newline at end of file
+	/**
+	 * Keyset page of capitulos ordered by id, starting right after the given id.
+	 * Only the size of the pageable is used, the offset must always be 0.
+	 */
+	List<CapituloEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	/**
+	 * Keyset page of capitulos ordered by (fechaPublicacion, id), starting right
+	 * after the given key. Only the size of the pageable is used. The leading
+	 * bound on fechaPublicacion is what lets H2 start the walk of the index at
+	 * the key; the disjunction alone would read it from the start.
+	 */
+	@Query("select c from CapituloEntity c where c.fechaPublicacion >= :fecha"
+			+ " and (c.fechaPublicacion > :fecha or c.id > :id)"
+			+ " order by c.fechaPublicacion asc nulls first, c.id asc")
+	List<CapituloEntity> findPageAfter(@Param("fecha") Date fecha, @Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Keyset page of the capitulos without fechaPublicacion, which go first in
+	 * the date ordering, starting right after the given id. It keeps the order of
+	 * the index, (fechaPublicacion, id), so H2 walks it instead of sorting by id.
+	 */
+	@Query("select c from CapituloEntity c where c.fechaPublicacion is null and c.id > :id"
+			+ " order by c.fechaPublicacion asc nulls first, c.id asc")
+	List<CapituloEntity> findUndatedPageAfter(@Param("id") Long id, Pageable pageable);
+
+	/**
+	 * First page of the capitulos with fechaPublicacion, read after the undated
+	 * ones. The bound on the earliest fecha, a single lookup in the index, skips
+	 * the undated capitulos that "is not null" would read one by one.
+	 */
+	@Query("select c from CapituloEntity c where c.fechaPublicacion >="
+			+ " (select min(d.fechaPublicacion) from CapituloEntity d)"
+			+ " order by c.fechaPublicacion asc nulls first, c.id asc")
+	List<CapituloEntity> findFirstDatedPage(Pageable pageable);
+
+	/**
+	 * Whether the capitulo belongs to the given podcast.
+	 */
+	boolean existsByIdAndPodcastId(Long id, Long podcastId);
+
+	/**
+	 * Ids of the capitulos of a podcast.
+	 */
+	@Query("select c.id from CapituloEntity c where c.podcast.id = :podcastId")
+	List<Long> findIdsByPodcastId(@Param("podcastId") Long podcastId);
+
+	/**
+	 * Ids of the capitulos of a podcast other than the given ones.
+	 */
+	@Query("select c.id from CapituloEntity c where c.podcast.id = :podcastId and c.id not in :ids")
+	List<Long> findIdsByPodcastIdAndIdNotIn(@Param("podcastId") Long podcastId, @Param("ids") Collection<Long> ids);
+
+	/**
+	 * Deletes the given capitulos with a single statement. The persistence
+	 * context is not updated.
+	 */
+	@Modifying
+	@Query("delete from CapituloEntity c where c.id in :ids")
+	int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Moves the given capitulos to a podcast with a single statement, increasing
+	 * the version of those that were not in it. The persistence context is not
+	 * updated.
+	 */
+	@Modifying
+	@Query("update CapituloEntity c set c.podcast = :podcast, c.version = c.version + 1,"
+			+ " c.fechaModificacion = current_timestamp"
+			+ " where c.id in :ids and (c.podcast is null or c.podcast <> :podcast)")
+	int moveToPodcast(@Param("podcast") PodcastEntity podcast, @Param("ids") Collection<Long> ids);
+
+	/**
+	 * Whether the podcast has a capitulo with the given normalized titulo. It is a
+	 * single lookup in the unique index of podcast and titulo.
+	 */
+	boolean existsByPodcastIdAndTituloNormalizado(Long podcastId, String tituloNormalizado);
+
+	/**
+	 * Same as existsByPodcastIdAndTituloNormalizado, ignoring the given capitulo.
+	 */
+	boolean existsByPodcastIdAndTituloNormalizadoAndIdNot(Long podcastId, String tituloNormalizado, Long id);
+
+	/**
+	 * Which of the given normalized titulos the podcast already has, without
+	 * reading the titulos of its other capitulos.
+	 */
+	@Query("select c.tituloNormalizado from CapituloEntity c where c.podcast.id = :podcastId"
+			+ " and c.tituloNormalizado in :titulos")
+	List<String> findTitulosNormalizadosIn(@Param("podcastId") Long podcastId,
+			@Param("titulos") Collection<String> titulos);
+
+	/**
+	 * The id and titulo of every capitulo, read a fetch at a time to build the search
+	 * index. Needs an open transaction.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+	@Query("select c.id, c.titulo from CapituloEntity c")
+	Stream<Object[]> streamSearchTexts();
+}
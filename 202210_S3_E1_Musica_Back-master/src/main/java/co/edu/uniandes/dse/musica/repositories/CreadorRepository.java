@@ -1,8 +1,23 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.CreadorDTO;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 
 /**
@@ -14,4 +29,80 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 @Repository
 public interface CreadorRepository extends JpaRepository<CreadorEntity, Long> {
 
-}
\ No newline at end of file
+    /**
+     * Page of creadores that selects only the columns of {@link CreadorDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     * The result is kept in the query cache until one of its tables changes.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.CreadorDTO(c.id, c.nombre, c.nacionalidad, c.imagen) from CreadorEntity c",
+            countQuery = "select count(c) from CreadorEntity c")
+    Page<CreadorDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Ids of the creadores that have the given podcast.
+     */
+    @Query("select c.id from CreadorEntity c join c.podcasts p where p.id = :podcastId")
+    List<Long> findIdsByPodcastId(@Param("podcastId") Long podcastId);
+
+    /**
+     * Whether the creador has the given album, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(c) > 0 from CreadorEntity c join c.albumes a where c.id = :creadorId and a.id = :albumId")
+    boolean hasAlbum(@Param("creadorId") Long creadorId, @Param("albumId") Long albumId);
+
+    /**
+     * Whether the creador has the given podcast, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(c) > 0 from CreadorEntity c join c.podcasts p where c.id = :creadorId and p.id = :podcastId")
+    boolean hasPodcast(@Param("creadorId") Long creadorId, @Param("podcastId") Long podcastId);
+
+    /**
+     * Whether a creador has the given normalized name. It is answered by the unique
+     * index on the column.
+     */
+    boolean existsByNombreNormalizado(String nombreNormalizado);
+
+    /**
+     * Whether a creador other than the given one has the given normalized name.
+     */
+    boolean existsByNombreNormalizadoAndIdNot(String nombreNormalizado, Long id);
+
+    /**
+     * Normalized name and id of every creador, as [nombreNormalizado, id] pairs,
+     * without loading the entities.
+     */
+    @Query("select c.nombreNormalizado, c.id from CreadorEntity c")
+    List<Object[]> findNombresNormalizados();
+
+    /**
+     * The id and nombre of every creador, read a fetch at a time to build the search
+     * index. Needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c.id, c.nombre from CreadorEntity c")
+    Stream<Object[]> streamSearchTexts();
+
+    /**
+     * Pairs of creador id and album id of every album of a creador.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c.id, a.id from CreadorEntity c join c.albumes a")
+    Stream<Object[]> streamAlbumIds();
+
+    /**
+     * Ids of the creadores of the albums of the given canciones, once for each
+     * album and cancion that leads to a creador.
+     */
+    @Query("select cr.id from CreadorEntity cr join cr.albumes a join a.canciones c where c.id in :cancionIds")
+    List<Long> findIdsByCancionIdIn(@Param("cancionIds") Collection<Long> cancionIds);
+
+    /**
+     * Pairs of creador id and podcast id of every podcast of a creador.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c.id, p.id from CreadorEntity c join c.podcasts p")
+    Stream<Object[]> streamPodcastIds();
+}
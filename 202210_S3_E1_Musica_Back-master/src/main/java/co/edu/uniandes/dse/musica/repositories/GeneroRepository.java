@@ -1,8 +1,22 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.GeneroDTO;
 import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 
 
@@ -15,5 +29,34 @@ import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 
 @Repository
 public interface GeneroRepository extends JpaRepository<GeneroEntity, Long> {
-    
-}
\ No newline at end of file
+
+    /**
+     * Page of generos that selects only the columns of {@link GeneroDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     * The result is kept in the query cache until one of its tables changes.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.GeneroDTO(g.id, g.nombre) from GeneroEntity g",
+            countQuery = "select count(g) from GeneroEntity g")
+    Page<GeneroDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Name and id of every genero, as [nombre, id] pairs ordered by id, without
+     * loading the entities.
+     */
+    @Query("select g.nombre, g.id from GeneroEntity g order by g.id")
+    List<Object[]> findNombres();
+
+    /**
+     * Ids of the generos that list the given album among their albumes.
+     */
+    @Query("select g.id from GeneroEntity g join g.albumes a where a.id = :albumId")
+    List<Long> findIdsByAlbumId(@Param("albumId") Long albumId);
+
+    /**
+     * Pairs of genero id and album id of every album listed by a genero.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select g.id, a.id from GeneroEntity g join g.albumes a")
+    Stream<Object[]> streamAlbumIds();
+}
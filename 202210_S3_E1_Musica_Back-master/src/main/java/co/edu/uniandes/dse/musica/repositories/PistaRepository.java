@@ -0,0 +1,103 @@
+package co.edu.uniandes.dse.musica.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
+
+/**
+ * Interface that persists the tracks of the playlists. The queries in order
+ * sort by the playlist first, which lets H2 walk the index on the playlist and
+ * the posicion instead of sorting every track of the playlist.
+ */
+@Repository
+public interface PistaRepository extends JpaRepository<PistaEntity, Long> {
+
+	/**
+	 * Tracks of a playlist in order. H2 sorts them instead of walking the index
+	 * when every column is selected, so a single track is found with
+	 * {@link #findIdsInOrder} instead.
+	 */
+	@Query("select p from PistaEntity p where p.playlist.id = :playlistId order by p.playlist.id, p.posicion, p.id")
+	List<PistaEntity> findByPlaylistIdInOrder(@Param("playlistId") Long playlistId, Pageable pageable);
+
+	/**
+	 * Ids of the tracks of a playlist in order, read only from the index on the
+	 * playlist and the posicion. With a page of size 1 it returns the id of the
+	 * track at the index of the page.
+	 */
+	@Query("select p.id from PistaEntity p where p.playlist.id = :playlistId order by p.playlist.id, p.posicion, p.id")
+	List<Long> findIdsInOrder(@Param("playlistId") Long playlistId, Pageable pageable);
+
+	/**
+	 * Ids of the tracks of a playlist after the track with the given posicion and
+	 * id, in order. The bound on the posicion alone lets H2 seek the index to the
+	 * track instead of walking it from the start of the playlist. With a page of
+	 * size 1 it returns the id of the next track.
+	 */
+	@Query("select p.id from PistaEntity p where p.playlist.id = :playlistId and p.posicion >= :posicion"
+			+ " and (p.posicion > :posicion or p.id > :id) order by p.playlist.id, p.posicion, p.id")
+	List<Long> findIdsAfter(@Param("playlistId") Long playlistId, @Param("posicion") long posicion,
+			@Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Posiciones of the tracks of a playlist from the last one, read from the
+	 * descending index. With a page of size 1 it returns the last posicion.
+	 */
+	@Query("select p.posicion from PistaEntity p where p.playlist.id = :playlistId order by p.playlist.id, p.posicion desc")
+	List<Long> findUltimasPosiciones(@Param("playlistId") Long playlistId, Pageable pageable);
+
+	/**
+	 * Ids of a page of the tracks of a playlist in order. Joining the canciones
+	 * here would make H2 sort the whole playlist, so they are read afterwards
+	 * with {@link #findSummariesByIdIn}.
+	 */
+	@Query(value = "select p.id from PistaEntity p where p.playlist.id = :playlistId order by p.playlist.id, p.posicion, p.id",
+			countQuery = "select count(p) from PistaEntity p where p.playlist.id = :playlistId")
+	Page<Long> findIdsByPlaylistId(@Param("playlistId") Long playlistId, Pageable pageable);
+
+	/**
+	 * Tracks with the given ids that select only the columns of
+	 * {@link PistaDTO}, in no particular order.
+	 */
+	@Query("select new co.edu.uniandes.dse.musica.dto.PistaDTO(p.id, c.id, c.titulo, c.duracion, c.link, c.portada)"
+			+ " from PistaEntity p join p.cancion c where p.id in :ids")
+	List<PistaDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("select count(p) > 0 from PistaEntity p where p.playlist.id = :playlistId and p.cancion.id = :cancionId")
+	boolean existsByPlaylistIdAndCancionId(@Param("playlistId") Long playlistId, @Param("cancionId") Long cancionId);
+
+	/**
+	 * Deletes every track of the cancion in the playlist with a single statement.
+	 * The persistence context is not updated.
+	 */
+	@Modifying
+	@Query("delete from PistaEntity p where p.playlist.id = :playlistId and p.cancion.id = :cancionId")
+	int deleteByPlaylistIdAndCancionId(@Param("playlistId") Long playlistId, @Param("cancionId") Long cancionId);
+
+	/**
+	 * Deletes the tracks of the canciones that are no longer in the playlist,
+	 * after the canciones were replaced by an update of the playlist.
+	 */
+	@Modifying
+	@Query("delete from PistaEntity p where p.playlist.id = :playlistId and p.cancion not in"
+			+ " (select c from PlaylistEntity pl join pl.canciones c where pl.id = :playlistId)")
+	int deleteWhereCancionNotInPlaylist(@Param("playlistId") Long playlistId);
+
+	/**
+	 * Deletes every track of the playlist with a single statement. The
+	 * persistence context is not updated.
+	 */
+	@Modifying
+	@Query("delete from PistaEntity p where p.playlist.id = :playlistId")
+	int deleteByPlaylistId(@Param("playlistId") Long playlistId);
+}
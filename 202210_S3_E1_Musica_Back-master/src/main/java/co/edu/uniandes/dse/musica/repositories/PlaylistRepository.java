@@ -1,7 +1,16 @@
 package co.edu.uniandes.dse.musica.repositories;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.PlaylistDTO;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 
 /**
@@ -14,4 +23,30 @@ import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 @Repository
 public interface PlaylistRepository extends JpaRepository<PlaylistEntity, Long>{
 
+    /**
+     * Loads the given playlists together with their canciones in a single query.
+     */
+    @EntityGraph(attributePaths = "canciones")
+    List<PlaylistEntity> findWithCancionesByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of playlists that selects only the columns of {@link PlaylistDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     */
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.PlaylistDTO(p.nombre, p.fechaCreacion, p.imagen, p.id) from PlaylistEntity p",
+            countQuery = "select count(p) from PlaylistEntity p")
+    Page<PlaylistDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Whether the playlist has the given cancion, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(p) > 0 from PlaylistEntity p join p.canciones c where p.id = :playlistId and c.id = :cancionId")
+    boolean hasCancion(@Param("playlistId") Long playlistId, @Param("cancionId") Long cancionId);
+
+    /**
+     * Ids of the canciones of the playlist, read from the join table.
+     */
+    @Query("select c.id from PlaylistEntity p join p.canciones c where p.id = :playlistId")
+    List<Long> findCancionIds(@Param("playlistId") Long playlistId);
 }
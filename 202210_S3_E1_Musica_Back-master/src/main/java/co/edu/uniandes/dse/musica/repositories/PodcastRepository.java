@@ -1,8 +1,25 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 
 /**
@@ -14,4 +31,102 @@ import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 @Repository
 public interface PodcastRepository extends JpaRepository<PodcastEntity, Long> {
 
-}
\ No newline at end of file
+    /**
+     * Loads the given podcasts together with their creadores in a single query.
+     */
+    @EntityGraph(attributePaths = "creadores")
+    List<PodcastEntity> findWithCreadoresByIdIn(Collection<Long> ids);
+
+    /**
+     * Loads the given podcasts together with their capitulos in a single query.
+     */
+    @EntityGraph(attributePaths = "capitulos")
+    List<PodcastEntity> findWithCapitulosByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of podcasts that selects only the columns of {@link PodcastDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     */
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.PodcastDTO(p.id, p.titulo, p.calificacion, p.imagen, p.descripcion, p.precio) from PodcastEntity p",
+            countQuery = "select count(p) from PodcastEntity p")
+    Page<PodcastDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Ids of the podcasts that have the given creador.
+     */
+    @Query("select p.id from PodcastEntity p join p.creadores c where c.id = :creadorId")
+    List<Long> findIdsByCreadorId(@Param("creadorId") Long creadorId);
+
+    /**
+     * Whether the podcast has the given creador, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(p) > 0 from PodcastEntity p join p.creadores c where p.id = :podcastId and c.id = :creadorId")
+    boolean hasCreador(@Param("podcastId") Long podcastId, @Param("creadorId") Long creadorId);
+
+    /**
+     * Whether the podcast has the given tema, answered from the join table
+     * without loading the collection.
+     */
+    @Query("select count(p) > 0 from PodcastEntity p join p.temas t where p.id = :podcastId and t.id = :temaId")
+    boolean hasTema(@Param("podcastId") Long podcastId, @Param("temaId") Long temaId);
+
+    /**
+     * Ids of the podcasts that have the given tema.
+     */
+    @Query("select p.id from PodcastEntity p join p.temas t where t.id = :temaId")
+    List<Long> findIdsByTemaId(@Param("temaId") Long temaId);
+
+    /**
+     * Every podcast ordered by id, read from a forward-only cursor a fetch at a time.
+     * The podcasts are read only and skip the second level cache, so the caller only
+     * has to detach them once written. Needs an open transaction.
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE") })
+    @Query("select p from PodcastEntity p order by p.id")
+    Stream<PodcastEntity> streamAll();
+
+    /**
+     * The id, titulo and descripcion of every podcast, read a fetch at a time to build the search
+     * index. Needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.id, p.titulo, p.descripcion from PodcastEntity p")
+    Stream<Object[]> streamSearchTexts();
+
+    /**
+     * Number of capitulos of each podcast that has at least one, as pairs of
+     * podcast id and count.
+     */
+    @Query("select c.podcast.id, count(c) from CapituloEntity c where c.podcast is not null group by c.podcast.id")
+    List<Object[]> countCapitulosByPodcast();
+
+    /**
+     * Only the columns of {@link PodcastDTO} of the given podcasts, ordered by id.
+     */
+    @Query("select new co.edu.uniandes.dse.musica.dto.PodcastDTO(p.id, p.titulo, p.calificacion, p.imagen, p.descripcion, p.precio) from PodcastEntity p where p.id in :ids order by p.id")
+    List<PodcastDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The id and precio of every podcast, read a fetch at a time. Needs an open
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.id, p.precio from PodcastEntity p")
+    Stream<Object[]> streamPrecios();
+
+    /**
+     * Pairs of podcast id and tema id of every tema of a podcast.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.id, t.id from PodcastEntity p join p.temas t")
+    Stream<Object[]> streamTemaIds();
+
+    /**
+     * Pairs of podcast id and creador id of every creador of a podcast.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.id, c.id from PodcastEntity p join p.creadores c")
+    Stream<Object[]> streamCreadorIds();
+}
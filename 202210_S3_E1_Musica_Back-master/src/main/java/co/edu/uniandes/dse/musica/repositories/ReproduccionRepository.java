@@ -0,0 +1,15 @@
+package co.edu.uniandes.dse.musica.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.musica.entities.ReproduccionEntity;
+
+/**
+ * Interface that reads the plays. They are written by ReproduccionService.
+ */
+@Repository
+public interface ReproduccionRepository extends JpaRepository<ReproduccionEntity, Long> {
+
+	long countByUsuarioId(Long usuarioId);
+}
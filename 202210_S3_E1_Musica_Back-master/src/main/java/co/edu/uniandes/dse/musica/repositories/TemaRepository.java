@@ -1,8 +1,22 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.TemaDTO;
 import co.edu.uniandes.dse.musica.entities.TemaEntity;
 
 /**
@@ -14,4 +28,26 @@ import co.edu.uniandes.dse.musica.entities.TemaEntity;
 @Repository
 public interface TemaRepository extends JpaRepository<TemaEntity, Long> {
 
-}
\ No newline at end of file
+    /**
+     * Page of temas that selects only the columns of {@link TemaDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     * The result is kept in the query cache until one of its tables changes.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.TemaDTO(t.id, t.nombre) from TemaEntity t",
+            countQuery = "select count(t) from TemaEntity t")
+    Page<TemaDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Ids of the temas that list the given podcast among their podcasts.
+     */
+    @Query("select t.id from TemaEntity t join t.podcasts p where p.id = :podcastId")
+    List<Long> findIdsByPodcastId(@Param("podcastId") Long podcastId);
+
+    /**
+     * Pairs of tema id and podcast id of every podcast listed by a tema.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select t.id, p.id from TemaEntity t join t.podcasts p")
+    Stream<Object[]> streamPodcastIds();
+}
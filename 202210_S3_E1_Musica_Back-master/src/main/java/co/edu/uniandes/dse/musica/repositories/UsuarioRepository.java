@@ -1,8 +1,16 @@
 package co.edu.uniandes.dse.musica.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import co.edu.uniandes.dse.musica.dto.UsuarioDTO;
 import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
 
 /**
@@ -17,4 +25,17 @@ import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
 
 public interface UsuarioRepository extends JpaRepository<UsuarioEntity, Long> {
 
+    /**
+     * Loads the given usuarios together with their playlists in a single query.
+     */
+    @EntityGraph(attributePaths = "playlists")
+    List<UsuarioEntity> findWithPlaylistsByIdIn(Collection<Long> ids);
+
+    /**
+     * Page of usuarios that selects only the columns of {@link UsuarioDTO}. The rows are
+     * built by the query itself, so no entity is loaded into the persistence context.
+     */
+    @Query(value = "select new co.edu.uniandes.dse.musica.dto.UsuarioDTO(u.id, u.nombre, u.login, u.correo) from UsuarioEntity u",
+            countQuery = "select count(u) from UsuarioEntity u")
+    Page<UsuarioDTO> findAllSummaries(Pageable pageable);
 }
@@ -1,9 +1,17 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,9 +20,12 @@ import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
 @Service
+@Import(DetailCacheEvictor.class)
 public class AlbumCancionService {
 
     @Autowired
@@ -23,6 +34,12 @@ public class AlbumCancionService {
     @Autowired
     private CancionRepository cancionRepository;
 
+    @Autowired
+    private DetailCacheEvictor detailCacheEvictor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
 
     /**
     * Asocia una Cancion existente a un Album
@@ -44,15 +61,15 @@ public class AlbumCancionService {
         if(albumEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
 
-        for (CancionEntity cancion : albumEntity.get().getCanciones()) {
-			if (cancion.getTitulo().equals(cancionEntity.get().getTitulo()))
-				throw new IllegalOperationException("Cancion already exists in album");
-		}
+        // Consulta indexada por título, sin recorrer las canciones del álbum
+        if (albumRepository.existsCancionByTitulo(idAlbum, cancionEntity.get().getTituloNormalizado()))
+            throw new IllegalOperationException(ErrorMessage.CANCION_ALREADY_IN_ALBUM);
 
         albumEntity.get().getCanciones().add(cancionEntity.get());
         cancionEntity.get().getAlbumes().add(albumEntity.get());
         albumRepository.save(albumEntity.get());
         cancionRepository.save(cancionEntity.get());
+        detailCacheEvictor.evictAlbum(idAlbum);
         return cancionEntity.get();
     }
 
@@ -65,6 +82,23 @@ public class AlbumCancionService {
         return albumEntity.get().getCanciones();  
     }
 
+    /**
+     * Cuenta las canciones de un Album sin cargarlas: la coleccion es extra
+     * lazy, su tamaño se consulta en la tabla de union.
+     *
+     * @param albumId Identificador de la instancia del Album
+     * @return Numero de canciones asociadas al Album
+     * @throws EntityNotFoundException si el Album no existe
+     */
+    @Transactional
+    public int countCanciones(Long albumId) throws EntityNotFoundException {
+        Optional<AlbumEntity> albumEntity = albumRepository.findById(albumId);
+        if(albumEntity.isEmpty())
+            throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
+
+        return albumEntity.get().getCanciones().size();
+    }
+
     @Transactional
     public CancionEntity getCancion(Long albumId, Long cancionId) throws EntityNotFoundException, IllegalOperationException {
         Optional<AlbumEntity> albumEntity = albumRepository.findById(albumId); 
@@ -75,7 +109,8 @@ public class AlbumCancionService {
         if(cancionEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
         
-        if(albumEntity.get().getCanciones().contains(cancionEntity.get()))
+        if(Associations.contains(albumEntity.get().getCanciones(), cancionEntity.get(),
+                () -> albumRepository.hasCancion(albumId, cancionId)))
             return cancionEntity.get(); 
 
         throw new IllegalOperationException("The song is not associated with the album");
@@ -87,16 +122,27 @@ public class AlbumCancionService {
         if(albumEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
         
-        for(CancionEntity cancion: listCancion ) {
-            Optional<CancionEntity> cancionEntity = cancionRepository.findById(cancion.getId());
-            if(cancionEntity.isEmpty())
-                throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
-            
-            if(!albumEntity.get().getCanciones().contains(cancionEntity.get())) {
-                addCancion(albumEntity.get().getId(), cancion.getId());
-            }
+        List<CancionEntity> canciones = Associations.findAllById(cancionRepository, listCancion, ErrorMessage.CANCION_NOT_FOUND);
+        AlbumEntity album = albumEntity.get();
+
+        // Solo se leen las canciones del álbum con alguno de los títulos nuevos
+        Set<String> nuevos = new HashSet<>();
+        canciones.forEach(cancion -> nuevos.add(cancion.getTituloNormalizado()));
+        nuevos.remove(null);
+        Map<String, Long> titulos = new HashMap<>();
+        if (!nuevos.isEmpty())
+            for (Object[] fila : albumRepository.findCancionTitulosIn(albumId, nuevos))
+                titulos.put((String) fila[1], (Long) fila[0]);
+        for (CancionEntity cancion : canciones) {
+            Long otra = titulos.putIfAbsent(cancion.getTituloNormalizado(), cancion.getId());
+            if (otra != null && !otra.equals(cancion.getId()))
+                throw new IllegalOperationException(ErrorMessage.CANCION_ALREADY_IN_ALBUM);
         }
 
+        for (CancionEntity cancion : Associations.addMissing(album.getCanciones(), canciones))
+            cancion.getAlbumes().add(album);
+        detailCacheEvictor.evictAlbum(albumId);
+
         return getCanciones(albumId); 
     }
 
@@ -110,8 +156,14 @@ public class AlbumCancionService {
         if(cancionEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
         
-        albumEntity.get().getCanciones().remove(cancionEntity.get());
-        cancionEntity.get().getAlbumes().remove(albumEntity.get()); 
+        // Las canciones del álbum solo se cargan si ya estaban cargadas
+        Associations.remove(entityManager, albumEntity.get().getCanciones(), cancionEntity.get(),
+                Associations.ALBUM_CANCIONES, albumId);
+        Associations.remove(entityManager, cancionEntity.get().getAlbumes(), albumEntity.get(),
+                Associations.CANCION_ALBUMES, cancionId);
+        albumEntity.get().marcarModificada();
+        cancionEntity.get().marcarModificada();
+        detailCacheEvictor.evictAlbum(albumId);
 
     }
 
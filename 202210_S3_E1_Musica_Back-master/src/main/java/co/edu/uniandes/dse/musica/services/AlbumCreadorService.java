@@ -1,9 +1,12 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +15,14 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
 
 @Service
+@Import({ DetailCacheEvictor.class, FacetIndexer.class })
 public class AlbumCreadorService {
 
     @Autowired
@@ -23,6 +30,12 @@ public class AlbumCreadorService {
         
     @Autowired
     private CreadorRepository creadorRepository; 
+
+    @Autowired
+    private DetailCacheEvictor detailCacheEvictor;
+
+    @Autowired
+    private FacetIndexer facetIndexer;
     
     // @Autowired
     // private CreadorAlbumService creadorAlbumService;
@@ -56,6 +69,9 @@ public class AlbumCreadorService {
         creadorEntity.get().getAlbumes().add(albumEntity.get());
         creadorRepository.save(creadorEntity.get()); 
         albumRepository.save(albumEntity.get()); 
+        detailCacheEvictor.evictAlbum(idAlbum);
+        detailCacheEvictor.evictCreador(idCreador);
+        facetIndexer.addAlbumArtista(idAlbum, idCreador);
         return creadorEntity.get();
     }
 
@@ -79,7 +95,8 @@ public class AlbumCreadorService {
             throw new EntityNotFoundException(ErrorMessage.CREADOR_NOT_FOUND);
         
         
-        if(albumEntity.get().getArtistas().contains(creadorEntity.get()))
+        if(Associations.contains(albumEntity.get().getArtistas(), creadorEntity.get(),
+                () -> albumRepository.hasArtista(albumId, creadorId)))
             return creadorEntity.get(); 
 
         throw new IllegalOperationException("The song is not associated with the album");
@@ -91,16 +108,27 @@ public class AlbumCreadorService {
         if(albumEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
         
-        for(CreadorEntity creador: listCreador ) {
-            Optional<CreadorEntity> creadorEntity = creadorRepository.findById(creador.getId());
-            if(creadorEntity.isEmpty())
-                throw new EntityNotFoundException(ErrorMessage.CREADOR_NOT_FOUND);
-            
-            if(!albumEntity.get().getArtistas().contains(creadorEntity.get())) {
-                addCreador(albumEntity.get().getId(), creadorEntity.get().getId());
+        List<CreadorEntity> creadores = Associations.findAllById(creadorRepository, listCreador, ErrorMessage.CREADOR_NOT_FOUND);
+        AlbumEntity album = albumEntity.get();
+
+        // Check no repeated album name in one creador
+        Set<CreadorEntity> actuales = new HashSet<>(album.getArtistas());
+        for (CreadorEntity creador : creadores) {
+            if (actuales.contains(creador))
+                continue;
+            for (AlbumEntity otro : creador.getAlbumes()) {
+                if (otro.getTitulo().equals(album.getTitulo()))
+                    throw new IllegalOperationException("Creador cant't have more than 1 album with same title");
             }
         }
 
+        for (CreadorEntity creador : Associations.addMissing(album.getArtistas(), creadores)) {
+            creador.getAlbumes().add(album);
+            detailCacheEvictor.evictCreador(creador.getId());
+            facetIndexer.addAlbumArtista(albumId, creador.getId());
+        }
+        detailCacheEvictor.evictAlbum(albumId);
+
         return getArtistas(albumId); 
     }
 
@@ -115,7 +143,10 @@ public class AlbumCreadorService {
             throw new EntityNotFoundException(ErrorMessage.CREADOR_NOT_FOUND);
         
         albumEntity.get().getArtistas().remove(creadorEntity.get());
+        albumEntity.get().marcarModificada();
         creadorEntity.get().getAlbumes().remove(albumEntity.get());
-
+        detailCacheEvictor.evictAlbum(albumId);
+        detailCacheEvictor.evictCreador(creadorId);
+        facetIndexer.removeAlbumArtista(albumId, creadorId);
     }
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,12 +14,16 @@ import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Import({ DetailCacheEvictor.class, FacetIndexer.class })
 public class AlbumGeneroService {
 	
 	@Autowired
@@ -26,6 +31,12 @@ public class AlbumGeneroService {
 
 	@Autowired
 	private GeneroRepository generoRepository;
+
+	@Autowired
+	private DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	private FacetIndexer facetIndexer;
 	
 	@Transactional
 	public GeneroEntity addGenero(Long albumId, Long generoId) throws EntityNotFoundException {
@@ -39,6 +50,8 @@ public class AlbumGeneroService {
 			throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
 
 		albumEntity.get().getGeneros().add(generoEntity.get());
+		detailCacheEvictor.evictAlbum(albumId);
+		indexGeneros(albumEntity.get());
 		log.info("Termina proceso de asociarle un un genero al album con id = {0}", albumId);
 		return generoEntity.get();
 	}
@@ -82,7 +95,8 @@ public class AlbumGeneroService {
 		if (albumEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
 		log.info("Termina proceso de consultar un genero el album con id = {0}", albumId);
-		if (albumEntity.get().getGeneros().contains(generoEntity.get()))
+		if (Associations.contains(albumEntity.get().getGeneros(), generoEntity.get(),
+				() -> albumRepository.hasGenero(albumId, generoId)))
 			return generoEntity.get();
 
 		throw new IllegalOperationException("The genero is not associated to the album");
@@ -103,14 +117,10 @@ public class AlbumGeneroService {
 		if (albumEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
 
-		for (GeneroEntity genero : list) {
-			Optional<GeneroEntity> generoEntity = generoRepository.findById(genero.getId());
-			if (generoEntity.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
-
-			if (!albumEntity.get().getGeneros().contains(generoEntity.get()))
-				albumEntity.get().getGeneros().add(generoEntity.get());
-		}
+		List<GeneroEntity> generos = Associations.findAllById(generoRepository, list, ErrorMessage.GENERO_NOT_FOUND);
+		Associations.addMissing(albumEntity.get().getGeneros(), generos);
+		detailCacheEvictor.evictAlbum(albumId);
+		indexGeneros(albumEntity.get());
 		log.info("Termina proceso de reemplazar los generoes del album con id = {0}", albumId);
 		return getGeneros(albumId);
 	}
@@ -136,14 +146,26 @@ public class AlbumGeneroService {
 		
 		try {
 			albumEntity.get().getGeneros().remove(generoEntity.get());
+			detailCacheEvictor.evictAlbum(albumId);
 			if (albumEntity.get().getGeneros().isEmpty()) {
 				throw new IllegalOperationException("Un album debe tener por lo menos un genero");
 			}
 		} catch (Exception e) {
 			throw e;
 		}
+		indexGeneros(albumEntity.get());
 
 		log.info("Termina proceso de borrar un generoes del album con id = {0}", albumId);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Actualiza las facetas del album con los generos de ambos lados de la
+	 * asociacion.
+	 *
+	 * @param album Album cuyos generos cambiaron
+	 */
+	private void indexGeneros(AlbumEntity album) {
+		facetIndexer.setAlbumGeneros(album.getId(),
+				FacetIndexer.union(album.getGeneros(), generoRepository.findIdsByAlbumId(album.getId())));
+	}
+}
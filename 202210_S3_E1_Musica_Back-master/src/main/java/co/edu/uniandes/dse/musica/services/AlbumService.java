@@ -3,15 +3,23 @@ package co.edu.uniandes.dse.musica.services;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
 import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
@@ -29,6 +37,7 @@ import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 
 //@Slf4j
 @Service
+@Import({ DetailCacheEvictor.class, SearchIndexer.class, FacetIndexer.class })
 public class AlbumService {
 
     @Autowired
@@ -43,6 +52,15 @@ public class AlbumService {
 	@Autowired
 	GeneroRepository generoRepository; 
 
+	@Autowired
+	DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	SearchIndexer searchIndexer;
+
+	@Autowired
+	FacetIndexer facetIndexer;
+
     /**
 	 * Se encarga de crear un Album en la base de datos.
 	 *
@@ -54,7 +72,10 @@ public class AlbumService {
     public AlbumEntity createAlbum(AlbumEntity album) throws IllegalOperationException {
 		if(album.getTitulo() == "") 
 			throw new IllegalOperationException("Can't create album with emty title");
-		return albumRepository.save(album);
+		AlbumEntity creado = albumRepository.save(album);
+		searchIndexer.indexAlbum(creado);
+		facetIndexer.indexAlbum(creado.getId(), DetailCacheEvictor.idsOf(creado.getGeneros()));
+		return creado;
 
     }
 
@@ -65,7 +86,34 @@ public class AlbumService {
 	 */
 	@Transactional
 	public List<AlbumEntity> getAlbums() {
-		return albumRepository.findAll();
+		List<AlbumEntity> albums = albumRepository.findAll();
+		fetchDetails(albums);
+		return albums;
+	}
+
+	/**
+	 * Obtiene una pagina de los registros de Album.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de AlbumEntity.
+	 */
+	@Transactional
+	public Page<AlbumEntity> getAlbums(Pageable pageable) {
+		Page<AlbumEntity> albums = albumRepository.findAll(pageable);
+		fetchDetails(albums.getContent());
+		return albums;
+	}
+
+	/**
+	 * Obtiene una pagina de albums con solo las columnas de AlbumDTO. No carga
+	 * entidades ni sus colecciones.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de AlbumDTO.
+	 */
+	@Transactional(readOnly = true)
+	public Page<AlbumDTO> getAlbumsResumen(Pageable pageable) {
+		return albumRepository.findAllSummaries(pageable);
 	}
 
 	/**
@@ -79,9 +127,26 @@ public class AlbumService {
 		Optional<AlbumEntity> albumEntity = albumRepository.findById(albumId);
 		if (albumEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
+		fetchDetails(List.of(albumEntity.get()));
 		return albumEntity.get();
 	}
 
+	/**
+	 * Carga los artistas, generos y canciones de los albumes dados con una
+	 * consulta por coleccion, sin importar cuantos albumes sean. Cada coleccion
+	 * se trae por separado para no generar un producto cartesiano.
+	 *
+	 * @param albums Albumes ya cargados en el contexto de persistencia
+	 */
+	void fetchDetails(List<AlbumEntity> albums) {
+		if (albums.isEmpty())
+			return;
+		List<Long> ids = albums.stream().map(AlbumEntity::getId).collect(Collectors.toList());
+		albumRepository.findWithArtistasByIdIn(ids);
+		albumRepository.findWithGenerosByIdIn(ids);
+		albumRepository.findWithCancionesByIdIn(ids);
+	}
+
 
 	/**
 	 * Actualizar una album por ID
@@ -104,7 +169,14 @@ public class AlbumService {
 		if(album.getTitulo() == "") 
 			throw new IllegalOperationException("Can't update album with emoty title");
 		album.setId(albumId);
-		return albumRepository.save(album);
+		detailCacheEvictor.evictAlbum(albumId);
+		detailCacheEvictor.evictCreadores(DetailCacheEvictor.idsOf(albumEntity.get().getArtistas()));
+		album.heredarVersion(albumEntity.get());
+		AlbumEntity actualizado = albumRepository.save(album);
+		searchIndexer.indexAlbum(actualizado);
+		facetIndexer.indexAlbum(albumId,
+				FacetIndexer.union(actualizado.getGeneros(), generoRepository.findIdsByAlbumId(albumId)));
+		return actualizado;
 		
 	}
 
@@ -136,6 +208,9 @@ public class AlbumService {
 			throw new IllegalOperationException("Can't delete album because it has associated genres");
 		
 		albumRepository.deleteById(albumId);
+		detailCacheEvictor.evictAlbum(albumId);
+		searchIndexer.remove(SearchIndexer.ALBUM, albumId);
+		facetIndexer.removeAlbum(albumId);
 
 	}
 }
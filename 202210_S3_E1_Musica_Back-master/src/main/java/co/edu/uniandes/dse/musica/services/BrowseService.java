@@ -0,0 +1,222 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.BrowseDTO;
+import co.edu.uniandes.dse.musica.dto.FacetCountDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.entities.BaseEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.TemaEntity;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.FacetIndex;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
+import co.edu.uniandes.dse.musica.repositories.TemaRepository;
+
+/**
+ * Faceted browse of albumes, by genero and artista, and of podcasts, by tema,
+ * creador and precio. The facets live in memory: they are built from the
+ * database when the application starts and the services keep them up to date
+ * through {@link FacetIndexer}. Only the page of results and the names of the
+ * counted values are read from the database.
+ */
+@Service
+@Import(FacetIndexer.class)
+public class BrowseService {
+
+	@Autowired
+	private FacetIndexer facetIndexer;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private PodcastRepository podcastRepository;
+
+	@Autowired
+	private GeneroRepository generoRepository;
+
+	@Autowired
+	private TemaRepository temaRepository;
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	/**
+	 * Finds the albumes that have any of the given generos and any of the given
+	 * artistas, and counts the generos and artistas of the albumes that match
+	 * the other filter.
+	 *
+	 * @param generos    ids of the generos, none to not filter by genero
+	 * @param artistas   ids of the artistas, none to not filter by artista
+	 * @param after      cursor of the previous page, or null for the first one
+	 * @param limit      size of the page, between 1 and
+	 *                   {@link KeysetPage#MAX_LIMIT}
+	 * @param facetLimit maximum number of values counted per facet, the largest
+	 *                   counts first
+	 * @return the page of albumes ordered by id and the counts of the facets
+	 * @throws IllegalOperationException if the cursor is not valid
+	 */
+	@Transactional(readOnly = true)
+	public BrowseDTO<AlbumDTO> browseAlbumes(List<Long> generos, List<Long> artistas, String after, int limit,
+			int facetLimit) throws IllegalOperationException {
+		FacetIndex.Query query = new FacetIndex.Query().select(FacetIndexer.GENEROS, generos)
+				.select(FacetIndexer.ARTISTAS, artistas);
+		int pageSize = page(query, after, limit, facetLimit);
+		FacetIndex.Result result = facetIndexer.getAlbumes().browse(query);
+
+		List<Long> ids = pageIds(result, pageSize);
+		List<AlbumDTO> content = ids.isEmpty() ? List.of() : albumRepository.findSummariesByIdIn(ids);
+		Map<String, List<FacetCountDTO>> facetas = new LinkedHashMap<>();
+		facetas.put(FacetIndexer.GENEROS, counts(result, FacetIndexer.GENEROS, generoRepository::findAllById,
+				GeneroEntity::getNombre));
+		facetas.put(FacetIndexer.ARTISTAS, counts(result, FacetIndexer.ARTISTAS, creadorRepository::findAllById,
+				CreadorEntity::getNombre));
+		return new BrowseDTO<>(content, nextCursor(result, pageSize), result.getTotal(), facetas);
+	}
+
+	/**
+	 * Finds the podcasts that have any of the given temas, any of the given
+	 * creadores and a precio in the given range, and counts the temas, creadores
+	 * and ranges of precio of the podcasts that match the other filters.
+	 *
+	 * @param temas      ids of the temas, none to not filter by tema
+	 * @param creadores  ids of the creadores, none to not filter by creador
+	 * @param precioMin  lowest precio, included, or null
+	 * @param precioMax  highest precio, included, or null
+	 * @param after      cursor of the previous page, or null for the first one
+	 * @param limit      size of the page, between 1 and
+	 *                   {@link KeysetPage#MAX_LIMIT}
+	 * @param facetLimit maximum number of values counted per facet, the largest
+	 *                   counts first
+	 * @return the page of podcasts ordered by id and the counts of the facets
+	 * @throws IllegalOperationException if the cursor or the range is not valid
+	 */
+	@Transactional(readOnly = true)
+	public BrowseDTO<PodcastDTO> browsePodcasts(List<Long> temas, List<Long> creadores, Double precioMin,
+			Double precioMax, String after, int limit, int facetLimit) throws IllegalOperationException {
+		if (precioMin != null && precioMax != null && precioMin > precioMax)
+			throw new IllegalOperationException(ErrorMessage.INVALID_PRICE_RANGE);
+		FacetIndex.Query query = new FacetIndex.Query().select(FacetIndexer.TEMAS, temas)
+				.select(FacetIndexer.CREADORES, creadores).range(FacetIndexer.PRECIO, precioMin, precioMax)
+				.buckets(facetIndexer.getPrecioRangos());
+		int pageSize = page(query, after, limit, facetLimit);
+		FacetIndex.Result result = facetIndexer.getPodcasts().browse(query);
+
+		List<Long> ids = pageIds(result, pageSize);
+		List<PodcastDTO> content = ids.isEmpty() ? List.of() : podcastRepository.findSummariesByIdIn(ids);
+		Map<String, List<FacetCountDTO>> facetas = new LinkedHashMap<>();
+		facetas.put(FacetIndexer.TEMAS, counts(result, FacetIndexer.TEMAS, temaRepository::findAllById,
+				TemaEntity::getNombre));
+		facetas.put(FacetIndexer.CREADORES, counts(result, FacetIndexer.CREADORES, creadorRepository::findAllById,
+				CreadorEntity::getNombre));
+		List<FacetCountDTO> precios = new ArrayList<>();
+		for (FacetIndex.RangeCount range : result.getRanges())
+			precios.add(new FacetCountDTO(null, null, range.getFrom(), range.getTo(), range.getCount()));
+		facetas.put(FacetIndexer.PRECIO, precios);
+		return new BrowseDTO<>(content, nextCursor(result, pageSize), result.getTotal(), facetas);
+	}
+
+	/**
+	 * Builds the facets again from the database. Only ids, pairs of ids and
+	 * precios are read, no entity is loaded. The pairs of both join tables of
+	 * each association are added.
+	 *
+	 * @return number of albumes and podcasts that can be browsed
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public long rebuild() {
+		FacetIndex albumes = facetIndexer.getAlbumes();
+		albumes.clear();
+		try (Stream<Long> ids = albumRepository.streamIds()) {
+			ids.forEach(albumes::addDocument);
+		}
+		addAll(albumes, FacetIndexer.GENEROS, albumRepository.streamGeneroIds(), 0, 1);
+		addAll(albumes, FacetIndexer.GENEROS, generoRepository.streamAlbumIds(), 1, 0);
+		addAll(albumes, FacetIndexer.ARTISTAS, creadorRepository.streamAlbumIds(), 1, 0);
+
+		FacetIndex podcasts = facetIndexer.getPodcasts();
+		podcasts.clear();
+		try (Stream<Object[]> rows = podcastRepository.streamPrecios()) {
+			rows.forEach(row -> {
+				podcasts.addDocument((Long) row[0]);
+				podcasts.setNumber(FacetIndexer.PRECIO, (Long) row[0], (Double) row[1]);
+			});
+		}
+		addAll(podcasts, FacetIndexer.TEMAS, podcastRepository.streamTemaIds(), 0, 1);
+		addAll(podcasts, FacetIndexer.TEMAS, temaRepository.streamPodcastIds(), 1, 0);
+		addAll(podcasts, FacetIndexer.CREADORES, podcastRepository.streamCreadorIds(), 0, 1);
+		addAll(podcasts, FacetIndexer.CREADORES, creadorRepository.streamPodcastIds(), 1, 0);
+		return albumes.size() + podcasts.size();
+	}
+
+	private static void addAll(FacetIndex index, String facet, Stream<Object[]> pairs, int document, int value) {
+		try (pairs) {
+			pairs.forEach(pair -> index.add(facet, (Long) pair[document], (Long) pair[value]));
+		}
+	}
+
+	/**
+	 * Sets the page of the query from the cursor and returns its size.
+	 */
+	private static int page(FacetIndex.Query query, String after, int limit, int facetLimit)
+			throws IllegalOperationException {
+		long afterId = after == null ? -1 : KeysetPage.parseKey(KeysetPage.decodeCursor(after, 1)[0]);
+		int pageSize = KeysetPage.clampLimit(limit);
+		query.page(afterId, pageSize).facetLimit(KeysetPage.clampLimit(facetLimit));
+		return pageSize;
+	}
+
+	private static List<Long> pageIds(FacetIndex.Result result, int pageSize) {
+		long[] ids = result.getIds();
+		List<Long> page = new ArrayList<>(Math.min(ids.length, pageSize));
+		for (int i = 0; i < ids.length && i < pageSize; i++)
+			page.add(ids[i]);
+		return page;
+	}
+
+	private static String nextCursor(FacetIndex.Result result, int pageSize) {
+		long[] ids = result.getIds();
+		return ids.length > pageSize ? KeysetPage.encodeCursor(String.valueOf(ids[pageSize - 1])) : null;
+	}
+
+	/**
+	 * Counts of a facet with the names of their values, read with one query.
+	 */
+	private static <E extends BaseEntity> List<FacetCountDTO> counts(FacetIndex.Result result, String facet,
+			Function<List<Long>, List<E>> finder, Function<E, String> name) {
+		List<FacetIndex.Count> counts = result.getCounts().getOrDefault(facet, List.of());
+		List<Long> ids = new ArrayList<>(counts.size());
+		counts.forEach(count -> ids.add(count.getValue()));
+		Map<Long, String> names = new HashMap<>();
+		if (!ids.isEmpty())
+			for (E entity : finder.apply(ids))
+				names.put(entity.getId(), name.apply(entity));
+		List<FacetCountDTO> dtos = new ArrayList<>(counts.size());
+		for (FacetIndex.Count count : counts)
+			dtos.add(new FacetCountDTO(count.getValue(), names.get(count.getValue()), null, null, count.getCount()));
+		return dtos;
+	}
+}
@@ -0,0 +1,60 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import co.edu.uniandes.dse.musica.dto.CacheRegionDTO;
+
+/**
+ * Exposes the statistics of the second level cache regions, including the
+ * query cache. The regions are configured in application.conf.
+ */
+@Service
+public class CacheStatisticsService {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Gets the counters of every cache region, sorted by region name.
+	 *
+	 * @return the statistics of each region since startup or the last clear.
+	 */
+	public List<CacheRegionDTO> getRegionStatistics() {
+		Statistics statistics = getStatistics();
+		Set<String> names = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+		// The query cache regions are not listed with the entity and collection ones
+		names.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+		names.add(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+		List<CacheRegionDTO> regions = new ArrayList<>();
+		for (String name : names) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+			if (region != null)
+				regions.add(new CacheRegionDTO(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+		}
+		return regions;
+	}
+
+	/**
+	 * Resets all the counters.
+	 */
+	public void clearStatistics() {
+		getStatistics().clear();
+	}
+
+	private Statistics getStatistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
@@ -1,8 +1,12 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +16,7 @@ import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
 
@@ -23,6 +28,9 @@ public class CancionAlbumService {
     @Autowired
     private CancionRepository cancionRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
 
     /**
     * Asocia una Cancion existente a un Album
@@ -88,14 +96,8 @@ public class CancionAlbumService {
         if(cancionEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
         
-        for(AlbumEntity album: listAlbum ) {
-            Optional<AlbumEntity> albumEntity = albumRepository.findById(album.getId());
-            if(albumEntity.isEmpty())
-                throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
-            
-            if(!cancionEntity.get().getAlbumes().contains(albumEntity.get()))
-                cancionEntity.get().getAlbumes().add(albumEntity.get()); 
-        }
+        List<AlbumEntity> albumes = Associations.findAllById(albumRepository, listAlbum, ErrorMessage.ALBUM_NOT_FOUND);
+        Associations.addMissing(cancionEntity.get().getAlbumes(), albumes);
 
         return getAlbumes(cancionId); 
     }
@@ -110,8 +112,12 @@ public class CancionAlbumService {
         if(albumEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
         
-        cancionEntity.get().getAlbumes().remove(albumEntity.get());
-        albumEntity.get().getCanciones().remove(cancionEntity.get());
+        Associations.remove(entityManager, cancionEntity.get().getAlbumes(), albumEntity.get(),
+                Associations.CANCION_ALBUMES, cancionId);
+        Associations.remove(entityManager, albumEntity.get().getCanciones(), cancionEntity.get(),
+                Associations.ALBUM_CANCIONES, albumId);
+        cancionEntity.get().marcarModificada();
+        albumEntity.get().marcarModificada();
 
     }
 }
@@ -3,16 +3,28 @@ package co.edu.uniandes.dse.musica.services;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
 
 
 /**
@@ -24,6 +36,7 @@ import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 
 //@Slf4j
 @Service
+@Import({ DetailCacheEvictor.class, SearchIndexer.class })
 public class CancionService {
 
     @Autowired
@@ -32,6 +45,18 @@ public class CancionService {
 	@Autowired
     AlbumRepository albumRepository;
 
+	@Autowired
+	DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	SearchIndexer searchIndexer;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	int batchSize;
+
     /**
 	 * Se encarga de crear un Cancion en la base de datos.
 	 *
@@ -42,10 +67,37 @@ public class CancionService {
 	@Transactional
     public CancionEntity createCancion(CancionEntity cancion) throws IllegalOperationException {
 
-		return cancionRepository.save(cancion);
+		CancionEntity creada = cancionRepository.save(cancion);
+		searchIndexer.indexCancion(creada);
+		return creada;
 
     }
 
+	/**
+	 * Crea varias canciones en la base de datos. Los inserts se envian en lotes
+	 * JDBC del tamaño configurado y el contexto de persistencia se vacia despues
+	 * de cada lote, para que la memoria no crezca con el numero de canciones.
+	 *
+	 * @param canciones Lista de CancionEntity con los datos nuevos
+	 * @return La misma lista, con el ID asignado a cada cancion.
+	 */
+	@Transactional
+	public List<CancionEntity> createCanciones(List<CancionEntity> canciones) {
+		int pendientes = 0;
+		for (CancionEntity cancion : canciones) {
+			cancion.setId(null);
+			entityManager.persist(cancion);
+			searchIndexer.indexCancion(cancion);
+			if (++pendientes == batchSize) {
+				entityManager.flush();
+				entityManager.clear();
+				pendientes = 0;
+			}
+		}
+		entityManager.flush();
+		return canciones;
+	}
+
     /**
 	 * Obtiene la lista de los registros de Cancion.
 	 *
@@ -56,6 +108,47 @@ public class CancionService {
 		return cancionRepository.findAll();
 	}
 
+	/**
+	 * Obtiene una pagina de los registros de Cancion.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de CancionEntity.
+	 */
+	@Transactional
+	public Page<CancionEntity> getCanciones(Pageable pageable) {
+		return cancionRepository.findAll(pageable);
+	}
+
+	/**
+	 * Obtiene una pagina de canciones con solo las columnas de CancionDTO. No carga
+	 * entidades ni sus colecciones.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de CancionDTO.
+	 */
+	@Transactional(readOnly = true)
+	public Page<CancionDTO> getCancionesResumen(Pageable pageable) {
+		return cancionRepository.findAllSummaries(pageable);
+	}
+
+	/**
+	 * Obtiene una pagina de los registros de Cancion ordenados por ID, empezando
+	 * despues del cursor dado. El costo no depende de que tan profunda sea la
+	 * pagina.
+	 *
+	 * @param after Cursor de la pagina anterior, o null para la primera pagina
+	 * @param limit Cantidad maxima de registros de la pagina
+	 * @return Pagina de objetos de CancionDTO con el cursor de la siguiente.
+	 * @throws IllegalOperationException Si el cursor no es valido
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<CancionDTO> getCanciones(String after, int limit) throws IllegalOperationException {
+		int size = KeysetPage.clampLimit(limit);
+		long afterId = after == null ? Long.MIN_VALUE : KeysetPage.parseKey(KeysetPage.decodeCursor(after, 1)[0]);
+		List<CancionDTO> rows = cancionRepository.findSummariesAfter(afterId, PageRequest.of(0, size + 1));
+		return KeysetPage.of(rows, size, cancion -> KeysetPage.encodeCursor(cancion.getId().toString()));
+	}
+
 	/**
 	 * Obtiene los datos de una instancia de Cancion a partir de su ID.
 	 *
@@ -87,7 +180,11 @@ public class CancionService {
 			throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
 
 		cancion.setId(cancionId);
-		return cancionRepository.save(cancion);
+		detailCacheEvictor.evictAlbums(albumRepository.findIdsByCancionId(cancionId));
+		cancion.heredarVersion(cancionEntity.get());
+		CancionEntity actualizada = cancionRepository.save(cancion);
+		searchIndexer.indexCancion(actualizada);
+		return actualizada;
 	}
 
 	/**
@@ -102,7 +199,9 @@ public class CancionService {
 		Optional <CancionEntity> cancionEntity = cancionRepository.findById(cancionId);
 		if (cancionEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
+		detailCacheEvictor.evictAlbums(albumRepository.findIdsByCancionId(cancionId));
 		cancionRepository.deleteById(cancionId);
+		searchIndexer.remove(SearchIndexer.CANCION, cancionId);
 	}
 
 	
@@ -10,6 +10,7 @@ import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
 
 /**
@@ -18,7 +19,7 @@ import co.edu.uniandes.dse.musica.helpers.EntityChecker;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import({ EntityChecker.class, CapituloService.class })
+@Import({ EntityChecker.class, CapituloService.class, DetailCacheEvictor.class })
 public class CapituloPodcastService {
 
     @Autowired
@@ -27,6 +28,9 @@ public class CapituloPodcastService {
     @Autowired
     CapituloService capituloService;
 
+    @Autowired
+    DetailCacheEvictor detailCacheEvictor;
+
     @Transactional
     public PodcastEntity getPodcastOfCapitulo(Long capituloId) throws EntityNotFoundException {
         CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
@@ -45,6 +49,10 @@ public class CapituloPodcastService {
                 throw new IllegalOperationException("Chapter already exists in podcast.");
         }
 
+        if (capitulo.getPodcast() != null) {
+            detailCacheEvictor.evictPodcast(capitulo.getPodcast().getId());
+            capitulo.getPodcast().marcarModificada();
+        }
         capitulo.setPodcast(podcast);
         capituloService.updateCapitulo(capituloId, capitulo);
         return podcast;
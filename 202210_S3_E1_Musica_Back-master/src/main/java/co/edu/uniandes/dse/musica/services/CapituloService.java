@@ -1,16 +1,26 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
 import co.edu.uniandes.dse.musica.repositories.CapituloRepository;
 
 /**
@@ -20,7 +30,7 @@ import co.edu.uniandes.dse.musica.repositories.CapituloRepository;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import(EntityChecker.class)
+@Import({ EntityChecker.class, DetailCacheEvictor.class, SearchIndexer.class })
 public class CapituloService {
 
     @Autowired
@@ -29,7 +39,17 @@ public class CapituloService {
     @Autowired
     EntityChecker entityChecker;
 
+    @Autowired
+    DetailCacheEvictor detailCacheEvictor;
+
+    @Autowired
+    SearchIndexer searchIndexer;
+
     final private String NOT_EMPTY_NAME = "Chapter cannot have an empty name.";
+    final private String INVALID_ORDER = "Chapters can only be ordered by id or fechaPublicacion.";
+
+    public static final String ORDER_BY_ID = "id";
+    public static final String ORDER_BY_FECHA = "fechaPublicacion";
 
     /**
      * Creates a Capitulo on the repository.
@@ -38,13 +58,17 @@ public class CapituloService {
      * @return CapituloEntity: the created capitulo
      * @throws EntityNotFoundException
      */
-    @Transactional
+    @Transactional(rollbackFor = IllegalOperationException.class)
     public CapituloEntity createCapitulo(CapituloEntity capituloEntity)
             throws IllegalOperationException, EntityNotFoundException {
         if (capituloEntity.getTitulo().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_NAME);
+        checkTituloUnique(capituloEntity, null);
 
-        return capituloRepository.save(capituloEntity);
+        evictPodcastOf(capituloEntity);
+        CapituloEntity created = saveUnique(capituloEntity);
+        searchIndexer.indexCapitulo(created);
+        return created;
     }
 
     /**
@@ -68,16 +92,25 @@ public class CapituloService {
      *                       information
      * @return CapituloEntity: the capitulo that was updated.
      */
-    @Transactional
+    @Transactional(rollbackFor = IllegalOperationException.class)
     public CapituloEntity updateCapitulo(Long capituloId, CapituloEntity capituloEntity)
             throws EntityNotFoundException, IllegalOperationException {
         if (capituloEntity.getTitulo().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_NAME);
 
-        entityChecker.checkCapituloExists(capituloId);
+        CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
+        checkTituloUnique(capituloEntity, capituloId);
+        evictPodcastOf(capitulo);
+        evictPodcastOf(capituloEntity);
+        if (capitulo.getPodcast() != null && (capituloEntity.getPodcast() == null
+                || !capitulo.getPodcast().getId().equals(capituloEntity.getPodcast().getId())))
+            capitulo.getPodcast().marcarModificada();
 
         capituloEntity.setId(capituloId);
-        return capituloRepository.save(capituloEntity);
+        capituloEntity.heredarVersion(capitulo);
+        CapituloEntity updated = saveUnique(capituloEntity);
+        searchIndexer.indexCapitulo(updated);
+        return updated;
     }
 
     /**
@@ -88,9 +121,13 @@ public class CapituloService {
      */
     @Transactional
     public void deleteCapitulo(Long capituloId) throws EntityNotFoundException, IllegalOperationException {
-        entityChecker.checkCapituloExists(capituloId);
+        CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
+        evictPodcastOf(capitulo);
+        if (capitulo.getPodcast() != null)
+            capitulo.getPodcast().marcarModificada();
 
         capituloRepository.deleteById(capituloId);
+        searchIndexer.remove(SearchIndexer.CAPITULO, capituloId);
     }
 
     /**
@@ -102,4 +139,109 @@ public class CapituloService {
     public List<CapituloEntity> getCapitulos() {
         return capituloRepository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets a page of Capitulos from the repository.
+     *
+     * @param pageable Pageable: requested page, size and sort.
+     * @return Page: Page of capitulos.
+     */
+    @Transactional
+    public Page<CapituloEntity> getCapitulos(Pageable pageable) {
+        return capituloRepository.findAll(pageable);
+    }
+
+    /**
+     * Gets a keyset page of Capitulos, starting right after the given cursor. The
+     * cost of a page does not depend on how deep it is.
+     *
+     * @param orden String: ORDER_BY_ID or ORDER_BY_FECHA.
+     * @param after String: cursor of the previous page, null for the first one.
+     * @param limit int: maximum number of capitulos in the page.
+     * @return KeysetPage: Page of capitulos and the cursor of the next one.
+     * @throws IllegalOperationException if the order or the cursor are not valid.
+     */
+    @Transactional
+    public KeysetPage<CapituloEntity> getCapitulos(String orden, String after, int limit)
+            throws IllegalOperationException {
+        int size = KeysetPage.clampLimit(limit);
+        Pageable first = PageRequest.of(0, size + 1);
+
+        if (ORDER_BY_ID.equals(orden)) {
+            long afterId = Long.MIN_VALUE;
+            if (after != null) {
+                String[] keys = checkCursorOrder(KeysetPage.decodeCursor(after, 2), orden);
+                afterId = KeysetPage.parseKey(keys[1]);
+            }
+            List<CapituloEntity> rows = capituloRepository.findByIdGreaterThanOrderByIdAsc(afterId, first);
+            return KeysetPage.of(rows, size,
+                    capitulo -> KeysetPage.encodeCursor(ORDER_BY_ID, capitulo.getId().toString()));
+        }
+
+        if (ORDER_BY_FECHA.equals(orden)) {
+            List<CapituloEntity> rows;
+            String[] keys = after == null ? null : checkCursorOrder(KeysetPage.decodeCursor(after, 3), orden);
+            if (keys != null && !keys[1].isEmpty()) {
+                rows = capituloRepository.findPageAfter(new Date(KeysetPage.parseKey(keys[1])),
+                        KeysetPage.parseKey(keys[2]), first);
+            } else {
+                // The undated capitulos go first; a short page goes on with the dated ones
+                long afterId = keys == null ? Long.MIN_VALUE : KeysetPage.parseKey(keys[2]);
+                rows = new ArrayList<>(capituloRepository.findUndatedPageAfter(afterId, first));
+                if (rows.size() <= size)
+                    rows.addAll(capituloRepository.findFirstDatedPage(PageRequest.of(0, size + 1 - rows.size())));
+            }
+            return KeysetPage.of(rows, size, capitulo -> KeysetPage.encodeCursor(ORDER_BY_FECHA,
+                    capitulo.getFechaPublicacion() == null ? "" : String.valueOf(capitulo.getFechaPublicacion().getTime()),
+                    capitulo.getId().toString()));
+        }
+
+        throw new IllegalOperationException(INVALID_ORDER);
+    }
+
+    private String[] checkCursorOrder(String[] keys, String orden) throws IllegalOperationException {
+        if (!orden.equals(keys[0]))
+            throw new IllegalOperationException(ErrorMessage.INVALID_CURSOR);
+        return keys;
+    }
+
+    /**
+     * Rejects a capitulo whose podcast has another capitulo with the same
+     * titulo, with a lookup in the unique index of podcast and titulo.
+     *
+     * @param capituloId id of the capitulo when it is updated, null when it is
+     *                   created
+     */
+    private void checkTituloUnique(CapituloEntity capitulo, Long capituloId) throws IllegalOperationException {
+        if (capitulo.getPodcast() == null || capitulo.getPodcast().getId() == null)
+            return;
+        Long podcastId = capitulo.getPodcast().getId();
+        String titulo = capitulo.getTituloNormalizado();
+        boolean exists = capituloId == null
+                ? capituloRepository.existsByPodcastIdAndTituloNormalizado(podcastId, titulo)
+                : capituloRepository.existsByPodcastIdAndTituloNormalizadoAndIdNot(podcastId, titulo, capituloId);
+        if (exists)
+            throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
+    }
+
+    /**
+     * Saves a capitulo and flushes it right away, so that a titulo taken by
+     * another transaction after the check is rejected by the unique index here
+     * instead of failing the commit.
+     */
+    private CapituloEntity saveUnique(CapituloEntity capituloEntity) throws IllegalOperationException {
+        try {
+            return capituloRepository.saveAndFlush(capituloEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
+        }
+    }
+
+    /**
+     * Evicts the cached detail of the podcast of the capitulo, if it has one.
+     */
+    private void evictPodcastOf(CapituloEntity capitulo) {
+        if (capitulo.getPodcast() != null && capitulo.getPodcast().getId() != null)
+            detailCacheEvictor.evictPodcast(capitulo.getPodcast().getId());
+    }
+}
@@ -1,9 +1,11 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +14,14 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
 
 @Service
+@Import({ DetailCacheEvictor.class, FacetIndexer.class })
 public class CreadorAlbumService {
 
     @Autowired
@@ -24,6 +30,12 @@ public class CreadorAlbumService {
     @Autowired
     private AlbumRepository albumRepository; 
 
+    @Autowired
+    private DetailCacheEvictor detailCacheEvictor;
+
+    @Autowired
+    private FacetIndexer facetIndexer;
+
     // @Autowired
     // private AlbumCreadorService albumCreadorService; 
 
@@ -48,6 +60,9 @@ public class CreadorAlbumService {
         albumEntity.get().getArtistas().add(creadorEntity.get());
         creadorRepository.save(creadorEntity.get()); 
         albumRepository.save(albumEntity.get());
+        detailCacheEvictor.evictCreador(idCreador);
+        detailCacheEvictor.evictAlbum(idAlbum);
+        facetIndexer.addAlbumArtista(idAlbum, idCreador);
         return albumEntity.get();
     }
 
@@ -69,7 +84,8 @@ public class CreadorAlbumService {
         if(albumEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
         
-        if(creadorEntity.get().getAlbumes().contains(albumEntity.get()))
+        if(Associations.contains(creadorEntity.get().getAlbumes(), albumEntity.get(),
+                () -> creadorRepository.hasAlbum(creadorId, albumId)))
             return albumEntity.get(); 
 
         throw new IllegalOperationException("The song is not associated with the album");
@@ -81,14 +97,12 @@ public class CreadorAlbumService {
         if(creadorEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.CREADOR_NOT_FOUND);
         
-        for(AlbumEntity album: listAlbum ) {
-            Optional<AlbumEntity> albumEntity = albumRepository.findById(album.getId());
-            if(albumEntity.isEmpty())
-                throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
-            
-            if(!creadorEntity.get().getAlbumes().contains(albumEntity.get()))
-                creadorEntity.get().getAlbumes().add(albumEntity.get()); 
+        List<AlbumEntity> albumes = Associations.findAllById(albumRepository, listAlbum, ErrorMessage.ALBUM_NOT_FOUND);
+        for (AlbumEntity album : Associations.addMissing(creadorEntity.get().getAlbumes(), albumes)) {
+            detailCacheEvictor.evictAlbum(album.getId());
+            facetIndexer.addAlbumArtista(album.getId(), creadorId);
         }
+        detailCacheEvictor.evictCreador(creadorId);
 
         return getAlbumes(creadorId); 
     }
@@ -105,7 +119,10 @@ public class CreadorAlbumService {
         
         creadorEntity.get().getAlbumes().remove(albumEntity.get());
         albumEntity.get().getArtistas().remove(creadorEntity.get());
-        
+        albumEntity.get().marcarModificada();
+        detailCacheEvictor.evictCreador(creadorId);
+        detailCacheEvictor.evictAlbum(albumId);
+        facetIndexer.removeAlbumArtista(albumId, creadorId);
     }
     
 }
@@ -1,6 +1,7 @@
 package co.edu.uniandes.dse.musica.services;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -13,7 +14,11 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
 
 /**
  * Class to represent association of a creator with its podcasts.
@@ -21,7 +26,7 @@ import co.edu.uniandes.dse.musica.helpers.EntityChecker;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import({ EntityChecker.class, CreadorService.class })
+@Import({ EntityChecker.class, CreadorService.class, FacetIndexer.class })
 public class CreadorPodcastService {
 
 	@Autowired
@@ -30,6 +35,15 @@ public class CreadorPodcastService {
 	@Autowired
 	CreadorService creadorService;
 
+	@Autowired
+	CreadorRepository creadorRepository;
+
+	@Autowired
+	PodcastRepository podcastRepository;
+
+	@Autowired
+	FacetIndexer facetIndexer;
+
 	@Transactional
 	public PodcastEntity addPodcastToCreador(Long creadorId, Long podcastId)
 			throws EntityNotFoundException, IllegalOperationException {
@@ -43,6 +57,7 @@ public class CreadorPodcastService {
 
 		creador.getPodcasts().add(podcast);
 		creadorService.updateCreador(creadorId, creador);
+		indexPodcasts(creador);
 		return podcast;
 	}
 
@@ -59,7 +74,8 @@ public class CreadorPodcastService {
 		CreadorEntity creador = entityChecker.checkCreadorExists(creadorId);
 		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 
-		if (!creador.getPodcasts().contains(podcast))
+		if (!Associations.contains(creador.getPodcasts(), podcast,
+				() -> creadorRepository.hasPodcast(creadorId, podcastId)))
 			throw new IllegalOperationException("The creator does not contain the podcast.");
 
 		return podcast;
@@ -69,16 +85,17 @@ public class CreadorPodcastService {
 	public Set<PodcastEntity> replacePodcastsOfCreador(Long creadorId, Set<PodcastEntity> podcasts)
 			throws EntityNotFoundException, IllegalOperationException {
 		CreadorEntity creador = entityChecker.checkCreadorExists(creadorId);
+		List<PodcastEntity> podcastEntities = entityChecker.checkPodcastsExist(podcasts);
 
-		creador.setPodcasts(new HashSet<PodcastEntity>());
-
-		for (PodcastEntity podcast : podcasts) {
-			PodcastEntity podcastEnt = entityChecker.checkPodcastExists(podcast.getId());
-
-			addPodcastToCreador(creador.getId(), podcastEnt.getId());
-		}
+		var titulos = new HashSet<String>();
+		for (PodcastEntity podcast : podcastEntities)
+			if (!titulos.add(podcast.getTitulo()))
+				throw new IllegalOperationException(
+						"Podcast with that title has already been created in the creator.");
 
+		Associations.replace(creador.getPodcasts(), podcastEntities);
 		creadorService.updateCreador(creadorId, creador);
+		indexPodcasts(creador);
 		return getPodcastsOfCreador(creadorId);
 	}
 
@@ -90,5 +107,15 @@ public class CreadorPodcastService {
 
 		creador.getPodcasts().remove(podcast);
 		creadorService.updateCreador(creadorId, creador);
+		indexPodcasts(creador);
+	}
+
+	/**
+	 * Sets the podcasts of the creador in the creadores facet, from both join
+	 * tables of the association.
+	 */
+	private void indexPodcasts(CreadorEntity creador) {
+		facetIndexer.setCreadorPodcasts(creador.getId(),
+				FacetIndexer.union(creador.getPodcasts(), podcastRepository.findIdsByCreadorId(creador.getId())));
 	}
 }
\ No newline at end of file
@@ -4,14 +4,25 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.CreadorDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.helpers.TextNormalizer;
 import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
 
 /**
  * Class that manages the logic for the creador entity.
@@ -20,7 +31,7 @@ import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import(EntityChecker.class)
+@Import({ EntityChecker.class, DetailCacheEvictor.class, SearchIndexer.class, FacetIndexer.class })
 public class CreadorService {
 
     @Autowired
@@ -29,6 +40,18 @@ public class CreadorService {
     @Autowired
     EntityChecker entityChecker;
 
+    @Autowired
+    DetailCacheEvictor detailCacheEvictor;
+
+    @Autowired
+    SearchIndexer searchIndexer;
+
+    @Autowired
+    FacetIndexer facetIndexer;
+
+    @Autowired
+    private PodcastRepository podcastRepository;
+
     private final String NOT_EMPTY_NAME = "Creador cannot have an empty name.";
 
     /**
@@ -37,17 +60,15 @@ public class CreadorService {
      * @param creadorId Long: id of creador to look for.
      * @return CreadorEntity: the created creador.
      */
-    @Transactional
+    @Transactional(rollbackFor = IllegalOperationException.class)
     public CreadorEntity createCreador(CreadorEntity creadorEntity) throws IllegalOperationException {
         if (creadorEntity.getNombre().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_NAME);
 
-        List<CreadorEntity> creadores = creadorRepository.findAll();
-        for (CreadorEntity creador : creadores)
-            if (creador.getNombre().equals(creadorEntity.getNombre()))
-                throw new IllegalOperationException("Creador already exists.");
+        if (creadorRepository.existsByNombreNormalizado(TextNormalizer.normalize(creadorEntity.getNombre())))
+            throw new IllegalOperationException(ErrorMessage.CREADOR_ALREADY_EXISTS);
 
-        return creadorRepository.save(creadorEntity);
+        return saveUnique(creadorEntity);
     }
 
     /**
@@ -71,16 +92,40 @@ public class CreadorService {
      *                      information
      * @return CreadorEntity: the creador that was updated.
      */
-    @Transactional
+    @Transactional(rollbackFor = IllegalOperationException.class)
     public CreadorEntity updateCreador(Long creadorId, CreadorEntity creadorEntity)
             throws EntityNotFoundException, IllegalOperationException {
-        entityChecker.checkCreadorExists(creadorId);
+        CreadorEntity creador = entityChecker.checkCreadorExists(creadorId);
 
         if (creadorEntity.getNombre().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_NAME);
 
+        if (creadorRepository.existsByNombreNormalizadoAndIdNot(TextNormalizer.normalize(creadorEntity.getNombre()),
+                creadorId))
+            throw new IllegalOperationException(ErrorMessage.CREADOR_ALREADY_EXISTS);
+
+        evictDetails(creador);
         creadorEntity.setId(creadorId);
-        return creadorRepository.save(creadorEntity);
+        creadorEntity.heredarVersion(creador);
+        return saveUnique(creadorEntity);
+    }
+
+    /**
+     * Saves a creador and flushes it right away, so that a name taken by another
+     * transaction after the check is rejected by the unique index here instead of
+     * failing the commit.
+     */
+    private CreadorEntity saveUnique(CreadorEntity creadorEntity) throws IllegalOperationException {
+        CreadorEntity saved;
+        try {
+            saved = creadorRepository.saveAndFlush(creadorEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalOperationException(ErrorMessage.CREADOR_ALREADY_EXISTS);
+        }
+        searchIndexer.indexCreador(saved);
+        facetIndexer.indexCreador(saved.getId(), DetailCacheEvictor.idsOf(saved.getAlbumes()),
+                FacetIndexer.union(saved.getPodcasts(), podcastRepository.findIdsByCreadorId(saved.getId())));
+        return saved;
     }
 
     /**
@@ -90,9 +135,13 @@ public class CreadorService {
      */
     @Transactional
     public void deleteCreador(Long creadorId) throws EntityNotFoundException {
-        entityChecker.checkCreadorExists(creadorId);
+        CreadorEntity creador = entityChecker.checkCreadorExists(creadorId);
 
+        evictDetails(creador);
+        creador.getAlbumes().forEach(AlbumEntity::marcarModificada);
         creadorRepository.deleteById(creadorId);
+        searchIndexer.remove(SearchIndexer.CREADOR, creadorId);
+        facetIndexer.removeCreador(creadorId);
     }
 
     /**
@@ -104,4 +153,37 @@ public class CreadorService {
     public List<CreadorEntity> getCreadores() {
         return creadorRepository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets a page of Creadores.
+     *
+     * @param pageable Pageable: requested page, size and sort.
+     * @return Page of Creadores.
+     */
+    @Transactional
+    public Page<CreadorEntity> getCreadores(Pageable pageable) {
+        return creadorRepository.findAll(pageable);
+    }
+
+    /**
+     * Gets a page of Creadores with only the columns of CreadorDTO. Neither the entities
+     * nor their collections are loaded.
+     *
+     * @param pageable Pageable: requested page, size and sort.
+     * @return Page of CreadorDTO.
+     */
+    @Transactional(readOnly = true)
+    public Page<CreadorDTO> getCreadoresResumen(Pageable pageable) {
+        return creadorRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Evicts the cached details of the creador and of the albums and podcasts
+     * that show it.
+     */
+    private void evictDetails(CreadorEntity creador) {
+        detailCacheEvictor.evictCreador(creador.getId());
+        detailCacheEvictor.evictAlbums(DetailCacheEvictor.idsOf(creador.getAlbumes()));
+        detailCacheEvictor.evictPodcasts(podcastRepository.findIdsByCreadorId(creador.getId()));
+    }
+}
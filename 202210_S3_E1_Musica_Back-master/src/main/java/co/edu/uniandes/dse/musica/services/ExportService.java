@@ -0,0 +1,175 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one DTO per line. The
+ * rows come from a forward-only cursor and are written as soon as they are
+ * read, so the heap used does not depend on the size of the catalog.
+ */
+@Service
+@Import({ AlbumService.class, PodcastService.class, DtoMapper.class })
+public class ExportService {
+
+	public static final String CANCIONES = "canciones";
+	public static final String ALBUMES = "albumes";
+	public static final String PODCASTS = "podcasts";
+
+	/**
+	 * Resources that can be exported.
+	 */
+	public static final Set<String> RESOURCES = Set.of(CANCIONES, ALBUMES, PODCASTS);
+
+	/**
+	 * Entities whose collections are loaded together before they are written
+	 * and detached.
+	 */
+	private static final int CHUNK_SIZE = 100;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private PodcastRepository podcastRepository;
+
+	@Autowired
+	private AlbumService albumService;
+
+	@Autowired
+	private PodcastService podcastService;
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Checks that a resource can be exported, before anything is written.
+	 *
+	 * @param resource name of the resource
+	 * @throws EntityNotFoundException if the resource cannot be exported
+	 */
+	public void checkResource(String resource) throws EntityNotFoundException {
+		if (!RESOURCES.contains(resource))
+			throw new EntityNotFoundException(ErrorMessage.EXPORT_NOT_FOUND);
+	}
+
+	/**
+	 * Writes every row of a resource to the given stream, which is flushed but
+	 * left open. Canciones are written as CancionDTO, albumes as AlbumDetailDTO
+	 * and podcasts as PodcastDetailDTO.
+	 *
+	 * @param resource name of the resource
+	 * @param out      stream to write to
+	 * @return the number of rows written
+	 * @throws EntityNotFoundException if the resource cannot be exported
+	 * @throws IOException             if the stream cannot be written
+	 */
+	@Transactional(readOnly = true)
+	public long export(String resource, OutputStream out) throws EntityNotFoundException, IOException {
+		checkResource(resource);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		// The rows are separated by the newline written after each of them
+		generator.setRootValueSeparator(null);
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+		long rows;
+		switch (resource) {
+		case CANCIONES:
+			try (Stream<CancionDTO> canciones = cancionRepository.streamAllSummaries()) {
+				rows = writeRows(canciones.iterator(), writer, generator);
+			}
+			break;
+		case ALBUMES:
+			try (Stream<AlbumEntity> albums = albumRepository.streamAll()) {
+				rows = writeEntities(albums.iterator(), albumService::fetchDetails, AlbumDetailDTO.class, writer,
+						generator);
+			}
+			break;
+		default:
+			try (Stream<PodcastEntity> podcasts = podcastRepository.streamAll()) {
+				rows = writeEntities(podcasts.iterator(), podcastService::fetchDetails, PodcastDetailDTO.class,
+						writer, generator);
+			}
+		}
+		generator.flush();
+		return rows;
+	}
+
+	private long writeRows(Iterator<?> rows, ObjectWriter writer, JsonGenerator generator) throws IOException {
+		long written = 0;
+		while (rows.hasNext()) {
+			writeRow(rows.next(), writer, generator);
+			written++;
+		}
+		return written;
+	}
+
+	/**
+	 * Writes the entities in chunks: the collections of a chunk are loaded with
+	 * one query each, the chunk is mapped and written, and then the persistence
+	 * context is cleared so the entities already written can be collected.
+	 */
+	private <E> long writeEntities(Iterator<E> entities, Consumer<List<E>> fetchDetails, Class<?> dtoClass,
+			ObjectWriter writer, JsonGenerator generator) throws IOException {
+		long written = 0;
+		List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+		while (entities.hasNext()) {
+			chunk.add(entities.next());
+			if (chunk.size() == CHUNK_SIZE || !entities.hasNext()) {
+				fetchDetails.accept(chunk);
+				for (E entity : chunk)
+					writeRow(dtoMapper.map(entity, dtoClass), writer, generator);
+				written += chunk.size();
+				chunk.clear();
+				entityManager.clear();
+			}
+		}
+		return written;
+	}
+
+	private void writeRow(Object dto, ObjectWriter writer, JsonGenerator generator) throws IOException {
+		writer.writeValue(generator, dto);
+		generator.writeRaw('\n');
+	}
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,12 +13,15 @@ import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Import(FacetIndexer.class)
 public class GeneroAlbumService {
 	
 	@Autowired
@@ -25,6 +29,9 @@ public class GeneroAlbumService {
 
 	@Autowired
 	private AlbumRepository albumRepository;
+
+	@Autowired
+	private FacetIndexer facetIndexer;
 	
 	@Transactional
 	public AlbumEntity addAlbum(Long generoId, Long albumId) throws EntityNotFoundException {
@@ -38,6 +45,7 @@ public class GeneroAlbumService {
 			throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
 
 		generoEntity.get().getAlbumes().add(albumEntity.get());
+		indexAlbumes(generoEntity.get());
 		log.info("Termina proceso de asociarle un un album al genero con id = {0}", generoId);
 		return albumEntity.get();
 	}
@@ -61,6 +69,21 @@ public class GeneroAlbumService {
 		return generoEntity.get().getAlbumes();
 	}
 
+	/**
+	 * Cuenta los albumes asociados a una instancia de Genero sin cargarlos: la
+	 * coleccion es extra lazy, su tamaño se consulta en la tabla de union.
+	 *
+	 * @param generoId Identificador de la instancia de Genero
+	 * @return Numero de albumes asociados al Genero
+	 */
+	@Transactional
+	public int countAlbums(Long generoId) throws EntityNotFoundException {
+		Optional<GeneroEntity> generoEntity = generoRepository.findById(generoId);
+		if (generoEntity.isEmpty())
+			throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
+		return generoEntity.get().getAlbumes().size();
+	}
+
 	/**
 	 * Obtiene una instancia de AlbumEntity asociada a una instancia de Genero
 	 *
@@ -102,14 +125,9 @@ public class GeneroAlbumService {
 		if (generoEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
 
-		for (AlbumEntity album : list) {
-			Optional<AlbumEntity> albumEntity = albumRepository.findById(album.getId());
-			if (albumEntity.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.ALBUM_NOT_FOUND);
-
-			if (!generoEntity.get().getAlbumes().contains(albumEntity.get()))
-				generoEntity.get().getAlbumes().add(albumEntity.get());
-		}
+		List<AlbumEntity> albumes = Associations.findAllById(albumRepository, list, ErrorMessage.ALBUM_NOT_FOUND);
+		Associations.addMissing(generoEntity.get().getAlbumes(), albumes);
+		indexAlbumes(generoEntity.get());
 		log.info("Termina proceso de reemplazar los albumes del genero con id = {0}", generoId);
 		return getAlbums(generoId);
 	}
@@ -133,8 +151,19 @@ public class GeneroAlbumService {
 			throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
 
 		generoEntity.get().getAlbumes().remove(albumEntity.get());
+		indexAlbumes(generoEntity.get());
 
 		log.info("Termina proceso de borrar un albumes del genero con id = {0}", generoId);
 	}
 
+	/**
+	 * Actualiza las facetas del genero con los albumes de ambos lados de la
+	 * asociacion.
+	 *
+	 * @param genero Genero cuyos albumes cambiaron
+	 */
+	private void indexAlbumes(GeneroEntity genero) {
+		facetIndexer.setGeneroAlbumes(genero.getId(),
+				FacetIndexer.union(genero.getAlbumes(), albumRepository.findIdsByGeneroId(genero.getId())));
+	}
 }
@@ -3,14 +3,20 @@ package co.edu.uniandes.dse.musica.services;
 import java.util.List;
 import java.util.Optional;
 
-import javax.transaction.Transactional;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.GeneroDTO;
 import co.edu.uniandes.dse.musica.entities.GeneroEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
 import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
 
 /**
@@ -21,10 +27,20 @@ import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
 
 
 @Service
+@Import({ DetailCacheEvictor.class, FacetIndexer.class })
 public class GeneroService {
 	
 	@Autowired
 	GeneroRepository generoRepository;
+
+	@Autowired
+	DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	AlbumRepository albumRepository;
+
+	@Autowired
+	FacetIndexer facetIndexer;
 	
 	
 	
@@ -42,6 +58,24 @@ public class GeneroService {
 		return generoRepository.findAll();
 	}
 	
+	@Transactional
+	public Page<GeneroEntity> getGeneros(Pageable pageable) {
+		//retorna una pagina de los generos en la base de datos
+		return generoRepository.findAll(pageable);
+	}
+
+	/**
+	 * Obtiene una pagina de generos con solo las columnas de GeneroDTO. No carga
+	 * entidades ni sus colecciones.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de GeneroDTO.
+	 */
+	@Transactional(readOnly = true)
+	public Page<GeneroDTO> getGenerosResumen(Pageable pageable) {
+		return generoRepository.findAllSummaries(pageable);
+	}
+	
 	@Transactional
 	public GeneroEntity getGenero(Long generoId) throws EntityNotFoundException {
 		//retorna el genero buscado, tira excepcion si no se encuentra
@@ -62,9 +96,14 @@ public class GeneroService {
 		}
 		
 		generoCambiado.setId(generoId);
+		detailCacheEvictor.evictAlbums(albumRepository.findIdsByGeneroId(generoId));
 		
 		
-		return generoRepository.save(generoCambiado);
+		generoCambiado.heredarVersion(generoEntity.get());
+		GeneroEntity actualizado = generoRepository.save(generoCambiado);
+		facetIndexer.setGeneroAlbumes(generoId,
+				FacetIndexer.union(actualizado.getAlbumes(), albumRepository.findIdsByGeneroId(generoId)));
+		return actualizado;
 	}
 	
 	@Transactional
@@ -75,7 +114,9 @@ public class GeneroService {
 			throw new EntityNotFoundException(ErrorMessage.GENERO_NOT_FOUND);
 		}
 		
-	generoRepository.deleteById(generoId);
+		detailCacheEvictor.evictAlbums(albumRepository.findIdsByGeneroId(generoId));
+		generoRepository.deleteById(generoId);
+		facetIndexer.removeGenero(generoId);
 	}
 	
 	
@@ -0,0 +1,461 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDTO;
+import co.edu.uniandes.dse.musica.dto.GeneroDTO;
+import co.edu.uniandes.dse.musica.dto.ImportErrorDTO;
+import co.edu.uniandes.dse.musica.dto.ImportReportDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.CsvLine;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.helpers.TextNormalizer;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
+
+/**
+ * Imports albumes with their canciones, artistas and generos from a file.
+ *
+ * The request thread parses the file one line at a time and hands the albumes
+ * to a writer thread through a bounded queue, so parsing and writing overlap
+ * and a slow database stops the parser instead of filling the heap. The writer
+ * commits one transaction per batch of albumes. When a batch fails it is
+ * written again one album at a time, so a bad row is reported without losing
+ * the rest of its batch.
+ *
+ * Artistas and generos are matched by normalized name against hash indexes
+ * loaded when the import starts, so each one is created only once.
+ */
+@Service
+@Import({ DetailCacheEvictor.class, SearchIndexer.class, FacetIndexer.class })
+public class ImportService {
+
+	/**
+	 * Formats of the imported file.
+	 *
+	 * NDJSON has one AlbumDetailDTO per line, as written by the export. CSV has
+	 * a header and one cancion per line with the columns album, imagen, cancion,
+	 * duracion, link, portada, artistas and generos, where artistas and generos
+	 * are separated by |. Consecutive lines of the same album make one album.
+	 */
+	public enum Format {
+		NDJSON, CSV
+	}
+
+	/**
+	 * Errors kept in the report. The rest are only counted.
+	 */
+	static final int MAX_ERRORS = 1000;
+
+	private static final String ALBUM_COLUMN = "album";
+
+	private static final String EMPTY_TITLE = "Can't create album with empty title";
+	private static final String EMPTY_CREADOR = "Creador cannot have an empty name.";
+	private static final String EMPTY_GENERO = "Genero cannot have an empty name.";
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	@Autowired
+	private GeneroRepository generoRepository;
+
+	@Autowired
+	private DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	private SearchIndexer searchIndexer;
+
+	@Autowired
+	private FacetIndexer facetIndexer;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Albumes written in each transaction.
+	 */
+	@Value("${musica.import.batch-size:100}")
+	private int batchSize;
+
+	/**
+	 * Imports the albumes of a file. Rows that cannot be parsed or written are
+	 * reported and skipped, the others are committed.
+	 *
+	 * @param in     content of the file, read until its end
+	 * @param format format of the file
+	 * @return the rows read, written and rejected, and the throughput
+	 * @throws IllegalOperationException if a CSV file has no album column
+	 * @throws IOException               if the file cannot be read
+	 */
+	public ImportReportDTO importAlbumes(InputStream in, Format format) throws IllegalOperationException, IOException {
+		long start = System.nanoTime();
+		Run run = new Run(4 * batchSize);
+		for (Object[] creador : creadorRepository.findNombresNormalizados())
+			run.creadores.put((String) creador[0], (Long) creador[1]);
+		for (Object[] genero : generoRepository.findNombres())
+			run.generos.putIfAbsent(TextNormalizer.normalize((String) genero[0]), (Long) genero[1]);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "catalog-import"));
+		try {
+			Future<?> writer = executor.submit(() -> write(run));
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			if (format == Format.CSV)
+				readCsv(reader, run, writer);
+			else
+				readNdjson(reader, run, writer);
+			enqueue(Row.END, run, writer);
+			writer.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("The import was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The import writer failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		ImportReportDTO report = run.report;
+		report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		report.setRowsPerSecond(report.getRows() * 1000.0 / Math.max(1, report.getElapsedMillis()));
+		return report;
+	}
+
+	private void readNdjson(BufferedReader reader, Run run, Future<?> writer)
+			throws IOException, InterruptedException, ExecutionException {
+		long line = 0;
+		String text;
+		while ((text = reader.readLine()) != null) {
+			line++;
+			if (text.isBlank())
+				continue;
+			run.read();
+			try {
+				enqueue(new Row(line, objectMapper.readValue(text, AlbumDetailDTO.class)), run, writer);
+			} catch (JsonProcessingException e) {
+				run.fail(line, 1, "Invalid JSON: " + e.getOriginalMessage());
+			}
+		}
+	}
+
+	private void readCsv(BufferedReader reader, Run run, Future<?> writer)
+			throws IOException, InterruptedException, ExecutionException, IllegalOperationException {
+		String header = reader.readLine();
+		Map<String, Integer> columns = new HashMap<>();
+		if (header != null) {
+			List<String> names = CsvLine.parse(header);
+			for (int i = 0; i < names.size(); i++)
+				columns.put(names.get(i).trim().toLowerCase(), i);
+		}
+		if (!columns.containsKey(ALBUM_COLUMN))
+			throw new IllegalOperationException("The CSV file must start with a header with an album column");
+
+		long line = 1;
+		Row current = null;
+		String text;
+		while ((text = reader.readLine()) != null) {
+			line++;
+			if (text.isBlank())
+				continue;
+			run.read();
+			try {
+				List<String> fields = CsvLine.parse(text);
+				String titulo = field(fields, columns, ALBUM_COLUMN);
+				String imagen = field(fields, columns, "imagen");
+				CancionDTO cancion = null;
+				if (!field(fields, columns, "cancion").isEmpty()) {
+					String duracion = field(fields, columns, "duracion");
+					cancion = new CancionDTO(null, field(fields, columns, "cancion"),
+							duracion.isEmpty() ? 0 : Integer.parseInt(duracion), field(fields, columns, "link"),
+							field(fields, columns, "portada"));
+				}
+
+				if (current == null || !titulo.equals(current.album.getTitulo())
+						|| !imagen.equals(current.album.getImagen())) {
+					if (current != null)
+						enqueue(current, run, writer);
+					AlbumDetailDTO album = new AlbumDetailDTO();
+					album.setTitulo(titulo);
+					album.setImagen(imagen);
+					current = new Row(line, album);
+				} else {
+					current.lines++;
+				}
+				if (cancion != null)
+					current.album.getCanciones().add(cancion);
+				for (String nombre : field(fields, columns, "artistas").split("\\|"))
+					if (!nombre.isBlank())
+						current.album.getArtistas().add(new CreadorDTO(null, nombre.trim(), null, null));
+				for (String nombre : field(fields, columns, "generos").split("\\|"))
+					if (!nombre.isBlank())
+						current.album.getGeneros().add(new GeneroDTO(null, nombre.trim()));
+			} catch (IllegalArgumentException e) {
+				run.fail(line, 1, "Invalid CSV line: " + e.getMessage());
+			}
+		}
+		if (current != null)
+			enqueue(current, run, writer);
+	}
+
+	private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+	}
+
+	/**
+	 * Puts a row in the queue, waiting while it is full. Stops waiting if the
+	 * writer is gone, which only happens when it failed.
+	 */
+	private static void enqueue(Row row, Run run, Future<?> writer) throws InterruptedException, ExecutionException {
+		while (!run.queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+			if (writer.isDone()) {
+				writer.get();
+				throw new IllegalStateException("The import writer stopped");
+			}
+		}
+	}
+
+	/**
+	 * Body of the writer thread: takes the rows from the queue and writes them in
+	 * batches until the end of the file.
+	 */
+	private void write(Run run) {
+		List<Row> batch = new ArrayList<>(batchSize);
+		try {
+			for (Row row = run.queue.take(); row != Row.END; row = run.queue.take()) {
+				String error = validate(row.album);
+				if (error != null) {
+					run.fail(row.line, row.lines, error);
+					continue;
+				}
+				batch.add(row);
+				if (batch.size() == batchSize) {
+					writeBatch(batch, run);
+					batch.clear();
+				}
+			}
+			writeBatch(batch, run);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String validate(AlbumDetailDTO album) {
+		if (album.getTitulo() == null || album.getTitulo().isBlank())
+			return EMPTY_TITLE;
+		for (CreadorDTO creador : album.getArtistas())
+			if (creador.getNombre() == null || creador.getNombre().isBlank())
+				return EMPTY_CREADOR;
+		for (GeneroDTO genero : album.getGeneros())
+			if (genero.getNombre() == null || genero.getNombre().isBlank())
+				return EMPTY_GENERO;
+		return null;
+	}
+
+	private void writeBatch(List<Row> batch, Run run) {
+		if (batch.isEmpty())
+			return;
+		try {
+			Created created = new TransactionTemplate(transactionManager).execute(status -> persist(batch, run));
+			// The indexes only learn the new ids once they are committed
+			created.creadores.forEach((nombre, creador) -> run.creadores.put(nombre, creador.getId()));
+			created.generos.forEach((nombre, genero) -> run.generos.put(nombre, genero.getId()));
+			for (Row row : batch)
+				run.imported(row.lines);
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				run.fail(batch.get(0).line, batch.get(0).lines,
+						NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+				return;
+			}
+			for (Row row : batch)
+				writeBatch(List.of(row), run);
+		}
+	}
+
+	/**
+	 * Writes a batch of albumes with the same associations the REST resources
+	 * keep: album and cancion both own their side of the canciones, the creador
+	 * owns the albumes and the album owns the generos.
+	 */
+	private Created persist(List<Row> batch, Run run) {
+		Created created = new Created();
+		Set<Long> modifiedCreadores = new HashSet<>();
+		for (Row row : batch) {
+			AlbumEntity album = new AlbumEntity();
+			album.setTitulo(row.album.getTitulo());
+			album.setImagen(row.album.getImagen());
+			entityManager.persist(album);
+			searchIndexer.indexAlbum(album);
+
+			for (CancionDTO dto : row.album.getCanciones()) {
+				CancionEntity cancion = new CancionEntity();
+				cancion.setTitulo(dto.getTitulo());
+				cancion.setDuracion(dto.getDuracion() == null ? 0 : dto.getDuracion());
+				cancion.setLink(dto.getLink());
+				cancion.setPortada(dto.getPortada());
+				cancion.getAlbumes().add(album);
+				entityManager.persist(cancion);
+				searchIndexer.indexCancion(cancion);
+				album.getCanciones().add(cancion);
+			}
+			for (GeneroDTO dto : row.album.getGeneros())
+				album.getGeneros().add(genero(dto, run, created));
+			for (CreadorDTO dto : row.album.getArtistas()) {
+				CreadorEntity creador = creador(dto, run, created, modifiedCreadores);
+				if (creador.getAlbumes().add(album)) {
+					album.getArtistas().add(creador);
+					facetIndexer.addAlbumArtista(album.getId(), creador.getId());
+				}
+			}
+			facetIndexer.indexAlbum(album.getId(), DetailCacheEvictor.idsOf(album.getGeneros()));
+		}
+		entityManager.flush();
+		detailCacheEvictor.evictCreadores(modifiedCreadores);
+		return created;
+	}
+
+	private GeneroEntity genero(GeneroDTO dto, Run run, Created created) {
+		String nombre = TextNormalizer.normalize(dto.getNombre());
+		GeneroEntity genero = created.generos.get(nombre);
+		if (genero != null)
+			return genero;
+		Long id = run.generos.get(nombre);
+		if (id != null && (genero = entityManager.find(GeneroEntity.class, id)) != null)
+			return genero;
+
+		genero = new GeneroEntity();
+		genero.setNombre(dto.getNombre().trim());
+		entityManager.persist(genero);
+		created.generos.put(nombre, genero);
+		return genero;
+	}
+
+	private CreadorEntity creador(CreadorDTO dto, Run run, Created created, Set<Long> modified) {
+		String nombre = TextNormalizer.normalize(dto.getNombre());
+		CreadorEntity creador = created.creadores.get(nombre);
+		if (creador != null)
+			return creador;
+		Long id = run.creadores.get(nombre);
+		if (id != null && (creador = entityManager.find(CreadorEntity.class, id)) != null) {
+			if (modified.add(id))
+				creador.marcarModificada();
+			return creador;
+		}
+
+		creador = new CreadorEntity();
+		creador.setNombre(dto.getNombre().trim());
+		creador.setNacionalidad(dto.getNacionalidad());
+		creador.setImagen(dto.getImagen());
+		entityManager.persist(creador);
+		searchIndexer.indexCreador(creador);
+		created.creadores.put(nombre, creador);
+		return creador;
+	}
+
+	/**
+	 * An album read from the file and the lines it came from.
+	 */
+	private static class Row {
+
+		static final Row END = new Row(0, null);
+
+		final long line;
+
+		final AlbumDetailDTO album;
+
+		int lines = 1;
+
+		Row(long line, AlbumDetailDTO album) {
+			this.line = line;
+			this.album = album;
+		}
+	}
+
+	/**
+	 * Creadores and generos created by a transaction, by normalized name.
+	 */
+	private static class Created {
+
+		final Map<String, CreadorEntity> creadores = new HashMap<>();
+
+		final Map<String, GeneroEntity> generos = new HashMap<>();
+	}
+
+	/**
+	 * State of one import, shared by the parser and the writer. The indexes are
+	 * filled before the writer starts and from then on only the writer uses them.
+	 */
+	private static class Run {
+
+		final BlockingQueue<Row> queue;
+
+		final Map<String, Long> creadores = new HashMap<>();
+
+		final Map<String, Long> generos = new HashMap<>();
+
+		final ImportReportDTO report = new ImportReportDTO();
+
+		Run(int capacity) {
+			queue = new ArrayBlockingQueue<>(capacity);
+		}
+
+		synchronized void read() {
+			report.setRows(report.getRows() + 1);
+		}
+
+		synchronized void imported(int lines) {
+			report.setImported(report.getImported() + lines);
+		}
+
+		synchronized void fail(long line, int lines, String message) {
+			report.setFailed(report.getFailed() + lines);
+			if (report.getErrors().size() < MAX_ERRORS)
+				report.getErrors().add(new ImportErrorDTO(line, message));
+		}
+	}
+}
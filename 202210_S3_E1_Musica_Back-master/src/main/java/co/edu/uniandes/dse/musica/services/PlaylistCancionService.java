@@ -1,28 +1,69 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.repositories.PistaRepository;
 import co.edu.uniandes.dse.musica.repositories.PlaylistRepository;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+
+/**
+ * Canciones de una playlist, como conjunto y como orden de pistas. Cada cancion
+ * del conjunto tiene al menos una pista en el orden, y quitar todas sus pistas
+ * la quita del conjunto. Cada cancion que entra o sale del conjunto cambia su
+ * popularidad en las sugerencias.
+ */
 @Service
+@Import(SuggestService.class)
 public class PlaylistCancionService {
 
+    /**
+     * Espacio entre las posiciones de dos pistas seguidas cuando se agregan al
+     * final o se reparten de nuevo. Permite 32 inserciones en el mismo hueco
+     * antes de tener que repartir las posiciones de la playlist.
+     */
+    static final long ESPACIO = 1L << 32;
+
     @Autowired
     private PlaylistRepository playlistRepository; 
     
     @Autowired
     private CancionRepository cancionRepository;
 
+    @Autowired
+    private PistaRepository pistaRepository;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
 
     /**
     * Asocia una Cancion existente a una Playlist
@@ -43,7 +84,16 @@ public class PlaylistCancionService {
         if(playlistEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
         
-        playlistEntity.get().getCanciones().add(cancionEntity.get());
+        // La cancion queda al final del orden si no estaba en la playlist
+        PlaylistEntity playlist = playlistEntity.get();
+        if(!Associations.contains(playlist.getCanciones(), cancionEntity.get(),
+                () -> playlistRepository.hasCancion(idPlaylist, idCancion))) {
+            Associations.add(entityManager, playlist.getCanciones(), cancionEntity.get(),
+                    Associations.PLAYLIST_CANCIONES, idPlaylist);
+            agregarAlFinal(playlist, List.of(cancionEntity.get()));
+            playlist.marcarModificada();
+            suggestService.addedToPlaylist(List.of(idCancion));
+        }
         return cancionEntity.get();
     }
 
@@ -56,6 +106,23 @@ public class PlaylistCancionService {
         return playlistEntity.get().getCanciones();  
     }
 
+    /**
+     * Cuenta las canciones de una Playlist sin cargarlas: la coleccion es extra
+     * lazy, su tamaño se consulta en la tabla de union.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @return Numero de canciones asociadas a la Playlist
+     * @throws EntityNotFoundException si la Playlist no existe
+     */
+    @Transactional
+    public int countCanciones(Long playlistId) throws EntityNotFoundException {
+        Optional<PlaylistEntity> playlistEntity = playlistRepository.findById(playlistId);
+        if(playlistEntity.isEmpty())
+            throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
+
+        return playlistEntity.get().getCanciones().size();
+    }
+
     @Transactional
     public CancionEntity getCancion(Long playlistId, Long cancionId) throws EntityNotFoundException, IllegalOperationException {
         Optional<PlaylistEntity> playlistEntity = playlistRepository.findById(playlistId); 
@@ -67,7 +134,8 @@ public class PlaylistCancionService {
             throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
         
         
-        if(playlistEntity.get().getCanciones().contains(cancionEntity.get()))
+        if(Associations.contains(playlistEntity.get().getCanciones(), cancionEntity.get(),
+                () -> playlistRepository.hasCancion(playlistId, cancionId)))
             return cancionEntity.get(); 
 
         throw new IllegalOperationException("The song is not associated with the playlist");
@@ -79,14 +147,10 @@ public class PlaylistCancionService {
         if(playlistEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
         
-        for(CancionEntity cancion: listCancion ) {
-            Optional<CancionEntity> cancionEntity = cancionRepository.findById(cancion.getId());
-            if(cancionEntity.isEmpty())
-                throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
-            
-            if(!playlistEntity.get().getCanciones().contains(cancionEntity.get()))
-            	playlistEntity.get().getCanciones().add(cancionEntity.get()); 
-        }
+        List<CancionEntity> canciones = Associations.findAllById(cancionRepository, listCancion, ErrorMessage.PLAYLIST_NOT_FOUND);
+        List<CancionEntity> agregadas = Associations.addMissing(playlistEntity.get().getCanciones(), canciones);
+        agregarAlFinal(playlistEntity.get(), agregadas);
+        suggestService.addedToPlaylist(agregadas.stream().map(CancionEntity::getId).collect(Collectors.toList()));
 
         return getCanciones(playlistId); 
     }
@@ -101,9 +165,327 @@ public class PlaylistCancionService {
         if(cancionEntity.isEmpty())
             throw new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND);
         
-        playlistEntity.get().getCanciones().remove(cancionEntity.get());
+        // La lista de canciones solo se carga si ya estaba cargada
+        if(!Associations.contains(playlistEntity.get().getCanciones(), cancionEntity.get(),
+                () -> playlistRepository.hasCancion(playlistId, cancionId)))
+            return;
+        Associations.remove(entityManager, playlistEntity.get().getCanciones(), cancionEntity.get(),
+                Associations.PLAYLIST_CANCIONES, playlistId);
+        pistaRepository.deleteByPlaylistIdAndCancionId(playlistId, cancionId);
+        playlistEntity.get().marcarModificada();
+        suggestService.removedFromPlaylist(List.of(cancionId));
 
     }
 
-    
-}
\ No newline at end of file
+    /**
+     * Obtiene una pagina de las pistas de una Playlist en orden. Los ids de la
+     * pagina se leen del indice de la playlist y la posicion, y luego solo esas
+     * pistas se leen con su cancion, sin cargar las entidades.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param pageable   Pagina que se quiere consultar
+     * @return Pagina de pistas en el orden de la Playlist
+     * @throws EntityNotFoundException si la Playlist no existe
+     */
+    @Transactional(readOnly = true)
+    public Page<PistaDTO> getPistas(Long playlistId, Pageable pageable) throws EntityNotFoundException {
+        if(!playlistRepository.existsById(playlistId))
+            throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
+
+        // El orden es siempre el de la playlist, sin el sort que pida el cliente
+        Page<Long> ids = pistaRepository.findIdsByPlaylistId(playlistId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Long, PistaDTO> porId = new HashMap<>();
+        for(PistaDTO pista : pistaRepository.findSummariesByIdIn(ids.getContent()))
+            porId.put(pista.getId(), pista);
+        return ids.map(porId::get);
+    }
+
+    /**
+     * Inserta una Cancion en un indice del orden de una Playlist. La cancion
+     * puede estar ya en la playlist, en ese caso queda repetida. Solo se escribe
+     * la fila de la nueva pista. El indice solo se usa para buscar la pista
+     * anterior; {@link #insertCancionDespues} la recibe por su id.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param cancionId  Identificador de la instancia de Cancion
+     * @param indice     Indice que tendra la pista, o null para agregarla al final
+     * @return La pista insertada
+     * @throws EntityNotFoundException   si la Playlist o la Cancion no existen
+     * @throws IllegalOperationException si el indice esta fuera de la playlist
+     */
+    @Transactional(rollbackFor = IllegalOperationException.class)
+    public PistaEntity insertCancion(Long playlistId, Long cancionId, Integer indice)
+            throws EntityNotFoundException, IllegalOperationException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+        CancionEntity cancion = cancionDe(cancionId);
+
+        if(indice != null && indice < 0)
+            throw new IllegalOperationException(ErrorMessage.INVALID_PISTA_INDEX);
+
+        long posicion;
+        if(indice == null) {
+            posicion = siguientePosicion(playlistId);
+        } else {
+            PistaEntity anterior = anteriorEn(playlistId, indice - 1);
+            posicion = posicionEntre(playlistId, anterior, siguiente(playlistId, anterior));
+        }
+        return agregarPista(playlist, cancion, posicion);
+    }
+
+    /**
+     * Inserta una Cancion despues de una pista de una Playlist. La pista
+     * anterior se lee por su id y la siguiente con una busqueda en el indice de
+     * la playlist y la posicion, sin recorrer las pistas que estan antes.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param cancionId  Identificador de la instancia de Cancion
+     * @param despuesId  Identificador de la pista anterior, o null para
+     *                   insertarla al inicio
+     * @return La pista insertada
+     * @throws EntityNotFoundException si la Playlist, la Cancion o la pista
+     *                                 anterior no existen en la playlist
+     */
+    @Transactional
+    public PistaEntity insertCancionDespues(Long playlistId, Long cancionId, Long despuesId)
+            throws EntityNotFoundException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+        CancionEntity cancion = cancionDe(cancionId);
+
+        PistaEntity anterior = despuesId == null ? null : pistaDe(playlistId, despuesId);
+        long posicion = posicionEntre(playlistId, anterior, siguiente(playlistId, anterior));
+        return agregarPista(playlist, cancion, posicion);
+    }
+
+    /**
+     * Mueve la pista de un indice a otro del orden de una Playlist. Solo cambia
+     * la posicion de la pista movida; las demas conservan la suya. Los indices
+     * solo se usan para buscar la pista y su nueva anterior;
+     * {@link #moveCancionDespues} las recibe por su id.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param desde      Indice actual de la pista
+     * @param hasta      Indice que tendra la pista despues de moverla
+     * @return La pista movida
+     * @throws EntityNotFoundException   si la Playlist no existe o no tiene una
+     *                                   pista en el indice desde
+     * @throws IllegalOperationException si el indice hasta esta fuera de la
+     *                                   playlist
+     */
+    @Transactional(rollbackFor = IllegalOperationException.class)
+    public PistaEntity moveCancion(Long playlistId, int desde, int hasta)
+            throws EntityNotFoundException, IllegalOperationException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+
+        PistaEntity pista = pistaEn(playlistId, desde);
+        if(hasta < 0)
+            throw new IllegalOperationException(ErrorMessage.INVALID_PISTA_INDEX);
+        if(hasta == desde)
+            return pista;
+
+        // Vecina anterior de la pista en su nuevo lugar, con su indice antes de moverla
+        return moverDespues(playlist, pista, anteriorEn(playlistId, hasta < desde ? hasta - 1 : hasta));
+    }
+
+    /**
+     * Mueve una pista de una Playlist para que quede despues de otra. Las dos se
+     * leen por su id y la que sigue a la anterior con una busqueda en el indice
+     * de la playlist y la posicion, asi que el costo no depende de donde esten
+     * en el orden. Solo cambia la posicion de la pista movida.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param pistaId    Identificador de la pista que se mueve
+     * @param despuesId  Identificador de la pista que quedara antes, o null para
+     *                   moverla al inicio
+     * @return La pista movida
+     * @throws EntityNotFoundException si la Playlist no existe o alguna de las
+     *                                 pistas no esta en la playlist
+     */
+    @Transactional
+    public PistaEntity moveCancionDespues(Long playlistId, Long pistaId, Long despuesId)
+            throws EntityNotFoundException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+
+        PistaEntity pista = pistaDe(playlistId, pistaId);
+        PistaEntity anterior = despuesId == null ? null : pistaDe(playlistId, despuesId);
+        if(pista.equals(anterior))
+            return pista;
+        return moverDespues(playlist, pista, anterior);
+    }
+
+    /**
+     * Quita la pista de un indice del orden de una Playlist. Si era la ultima
+     * pista de su cancion, la cancion sale tambien de la playlist.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param indice     Indice de la pista
+     * @throws EntityNotFoundException si la Playlist no existe o no tiene una
+     *                                 pista en el indice
+     */
+    @Transactional
+    public void removeCancionAt(Long playlistId, int indice) throws EntityNotFoundException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+        quitarPista(playlist, pistaEn(playlistId, indice));
+    }
+
+    /**
+     * Quita una pista de una Playlist por su id. Si era la ultima pista de su
+     * cancion, la cancion sale tambien de la playlist.
+     *
+     * @param playlistId Identificador de la instancia de la Playlist
+     * @param pistaId    Identificador de la pista
+     * @throws EntityNotFoundException si la Playlist no existe o la pista no
+     *                                 esta en la playlist
+     */
+    @Transactional
+    public void removePista(Long playlistId, Long pistaId) throws EntityNotFoundException {
+        PlaylistEntity playlist = playlistDe(playlistId);
+        quitarPista(playlist, pistaDe(playlistId, pistaId));
+    }
+
+    private PlaylistEntity playlistDe(Long playlistId) throws EntityNotFoundException {
+        return playlistRepository.findById(playlistId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND));
+    }
+
+    private CancionEntity cancionDe(Long cancionId) throws EntityNotFoundException {
+        return cancionRepository.findById(cancionId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessage.CANCION_NOT_FOUND));
+    }
+
+    /**
+     * Guarda una pista nueva, y agrega su cancion a la playlist si no estaba.
+     */
+    private PistaEntity agregarPista(PlaylistEntity playlist, CancionEntity cancion, long posicion) {
+        if(!Associations.contains(playlist.getCanciones(), cancion,
+                () -> playlistRepository.hasCancion(playlist.getId(), cancion.getId()))) {
+            Associations.add(entityManager, playlist.getCanciones(), cancion,
+                    Associations.PLAYLIST_CANCIONES, playlist.getId());
+            suggestService.addedToPlaylist(List.of(cancion.getId()));
+        }
+        playlist.marcarModificada();
+        return pistaRepository.save(new PistaEntity(playlist, cancion, posicion));
+    }
+
+    /**
+     * Deja una pista despues de otra, o al inicio sin anterior. Si ya estaba
+     * ahi no cambia nada.
+     */
+    private PistaEntity moverDespues(PlaylistEntity playlist, PistaEntity pista, PistaEntity anterior) {
+        PistaEntity siguiente = siguiente(playlist.getId(), anterior);
+        if(pista.equals(siguiente))
+            return pista;
+        pista.setPosicion(posicionEntre(playlist.getId(), anterior, siguiente));
+        playlist.marcarModificada();
+        return pista;
+    }
+
+    private void quitarPista(PlaylistEntity playlist, PistaEntity pista) {
+        pistaRepository.delete(pista);
+        if(!pistaRepository.existsByPlaylistIdAndCancionId(playlist.getId(), pista.getCancion().getId())) {
+            Associations.remove(entityManager, playlist.getCanciones(), pista.getCancion(),
+                    Associations.PLAYLIST_CANCIONES, playlist.getId());
+            suggestService.removedFromPlaylist(List.of(pista.getCancion().getId()));
+        }
+        playlist.marcarModificada();
+    }
+
+    /**
+     * Agrega una pista al final del orden por cada cancion dada.
+     */
+    private void agregarAlFinal(PlaylistEntity playlist, Collection<CancionEntity> canciones) {
+        if(canciones.isEmpty())
+            return;
+        long posicion = siguientePosicion(playlist.getId()) - ESPACIO;
+        List<PistaEntity> pistas = new ArrayList<>(canciones.size());
+        for(CancionEntity cancion : canciones) {
+            posicion += ESPACIO;
+            pistas.add(new PistaEntity(playlist, cancion, posicion));
+        }
+        pistaRepository.saveAll(pistas);
+    }
+
+    private long siguientePosicion(Long playlistId) {
+        List<Long> ultima = pistaRepository.findUltimasPosiciones(playlistId, PageRequest.of(0, 1));
+        return (ultima.isEmpty() ? 0 : ultima.get(0)) + ESPACIO;
+    }
+
+    /**
+     * Posicion entre dos pistas seguidas. Sin pista anterior se toma 0; sin pista
+     * siguiente la posicion queda un espacio despues de la anterior. Si las dos
+     * pistas estan seguidas se reparten las posiciones de la playlist, lo que
+     * pasa a lo sumo una vez cada 32 inserciones en el mismo hueco. Las dos
+     * pistas estan en el contexto de persistencia, asi que reciben sus nuevas
+     * posiciones al repartirlas.
+     */
+    private long posicionEntre(Long playlistId, PistaEntity anterior, PistaEntity siguiente) {
+        long antes = anterior == null ? 0 : anterior.getPosicion();
+        if(siguiente == null)
+            return antes + ESPACIO;
+        if(siguiente.getPosicion() - antes < 2) {
+            repartirPosiciones(playlistId);
+            antes = anterior == null ? 0 : anterior.getPosicion();
+        }
+        return antes + (siguiente.getPosicion() - antes) / 2;
+    }
+
+    /**
+     * Pista que sigue a otra en el orden, o la primera sin pista anterior. Su id
+     * se busca en el indice de la playlist y la posicion desde la posicion de la
+     * anterior, y la pista se carga por su id.
+     */
+    private PistaEntity siguiente(Long playlistId, PistaEntity anterior) {
+        List<Long> ids = anterior == null ? pistaRepository.findIdsInOrder(playlistId, PageRequest.of(0, 1))
+                : pistaRepository.findIdsAfter(playlistId, anterior.getPosicion(), anterior.getId(), PageRequest.of(0, 1));
+        return ids.isEmpty() ? null : pistaRepository.findById(ids.get(0)).orElse(null);
+    }
+
+    /**
+     * Pista de un indice del orden. Su id se busca solo en el indice de la
+     * playlist y la posicion, y la pista se carga por su id.
+     */
+    private PistaEntity pistaEn(Long playlistId, int indice) throws EntityNotFoundException {
+        List<Long> ids = indice < 0 ? List.of()
+                : pistaRepository.findIdsInOrder(playlistId, PageRequest.of(indice, 1));
+        if(ids.isEmpty())
+            throw new EntityNotFoundException(ErrorMessage.PISTA_NOT_FOUND);
+        return pistaRepository.findById(ids.get(0))
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessage.PISTA_NOT_FOUND));
+    }
+
+    /**
+     * Pista que quedara antes de una insertada o movida a un indice, o null para
+     * el inicio.
+     *
+     * @throws IllegalOperationException si no hay pista en el indice anterior
+     */
+    private PistaEntity anteriorEn(Long playlistId, int anterior) throws IllegalOperationException {
+        if(anterior < 0)
+            return null;
+        try {
+            return pistaEn(playlistId, anterior);
+        } catch(EntityNotFoundException e) {
+            throw new IllegalOperationException(ErrorMessage.INVALID_PISTA_INDEX);
+        }
+    }
+
+    /**
+     * Pista de una playlist por su id, leida por la llave primaria. Se compara
+     * solo el id de su playlist, sin cargarla.
+     */
+    private PistaEntity pistaDe(Long playlistId, Long pistaId) throws EntityNotFoundException {
+        return pistaRepository.findById(pistaId).filter(pista -> pista.getPlaylist().getId().equals(playlistId))
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessage.PISTA_ID_NOT_FOUND));
+    }
+
+    /**
+     * Deja las pistas de la playlist a un espacio de distancia, en el mismo orden.
+     */
+    private void repartirPosiciones(Long playlistId) {
+        long posicion = 0;
+        for(PistaEntity pista : pistaRepository.findByPlaylistIdInOrder(playlistId, Pageable.unpaged())) {
+            posicion += ESPACIO;
+            pista.setPosicion(posicion);
+        }
+    }
+}
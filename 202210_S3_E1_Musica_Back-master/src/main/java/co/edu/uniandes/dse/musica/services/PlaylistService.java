@@ -1,24 +1,37 @@
 package co.edu.uniandes.dse.musica.services;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.PlaylistDTO;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.PistaRepository;
 import co.edu.uniandes.dse.musica.repositories.PlaylistRepository;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 
 @Service 
+@Import(SuggestService.class)
 public class PlaylistService {
 	
 	@Autowired
 	PlaylistRepository playlistRepository;
 	@Autowired
 	CancionRepository cancionRespository; 
+	@Autowired
+	PistaRepository pistaRepository;
+	@Autowired
+	SuggestService suggestService;
 	
 	@Transactional
 	public PlaylistEntity createPlaylist(PlaylistEntity playlist) {
@@ -29,7 +42,28 @@ public class PlaylistService {
 	
 	@Transactional
 	public List<PlaylistEntity> getPlaylists(){
-		return playlistRepository.findAll();
+		List<PlaylistEntity> playlists = playlistRepository.findAll();
+		fetchCanciones(playlists);
+		return playlists;
+	}
+	
+	@Transactional
+	public Page<PlaylistEntity> getPlaylists(Pageable pageable){
+		Page<PlaylistEntity> playlists = playlistRepository.findAll(pageable);
+		fetchCanciones(playlists.getContent());
+		return playlists;
+	}
+
+	/**
+	 * Obtiene una pagina de playlists con solo las columnas de PlaylistDTO. No carga
+	 * entidades ni sus colecciones.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de PlaylistDTO.
+	 */
+	@Transactional(readOnly = true)
+	public Page<PlaylistDTO> getPlaylistsResumen(Pageable pageable) {
+		return playlistRepository.findAllSummaries(pageable);
 	}
 	
 	@Transactional
@@ -37,6 +71,7 @@ public class PlaylistService {
 		Optional<PlaylistEntity> playlistEntity = playlistRepository.findById(playlistId);
 		if (playlistEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
+		fetchCanciones(List.of(playlistEntity.get()));
 		return playlistEntity.get();
 	}
 	@Transactional
@@ -46,6 +81,8 @@ public class PlaylistService {
 		if (playlistEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
 		
+		suggestService.removedFromPlaylist(playlistRepository.findCancionIds(playlistId));
+		pistaRepository.deleteByPlaylistId(playlistId);
 		playlistRepository.deleteById(playlistId);
 		
 	}
@@ -56,8 +93,31 @@ public class PlaylistService {
 		if (playlistEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
 		
+		Set<Long> antes = new HashSet<>(playlistRepository.findCancionIds(playlistId));
 		playlist.setId(playlistId);
-		return playlistRepository.save(playlist);
+		playlist.heredarVersion(playlistEntity.get());
+		PlaylistEntity actualizada = playlistRepository.save(playlist);
+		// El orden conserva solo las pistas de las canciones que siguen en la playlist
+		pistaRepository.deleteWhereCancionNotInPlaylist(playlistId);
+
+		// La popularidad cambia solo para las canciones que entraron o salieron
+		Set<Long> despues = new HashSet<>(playlistRepository.findCancionIds(playlistId));
+		Set<Long> salieron = new HashSet<>(antes);
+		salieron.removeAll(despues);
+		despues.removeAll(antes);
+		suggestService.addedToPlaylist(despues);
+		suggestService.removedFromPlaylist(salieron);
+		return actualizada;
+	}
+	
+	/**
+	 * Carga las canciones de las playlists dadas en una sola consulta.
+	 */
+	private void fetchCanciones(List<PlaylistEntity> playlists) {
+		if (playlists.isEmpty())
+			return;
+		playlistRepository.findWithCancionesByIdIn(
+				playlists.stream().map(PlaylistEntity::getId).collect(Collectors.toList()));
 	}
 
 }
@@ -1,19 +1,30 @@
 package co.edu.uniandes.dse.musica.services;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.repositories.CapituloRepository;
 
 /**
  * Class to represent association of podcasts with its capitulos.
@@ -21,7 +32,7 @@ import co.edu.uniandes.dse.musica.helpers.EntityChecker;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import({ EntityChecker.class, CapituloService.class, PodcastService.class })
+@Import({ EntityChecker.class, PodcastService.class, DetailCacheEvictor.class, SearchIndexer.class })
 public class PodcastCapituloService {
 
 	@Autowired
@@ -31,26 +42,104 @@ public class PodcastCapituloService {
 	PodcastService podcastService;
 
 	@Autowired
-	CapituloService capituloService;
+	DetailCacheEvictor detailCacheEvictor;
 
-	@Transactional
+	@Autowired
+	SearchIndexer searchIndexer;
+
+	@Autowired
+	CapituloRepository capituloRepository;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	int batchSize;
+
+	/**
+	 * Moves a capitulo to a podcast. The titulo is checked with a lookup in the
+	 * unique index of podcast and titulo, so the capitulos of the podcast are not
+	 * loaded and the cost does not grow with them.
+	 *
+	 * @throws IllegalOperationException if the podcast already has a capitulo
+	 *                                   with the same titulo, including this one
+	 */
+	@Transactional(rollbackOn = IllegalOperationException.class)
 	public CapituloEntity addCapituloToPodcast(Long podcastId, Long capituloId)
 			throws EntityNotFoundException, IllegalOperationException {
 		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 		CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
 
-		for (CapituloEntity capituloEntity : podcast.getCapitulos()) {
-			if (capituloEntity.getTitulo().equals(capitulo.getTitulo()))
-				throw new IllegalOperationException("Chapter already exists in podcast.");
-		}
+		if (capituloRepository.existsByPodcastIdAndTituloNormalizado(podcastId, capitulo.getTituloNormalizado()))
+			throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
 
+		if (capitulo.getPodcast() != null) {
+			detailCacheEvictor.evictPodcast(capitulo.getPodcast().getId());
+			capitulo.getPodcast().marcarModificada();
+		}
 		capitulo.setPodcast(podcast);
-		podcast.getCapitulos().add(capitulo);
+		// The capitulo owns the association, the collection is only kept in step
+		// when it is already loaded
+		if (Hibernate.isInitialized(podcast.getCapitulos()))
+			podcast.getCapitulos().add(capitulo);
 
 		podcastService.updatePodcast(podcastId, podcast);
+		// A capitulo with the same titulo added by another transaction after the
+		// check is rejected by the unique index here instead of failing the commit
+		try {
+			capituloRepository.flush();
+		} catch (DataIntegrityViolationException e) {
+			throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
+		}
 		return capitulo;
 	}
 
+	/**
+	 * Creates the given capitulos in a podcast. The inserts are sent in JDBC
+	 * batches of the configured size and the persistence context is cleared
+	 * after each batch, so a large import does not keep every capitulo in memory.
+	 *
+	 * @param podcastId id of the podcast
+	 * @param capitulos the new capitulos
+	 * @return the same capitulos with their ids
+	 * @throws EntityNotFoundException   if the podcast does not exist
+	 * @throws IllegalOperationException if a titulo is empty or already in the
+	 *                                   podcast
+	 */
+	@Transactional
+	public List<CapituloEntity> createCapitulosOfPodcast(Long podcastId, List<CapituloEntity> capitulos)
+			throws EntityNotFoundException, IllegalOperationException {
+		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
+
+		Set<String> titulos = new HashSet<>();
+		for (CapituloEntity capitulo : capitulos) {
+			if (capitulo.getTitulo() == null || capitulo.getTitulo().isEmpty())
+				throw new IllegalOperationException("Chapter cannot have an empty name.");
+			if (!titulos.add(capitulo.getTituloNormalizado()))
+				throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
+		}
+		if (!titulos.isEmpty() && !capituloRepository.findTitulosNormalizadosIn(podcastId, titulos).isEmpty())
+			throw new IllegalOperationException(ErrorMessage.CAPITULO_ALREADY_IN_PODCAST);
+
+		int pending = 0;
+		for (CapituloEntity capitulo : capitulos) {
+			capitulo.setId(null);
+			capitulo.setPodcast(podcast);
+			entityManager.persist(capitulo);
+			searchIndexer.indexCapitulo(capitulo);
+			if (++pending == batchSize) {
+				entityManager.flush();
+				entityManager.clear();
+				podcast = entityManager.find(PodcastEntity.class, podcastId);
+				pending = 0;
+			}
+		}
+		podcast.marcarModificada();
+		entityManager.flush();
+		detailCacheEvictor.evictPodcast(podcastId);
+		return capitulos;
+	}
+
 	@Transactional
 	public Set<CapituloEntity> getCapitulosOfPodcast(Long podcastId) throws EntityNotFoundException {
 		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
@@ -64,46 +153,67 @@ public class PodcastCapituloService {
 		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 		CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
 
-		if (!podcast.getCapitulos().contains(capitulo))
+		if (!Associations.contains(podcast.getCapitulos(), capitulo,
+				() -> capituloRepository.existsByIdAndPodcastId(capituloId, podcastId)))
 			throw new IllegalOperationException("The podcast does not contain the specified capitulo.");
 
 		return capitulo;
 	}
 
-	@Transactional
+	/**
+	 * Replaces the capitulos of a podcast with set-based statements, so the cost
+	 * depends on the capitulos involved and not on the size of the catalog. The
+	 * capitulos that leave the podcast are found with one query on its index and
+	 * deleted with one bulk DELETE, and the new ones join it with one bulk
+	 * UPDATE.
+	 *
+	 * @param podcastId id of the podcast
+	 * @param capitulos the capitulos the podcast will have, with only their ids
+	 * @return the capitulos of the podcast
+	 * @throws EntityNotFoundException   if the podcast or a capitulo does not
+	 *                                   exist
+	 * @throws IllegalOperationException if two capitulos have the same titulo
+	 */
+	@Transactional(rollbackOn = IllegalOperationException.class)
 	public Set<CapituloEntity> replaceCapitulosOfPodcast(Long podcastId, Set<CapituloEntity> capitulos)
 			throws EntityNotFoundException, IllegalOperationException {
-		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
+		entityChecker.checkPodcastExists(podcastId);
 
-		var capituloEntities = new HashSet<CapituloEntity>();
-		for (CapituloEntity capitulo : capitulos)
-			capituloEntities.add(capituloService.getCapitulo(capitulo.getId()));
+		List<CapituloEntity> capituloEntities = entityChecker.checkCapitulosExist(capitulos);
 
 		var nombres = new HashSet<String>();
 		for (CapituloEntity capitulo : capituloEntities) {
-			if (nombres.contains(capitulo.getTitulo())) {
+			if (!nombres.add(capitulo.getTituloNormalizado()))
 				throw new IllegalOperationException("Capitulos list contains a duplicate capitulo titulo.");
-			}
-			nombres.add(capitulo.getTitulo());
 		}
 
-		for (CapituloEntity capitulo : podcast.getCapitulos())
-			capitulo.setPodcast(null);
-
-		podcast.setCapitulos(new HashSet<CapituloEntity>());
-
-		for (CapituloEntity capitulo : capitulos) {
-			CapituloEntity capituloEnt = entityChecker.checkCapituloExists(capitulo.getId());
-			addCapituloToPodcast(podcast.getId(), capituloEnt.getId());
+		// The podcasts that lose a capitulo change as well
+		for (CapituloEntity capitulo : capituloEntities) {
+			if (capitulo.getPodcast() != null && !capitulo.getPodcast().getId().equals(podcastId)) {
+				detailCacheEvictor.evictPodcast(capitulo.getPodcast().getId());
+				capitulo.getPodcast().marcarModificada();
+			}
 		}
-
-		for (CapituloEntity capitulo : capituloService.getCapitulos()) {
-			if (capitulo.getPodcast() == null)
-				capituloService.deleteCapitulo(capitulo.getId());
+		entityManager.flush();
+
+		// Deleted before the others join, so the unique index of podcast and
+		// titulo never sees a leaving capitulo next to a joining one
+		List<Long> ids = DetailCacheEvictor.idsOf(capituloEntities);
+		List<Long> removidos = ids.isEmpty() ? capituloRepository.findIdsByPodcastId(podcastId)
+				: capituloRepository.findIdsByPodcastIdAndIdNotIn(podcastId, ids);
+		if (!removidos.isEmpty()) {
+			capituloRepository.deleteByIdIn(removidos);
+			searchIndexer.removeAll(SearchIndexer.CAPITULO, removidos);
 		}
-
-		podcastService.updatePodcast(podcastId, podcast);
-		return getCapitulosOfPodcast(podcastId);
+		if (!ids.isEmpty())
+			capituloRepository.moveToPodcast(entityManager.getReference(PodcastEntity.class, podcastId), ids);
+
+		// The bulk statements bypass the persistence context
+		entityManager.clear();
+		PodcastEntity podcast = entityManager.find(PodcastEntity.class, podcastId);
+		podcast.marcarModificada();
+		detailCacheEvictor.evictPodcast(podcastId);
+		return podcast.getCapitulos();
 	}
 
 	@Transactional
@@ -112,7 +222,13 @@ public class PodcastCapituloService {
 		PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 		CapituloEntity capitulo = entityChecker.checkCapituloExists(capituloId);
 
-		podcast.getCapitulos().remove(capitulo);
+		// The capitulo owns the association, the collection is only kept in step
+		// when it is already loaded
+		if (capituloRepository.existsByIdAndPodcastId(capituloId, podcastId))
+			capitulo.setPodcast(null);
+		if (Hibernate.isInitialized(podcast.getCapitulos()))
+			podcast.getCapitulos().remove(capitulo);
+		podcast.marcarModificada();
 		podcastService.updatePodcast(podcastId, podcast);
 	}
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package co.edu.uniandes.dse.musica.services;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.transaction.Transactional;
@@ -13,7 +15,11 @@ import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
 
 /**
  * Class to represent association of a podcast with its creators.
@@ -21,7 +27,7 @@ import co.edu.uniandes.dse.musica.helpers.EntityChecker;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import({ EntityChecker.class, PodcastService.class })
+@Import({ EntityChecker.class, PodcastService.class, FacetIndexer.class })
 public class PodcastCreadorService {
 
     @Autowired
@@ -30,6 +36,15 @@ public class PodcastCreadorService {
     @Autowired
     PodcastService podcastService;
 
+    @Autowired
+    FacetIndexer facetIndexer;
+
+    @Autowired
+    CreadorRepository creadorRepository;
+
+    @Autowired
+    PodcastRepository podcastRepository;
+
     @Transactional
     public CreadorEntity addCreadorToPodcast(Long podcastId, Long creadorId)
             throws EntityNotFoundException, IllegalOperationException {
@@ -54,7 +69,8 @@ public class PodcastCreadorService {
         CreadorEntity creador = entityChecker.checkCreadorExists(creadorId);
         PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 
-        if (!podcast.getCreadores().contains(creador))
+        if (!Associations.contains(podcast.getCreadores(), creador,
+                () -> podcastRepository.hasCreador(podcastId, creadorId)))
             throw new IllegalOperationException("The podcast does not contain the creador.");
 
         return creador;
@@ -68,19 +84,19 @@ public class PodcastCreadorService {
         if (creadores.size() < 1)
             throw new IllegalOperationException("The list of creadores should have at least 1 creador.");
 
-        podcast.setCreadores(new HashSet<CreadorEntity>());
+        List<CreadorEntity> creadorEntities = entityChecker.checkCreadoresExist(creadores);
+        var byId = new HashMap<Long, CreadorEntity>();
+        creadorEntities.forEach(creador -> byId.put(creador.getId(), creador));
 
+        // The name sent for each creador is compared with the ones already added
+        var nombres = new HashSet<String>();
         for (CreadorEntity creador : creadores) {
-            CreadorEntity creadorEnt = entityChecker.checkCreadorExists(creador.getId());
-
-            for (CreadorEntity cre : podcast.getCreadores()) {
-                if (cre.getNombre().equals(creador.getNombre()))
-                    throw new IllegalOperationException("Podcast cannot have two creadores with the same name");
-            }
-
-            addCreadorToPodcast(podcast.getId(), creadorEnt.getId());
+            if (nombres.contains(creador.getNombre()))
+                throw new IllegalOperationException("Podcast cannot have two creadores with the same name");
+            nombres.add(byId.get(creador.getId()).getNombre());
         }
 
+        Associations.replace(podcast.getCreadores(), creadorEntities);
         podcastService.updatePodcast(podcastId, podcast);
         return getCreadoresOfPodcast(podcastId);
     }
@@ -96,5 +112,8 @@ public class PodcastCreadorService {
 
         podcastService.updatePodcast(podcastId, podcast);
         podcast.getCreadores().remove(creador);
+        // updatePodcast indexed the creadores before the removal
+        facetIndexer.setPodcastCreadores(podcastId,
+                FacetIndexer.union(podcast.getCreadores(), creadorRepository.findIdsByPodcastId(podcastId)));
     }
 }
\ No newline at end of file
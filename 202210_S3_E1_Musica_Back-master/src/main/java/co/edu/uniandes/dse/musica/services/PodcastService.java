@@ -1,17 +1,26 @@
 package co.edu.uniandes.dse.musica.services;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.DetailCacheEvictor;
 import co.edu.uniandes.dse.musica.helpers.EntityChecker;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
 import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
+import co.edu.uniandes.dse.musica.repositories.TemaRepository;
 
 /**
  * Class that manages the logic for the Podcast entity.
@@ -20,7 +29,7 @@ import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
  * @author Esteban Gonzalez Ruales
  */
 @Service
-@Import(EntityChecker.class)
+@Import({ EntityChecker.class, DetailCacheEvictor.class, SearchIndexer.class, FacetIndexer.class })
 public class PodcastService {
 
     @Autowired
@@ -29,6 +38,21 @@ public class PodcastService {
     @Autowired
     EntityChecker entityChecker;
 
+    @Autowired
+    DetailCacheEvictor detailCacheEvictor;
+
+    @Autowired
+    SearchIndexer searchIndexer;
+
+    @Autowired
+    FacetIndexer facetIndexer;
+
+    @Autowired
+    private CreadorRepository creadorRepository;
+
+    @Autowired
+    private TemaRepository temaRepository;
+
     private final String NOT_EMPTY_TITLE = "Podcast cannot have an empty title.";
 
     /**
@@ -45,7 +69,10 @@ public class PodcastService {
         if (podcastEntity.getTitulo().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_TITLE);
 
-        return podcastRepository.save(podcastEntity);
+        PodcastEntity created = podcastRepository.save(podcastEntity);
+        searchIndexer.indexPodcast(created);
+        indexFacets(created);
+        return created;
     }
 
     /**
@@ -57,6 +84,7 @@ public class PodcastService {
     @Transactional
     public PodcastEntity getPodcast(Long podcastId) throws EntityNotFoundException {
         PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
+        fetchDetails(List.of(podcast));
 
         return podcast;
     }
@@ -73,13 +101,18 @@ public class PodcastService {
     @Transactional
     public PodcastEntity updatePodcast(Long podcastId, PodcastEntity podcastEntity)
             throws EntityNotFoundException, IllegalOperationException {
-        entityChecker.checkPodcastExists(podcastId);
+        PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
 
         if (podcastEntity.getTitulo().isEmpty())
             throw new IllegalOperationException(NOT_EMPTY_TITLE);
 
+        evictDetails(podcastId);
         podcastEntity.setId(podcastId);
-        return podcastRepository.save(podcastEntity);
+        podcastEntity.heredarVersion(podcast);
+        PodcastEntity updated = podcastRepository.save(podcastEntity);
+        searchIndexer.indexPodcast(updated);
+        indexFacets(updated);
+        return updated;
     }
 
     /**
@@ -89,8 +122,13 @@ public class PodcastService {
      */
     @Transactional
     public void deletePodcast(Long podcastId) throws EntityNotFoundException {
-        entityChecker.checkPodcastExists(podcastId);
+        PodcastEntity podcast = entityChecker.checkPodcastExists(podcastId);
+        evictDetails(podcastId);
+        // The capitulos are deleted with the podcast
+        searchIndexer.removeAll(SearchIndexer.CAPITULO, DetailCacheEvictor.idsOf(podcast.getCapitulos()));
         podcastRepository.deleteById(podcastId);
+        searchIndexer.remove(SearchIndexer.PODCAST, podcastId);
+        facetIndexer.removePodcast(podcastId);
     }
 
     /**
@@ -100,6 +138,67 @@ public class PodcastService {
      */
     @Transactional
     public List<PodcastEntity> getPodcasts() {
-        return podcastRepository.findAll();
+        List<PodcastEntity> podcasts = podcastRepository.findAll();
+        fetchDetails(podcasts);
+        return podcasts;
+    }
+
+    /**
+     * Gets a page of Podcasts.
+     *
+     * @param pageable Pageable: requested page, size and sort.
+     * @return Page of Podcasts.
+     */
+    @Transactional
+    public Page<PodcastEntity> getPodcasts(Pageable pageable) {
+        Page<PodcastEntity> podcasts = podcastRepository.findAll(pageable);
+        fetchDetails(podcasts.getContent());
+        return podcasts;
+    }
+
+    /**
+     * Gets a page of Podcasts with only the columns of PodcastDTO. Neither the entities
+     * nor their collections are loaded.
+     *
+     * @param pageable Pageable: requested page, size and sort.
+     * @return Page of PodcastDTO.
+     */
+    @Transactional(readOnly = true)
+    public Page<PodcastDTO> getPodcastsResumen(Pageable pageable) {
+        return podcastRepository.findAllSummaries(pageable);
+    }
+
+    /**
+     * Loads the creadores and capitulos of the given podcasts with one query per
+     * collection, no matter how many podcasts there are.
+     *
+     * @param podcasts List: podcasts already in the persistence context.
+     */
+    void fetchDetails(List<PodcastEntity> podcasts) {
+        if (podcasts.isEmpty())
+            return;
+        List<Long> ids = podcasts.stream().map(PodcastEntity::getId).collect(Collectors.toList());
+        podcastRepository.findWithCreadoresByIdIn(ids);
+        podcastRepository.findWithCapitulosByIdIn(ids);
+    }
+
+    /**
+     * Evicts the cached details of the podcast and of the creadores that show
+     * it.
+     */
+    private void evictDetails(Long podcastId) {
+        detailCacheEvictor.evictPodcast(podcastId);
+        detailCacheEvictor.evictCreadores(creadorRepository.findIdsByPodcastId(podcastId));
+    }
+
+    /**
+     * Updates the facets of the podcast with its precio and with the temas and
+     * creadores of both sides of each association.
+     */
+    private void indexFacets(PodcastEntity podcast) {
+        Long podcastId = podcast.getId();
+        facetIndexer.indexPodcast(podcastId, podcast.getPrecio(),
+                FacetIndexer.union(podcast.getTemas(), temaRepository.findIdsByPodcastId(podcastId)),
+                FacetIndexer.union(podcast.getCreadores(), creadorRepository.findIdsByPodcastId(podcastId)));
     }
-}
\ No newline at end of file
+}
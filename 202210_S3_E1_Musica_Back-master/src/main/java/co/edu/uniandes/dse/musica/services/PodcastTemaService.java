@@ -7,6 +7,7 @@ import java.util.Set;
 import javax.persistence.criteria.SetJoin;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,8 @@ import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 
 import co.edu.uniandes.dse.musica.repositories.TemaRepository;
 import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
@@ -22,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Import(FacetIndexer.class)
 public class PodcastTemaService {
 	
 	@Autowired
@@ -29,6 +33,9 @@ public class PodcastTemaService {
 
 	@Autowired
 	private TemaRepository temaRepository;
+
+	@Autowired
+	private FacetIndexer facetIndexer;
 	
 	@Transactional
 	public TemaEntity addTema(Long id, Long temaId) throws EntityNotFoundException {
@@ -42,6 +49,7 @@ public class PodcastTemaService {
 			throw new EntityNotFoundException(ErrorMessage.PODCAST_NOT_FOUND);
 
 		podcastEntity.get().getTemas().add(temaEntity.get());
+		indexTemas(podcastEntity.get());
 
 		return temaEntity.get();
 	}
@@ -86,7 +94,8 @@ public class PodcastTemaService {
 		if (podcastEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PODCAST_NOT_FOUND);
 
-		if (podcastEntity.get().getTemas().contains(temaEntity.get()))
+		if (Associations.contains(podcastEntity.get().getTemas(), temaEntity.get(),
+				() -> podcastRepository.hasTema(id, temaId)))
 			return temaEntity.get();
 
 		throw new IllegalOperationException("The tema is not associated to the podcast");
@@ -107,14 +116,9 @@ public class PodcastTemaService {
 		if (podcastEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PODCAST_NOT_FOUND);
 
-		for (TemaEntity tema : list) {
-			Optional<TemaEntity> temaEntity = temaRepository.findById(tema.getId());
-			if (temaEntity.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.TEMA_NOT_FOUND);
-
-			if (!podcastEntity.get().getTemas().contains(temaEntity.get()))
-				podcastEntity.get().getTemas().add(temaEntity.get());
-		}
+		List<TemaEntity> temas = Associations.findAllById(temaRepository, list, ErrorMessage.TEMA_NOT_FOUND);
+		Associations.addMissing(podcastEntity.get().getTemas(), temas);
+		indexTemas(podcastEntity.get());
 		return getTemas(id);
 	}
 
@@ -137,7 +141,18 @@ public class PodcastTemaService {
 		if (podcastEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.PODCAST_NOT_FOUND);
 		podcastEntity.get().getTemas().remove(temaEntity.get());
+		indexTemas(podcastEntity.get());
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Actualiza las facetas del podcast con los temas de ambos lados de la
+	 * asociacion.
+	 *
+	 * @param podcast Podcast cuyos temas cambiaron
+	 */
+	private void indexTemas(PodcastEntity podcast) {
+		facetIndexer.setPodcastTemas(podcast.getId(),
+				FacetIndexer.union(podcast.getTemas(), temaRepository.findIdsByPodcastId(podcast.getId())));
+	}
+}
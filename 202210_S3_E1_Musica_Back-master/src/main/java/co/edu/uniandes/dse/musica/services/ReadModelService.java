@@ -0,0 +1,194 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.lang.reflect.Type;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.helpers.Versioned;
+import co.edu.uniandes.dse.musica.mappers.DtoMapper;
+
+/**
+ * Read model used by the controllers. Runs the service calls of a request and
+ * maps their result to DTOs inside the same transaction, so every DTO leaves
+ * this class fully initialized and the database connection is released before
+ * the response is serialized. Open session in view is disabled, so entities
+ * must never be mapped outside of this class.
+ */
+@Service
+@Import(DtoMapper.class)
+public class ReadModelService {
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	/**
+	 * A call to one or more services that returns entities.
+	 *
+	 * @param <T> type returned by the call
+	 */
+	@FunctionalInterface
+	public interface ServiceCall<T> {
+		T call() throws EntityNotFoundException, IllegalOperationException;
+	}
+
+	/**
+	 * A call to one or more services that does not return anything.
+	 */
+	@FunctionalInterface
+	public interface ServiceCommand {
+		void run() throws EntityNotFoundException, IllegalOperationException;
+	}
+
+	/**
+	 * Runs the given call in a read only transaction and maps its result.
+	 *
+	 * @param call     the service call
+	 * @param dtoClass the class of the DTO to return
+	 * @return the DTO with the result of the call
+	 */
+	@Transactional(readOnly = true)
+	public <D> D read(ServiceCall<?> call, Class<D> dtoClass)
+			throws EntityNotFoundException, IllegalOperationException {
+		return dtoMapper.map(call.call(), dtoClass);
+	}
+
+	/**
+	 * Runs the given call in a read only transaction and maps its result to a
+	 * generic type, usually a collection of DTOs built with a TypeToken.
+	 *
+	 * @param call    the service call
+	 * @param dtoType the type of the DTO collection to return
+	 * @return the DTOs with the result of the call
+	 */
+	@Transactional(readOnly = true)
+	public <D> D read(ServiceCall<?> call, Type dtoType) throws EntityNotFoundException, IllegalOperationException {
+		return dtoMapper.map(call.call(), dtoType);
+	}
+
+	/**
+	 * Runs the given call in a read only transaction, maps its result and
+	 * computes the ETag and Last-Modified of the DTO from the versions of the
+	 * entities it was mapped from.
+	 *
+	 * @param call     the service call
+	 * @param dtoClass the class of the DTO to return
+	 * @return the DTO with its validators
+	 */
+	@Transactional(readOnly = true)
+	public <D> Versioned<D> readVersioned(ServiceCall<?> call, Class<D> dtoClass)
+			throws EntityNotFoundException, IllegalOperationException {
+		Object source = call.call();
+		return Versioned.of(source, dtoClass, dtoMapper.map(source, dtoClass));
+	}
+
+	/**
+	 * Runs the given call in a read only transaction, maps its result to a
+	 * generic type and computes the ETag of the DTOs.
+	 *
+	 * @param call    the service call
+	 * @param dtoType the type of the DTO collection to return
+	 * @return the DTOs with their validators
+	 */
+	@Transactional(readOnly = true)
+	public <D> Versioned<D> readVersioned(ServiceCall<?> call, Type dtoType)
+			throws EntityNotFoundException, IllegalOperationException {
+		Object source = call.call();
+		D dto = dtoMapper.map(source, dtoType);
+		return Versioned.of(source, dtoType, dto);
+	}
+
+	/**
+	 * Runs the given call in a read only transaction and maps every element of
+	 * the returned page.
+	 *
+	 * @param call     the service call
+	 * @param dtoClass the class of the DTOs of the page
+	 * @return the page of DTOs
+	 */
+	@Transactional(readOnly = true)
+	public <E, D> Page<D> readPage(ServiceCall<Page<E>> call, Class<D> dtoClass)
+			throws EntityNotFoundException, IllegalOperationException {
+		return call.call().map(entity -> dtoMapper.map(entity, dtoClass));
+	}
+
+	/**
+	 * Runs the given call in a read only transaction and maps every element of
+	 * the returned keyset page.
+	 *
+	 * @param call     the service call
+	 * @param dtoClass the class of the DTOs of the page
+	 * @return the keyset page of DTOs
+	 */
+	@Transactional(readOnly = true)
+	public <E, D> KeysetPage<D> readKeysetPage(ServiceCall<KeysetPage<E>> call, Class<D> dtoClass)
+			throws EntityNotFoundException, IllegalOperationException {
+		return call.call().map(entity -> dtoMapper.map(entity, dtoClass));
+	}
+
+	/**
+	 * Runs the given call in a read-write transaction and maps its result. Every
+	 * service called joins this transaction, so they are committed together.
+	 *
+	 * @param call     the service call
+	 * @param dtoClass the class of the DTO to return
+	 * @return the DTO with the result of the call
+	 */
+	@Transactional(rollbackFor = { EntityNotFoundException.class, IllegalOperationException.class })
+	public <D> D write(ServiceCall<?> call, Class<D> dtoClass)
+			throws EntityNotFoundException, IllegalOperationException {
+		return dtoMapper.map(call.call(), dtoClass);
+	}
+
+	/**
+	 * Runs the given call in a read-write transaction only if the resource still
+	 * has the ETag sent in If-Match. The ETag is computed again inside the same
+	 * transaction, and the version loaded with it guards the update against
+	 * concurrent writers.
+	 *
+	 * @param ifMatch         value of the If-Match header, or null to skip the check
+	 * @param current         service call that returns the resource as it is
+	 * @param currentDtoClass the class of the DTO the ETag was issued for
+	 * @param call            the service call that updates the resource
+	 * @param dtoClass        the class of the DTO to return
+	 * @return the DTO with the result of the call
+	 * @throws IllegalOperationException if the resource was modified
+	 */
+	@Transactional(rollbackFor = { EntityNotFoundException.class, IllegalOperationException.class })
+	public <D> D writeIfMatch(String ifMatch, ServiceCall<?> current, Class<?> currentDtoClass, ServiceCall<?> call,
+			Class<D> dtoClass) throws EntityNotFoundException, IllegalOperationException {
+		if (ifMatch != null && !Versioned.matches(ifMatch, Versioned.of(current.call(), currentDtoClass, null).getEtag()))
+			throw new IllegalOperationException(ErrorMessage.RESOURCE_MODIFIED);
+		return dtoMapper.map(call.call(), dtoClass);
+	}
+
+	/**
+	 * Runs the given call in a read-write transaction and maps its result to a
+	 * generic type, usually a collection of DTOs built with a TypeToken.
+	 *
+	 * @param call    the service call
+	 * @param dtoType the type of the DTO collection to return
+	 * @return the DTOs with the result of the call
+	 */
+	@Transactional(rollbackFor = { EntityNotFoundException.class, IllegalOperationException.class })
+	public <D> D write(ServiceCall<?> call, Type dtoType) throws EntityNotFoundException, IllegalOperationException {
+		return dtoMapper.map(call.call(), dtoType);
+	}
+
+	/**
+	 * Runs the given command in a read-write transaction.
+	 *
+	 * @param command the service calls to run together
+	 */
+	@Transactional(rollbackFor = { EntityNotFoundException.class, IllegalOperationException.class })
+	public void write(ServiceCommand command) throws EntityNotFoundException, IllegalOperationException {
+		command.run();
+	}
+}
@@ -0,0 +1,319 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.exceptions.ServiceUnavailableException;
+import co.edu.uniandes.dse.musica.helpers.PlayEventRing;
+import co.edu.uniandes.dse.musica.repositories.UsuarioRepository;
+
+/**
+ * Records the plays of canciones and capitulos by the usuarios.
+ *
+ * A request only parses its plays and copies them to a bounded in-memory
+ * buffer; a writer thread drains the buffer and inserts the plays in JDBC
+ * batches, one transaction per batch. When the buffer has no room for the
+ * plays of a request they are all rejected and the client is told to retry,
+ * so a slow database pushes back on the clients instead of filling the heap.
+ *
+ * A batch that cannot be written goes back to the buffer and the writer tries
+ * again after flushMillis. If new plays took its room meanwhile, its plays
+ * are lost and counted by {@link #lost()}. The plays accepted but not yet
+ * written are also lost if the process dies, or if they still cannot be
+ * written when the application stops normally.
+ */
+@Service
+public class ReproduccionService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReproduccionService.class);
+
+	private static final String INSERT = "insert into reproduccion_entity (usuario_id, cancion_id, capitulo_id, fecha) values (?, ?, ?, ?)";
+
+	private static final String CANCION_ID = "cancionId";
+	private static final String CAPITULO_ID = "capituloId";
+	private static final String FECHA = "fecha";
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Plays the buffer holds, rounded up to a power of two.
+	 */
+	@Value("${musica.reproducciones.capacity:65536}")
+	private int capacity;
+
+	/**
+	 * Plays inserted in each transaction. The writer also wakes up when this
+	 * many plays are waiting.
+	 */
+	@Value("${musica.reproducciones.batch-size:1000}")
+	private int batchSize;
+
+	/**
+	 * Longest time a play waits in the buffer when fewer than a batch arrive.
+	 */
+	@Value("${musica.reproducciones.flush-millis:100}")
+	private long flushMillis;
+
+	private PlayEventRing ring;
+
+	/**
+	 * Batch reused by every flush. Flushing holds its lock.
+	 */
+	private PlayEventRing.Batch written;
+
+	private Thread writer;
+
+	@PostConstruct
+	void start() {
+		ring = new PlayEventRing(capacity);
+		written = new PlayEventRing.Batch(batchSize);
+		writer = new Thread(this::write, "play-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		writer.interrupt();
+		writer.join();
+		try {
+			flush();
+		} catch (DataAccessException e) {
+			LOG.error("Could not write {} plays before stopping", ring.size(), e);
+		}
+	}
+
+	/**
+	 * Accepts the plays of a usuario, to be written shortly after.
+	 *
+	 * The body is a play or an array of plays. A play has either a cancionId or
+	 * a capituloId and optionally a fecha, as an ISO-8601 instant or as
+	 * milliseconds since the epoch; without one it is the time of the request.
+	 *
+	 * @param usuarioId id of the usuario that played them
+	 * @param in        body of the request, read until its end
+	 * @return number of plays accepted
+	 * @throws EntityNotFoundException     if the usuario does not exist
+	 * @throws IllegalOperationException   if the body or a play is not valid, or
+	 *                                     there are more plays than the buffer
+	 *                                     holds; no play is accepted then
+	 * @throws ServiceUnavailableException if the buffer has no room for the
+	 *                                     plays; none is accepted then
+	 * @throws IOException                 if the body cannot be read
+	 */
+	public int record(Long usuarioId, InputStream in)
+			throws EntityNotFoundException, IllegalOperationException, ServiceUnavailableException, IOException {
+		// A usuario in the second level cache exists, and is found without taking a
+		// connection the writer may need
+		if (!entityManagerFactory.getCache().contains(UsuarioEntity.class, usuarioId)
+				&& usuarioRepository.findById(usuarioId).isEmpty())
+			throw new EntityNotFoundException(ErrorMessage.USUARIO_NOT_FOUND);
+		PlayEventRing.Batch batch = parse(usuarioId, in, System.currentTimeMillis(), ring.capacity());
+		if (!ring.offer(batch))
+			throw new ServiceUnavailableException(ErrorMessage.PLAYS_BUFFER_FULL);
+		return batch.size();
+	}
+
+	/**
+	 * Writes every play waiting in the buffer. When a batch cannot be written it
+	 * goes back to the buffer and the flush stops.
+	 *
+	 * @return number of plays written
+	 * @throws DataAccessException if a batch cannot be written
+	 */
+	public int flush() {
+		synchronized (written) {
+			int total = 0;
+			while (ring.drain(written, batchSize) > 0) {
+				try {
+					insert(written);
+				} catch (DataAccessException e) {
+					if (!ring.requeue(written))
+						LOG.error("Lost {} plays that could not be written", written.size());
+					throw e;
+				}
+				total += written.size();
+			}
+			return total;
+		}
+	}
+
+	/**
+	 * Number of plays accepted and not yet written.
+	 */
+	public int pending() {
+		return ring.size();
+	}
+
+	/**
+	 * Number of plays rejected because the buffer was full.
+	 */
+	public long rejected() {
+		return ring.rejected();
+	}
+
+	/**
+	 * Number of plays accepted that could not be written nor kept in the buffer.
+	 */
+	public long lost() {
+		return ring.lost();
+	}
+
+	/**
+	 * Body of the writer thread: flushes when a batch is waiting or every
+	 * flushMillis, until the application stops. After a batch fails it waits
+	 * flushMillis before trying again, even if a batch is waiting.
+	 */
+	private void write() {
+		while (true) {
+			try {
+				ring.await(batchSize, flushMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				return;
+			}
+			try {
+				flush();
+			} catch (DataAccessException e) {
+				LOG.error("Could not write the plays of a batch, retrying in {} ms", flushMillis, e);
+				try {
+					TimeUnit.MILLISECONDS.sleep(flushMillis);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+			}
+		}
+	}
+
+	private void insert(PlayEventRing.Batch batch) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(
+				status -> jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						ps.setLong(1, batch.usuario(i));
+						setId(ps, 2, batch.cancion(i));
+						setId(ps, 3, batch.capitulo(i));
+						ps.setTimestamp(4, new Timestamp(batch.fecha(i)));
+					}
+
+					@Override
+					public int getBatchSize() {
+						return batch.size();
+					}
+				}));
+	}
+
+	private static void setId(PreparedStatement ps, int index, long id) throws SQLException {
+		if (id == 0)
+			ps.setNull(index, Types.BIGINT);
+		else
+			ps.setLong(index, id);
+	}
+
+	/**
+	 * Reads the plays with the streaming parser, without building a tree or a
+	 * DTO per play. It stops as soon as there are more plays than the given
+	 * maximum, so a body that can never fit in the buffer does not grow the
+	 * batch any further.
+	 */
+	private PlayEventRing.Batch parse(long usuarioId, InputStream in, long now, int max)
+			throws IllegalOperationException, IOException {
+		PlayEventRing.Batch batch = new PlayEventRing.Batch(16);
+		try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_OBJECT) {
+				readPlay(parser, usuarioId, now, batch);
+			} else if (token == JsonToken.START_ARRAY) {
+				while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+					readPlay(parser, usuarioId, now, batch);
+					if (batch.size() > max)
+						throw new IllegalOperationException(ErrorMessage.TOO_MANY_PLAYS);
+				}
+				if (token != JsonToken.END_ARRAY)
+					throw new IllegalOperationException(ErrorMessage.INVALID_PLAYS_BODY);
+			} else {
+				throw new IllegalOperationException(ErrorMessage.INVALID_PLAYS_BODY);
+			}
+			if (parser.nextToken() != null)
+				throw new IllegalOperationException(ErrorMessage.INVALID_PLAYS_BODY);
+		} catch (JsonProcessingException e) {
+			throw new IllegalOperationException("Invalid JSON: " + e.getOriginalMessage());
+		}
+		return batch;
+	}
+
+	private static void readPlay(JsonParser parser, long usuarioId, long now, PlayEventRing.Batch batch)
+			throws IllegalOperationException, IOException {
+		long cancion = 0;
+		long capitulo = 0;
+		long fecha = now;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (value == JsonToken.VALUE_NULL)
+				continue;
+			if (CANCION_ID.equals(field))
+				cancion = parser.getLongValue();
+			else if (CAPITULO_ID.equals(field))
+				capitulo = parser.getLongValue();
+			else if (FECHA.equals(field))
+				fecha = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : parseFecha(parser.getText());
+			else
+				parser.skipChildren();
+		}
+		if (cancion < 0 || capitulo < 0 || (cancion == 0) == (capitulo == 0))
+			throw new IllegalOperationException(ErrorMessage.INVALID_PLAY);
+		batch.add(usuarioId, cancion, capitulo, fecha);
+	}
+
+	private static long parseFecha(String text) throws IllegalOperationException {
+		try {
+			return Instant.parse(text).toEpochMilli();
+		} catch (DateTimeParseException e) {
+			throw new IllegalOperationException("Invalid fecha: " + text);
+		}
+	}
+}
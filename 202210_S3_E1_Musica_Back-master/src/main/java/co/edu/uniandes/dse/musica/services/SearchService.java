@@ -0,0 +1,113 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.SearchResultDTO;
+import co.edu.uniandes.dse.musica.helpers.InvertedIndex;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.CapituloRepository;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
+
+/**
+ * Full-text search over canciones, albumes, creadores, podcasts and capitulos.
+ * The index lives in memory: it is built from the database when the
+ * application starts and the services keep it up to date through
+ * {@link SearchIndexer}.
+ */
+@Service
+@Import(SearchIndexer.class)
+public class SearchService {
+
+	@Autowired
+	private SearchIndexer searchIndexer;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	@Autowired
+	private PodcastRepository podcastRepository;
+
+	@Autowired
+	private CapituloRepository capituloRepository;
+
+	/**
+	 * Finds the entities that contain every word of a query, best first.
+	 *
+	 * @param query text to search
+	 * @param limit maximum number of results, between 1 and
+	 *              {@link KeysetPage#MAX_LIMIT}
+	 * @return the results, sorted by descending score
+	 */
+	public List<SearchResultDTO> search(String query, int limit) {
+		return search(query, limit, false);
+	}
+
+	/**
+	 * Finds the entities that contain every word of a query, best first. A fuzzy
+	 * search also finds the words that are misspelled: one letter off in words
+	 * of up to five letters, two in longer words, or written differently but
+	 * sounding the same. Exact matches score higher.
+	 *
+	 * @param query text to search
+	 * @param limit maximum number of results, between 1 and
+	 *              {@link KeysetPage#MAX_LIMIT}
+	 * @param fuzzy whether misspelled words match too
+	 * @return the results, sorted by descending score
+	 */
+	public List<SearchResultDTO> search(String query, int limit, boolean fuzzy) {
+		return searchIndexer.getIndex().search(query, KeysetPage.clampLimit(limit), fuzzy).stream()
+				.map(hit -> new SearchResultDTO(hit.getType(), hit.getId(), hit.getTitle(), hit.getScore()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Builds the index again from the database. Only the ids and texts are read,
+	 * no entity is loaded.
+	 *
+	 * @return number of documents in the index
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public int rebuild() {
+		InvertedIndex index = searchIndexer.getIndex();
+		index.clear();
+		try (Stream<CancionDTO> canciones = cancionRepository.streamAllSummaries()) {
+			canciones.forEach(c -> index.put(SearchIndexer.CANCION, c.getId(), c.getTitulo(), c.getTitulo()));
+		}
+		putAll(SearchIndexer.ALBUM, albumRepository.streamSearchTexts());
+		putAll(SearchIndexer.CREADOR, creadorRepository.streamSearchTexts());
+		putAll(SearchIndexer.CAPITULO, capituloRepository.streamSearchTexts());
+		try (Stream<Object[]> podcasts = podcastRepository.streamSearchTexts()) {
+			podcasts.forEach(row -> index.put(SearchIndexer.PODCAST, (Long) row[0], (String) row[1],
+					SearchIndexer.podcastText((String) row[1], (String) row[2])));
+		}
+		return index.size();
+	}
+
+	private void putAll(String type, Stream<Object[]> rows) {
+		InvertedIndex index = searchIndexer.getIndex();
+		try (rows) {
+			rows.forEach(row -> index.put(type, (Long) row[0], (String) row[1], (String) row[1]));
+		}
+	}
+}
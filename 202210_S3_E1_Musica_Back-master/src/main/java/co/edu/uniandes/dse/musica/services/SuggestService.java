@@ -0,0 +1,169 @@
+package co.edu.uniandes.dse.musica.services;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.SuggestionDTO;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import co.edu.uniandes.dse.musica.helpers.SuggestionTrie;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
+
+/**
+ * Type-ahead suggestions of the names of canciones, albumes, creadores and
+ * podcasts. The suggestions live in memory: they are built from the database
+ * when the application starts and the services keep them up to date through
+ * {@link SearchIndexer}.
+ *
+ * The popularity of a cancion is the number of playlists it is in. An album
+ * adds up the popularity of its canciones and a creador the popularity of its
+ * albumes. A podcast counts its capitulos. The playlist services tell this
+ * class when canciones enter or leave a playlist, so those popularities stay
+ * current between rebuilds; the capitulos of a podcast are only counted again
+ * on a rebuild.
+ */
+@Service
+@Import(SearchIndexer.class)
+public class SuggestService {
+
+	@Autowired
+	private SearchIndexer searchIndexer;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	@Autowired
+	private PodcastRepository podcastRepository;
+
+	/**
+	 * Finds the most popular names that start with a prefix.
+	 *
+	 * @param prefix start of the name, accents and case do not matter
+	 * @param limit  maximum number of suggestions
+	 * @return the suggestions, most popular first
+	 */
+	public List<SuggestionDTO> suggest(String prefix, int limit) {
+		return searchIndexer.getSuggestions().suggest(prefix, limit).stream()
+				.map(s -> new SuggestionDTO(s.getType(), s.getId(), s.getText(), s.getPopularity()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Adds one to the popularity of canciones that entered a playlist, and to
+	 * that of their albumes and creadores, as a rebuild would count them. The
+	 * suggestions change once the transaction commits.
+	 *
+	 * @param cancionIds canciones that were not in the playlist
+	 */
+	@Transactional
+	public void addedToPlaylist(Collection<Long> cancionIds) {
+		addPopularity(cancionIds, 1);
+	}
+
+	/**
+	 * Takes one from the popularity of canciones that left a playlist, and from
+	 * that of their albumes and creadores.
+	 *
+	 * @param cancionIds canciones that are no longer in the playlist
+	 */
+	@Transactional
+	public void removedFromPlaylist(Collection<Long> cancionIds) {
+		addPopularity(cancionIds, -1);
+	}
+
+	/**
+	 * Builds the suggestions again from the database. Only ids, names and
+	 * counts are read, no entity is loaded.
+	 *
+	 * @return number of names that can be suggested
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public int rebuild() {
+		Map<Long, Long> canciones = counts(cancionRepository.countPlaylistsByCancion());
+		Map<Long, Long> albumes = sums(albumRepository.streamCancionIds(), canciones);
+		Map<Long, Long> creadores = sums(creadorRepository.streamAlbumIds(), albumes);
+		Map<Long, Long> podcasts = counts(podcastRepository.countCapitulosByPodcast());
+
+		SuggestionTrie suggestions = searchIndexer.getSuggestions();
+		suggestions.clear();
+		try (Stream<CancionDTO> rows = cancionRepository.streamAllSummaries()) {
+			rows.forEach(c -> suggestions.put(SearchIndexer.CANCION, c.getId(), c.getTitulo(),
+					canciones.getOrDefault(c.getId(), 0L)));
+		}
+		putAll(SearchIndexer.ALBUM, albumRepository.streamSearchTexts(), albumes);
+		putAll(SearchIndexer.CREADOR, creadorRepository.streamSearchTexts(), creadores);
+		putAll(SearchIndexer.PODCAST, podcastRepository.streamSearchTexts(), podcasts);
+		return suggestions.size();
+	}
+
+	/**
+	 * An album gains the delta once for each of the canciones it has, and a
+	 * creador once for each album and cancion, as the sums of a rebuild do.
+	 */
+	private void addPopularity(Collection<Long> cancionIds, long delta) {
+		if (cancionIds.isEmpty())
+			return;
+		searchIndexer.addPopularity(SearchIndexer.CANCION, tally(cancionIds, delta));
+		searchIndexer.addPopularity(SearchIndexer.ALBUM, tally(albumRepository.findIdsByCancionIdIn(cancionIds), delta));
+		searchIndexer.addPopularity(SearchIndexer.CREADOR,
+				tally(creadorRepository.findIdsByCancionIdIn(cancionIds), delta));
+	}
+
+	private static Map<Long, Long> tally(Collection<Long> ids, long delta) {
+		Map<Long, Long> deltas = new HashMap<>();
+		for (Long id : ids)
+			deltas.merge(id, delta, Long::sum);
+		return deltas;
+	}
+
+	private void putAll(String type, Stream<Object[]> rows, Map<Long, Long> popularity) {
+		SuggestionTrie suggestions = searchIndexer.getSuggestions();
+		try (rows) {
+			rows.forEach(row -> suggestions.put(type, (Long) row[0], (String) row[1],
+					popularity.getOrDefault((Long) row[0], 0L)));
+		}
+	}
+
+	private static Map<Long, Long> counts(List<Object[]> rows) {
+		Map<Long, Long> counts = new HashMap<>();
+		for (Object[] row : rows)
+			counts.put((Long) row[0], (Long) row[1]);
+		return counts;
+	}
+
+	/**
+	 * Adds up, for each owner, the counts of the items it has.
+	 */
+	private static Map<Long, Long> sums(Stream<Object[]> pairs, Map<Long, Long> itemCounts) {
+		Map<Long, Long> sums = new HashMap<>();
+		try (pairs) {
+			pairs.forEach(pair -> {
+				Long count = itemCounts.get((Long) pair[1]);
+				if (count != null)
+					sums.merge((Long) pair[0], count, Long::sum);
+			});
+		}
+		return sums;
+	}
+}
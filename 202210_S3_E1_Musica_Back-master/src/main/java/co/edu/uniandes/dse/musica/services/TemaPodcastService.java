@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +13,8 @@ import co.edu.uniandes.dse.musica.entities.TemaEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 
 import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
 import co.edu.uniandes.dse.musica.repositories.TemaRepository;
@@ -19,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Import(FacetIndexer.class)
 public class TemaPodcastService {
 	
 	@Autowired
@@ -26,6 +30,9 @@ public class TemaPodcastService {
 
 	@Autowired
 	private PodcastRepository podcastRepository;
+
+	@Autowired
+	private FacetIndexer facetIndexer;
 	
 	@Transactional
 	public PodcastEntity addPodcast(Long Id, Long podcastId) throws EntityNotFoundException {
@@ -39,6 +46,7 @@ public class TemaPodcastService {
 			throw new EntityNotFoundException(ErrorMessage.TEMA_NOT_FOUND);
 
 		temaEntity.get().getPodcasts().add(podcastEntity.get());
+		indexPodcasts(temaEntity.get());
 
 		return podcastEntity.get();
 	}
@@ -62,6 +70,23 @@ public class TemaPodcastService {
 		return temaEntity.get().getPodcasts();
 	}
 
+	/**
+	 * Cuenta los podcasts asociados a una instancia de Tema sin cargarlos: la
+	 * coleccion es extra lazy, su tamaño se consulta en la tabla de union.
+	 *
+	 * @param Id Identificador de la instancia de un Tema
+	 * @return Numero de podcasts asociados al Tema
+	 */
+	@Transactional
+	public int countPodcasts(Long Id) throws EntityNotFoundException {
+
+		Optional<TemaEntity> temaEntity = temaRepository.findById(Id);
+		if (temaEntity.isEmpty())
+			throw new EntityNotFoundException(ErrorMessage.TEMA_NOT_FOUND);
+
+		return temaEntity.get().getPodcasts().size();
+	}
+
 	/**
 	 * Obtiene una instancia de PodcastEntity asociada a una instancia de Tema
 	 *
@@ -103,14 +128,9 @@ public class TemaPodcastService {
 		if (temaEntity.isEmpty())
 			throw new EntityNotFoundException(ErrorMessage.TEMA_NOT_FOUND);
 
-		for (PodcastEntity podcast : list) {
-			Optional<PodcastEntity> podcastEntity = podcastRepository.findById(podcast.getId());
-			if (podcastEntity.isEmpty())
-				throw new EntityNotFoundException(ErrorMessage.PODCAST_NOT_FOUND);
-
-			if (!temaEntity.get().getPodcasts().contains(podcastEntity.get()))
-				temaEntity.get().getPodcasts().add(podcastEntity.get());
-		}
+		List<PodcastEntity> podcasts = Associations.findAllById(podcastRepository, list, ErrorMessage.PODCAST_NOT_FOUND);
+		Associations.addMissing(temaEntity.get().getPodcasts(), podcasts);
+		indexPodcasts(temaEntity.get());
 		return getPodcasts(Id);
 	}
 
@@ -132,7 +152,18 @@ public class TemaPodcastService {
 			throw new EntityNotFoundException(ErrorMessage.TEMA_NOT_FOUND);
 
 		temaEntity.get().getPodcasts().remove(podcastEntity.get());
+		indexPodcasts(temaEntity.get());
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Actualiza las facetas del tema con los podcasts de ambos lados de la
+	 * asociacion.
+	 *
+	 * @param tema Tema cuyos podcasts cambiaron
+	 */
+	private void indexPodcasts(TemaEntity tema) {
+		facetIndexer.setTemaPodcasts(tema.getId(),
+				FacetIndexer.union(tema.getPodcasts(), podcastRepository.findIdsByTemaId(tema.getId())));
+	}
+}
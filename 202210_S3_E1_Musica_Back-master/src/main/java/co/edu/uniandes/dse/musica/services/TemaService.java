@@ -6,16 +6,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.TemaDTO;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.entities.TemaEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
 import co.edu.uniandes.dse.musica.repositories.PodcastRepository;
 import co.edu.uniandes.dse.musica.repositories.TemaRepository;
 
@@ -26,6 +30,7 @@ import co.edu.uniandes.dse.musica.repositories.TemaRepository;
  * @author Andres Parraga.
  */
 @Service
+@Import(FacetIndexer.class)
 public class TemaService {
 
 	@Autowired
@@ -34,6 +39,9 @@ public class TemaService {
 	@Autowired
 	PodcastRepository podcastRepository;
 
+	@Autowired
+	FacetIndexer facetIndexer;
+
 	@Transactional
 	public TemaEntity createtema (TemaEntity tema) throws IllegalOperationException {
 
@@ -59,6 +67,24 @@ public class TemaService {
 		return temaRepository.findAll();
 	}
 	
+	@Transactional
+	public Page<TemaEntity> getTemas(Pageable pageable) {
+		//retorna una pagina de los temas en la base de datos
+		return temaRepository.findAll(pageable);
+	}
+
+	/**
+	 * Obtiene una pagina de temas con solo las columnas de TemaDTO. No carga
+	 * entidades ni sus colecciones.
+	 *
+	 * @param pageable Pagina, tamaño y orden solicitados
+	 * @return Pagina de objetos de TemaDTO.
+	 */
+	@Transactional(readOnly = true)
+	public Page<TemaDTO> getTemasResumen(Pageable pageable) {
+		return temaRepository.findAllSummaries(pageable);
+	}
+	
 	@Transactional
 	public TemaEntity getTema(Long id) throws EntityNotFoundException {
 		//retorna el tema buscado, tira excepcion si no se encuentra
@@ -80,7 +106,10 @@ public class TemaService {
 		
 		temaCambiado.setId(id);
 		
-		return temaRepository.save(temaCambiado);
+		temaCambiado.heredarVersion(temaEntity.get());
+		TemaEntity actualizado = temaRepository.save(temaCambiado);
+		facetIndexer.setTemaPodcasts(id, FacetIndexer.union(actualizado.getPodcasts(), podcastRepository.findIdsByTemaId(id)));
+		return actualizado;
 	}
 	
 	@Transactional
@@ -92,6 +121,7 @@ public class TemaService {
 		}
 		
 	temaRepository.deleteById(id);
+	facetIndexer.removeTema(id);
 	}
 	
 	
@@ -12,6 +12,7 @@ import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Associations;
 import co.edu.uniandes.dse.musica.repositories.PlaylistRepository;
 import co.edu.uniandes.dse.musica.repositories.UsuarioRepository;
 
@@ -56,6 +57,23 @@ public class UsuarioPlaylistService {
         return usuarioEntity.get().getPlaylists();
     	
     }
+
+    /**
+     * Cuenta las playlists de un Usuario sin cargarlas: la coleccion es extra
+     * lazy, su tamaño se consulta en la tabla de union.
+     *
+     * @param usuarioId Identificador de la instancia del Usuario
+     * @return Numero de playlists del Usuario
+     * @throws EntityNotFoundException si el Usuario no existe
+     */
+    @Transactional
+    public int countPlaylists(Long usuarioId) throws EntityNotFoundException {
+        java.util.Optional<UsuarioEntity> usuarioEntity = usuarioRepository.findById(usuarioId);
+        if (usuarioEntity.isEmpty())
+            throw new EntityNotFoundException(ErrorMessage.USUARIO_NOT_FOUND);
+
+        return usuarioEntity.get().getPlaylists().size();
+    }
     @Transactional
     public PlaylistEntity getPlaylist(Long playlistId, Long usuarioId)
                     throws EntityNotFoundException, IllegalOperationException {
@@ -82,14 +100,8 @@ public class UsuarioPlaylistService {
          if (usuarioEntity.isEmpty())
                  throw new EntityNotFoundException(ErrorMessage.USUARIO_NOT_FOUND);
 
-         for (PlaylistEntity playlist : lista) {
-                 java.util.Optional<PlaylistEntity> playlistEntity = playlistRepository.findById(playlist.getId());
-                 if (playlistEntity.isEmpty())
-                         throw new EntityNotFoundException(ErrorMessage.PLAYLIST_NOT_FOUND);
-
-                 if (!usuarioEntity.get().getPlaylists().contains(playlistEntity.get()))
-                	 usuarioEntity.get().getPlaylists().add(playlistEntity.get());
-         }
+         List<PlaylistEntity> playlists = Associations.findAllById(playlistRepository, lista, ErrorMessage.PLAYLIST_NOT_FOUND);
+         Associations.addMissing(usuarioEntity.get().getPlaylists(), playlists);
          return getPlaylists(usuarioId);
     
     }
@@ -2,11 +2,15 @@ package co.edu.uniandes.dse.musica.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import co.edu.uniandes.dse.musica.dto.UsuarioDTO;
 import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
 import co.edu.uniandes.dse.musica.repositories.UsuarioRepository;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
@@ -43,7 +47,38 @@ public class UsuarioService {
 
         @Transactional
         public List<UsuarioEntity> getUsuarios(){
-                return usuarioRepository.findAll();
+                List<UsuarioEntity> usuarios = usuarioRepository.findAll();
+                fetchPlaylists(usuarios);
+                return usuarios;
+          }
+
+        @Transactional
+        public Page<UsuarioEntity> getUsuarios(Pageable pageable){
+                Page<UsuarioEntity> usuarios = usuarioRepository.findAll(pageable);
+                fetchPlaylists(usuarios.getContent());
+                return usuarios;
+          }
+
+        /**
+         * Obtiene una pagina de usuarios con solo las columnas de UsuarioDTO. No carga
+         * entidades ni sus colecciones.
+         *
+         * @param pageable Pagina, tamaño y orden solicitados
+         * @return Pagina de objetos de UsuarioDTO.
+         */
+        @Transactional(readOnly = true)
+        public Page<UsuarioDTO> getUsuariosResumen(Pageable pageable) {
+            return usuarioRepository.findAllSummaries(pageable);
+        }
+
+        /**
+         * Loads the playlists of the given usuarios in a single query.
+         */
+        private void fetchPlaylists(List<UsuarioEntity> usuarios){
+                if (usuarios.isEmpty())
+                        return;
+                usuarioRepository.findWithPlaylistsByIdIn(
+                                usuarios.stream().map(UsuarioEntity::getId).collect(Collectors.toList()));
           }
           
           
@@ -58,6 +93,7 @@ public class UsuarioService {
         	  Optional<UsuarioEntity> usuarioEntity = usuarioRepository.findById(authorid);
         		if (usuarioEntity.isEmpty())
         			throw new EntityNotFoundException (ErrorMessage.USUARIO_NOT_FOUND);
+        		fetchPlaylists(List.of(usuarioEntity.get()));
         		return usuarioEntity.get();
           }
 
@@ -93,6 +129,7 @@ public class UsuarioService {
       		if (usuarioEntity.isEmpty())
       			throw new EntityNotFoundException(ErrorMessage.USUARIO_NOT_FOUND);
       		usuario.setId(id);
+      		usuario.heredarVersion(usuarioEntity.get());
       		return usuarioRepository.save(usuario);
           }
           
@@ -0,0 +1,178 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.musica.config.CacheConfig;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.services.AlbumCancionService;
+import co.edu.uniandes.dse.musica.services.CancionService;
+import co.edu.uniandes.dse.musica.services.CreadorAlbumService;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for DetailCacheEvictor. The tests use the Caffeine caches instead of
+ * the no-op ones of the test slices, and run outside of a transaction so each
+ * one controls when its transactions end.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ CacheConfig.class, DetailCacheEvictor.class, AlbumCancionService.class, CancionService.class,
+		CreadorAlbumService.class })
+class DetailCacheEvictorTest {
+
+	@Autowired
+	private DetailCacheEvictor detailCacheEvictor;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private AlbumCancionService albumCancionService;
+
+	@Autowired
+	private CancionService cancionService;
+
+	@Autowired
+	private CreadorAlbumService creadorAlbumService;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private AlbumEntity album;
+
+	private CancionEntity cancion;
+
+	private CreadorEntity creador;
+
+	private Cache albums;
+
+	private Cache creadores;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		album = albumRepository.save(factory.manufacturePojo(AlbumEntity.class));
+		cancion = cancionRepository.save(factory.manufacturePojo(CancionEntity.class));
+		creador = creadorRepository.save(factory.manufacturePojo(CreadorEntity.class));
+		albums = cacheManager.getCache(CacheConfig.ALBUM_DETAIL);
+		creadores = cacheManager.getCache(CacheConfig.CREADOR_DETAIL);
+		albums.put(album.getId(), "album");
+		creadores.put(creador.getId(), "creador");
+	}
+
+	/**
+	 * Clean tables and caches in the test.
+	 */
+	@AfterEach
+	void tearDown() {
+		albums.clear();
+		creadores.clear();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			albumRepository.findAll().forEach(a -> a.getCanciones().clear());
+			cancionRepository.findAll().forEach(c -> c.getAlbumes().clear());
+			creadorRepository.findAll().forEach(c -> c.getAlbumes().clear());
+		});
+		albumRepository.deleteAll();
+		creadorRepository.deleteAll();
+		cancionRepository.deleteAll();
+	}
+
+	/**
+	 * Test to evict an entry outside of a transaction.
+	 */
+	@Test
+	void testEvict() {
+		detailCacheEvictor.evictAlbums(List.of(album.getId()));
+		assertNull(albums.get(album.getId()));
+		assertNotNull(creadores.get(creador.getId()));
+	}
+
+	/**
+	 * Test that an entry cached again before the commit is evicted once the
+	 * transaction ends.
+	 */
+	@Test
+	void testEvictAfterCommit() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			detailCacheEvictor.evictAlbum(album.getId());
+			assertNull(albums.get(album.getId()));
+			albums.put(album.getId(), "stale");
+		});
+		assertNull(albums.get(album.getId()));
+	}
+
+	/**
+	 * Test that adding a cancion to an album evicts the album.
+	 */
+	@Test
+	void testAddCancionEvictsAlbum() throws EntityNotFoundException, IllegalOperationException {
+		albumCancionService.addCancion(album.getId(), cancion.getId());
+		assertNull(albums.get(album.getId()));
+	}
+
+	/**
+	 * Test that updating a cancion evicts the albums that contain it.
+	 */
+	@Test
+	void testUpdateCancionEvictsAlbums() throws EntityNotFoundException, IllegalOperationException {
+		albumCancionService.addCancion(album.getId(), cancion.getId());
+		albums.put(album.getId(), "album");
+
+		CancionEntity cambios = factory.manufacturePojo(CancionEntity.class);
+		cancionService.updateCancion(cancion.getId(), cambios);
+		assertNull(albums.get(album.getId()));
+	}
+
+	/**
+	 * Test that an association between an album and a creador evicts both.
+	 */
+	@Test
+	void testAddAlbumEvictsCreadorAndAlbum() throws EntityNotFoundException, IllegalOperationException {
+		creadorAlbumService.addAlbum(album.getId(), creador.getId());
+		assertNull(albums.get(album.getId()));
+		assertNull(creadores.get(creador.getId()));
+	}
+}
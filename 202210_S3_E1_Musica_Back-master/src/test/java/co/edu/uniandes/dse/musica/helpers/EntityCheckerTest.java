@@ -173,4 +173,38 @@ class EntityCheckerTest {
             entityChecker.checkCapituloExists(capitulo.getId());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCheckCreadoresExist() throws EntityNotFoundException {
+        List<CreadorEntity> requested = new ArrayList<CreadorEntity>();
+        for (int i = creadorList.size() - 1; i >= 0; i--) {
+            CreadorEntity creador = new CreadorEntity();
+            creador.setId(creadorList.get(i).getId());
+            requested.add(creador);
+        }
+        requested.add(requested.get(0));
+
+        List<CreadorEntity> creadores = entityChecker.checkCreadoresExist(requested);
+        assertEquals(creadorList.size(), creadores.size());
+        for (int i = 0; i < creadores.size(); i++) {
+            assertEquals(requested.get(i).getId(), creadores.get(i).getId());
+            assertEquals(creadorList.get(creadorList.size() - 1 - i).getNombre(), creadores.get(i).getNombre());
+        }
+    }
+
+    @Test
+    void testCheckInvalidPodcastsExist() {
+        assertThrows(EntityNotFoundException.class, () -> {
+            PodcastEntity podcast = new PodcastEntity();
+            podcast.setId(0L);
+            entityChecker.checkPodcastsExist(List.of(podcastList.get(0), podcast));
+        });
+    }
+
+    @Test
+    void testCheckCapitulosExist() throws EntityNotFoundException {
+        List<CapituloEntity> capitulos = entityChecker.checkCapitulosExist(capituloList);
+        assertEquals(capituloList.size(), capitulos.size());
+        assertTrue(capitulos.containsAll(capituloList));
+    }
+}
@@ -0,0 +1,146 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for FacetIndex.
+ */
+class FacetIndexTest {
+
+	/**
+	 * Counts of a facet as value to count.
+	 */
+	private static Map<Long, Long> counts(FacetIndex.Result result, String facet) {
+		return result.getCounts().get(facet).stream()
+				.collect(Collectors.toMap(FacetIndex.Count::getValue, FacetIndex.Count::getCount));
+	}
+
+	/**
+	 * Five documents: generos 10 and 20, artistas 100 and 200, and a precio.
+	 */
+	private static FacetIndex index() {
+		FacetIndex index = new FacetIndex();
+		long[][] generos = { { 10 }, { 10, 20 }, { 20 }, { 20 }, {} };
+		long[][] artistas = { { 100 }, { 100 }, { 200 }, { 100, 200 }, { 200 } };
+		double[] precios = { 0, 4.5, 5, 12, 30 };
+		for (int id = 1; id <= 5; id++) {
+			index.addDocument(id);
+			for (long genero : generos[id - 1])
+				index.add("generos", id, genero);
+			for (long artista : artistas[id - 1])
+				index.add("artistas", id, artista);
+			index.setNumber("precio", id, precios[id - 1]);
+		}
+		return index;
+	}
+
+	/**
+	 * Test that values of the same facet are alternatives and different facets
+	 * must all match.
+	 */
+	@Test
+	void testFilter() {
+		FacetIndex index = index();
+		FacetIndex.Result all = index.browse(new FacetIndex.Query());
+		assertEquals(5, all.getTotal());
+		assertEquals(Map.of(10L, 2L, 20L, 3L), counts(all, "generos"));
+
+		FacetIndex.Result result = index.browse(new FacetIndex.Query().select("generos", List.of(10L, 20L)));
+		assertArrayEquals(new long[] { 1, 2, 3, 4 }, result.getIds());
+
+		result = index.browse(new FacetIndex.Query().select("generos", List.of(20L)).select("artistas", List.of(100L)));
+		assertArrayEquals(new long[] { 2, 4 }, result.getIds());
+		assertEquals(2, result.getTotal());
+
+		result = index.browse(new FacetIndex.Query().select("generos", List.of(99L)));
+		assertEquals(0, result.getTotal());
+	}
+
+	/**
+	 * Test that the counts of a facet ignore its own filter but apply the
+	 * others.
+	 */
+	@Test
+	void testCounts() {
+		FacetIndex index = index();
+		FacetIndex.Result result = index.browse(new FacetIndex.Query().select("generos", List.of(20L)));
+		assertEquals(Map.of(10L, 2L, 20L, 3L), counts(result, "generos"));
+		assertEquals(Map.of(100L, 2L, 200L, 2L), counts(result, "artistas"));
+
+		result = index.browse(new FacetIndex.Query().select("generos", List.of(20L)).select("artistas", List.of(200L)));
+		assertEquals(Map.of(20L, 2L), counts(result, "generos"));
+		assertEquals(Map.of(100L, 2L, 200L, 2L), counts(result, "artistas"));
+
+		result = index.browse(new FacetIndex.Query().facetLimit(1));
+		assertEquals(1, result.getCounts().get("artistas").size());
+		assertEquals(100L, result.getCounts().get("artistas").get(0).getValue());
+	}
+
+	/**
+	 * Test the range of precio and the counts of its ranges.
+	 */
+	@Test
+	void testRange() {
+		FacetIndex index = index();
+		FacetIndex.Result result = index.browse(new FacetIndex.Query().range("precio", 4.5, 12.0).buckets(0, 5, 10));
+		assertArrayEquals(new long[] { 2, 3, 4 }, result.getIds());
+
+		List<FacetIndex.RangeCount> ranges = result.getRanges();
+		assertEquals(3, ranges.size());
+		assertEquals(2, ranges.get(0).getCount());
+		assertEquals(5.0, ranges.get(0).getTo());
+		assertEquals(1, ranges.get(1).getCount());
+		assertEquals(2, ranges.get(2).getCount());
+		assertNull(ranges.get(2).getTo());
+
+		result = index.browse(new FacetIndex.Query().range("precio", null, 4.9).select("artistas", List.of(100L)));
+		assertArrayEquals(new long[] { 1, 2 }, result.getIds());
+	}
+
+	/**
+	 * Test pages of ids after a given one.
+	 */
+	@Test
+	void testPage() {
+		FacetIndex index = index();
+		assertArrayEquals(new long[] { 1, 2, 3 }, index.browse(new FacetIndex.Query().page(-1, 2)).getIds());
+		assertArrayEquals(new long[] { 3, 4, 5 }, index.browse(new FacetIndex.Query().page(2, 2)).getIds());
+		assertArrayEquals(new long[] { 5 }, index.browse(new FacetIndex.Query().page(4, 2)).getIds());
+	}
+
+	/**
+	 * Test that changes and removals are seen by the next query.
+	 */
+	@Test
+	void testChanges() {
+		FacetIndex index = index();
+		index.set("generos", 5, List.of(10L));
+		index.remove("generos", 1, 10);
+		assertEquals(Map.of(10L, 2L, 20L, 3L), counts(index.browse(new FacetIndex.Query()), "generos"));
+
+		index.removeDocument(2);
+		FacetIndex.Result result = index.browse(new FacetIndex.Query());
+		assertEquals(4, result.getTotal());
+		assertEquals(Map.of(10L, 1L, 20L, 2L), counts(result, "generos"));
+
+		index.removeValue("artistas", 200);
+		result = index.browse(new FacetIndex.Query().select("artistas", List.of(200L)));
+		assertEquals(0, result.getTotal());
+		assertEquals(Map.of(100L, 2L), counts(result, "artistas"));
+
+		index.setNumber("precio", 5, 1);
+		assertArrayEquals(new long[] { 1, 5 },
+				index.browse(new FacetIndex.Query().range("precio", 0.0, 2.0)).getIds());
+
+		index.clear();
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,116 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IdBitmap.
+ */
+class IdBitmapTest {
+
+	private static long[] toArray(TreeSet<Long> set) {
+		return set.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private static IdBitmap bitmapOf(TreeSet<Long> set) {
+		IdBitmap bitmap = new IdBitmap();
+		set.forEach(bitmap::add);
+		return bitmap;
+	}
+
+	/**
+	 * Test to add, remove and look up ids in several chunks.
+	 */
+	@Test
+	void testAddRemove() {
+		IdBitmap bitmap = new IdBitmap();
+		assertTrue(bitmap.add(5));
+		assertFalse(bitmap.add(5));
+		assertTrue(bitmap.add(70000));
+		assertTrue(bitmap.add(3));
+		assertEquals(3, bitmap.cardinality());
+		assertTrue(bitmap.contains(70000));
+		assertFalse(bitmap.contains(4));
+
+		assertEquals(3, bitmap.next(0));
+		assertEquals(5, bitmap.next(4));
+		assertEquals(70000, bitmap.next(6));
+		assertEquals(-1, bitmap.next(70001));
+		assertArrayEquals(new long[] { 5, 70000 }, bitmap.toArray(3, 10));
+
+		assertTrue(bitmap.remove(70000));
+		assertFalse(bitmap.remove(70000));
+		assertArrayEquals(new long[] { 3, 5 }, bitmap.toArray(-1, 10));
+		assertTrue(bitmap.remove(3));
+		assertTrue(bitmap.remove(5));
+		assertTrue(bitmap.isEmpty());
+	}
+
+	/**
+	 * Test that a chunk turns into a bitmap when it fills up and back into an
+	 * array when it empties, without losing ids.
+	 */
+	@Test
+	void testDenseChunk() {
+		IdBitmap bitmap = new IdBitmap();
+		for (long id = 0; id < 10000; id += 2)
+			bitmap.add(id);
+		assertEquals(5000, bitmap.cardinality());
+		assertTrue(bitmap.contains(9998));
+		assertFalse(bitmap.contains(9999));
+		assertEquals(102, bitmap.next(101));
+
+		for (long id = 0; id < 8000; id += 2)
+			bitmap.remove(id);
+		assertEquals(1000, bitmap.cardinality());
+		assertEquals(8000, bitmap.next(0));
+		assertArrayEquals(new long[] { 8000, 8002, 8004 }, bitmap.toArray(-1, 3));
+	}
+
+	/**
+	 * Test the set operations against sorted sets with random ids, sparse and
+	 * dense.
+	 */
+	@Test
+	void testRandomOperations() {
+		Random random = new Random(7);
+		for (int round = 0; round < 40; round++) {
+			int range = round % 2 == 0 ? 300000 : 9000;
+			TreeSet<Long> a = new TreeSet<>();
+			TreeSet<Long> b = new TreeSet<>();
+			int sizeA = random.nextInt(8000);
+			int sizeB = random.nextInt(8000);
+			for (int i = 0; i < sizeA; i++)
+				a.add((long) random.nextInt(range));
+			for (int i = 0; i < sizeB; i++)
+				b.add((long) random.nextInt(range));
+			IdBitmap bitmapA = bitmapOf(a);
+			IdBitmap bitmapB = bitmapOf(b);
+
+			TreeSet<Long> and = new TreeSet<>(a);
+			and.retainAll(b);
+			TreeSet<Long> or = new TreeSet<>(a);
+			or.addAll(b);
+			assertArrayEquals(toArray(a), bitmapA.toArray(-1, Integer.MAX_VALUE));
+			assertArrayEquals(toArray(and), IdBitmap.and(bitmapA, bitmapB).toArray(-1, Integer.MAX_VALUE));
+			assertEquals(and.size(), IdBitmap.andCardinality(bitmapA, bitmapB));
+			assertArrayEquals(toArray(or), IdBitmap.or(bitmapA, bitmapB).toArray(-1, Integer.MAX_VALUE));
+
+			for (int i = 0; i < 2000; i++) {
+				long id = random.nextInt(range);
+				assertEquals(a.remove(id), bitmapA.remove(id));
+			}
+			assertEquals(a.size(), bitmapA.cardinality());
+			long from = random.nextInt(range);
+			Long expected = a.ceiling(from);
+			assertEquals(expected == null ? -1 : expected, bitmapA.next(from));
+		}
+	}
+}
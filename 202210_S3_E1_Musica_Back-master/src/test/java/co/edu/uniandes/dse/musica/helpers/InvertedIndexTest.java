@@ -0,0 +1,146 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for InvertedIndex and SearchTokenizer.
+ */
+class InvertedIndexTest {
+
+	/**
+	 * Test that accents, case, stop words and plurals do not change the terms.
+	 */
+	@Test
+	void testTokenize() {
+		assertEquals(List.of("cancion", "amor"), SearchTokenizer.tokenize("Canciones de Amor"));
+		assertEquals(List.of("cancion", "amor"), SearchTokenizer.tokenize("canción, amores"));
+		assertEquals(List.of("luz", "ciudad", "2020"), SearchTokenizer.tokenize("Las luces de la ciudad 2020"));
+		assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+	}
+
+	/**
+	 * Test that a search only finds the documents with every term.
+	 */
+	@Test
+	void testSearchMatchesEveryTerm() {
+		InvertedIndex index = new InvertedIndex();
+		index.put("album", 1L, "Amor Prohibido", "Amor Prohibido");
+		index.put("album", 2L, "Amor Eterno", "Amor Eterno");
+		index.put("cancion", 3L, "Prohibido", "Prohibido");
+
+		List<InvertedIndex.Hit> hits = index.search("amor prohibido", 10);
+		assertEquals(1, hits.size());
+		assertEquals("album", hits.get(0).getType());
+		assertEquals(1L, hits.get(0).getId());
+		assertEquals("Amor Prohibido", hits.get(0).getTitle());
+
+		assertEquals(2, index.search("amores", 10).size());
+		assertTrue(index.search("amor desconocido", 10).isEmpty());
+		assertTrue(index.search("de la", 10).isEmpty());
+	}
+
+	/**
+	 * Test that rarer terms and shorter documents rank first, up to the limit.
+	 */
+	@Test
+	void testSearchRanking() {
+		InvertedIndex index = new InvertedIndex();
+		index.put("cancion", 1L, "Noche de luna en la playa larga", "Noche de luna en la playa larga");
+		index.put("cancion", 2L, "Luna", "Luna");
+		index.put("cancion", 3L, "Luna luna", "Luna luna");
+		for (long id = 4; id < 20; id++)
+			index.put("cancion", id, "Noche " + id, "Noche " + id);
+
+		List<InvertedIndex.Hit> hits = index.search("luna", 2);
+		assertEquals(2, hits.size());
+		assertEquals(3L, hits.get(0).getId());
+		assertEquals(2L, hits.get(1).getId());
+		assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+
+		InvertedIndex.Hit noche = index.search("noche", 20).get(16);
+		assertEquals(1L, noche.getId());
+		assertTrue(index.search("luna", 1).get(0).getScore() > noche.getScore());
+	}
+
+	/**
+	 * Test to replace and remove documents, compacting the posting lists.
+	 */
+	@Test
+	void testPutAndRemove() {
+		InvertedIndex index = new InvertedIndex();
+		for (long id = 0; id < 3000; id++)
+			index.put("cancion", id, "Tema " + id, "Tema " + (id % 2 == 0 ? "par" : "impar"));
+		for (long id = 0; id < 2000; id++)
+			index.remove("cancion", id);
+		index.put("cancion", 2001L, "Renombrado", "Renombrado");
+		index.remove("cancion", 99999L);
+
+		assertEquals(1000, index.size());
+		assertEquals(100, index.search("tema", 100).size());
+		List<InvertedIndex.Hit> pares = index.search("par", 1000);
+		assertEquals(500, pares.size());
+		assertTrue(pares.stream().allMatch(hit -> hit.getId() >= 2000 && hit.getId() % 2 == 0));
+		assertEquals(499, index.search("impar", 1000).size());
+		assertEquals(2001L, index.search("renombrado", 10).get(0).getId());
+
+		index.clear();
+		assertEquals(0, index.size());
+		assertTrue(index.search("tema", 10).isEmpty());
+	}
+
+	/**
+	 * Test the edit distance and the phonetic key of the fuzzy search.
+	 */
+	@Test
+	void testSimilarTerms() {
+		assertEquals(0, TermDictionary.distance("amor", "amor", 1));
+		assertEquals(1, TermDictionary.distance("amor", "amr", 1));
+		assertEquals(2, TermDictionary.distance("corazon", "corasoon", 2));
+		assertEquals(2, TermDictionary.distance("amor", "roma", 1));
+		assertEquals(TermDictionary.phonetic("xoxe"), TermDictionary.phonetic("shoshe"));
+		assertEquals(TermDictionary.phonetic("vaya"), TermDictionary.phonetic("balla"));
+		assertEquals(TermDictionary.phonetic("cielo"), TermDictionary.phonetic("sielo"));
+
+		TermDictionary dictionary = new TermDictionary();
+		for (String term : List.of("corazon", "razon", "shoshe", "amor", "amar", "mar"))
+			dictionary.add(term);
+		assertEquals(Map.of("corazon", 1), dictionary.similar("corazn"));
+		assertEquals(Map.of("amor", 0, "amar", 1), dictionary.similar("amor"));
+		assertEquals(Map.of("shoshe", 2), dictionary.similar("xoxe"));
+		assertTrue(dictionary.similar("zzz").isEmpty());
+	}
+
+	/**
+	 * Test that a fuzzy search finds misspelled terms, below the exact ones.
+	 */
+	@Test
+	void testFuzzySearch() {
+		InvertedIndex index = new InvertedIndex();
+		index.put("creador", 1L, "Shoshe", "Shoshe");
+		index.put("cancion", 2L, "Corazón Partío", "Corazón Partío");
+		index.put("cancion", 3L, "Corazones", "Corazones");
+		index.put("cancion", 4L, "Razón", "Razón");
+
+		assertTrue(index.search("xoxe", 10).isEmpty());
+		assertEquals(1L, index.search("xoxe", 10, true).get(0).getId());
+		assertEquals(List.of(2L), ids(index.search("corazn partio", 10, true)));
+
+		assertEquals(List.of(3L, 2L, 4L), ids(index.search("corazon", 10, true)));
+		assertEquals(List.of(3L, 2L), ids(index.search("corason", 10, true)));
+
+		index.remove("cancion", 3L);
+		assertEquals(List.of(2L), ids(index.search("corason", 10, true)));
+		assertTrue(index.search("qwerty", 10, true).isEmpty());
+	}
+
+	private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+		return hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+	}
+}
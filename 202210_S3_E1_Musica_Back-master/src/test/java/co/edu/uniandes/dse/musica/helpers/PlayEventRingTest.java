@@ -0,0 +1,106 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for PlayEventRing.
+ */
+class PlayEventRingTest {
+
+	private static PlayEventRing.Batch batch(long usuario, int count) {
+		PlayEventRing.Batch batch = new PlayEventRing.Batch(1);
+		for (int i = 0; i < count; i++)
+			batch.add(usuario, i + 1, 0, 1000L * i);
+		return batch;
+	}
+
+	/**
+	 * Test that the capacity is rounded up to a power of two.
+	 */
+	@Test
+	void testCapacity() {
+		assertEquals(8, new PlayEventRing(5).capacity());
+		assertEquals(8, new PlayEventRing(8).capacity());
+		assertThrows(IllegalArgumentException.class, () -> new PlayEventRing(0));
+	}
+
+	/**
+	 * Test that a batch is accepted whole or rejected whole.
+	 */
+	@Test
+	void testOfferAllOrNothing() {
+		PlayEventRing ring = new PlayEventRing(4);
+		assertTrue(ring.offer(batch(1, 3)));
+		assertFalse(ring.offer(batch(2, 2)));
+		assertEquals(3, ring.size());
+		assertEquals(2, ring.rejected());
+		assertTrue(ring.offer(batch(2, 1)));
+		assertEquals(4, ring.size());
+	}
+
+	/**
+	 * Test to drain the events in order across the end of the arrays.
+	 */
+	@Test
+	void testDrainWraps() {
+		PlayEventRing ring = new PlayEventRing(4);
+		PlayEventRing.Batch into = new PlayEventRing.Batch(2);
+		for (int round = 0; round < 5; round++) {
+			assertTrue(ring.offer(batch(round, 3)));
+			assertEquals(2, ring.drain(into, 2));
+			assertEquals(1, ring.drain(into, 10));
+			assertEquals(round, into.usuario(0));
+			assertEquals(3, into.cancion(0));
+			assertEquals(0, into.capitulo(0));
+			assertEquals(2000, into.fecha(0));
+		}
+		assertEquals(0, ring.size());
+		assertEquals(0, ring.drain(into, 10));
+		assertEquals(0, into.size());
+	}
+
+	/**
+	 * Test that drained events go back to the buffer, or are counted as lost
+	 * when new events took their room.
+	 */
+	@Test
+	void testRequeue() {
+		PlayEventRing ring = new PlayEventRing(4);
+		PlayEventRing.Batch into = new PlayEventRing.Batch(4);
+		assertTrue(ring.offer(batch(1, 3)));
+		assertEquals(3, ring.drain(into, 10));
+		assertTrue(ring.requeue(into));
+		assertEquals(3, ring.size());
+
+		assertEquals(3, ring.drain(into, 10));
+		assertTrue(ring.offer(batch(2, 2)));
+		assertFalse(ring.requeue(into));
+		assertEquals(2, ring.size());
+		assertEquals(3, ring.lost());
+		assertEquals(0, ring.rejected());
+	}
+
+	/**
+	 * Test that waiting ends when enough events arrive or when the time is up.
+	 */
+	@Test
+	void testAwait() throws InterruptedException {
+		PlayEventRing ring = new PlayEventRing(16);
+		assertEquals(0, ring.await(2, 10, TimeUnit.MILLISECONDS));
+
+		Thread producer = new Thread(() -> {
+			ring.offer(batch(1, 1));
+			ring.offer(batch(1, 1));
+		});
+		producer.start();
+		assertEquals(2, ring.await(2, 10, TimeUnit.SECONDS));
+		producer.join();
+	}
+}
@@ -0,0 +1,166 @@
+package co.edu.uniandes.dse.musica.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SuggestionTrie.
+ */
+class SuggestionTrieTest {
+
+	private static List<Long> ids(List<SuggestionTrie.Suggestion> suggestions) {
+		return suggestions.stream().map(SuggestionTrie.Suggestion::getId).collect(Collectors.toList());
+	}
+
+	/**
+	 * Test to suggest names by prefix, the most popular first.
+	 */
+	@Test
+	void testSuggest() {
+		SuggestionTrie trie = new SuggestionTrie(10, 2);
+		trie.put("cancion", 1L, "Canción de Amor", 5);
+		trie.put("album", 2L, "Cancionero", 9);
+		trie.put("creador", 3L, "Camilo", 1);
+		trie.put("cancion", 4L, "Canon", 0);
+
+		assertEquals(List.of(2L, 1L, 3L, 4L), ids(trie.suggest("ca", 10)));
+		assertEquals(List.of(2L, 1L), ids(trie.suggest("CANCIÓ", 10)));
+		assertEquals(List.of(1L), ids(trie.suggest("cancion de", 10)));
+		assertEquals(List.of(2L), ids(trie.suggest("can", 1)));
+		assertEquals("Cancionero", trie.suggest("cancione", 10).get(0).getText());
+		assertTrue(trie.suggest("x", 10).isEmpty());
+		assertTrue(trie.suggest("cancionx", 10).isEmpty());
+		assertTrue(trie.suggest("", 10).isEmpty());
+	}
+
+	/**
+	 * Test to rename and remove names, keeping the popularity on a rename.
+	 */
+	@Test
+	void testRenameAndRemove() {
+		SuggestionTrie trie = new SuggestionTrie(10, 1);
+		trie.put("cancion", 1L, "Rosa", 7);
+		trie.put("cancion", 2L, "Rosalia", 3);
+		trie.rename("cancion", 1L, "Roxanne");
+		trie.rename("cancion", 3L, "Rosas");
+
+		assertEquals(List.of(2L, 3L), ids(trie.suggest("ros", 10)));
+		assertEquals(7, trie.suggest("rox", 10).get(0).getPopularity());
+		assertEquals(List.of(1L, 2L, 3L), ids(trie.suggest("ro", 10)));
+
+		trie.remove("cancion", 1L);
+		trie.remove("cancion", 9L);
+		assertEquals(List.of(2L, 3L), ids(trie.suggest("ro", 10)));
+		assertEquals(2, trie.size());
+
+		trie.clear();
+		assertEquals(0, trie.size());
+		assertTrue(trie.suggest("ro", 10).isEmpty());
+	}
+
+	/**
+	 * Test random changes against a scan of every name, so that the cached
+	 * lists are kept right while the nodes are split, merged and removed.
+	 */
+	@Test
+	void testRandomChanges() {
+		SuggestionTrie trie = new SuggestionTrie(5, 4);
+		Map<Long, String> names = new HashMap<>();
+		Map<Long, Long> popularity = new HashMap<>();
+		Random random = new Random(7);
+		String[] parts = { "a", "ab", "abc", "b", "ba", "c" };
+
+		for (int step = 0; step < 3000; step++) {
+			long id = random.nextInt(200);
+			if (random.nextInt(4) == 0) {
+				trie.remove("cancion", id);
+				names.remove(id);
+				popularity.remove(id);
+			} else {
+				String name = parts[random.nextInt(parts.length)] + parts[random.nextInt(parts.length)]
+						+ parts[random.nextInt(parts.length)];
+				long rank = random.nextInt(20);
+				trie.put("cancion", id, name, rank);
+				names.put(id, name);
+				popularity.put(id, rank);
+			}
+
+			if (step % 50 == 0) {
+				assertEquals(names.size(), trie.size());
+				for (String prefix : List.of("a", "ab", "abc", "abab", "b", "bab", "c", "ca")) {
+					List<Long> expected = new ArrayList<>();
+					names.forEach((key, name) -> {
+						if (name.startsWith(prefix))
+							expected.add(key);
+					});
+					expected.sort(Comparator.comparing((Long key) -> -popularity.get(key))
+							.thenComparing(key -> names.get(key).length()).thenComparing(key -> key));
+					assertEquals(expected.subList(0, Math.min(5, expected.size())), ids(trie.suggest(prefix, 5)),
+							prefix);
+				}
+			}
+		}
+
+		// Every byte added to the estimate is taken out again
+		for (long id = 0; id < 200; id++)
+			trie.remove("cancion", id);
+		assertEquals(0, trie.estimatedBytes());
+	}
+
+	/**
+	 * Test to change the popularity of names, which changes their rank.
+	 */
+	@Test
+	void testAddPopularity() {
+		SuggestionTrie trie = new SuggestionTrie(10, 1);
+		trie.put("cancion", 1L, "Luna", 2);
+		trie.put("album", 1L, "Lunares", 5);
+
+		trie.addPopularity("cancion", 1L, 4);
+		trie.addPopularity("cancion", 9L, 4);
+		assertEquals(List.of(1L, 1L), ids(trie.suggest("lu", 10)));
+		assertEquals(6, trie.suggest("lu", 10).get(0).getPopularity());
+
+		trie.addPopularity("cancion", 1L, -10);
+		assertEquals("album", trie.suggest("lu", 10).get(0).getType());
+		assertEquals(0, trie.suggest("lu", 10).get(1).getPopularity());
+		assertEquals(2, trie.size());
+	}
+
+	/**
+	 * Test that a tree with a budget drops the least popular names to stay
+	 * within it.
+	 */
+	@Test
+	void testBudget() {
+		SuggestionTrie unlimited = new SuggestionTrie(5, 4);
+		for (long id = 0; id < 100; id++)
+			unlimited.put("cancion", id, "Nombre " + id, id);
+		long budget = unlimited.estimatedBytes() / 2;
+
+		SuggestionTrie trie = new SuggestionTrie(5, 4, budget);
+		for (long id = 0; id < 100; id++)
+			trie.put("cancion", id, "Nombre " + id, id);
+
+		assertTrue(trie.estimatedBytes() <= budget);
+		assertTrue(trie.size() > 0 && trie.size() < 100);
+		assertEquals(100 - trie.size(), trie.dropped());
+		// The names kept are the most popular ones
+		assertEquals(List.of(99L, 98L, 97L, 96L, 95L), ids(trie.suggest("nombre", 5)));
+		assertTrue(trie.suggest("nombre " + (99 - trie.size()), 5).isEmpty());
+		assertEquals(1, trie.suggest("nombre " + (100 - trie.size()), 5).size());
+
+		trie.clear();
+		assertEquals(0, trie.estimatedBytes());
+	}
+}
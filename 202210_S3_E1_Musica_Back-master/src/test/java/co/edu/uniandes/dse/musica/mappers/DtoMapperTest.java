@@ -0,0 +1,203 @@
+package co.edu.uniandes.dse.musica.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import co.edu.uniandes.dse.musica.config.ApplicationConfig;
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDTO;
+import co.edu.uniandes.dse.musica.dto.CapituloDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CreadorDetailDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for DtoMapper. The generated mappers must give the same JSON as the
+ * ModelMapper fallback.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import({ DtoMapper.class, ApplicationConfig.class })
+class DtoMapperTest {
+
+	@Autowired
+	private DtoMapper dtoMapper;
+
+	@Autowired
+	private ModelMapper modelMapper;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	private AlbumEntity album;
+
+	private PodcastEntity podcast;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		album = factory.manufacturePojo(AlbumEntity.class);
+		for (int i = 0; i < 3; i++) {
+			CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+			entityManager.persist(cancion);
+			album.getCanciones().add(cancion);
+			GeneroEntity genero = factory.manufacturePojo(GeneroEntity.class);
+			entityManager.persist(genero);
+			album.getGeneros().add(genero);
+		}
+		entityManager.persist(album);
+
+		podcast = factory.manufacturePojo(PodcastEntity.class);
+		entityManager.persist(podcast);
+		for (int i = 0; i < 3; i++) {
+			CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+			capitulo.setPodcast(podcast);
+			entityManager.persist(capitulo);
+			podcast.getCapitulos().add(capitulo);
+
+			CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+			creador.getAlbumes().add(album);
+			entityManager.persist(creador);
+			album.getArtistas().add(creador);
+			podcast.getCreadores().add(creador);
+		}
+		entityManager.flush();
+	}
+
+	/**
+	 * Test that both paths map an album detail the same way.
+	 */
+	@Test
+	void testMapAlbumDetail() throws JsonProcessingException {
+		AlbumDetailDTO dto = dtoMapper.map(album, AlbumDetailDTO.class);
+		assertEquals(3, dto.getArtistas().size());
+		assertEquals(3, dto.getCanciones().size());
+		assertEquals(3, dto.getGeneros().size());
+		assertSameJson(modelMapper.map(album, AlbumDetailDTO.class), dto);
+	}
+
+	/**
+	 * Test that both paths map a podcast detail the same way, including the
+	 * podcast nested in its capitulos.
+	 */
+	@Test
+	void testMapPodcastDetail() throws JsonProcessingException {
+		PodcastDetailDTO dto = dtoMapper.map(podcast, PodcastDetailDTO.class);
+		assertEquals(3, dto.getCapitulos().size());
+		assertEquals(podcast.getId(), dto.getCapitulos().iterator().next().getPodcast().getId());
+		assertSameJson(modelMapper.map(podcast, PodcastDetailDTO.class), dto);
+	}
+
+	/**
+	 * Test to map a set of entities with a TypeToken.
+	 */
+	@Test
+	void testMapSet() throws JsonProcessingException {
+		Set<CreadorDetailDTO> dtos = dtoMapper.map(album.getArtistas(), new TypeToken<Set<CreadorDetailDTO>>() {
+		}.getType());
+		assertEquals(3, dtos.size());
+		assertTrue(dtos.iterator().next().getAlbumes().stream().anyMatch(dto -> dto.getId().equals(album.getId())));
+	}
+
+	/**
+	 * Test to map a list of entities with a TypeToken.
+	 */
+	@Test
+	void testMapList() throws JsonProcessingException {
+		List<CapituloDetailDTO> dtos = dtoMapper.map(List.copyOf(podcast.getCapitulos()),
+				new TypeToken<List<CapituloDetailDTO>>() {
+				}.getType());
+		assertEquals(3, dtos.size());
+		assertSameJson(modelMapper.map(List.copyOf(podcast.getCapitulos()), new TypeToken<List<CapituloDetailDTO>>() {
+		}.getType()), dtos);
+	}
+
+	/**
+	 * Test to map a DTO received by a controller to an entity.
+	 */
+	@Test
+	void testMapToEntity() {
+		CapituloDTO dto = new CapituloDTO();
+		dto.setTitulo("Capitulo");
+		dto.setDuracion(30);
+		PodcastDTO podcastDTO = new PodcastDTO();
+		podcastDTO.setId(podcast.getId());
+		dto.setPodcast(podcastDTO);
+
+		CapituloEntity entity = dtoMapper.map(dto, CapituloEntity.class);
+		assertNull(entity.getId());
+		assertEquals("Capitulo", entity.getTitulo());
+		assertEquals(podcast.getId(), entity.getPodcast().getId());
+	}
+
+	/**
+	 * Test that the ModelMapper fallback is used when the generated mappers are
+	 * turned off.
+	 */
+	@Test
+	void testFallback() throws JsonProcessingException {
+		DtoMapper fallback = new DtoMapper(modelMapper, new EntityMapperImpl(), false);
+		AlbumDetailDTO dto = fallback.map(album, AlbumDetailDTO.class);
+		assertNotNull(dto);
+		assertSameJson(dtoMapper.map(album, AlbumDetailDTO.class), dto);
+	}
+
+	/**
+	 * Compares the JSON of two objects ignoring the order of the arrays, as sets
+	 * do not keep one.
+	 */
+	private void assertSameJson(Object expected, Object actual) throws JsonProcessingException {
+		assertEquals(normalize(objectMapper.valueToTree(expected)), normalize(objectMapper.valueToTree(actual)));
+	}
+
+	private JsonNode normalize(JsonNode node) {
+		if (node.isObject())
+			node.fields().forEachRemaining(field -> ((ObjectNode) node).set(field.getKey(), normalize(field.getValue())));
+		if (!node.isArray())
+			return node;
+		List<JsonNode> elements = new ArrayList<>();
+		node.forEach(element -> elements.add(normalize(element)));
+		elements.sort(Comparator.comparing(JsonNode::toString));
+		return objectMapper.createArrayNode().addAll(elements);
+	}
+}
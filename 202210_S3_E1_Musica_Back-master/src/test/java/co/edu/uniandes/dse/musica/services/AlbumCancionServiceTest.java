@@ -8,6 +8,7 @@ import java.util.Set;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -104,6 +105,17 @@ class AlbumCancionServiceTest {
         });
 	}
 
+	@Test
+	void testAddCancionWithNormalizedTitleToAlbum() {
+		new ArrayList<CancionEntity>(cancionList).get(0).setTitulo("Día de Sol");
+		CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+		cancion.setTitulo(" dia de  SOL");
+		entityManager.persist(cancion);
+		assertThrows(IllegalOperationException.class, () -> {
+			albumCancionService.addCancion(album.getId(), cancion.getId());
+		});
+	}
+
 	@Test
 	void testGetCanciones() throws EntityNotFoundException {
 		Set<CancionEntity> cancionEntities = albumCancionService.getCanciones(album.getId());
@@ -122,6 +134,20 @@ class AlbumCancionServiceTest {
 		});
 	}
 
+	@Test
+	void testCountCanciones() throws EntityNotFoundException {
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(cancionList.size(), albumCancionService.countCanciones(album.getId()));
+		assertFalse(Hibernate.isInitialized(entityManager.find(AlbumEntity.class, album.getId()).getCanciones()));
+	}
+
+	@Test
+	void testCountCancionesInvalidAlbum() {
+		assertThrows(EntityNotFoundException.class, () -> albumCancionService.countCanciones(0L));
+	}
+
 	@Test
 	void testGetCancion() throws EntityNotFoundException, IllegalOperationException {
 		CancionEntity cancionEntity = cancionList.iterator().next();
@@ -192,6 +218,28 @@ class AlbumCancionServiceTest {
 		}
 	}
 
+	@Test
+	void testReplaceCancionesWithExistingTitle() {
+		new ArrayList<CancionEntity>(cancionList).get(0).setTitulo("Día de Sol");
+		CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+		cancion.setTitulo("dia de sol");
+		entityManager.persist(cancion);
+		assertThrows(IllegalOperationException.class, () -> {
+			albumCancionService.replaceCanciones(album.getId(), Set.of(cancion));
+		});
+	}
+
+	@Test
+	void testReplaceCancionesKeepsExistingTitles() throws EntityNotFoundException, IllegalOperationException {
+		Set<CancionEntity> nuevaLista = new LinkedHashSet<>(cancionList);
+		CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+		entityManager.persist(cancion);
+		nuevaLista.add(cancion);
+		albumCancionService.replaceCanciones(album.getId(), nuevaLista);
+
+		assertEquals(4, albumCancionService.getCanciones(album.getId()).size());
+	}
+
 	@Test
 	void testReplaceCancionesInvalidAlbum() {
 		assertThrows(EntityNotFoundException.class, () -> {
@@ -239,6 +287,32 @@ class AlbumCancionServiceTest {
 		assertTrue(albumCancionService.getCanciones(album.getId()).isEmpty());
 	}
 
+	@Test
+	void testGetAndRemoveCancionWithoutLoadingAlbum() throws EntityNotFoundException, IllegalOperationException {
+		AlbumEntity grande = factory.manufacturePojo(AlbumEntity.class);
+		entityManager.persist(grande);
+		for (int i = 0; i < 500; i++) {
+			CancionEntity entity = factory.manufacturePojo(CancionEntity.class);
+			entityManager.persist(entity);
+			entity.getAlbumes().add(grande);
+			grande.getCanciones().add(entity);
+		}
+		CancionEntity primera = grande.getCanciones().iterator().next();
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(primera.getId(), albumCancionService.getCancion(grande.getId(), primera.getId()).getId());
+		albumCancionService.removeCancion(grande.getId(), primera.getId());
+
+		assertFalse(Hibernate.isInitialized(entityManager.find(AlbumEntity.class, grande.getId()).getCanciones()));
+		assertThrows(IllegalOperationException.class,
+				() -> albumCancionService.getCancion(grande.getId(), primera.getId()));
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(499, entityManager.find(AlbumEntity.class, grande.getId()).getCanciones().size());
+		assertTrue(entityManager.find(CancionEntity.class, primera.getId()).getAlbumes().isEmpty());
+	}
+
 	@Test
 	void testRemoveInvalidCancion() {
 		assertThrows(EntityNotFoundException.class, () -> {
@@ -11,14 +11,21 @@ import javax.transaction.Transactional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
@@ -38,6 +45,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @DataJpaTest
 @Transactional
 @Import(AlbumService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class AlbumServiceTest {
 
 	@Autowired
@@ -176,6 +184,87 @@ class AlbumServiceTest {
 
 	}
 
+	/**
+	 * Test to list Album one page at a time.
+	 */
+	@Test
+	void testGetAlbumsPaged() {
+		Page<AlbumEntity> page = albumService.getAlbums(PageRequest.of(0, 2, Sort.by("id")));
+		assertEquals(2, page.getContent().size());
+		assertEquals(albumList.size(), page.getTotalElements());
+		assertTrue(page.getContent().get(0).getId() < page.getContent().get(1).getId());
+
+		Page<AlbumEntity> last = albumService.getAlbums(PageRequest.of(1, 2, Sort.by("id")));
+		assertEquals(albumList.size() - 2, last.getContent().size());
+		assertTrue(last.isLast());
+	}
+
+	/**
+	 * Test to get a page of album summaries. Only the page and its count are
+	 * queried and no album is loaded into the persistence context.
+	 */
+	@Test
+	void testGetAlbumsResumen() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Page<AlbumDTO> page = albumService.getAlbumsResumen(PageRequest.of(0, 2, Sort.by("id")));
+		assertEquals(2, page.getContent().size());
+		assertEquals(albumList.size(), page.getTotalElements());
+		AlbumEntity entity = albumList.iterator().next();
+		assertEquals(entity.getId(), page.getContent().get(0).getId());
+		assertEquals(entity.getTitulo(), page.getContent().get(0).getTitulo());
+		assertEquals(entity.getImagen(), page.getContent().get(0).getImagen());
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	/**
+	 * Test that listing albums with their details takes the same number of
+	 * queries no matter how many albums there are.
+	 */
+	@Test
+	void testGetAlbumsQueryCountIsConstant() {
+		long few = countQueriesToListAlbums();
+		addAlbumsWithDetails(20);
+		long many = countQueriesToListAlbums();
+
+		// One query for the page and one for each collection of AlbumDetailDTO
+		assertEquals(4, many);
+		assertEquals(few, many);
+	}
+
+	private void addAlbumsWithDetails(int count) {
+		for (int i = 0; i < count; i++) {
+			AlbumEntity album = factory.manufacturePojo(AlbumEntity.class);
+			album.getGeneros().addAll(generoList);
+			album.getCanciones().addAll(cancionList);
+			entityManager.persist(album);
+			for (CreadorEntity artista : artistasList)
+				entityManager.find(CreadorEntity.class, artista.getId()).getAlbumes().add(album);
+		}
+	}
+
+	private long countQueriesToListAlbums() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Page<AlbumEntity> albums = albumService.getAlbums(PageRequest.of(0, 100));
+		for (AlbumEntity album : albums) {
+			album.getArtistas().size();
+			album.getGeneros().size();
+			album.getCanciones().size();
+		}
+		return statistics.getPrepareStatementCount();
+	}
+
 	/**
 	 * Test to consult Album.
 	 * 
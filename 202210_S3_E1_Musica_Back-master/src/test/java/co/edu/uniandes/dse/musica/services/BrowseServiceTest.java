@@ -0,0 +1,230 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.BrowseDTO;
+import co.edu.uniandes.dse.musica.dto.FacetCountDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.entities.TemaEntity;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.FacetIndexer;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for BrowseService.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import(BrowseService.class)
+class BrowseServiceTest {
+
+	@Autowired
+	private BrowseService browseService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private List<GeneroEntity> generos = new ArrayList<>();
+
+	private List<CreadorEntity> creadores = new ArrayList<>();
+
+	private List<AlbumEntity> albumes = new ArrayList<>();
+
+	private List<TemaEntity> temas = new ArrayList<>();
+
+	private List<PodcastEntity> podcasts = new ArrayList<>();
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+		insertData();
+		browseService.rebuild();
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from CapituloEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from TemaEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CreadorEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from AlbumEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from GeneroEntity").executeUpdate();
+	}
+
+	/**
+	 * Insert initial data for test. Album i has genero i % 2 and, when i is not
+	 * 0, creador i % 2 as artista. Podcast i costs 5 * i, has tema i % 2 and
+	 * creador 0.
+	 */
+	private void insertData() {
+		for (int i = 0; i < 2; i++) {
+			GeneroEntity genero = factory.manufacturePojo(GeneroEntity.class);
+			genero.setNombre("Genero " + i);
+			genero.setAlbumes(new ArrayList<>());
+			entityManager.persist(genero);
+			generos.add(genero);
+
+			CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+			creador.setNombre("Creador " + i);
+			creador.setAlbumes(new LinkedHashSet<>());
+			creador.setPodcasts(new LinkedHashSet<>());
+			entityManager.persist(creador);
+			creadores.add(creador);
+
+			TemaEntity tema = factory.manufacturePojo(TemaEntity.class);
+			tema.setNombre("Tema " + i);
+			tema.setPodcasts(new ArrayList<>());
+			entityManager.persist(tema);
+			temas.add(tema);
+		}
+
+		for (int i = 0; i < 5; i++) {
+			AlbumEntity album = factory.manufacturePojo(AlbumEntity.class);
+			album.setGeneros(new LinkedHashSet<>(List.of(generos.get(i % 2))));
+			entityManager.persist(album);
+			albumes.add(album);
+			if (i > 0)
+				creadores.get(i % 2).getAlbumes().add(album);
+
+			PodcastEntity podcast = factory.manufacturePojo(PodcastEntity.class);
+			podcast.setPrecio(5.0 * i);
+			podcast.setTemas(new LinkedHashSet<>(List.of(temas.get(i % 2))));
+			podcast.getCreadores().add(creadores.get(0));
+			entityManager.persist(podcast);
+			podcasts.add(podcast);
+		}
+		entityManager.flush();
+	}
+
+	private static List<Long> ids(List<FacetCountDTO> counts) {
+		return counts.stream().map(FacetCountDTO::getId).collect(Collectors.toList());
+	}
+
+	private static List<Long> counts(List<FacetCountDTO> counts) {
+		return counts.stream().map(FacetCountDTO::getCantidad).collect(Collectors.toList());
+	}
+
+	/**
+	 * Test that rebuilding reads every album and podcast.
+	 */
+	@Test
+	void testRebuild() {
+		assertEquals(10, browseService.rebuild());
+	}
+
+	/**
+	 * Test to browse albumes without filters, with the counts of generos and
+	 * artistas and their names.
+	 */
+	@Test
+	void testBrowseAlbumes() throws IllegalOperationException {
+		BrowseDTO<AlbumDTO> result = browseService.browseAlbumes(null, null, null, 20, 10);
+		assertEquals(5, result.getTotal());
+		assertEquals(albumes.stream().map(AlbumEntity::getId).collect(Collectors.toList()),
+				result.getContent().stream().map(AlbumDTO::getId).collect(Collectors.toList()));
+		assertNull(result.getNextCursor());
+
+		List<FacetCountDTO> generoCounts = result.getFacetas().get(FacetIndexer.GENEROS);
+		assertEquals(List.of(generos.get(0).getId(), generos.get(1).getId()), ids(generoCounts));
+		assertEquals(List.of(3L, 2L), counts(generoCounts));
+		assertEquals("Genero 0", generoCounts.get(0).getNombre());
+		assertEquals(List.of(2L, 2L), counts(result.getFacetas().get(FacetIndexer.ARTISTAS)));
+	}
+
+	/**
+	 * Test to filter albumes by genero and artista. The counts of a facet do not
+	 * apply its own filter.
+	 */
+	@Test
+	void testFilterAlbumes() throws IllegalOperationException {
+		BrowseDTO<AlbumDTO> result = browseService.browseAlbumes(List.of(generos.get(0).getId()),
+				List.of(creadores.get(0).getId()), null, 20, 10);
+		assertEquals(2, result.getTotal());
+		assertEquals(List.of(albumes.get(2).getId(), albumes.get(4).getId()),
+				result.getContent().stream().map(AlbumDTO::getId).collect(Collectors.toList()));
+		assertEquals(List.of(generos.get(0).getId()), ids(result.getFacetas().get(FacetIndexer.GENEROS)));
+		assertEquals(List.of(creadores.get(0).getId()), ids(result.getFacetas().get(FacetIndexer.ARTISTAS)));
+
+		result = browseService.browseAlbumes(List.of(generos.get(0).getId(), generos.get(1).getId()), null, null,
+				20, 10);
+		assertEquals(5, result.getTotal());
+	}
+
+	/**
+	 * Test to walk the results with the cursor of each page.
+	 */
+	@Test
+	void testBrowsePages() throws IllegalOperationException {
+		BrowseDTO<AlbumDTO> first = browseService.browseAlbumes(null, null, null, 3, 10);
+		assertEquals(3, first.getContent().size());
+		assertNotNull(first.getNextCursor());
+
+		BrowseDTO<AlbumDTO> second = browseService.browseAlbumes(null, null, first.getNextCursor(), 3, 10);
+		assertEquals(List.of(albumes.get(3).getId(), albumes.get(4).getId()),
+				second.getContent().stream().map(AlbumDTO::getId).collect(Collectors.toList()));
+		assertNull(second.getNextCursor());
+		assertEquals(5, second.getTotal());
+
+		assertThrows(IllegalOperationException.class,
+				() -> browseService.browseAlbumes(null, null, "not a cursor", 3, 10));
+	}
+
+	/**
+	 * Test to filter podcasts by tema, creador and precio, with the counts of
+	 * the ranges of precio.
+	 */
+	@Test
+	void testBrowsePodcasts() throws IllegalOperationException {
+		BrowseDTO<PodcastDTO> result = browseService.browsePodcasts(List.of(temas.get(0).getId()), null, 1.0, 20.0,
+				null, 20, 10);
+		assertEquals(List.of(podcasts.get(2).getId(), podcasts.get(4).getId()),
+				result.getContent().stream().map(PodcastDTO::getId).collect(Collectors.toList()));
+		assertEquals(List.of(2L, 2L), counts(result.getFacetas().get(FacetIndexer.TEMAS)));
+		assertEquals(List.of(2L), counts(result.getFacetas().get(FacetIndexer.CREADORES)));
+		assertEquals("Creador 0", result.getFacetas().get(FacetIndexer.CREADORES).get(0).getNombre());
+
+		// Precios of tema 0 are 0, 10 and 20, counted without the range
+		List<FacetCountDTO> precios = result.getFacetas().get(FacetIndexer.PRECIO);
+		assertEquals(List.of(1L, 0L, 1L, 1L), counts(precios));
+		assertEquals(5.0, precios.get(0).getHasta());
+		assertNull(precios.get(3).getHasta());
+
+		result = browseService.browsePodcasts(null, List.of(creadores.get(1).getId()), null, null, null, 20, 10);
+		assertEquals(0, result.getTotal());
+
+		assertThrows(IllegalOperationException.class,
+				() -> browseService.browsePodcasts(null, null, 10.0, 5.0, null, 20, 10));
+	}
+}
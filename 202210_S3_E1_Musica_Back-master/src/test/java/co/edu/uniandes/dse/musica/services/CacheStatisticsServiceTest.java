@@ -0,0 +1,122 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.CacheRegionDTO;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for the second level and query caches. The tests run outside of a
+ * transaction so that the data is committed and reaches the cache.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ CacheStatisticsService.class, GeneroService.class })
+class CacheStatisticsServiceTest {
+
+	@Autowired
+	private CacheStatisticsService cacheStatisticsService;
+
+	@Autowired
+	private GeneroService generoService;
+
+	@Autowired
+	private GeneroRepository generoRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private GeneroEntity genero;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		genero = generoRepository.save(factory.manufacturePojo(GeneroEntity.class));
+		// Ids from a sequence let the insert itself fill the cache, start without it
+		entityManagerFactory.getCache().evictAll();
+		cacheStatisticsService.clearStatistics();
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	@AfterEach
+	void tearDown() {
+		generoRepository.deleteAll();
+	}
+
+	/**
+	 * Test that every configured region is reported.
+	 */
+	@Test
+	void testGetRegionStatistics() {
+		List<CacheRegionDTO> regions = cacheStatisticsService.getRegionStatistics();
+		List<String> names = regions.stream().map(CacheRegionDTO::getRegion).collect(Collectors.toList());
+		assertTrue(names.contains("generos"));
+		assertTrue(names.contains("temas"));
+		assertTrue(names.contains("creadores"));
+		assertTrue(names.contains("albums"));
+		assertTrue(names.contains("albums-generos"));
+		assertTrue(names.contains("default-query-results-region"));
+	}
+
+	/**
+	 * Test that once a genero is loaded, reading it by id in a new transaction
+	 * comes from the cache.
+	 */
+	@Test
+	void testEntityCacheHit() throws EntityNotFoundException {
+		generoService.getGenero(genero.getId());
+		generoService.getGenero(genero.getId());
+		generoService.getGenero(genero.getId());
+		assertEquals(1, region("generos").getMissCount());
+		assertEquals(2, region("generos").getHitCount());
+	}
+
+	/**
+	 * Test that a list query is answered by the query cache until its table
+	 * changes.
+	 */
+	@Test
+	void testQueryCacheHit() {
+		generoService.getGenerosResumen(PageRequest.of(0, 10));
+		generoService.getGenerosResumen(PageRequest.of(0, 10));
+		assertEquals(1, region("default-query-results-region").getHitCount());
+
+		generoRepository.save(factory.manufacturePojo(GeneroEntity.class));
+		assertEquals(2, generoService.getGenerosResumen(PageRequest.of(0, 10)).getContent().size());
+		assertEquals(1, region("default-query-results-region").getHitCount());
+	}
+
+	private CacheRegionDTO region(String name) {
+		return cacheStatisticsService.getRegionStatistics().stream().filter(r -> r.getRegion().equals(name))
+				.findFirst().get();
+	}
+}
@@ -17,12 +17,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
 import co.edu.uniandes.dse.musica.entities.AlbumEntity;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
 import co.edu.uniandes.dse.musica.services.CancionService;
 
 import uk.co.jemos.podam.api.PodamFactory;
@@ -110,6 +116,27 @@ class CancionServiceTest {
 
 	}
 
+	/**
+	 * Test to create more Canciones than fit in one JDBC batch.
+	 */
+	@Test
+	void testCreateCanciones() {
+		List<CancionEntity> newEntities = new ArrayList<>();
+		for (int i = 0; i < 120; i++)
+			newEntities.add(factory.manufacturePojo(CancionEntity.class));
+
+		List<CancionEntity> result = cancionService.createCanciones(newEntities);
+		assertEquals(120, result.size());
+
+		for (CancionEntity newEntity : newEntities) {
+			assertNotNull(newEntity.getId());
+			CancionEntity entity = entityManager.find(CancionEntity.class, newEntity.getId());
+			assertEquals(newEntity.getTitulo(), entity.getTitulo());
+			assertEquals(newEntity.getDuracion(), entity.getDuracion());
+		}
+		assertEquals(cancionList.size() + 120, cancionService.getCanciones().size());
+	}
+
 	/**
 	 * Test to list Cancion.
 	 */
@@ -129,6 +156,58 @@ class CancionServiceTest {
 
 	}
 
+	/**
+	 * Test to list Cancion one page at a time.
+	 */
+	@Test
+	void testGetCancionesPaged() {
+		Page<CancionEntity> page = cancionService.getCanciones(PageRequest.of(0, 2, Sort.by("id")));
+		assertEquals(2, page.getContent().size());
+		assertEquals(cancionList.size(), page.getTotalElements());
+		assertTrue(page.getContent().get(0).getId() < page.getContent().get(1).getId());
+
+		Page<CancionEntity> last = cancionService.getCanciones(PageRequest.of(1, 2, Sort.by("id")));
+		assertEquals(cancionList.size() - 2, last.getContent().size());
+		assertTrue(last.isLast());
+	}
+
+	/**
+	 * Test to get a page of Cancion summaries.
+	 */
+	@Test
+	void testGetCancionesResumen() {
+		Page<CancionDTO> page = cancionService.getCancionesResumen(PageRequest.of(0, 2, Sort.by("id")));
+		assertEquals(2, page.getContent().size());
+		assertEquals(cancionList.size(), page.getTotalElements());
+
+		CancionEntity entity = cancionList.get(0);
+		CancionDTO dto = page.getContent().get(0);
+		assertEquals(entity.getId(), dto.getId());
+		assertEquals(entity.getTitulo(), dto.getTitulo());
+		assertEquals(entity.getDuracion(), dto.getDuracion());
+		assertEquals(entity.getLink(), dto.getLink());
+		assertEquals(entity.getPortada(), dto.getPortada());
+	}
+
+	/**
+	 * Test to walk all the Cancion with a cursor.
+	 * 
+	 * @throws IllegalOperationException
+	 */
+	@Test
+	void testGetCancionesKeyset() throws IllegalOperationException {
+		KeysetPage<CancionDTO> first = cancionService.getCanciones(null, 2);
+		assertEquals(2, first.getContent().size());
+		assertNotNull(first.getNextCursor());
+		assertEquals(cancionList.get(0).getId(), first.getContent().get(0).getId());
+		assertEquals(cancionList.get(1).getId(), first.getContent().get(1).getId());
+
+		KeysetPage<CancionDTO> last = cancionService.getCanciones(first.getNextCursor(), 2);
+		assertEquals(1, last.getContent().size());
+		assertEquals(cancionList.get(2).getId(), last.getContent().get(0).getId());
+		assertNull(last.getNextCursor());
+	}
+
 	/**
 	 * Test to consult Cancion.
 	 * 
@@ -177,6 +256,20 @@ class CancionServiceTest {
 
 	}
 
+	/**
+	 * Test to update a Cancion with a version older than the stored one.
+	 */
+	@Test
+	void testUpdateCancionOldVersion() {
+		CancionEntity entity = cancionList.get(0);
+		entityManager.flush();
+		CancionEntity pojoEntity = factory.manufacturePojo(CancionEntity.class);
+		pojoEntity.setVersion(entity.getVersion() - 1);
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+			cancionService.updateCancion(entity.getId(), pojoEntity);
+		});
+	}
+
 	/**
 	 * Test to update invalid Cancion.
 	 * 
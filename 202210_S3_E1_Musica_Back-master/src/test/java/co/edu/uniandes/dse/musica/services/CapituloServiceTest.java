@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +28,7 @@ import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.KeysetPage;
 import uk.co.jemos.podam.api.PodamFactory;
 import uk.co.jemos.podam.api.PodamFactoryImpl;
 
@@ -102,6 +108,104 @@ class CapituloServiceTest {
         }
     }
 
+    /**
+     * Test to list Capitulos one page at a time.
+     */
+    @Test
+    void testGetCapitulosPaged() {
+        Page<CapituloEntity> page = capituloService.getCapitulos(PageRequest.of(0, 2, Sort.by("id")));
+        assertEquals(2, page.getContent().size());
+        assertEquals(capituloList.size(), page.getTotalElements());
+        assertTrue(page.getContent().get(0).getId() < page.getContent().get(1).getId());
+
+        Page<CapituloEntity> last = capituloService.getCapitulos(PageRequest.of(1, 2, Sort.by("id")));
+        assertEquals(capituloList.size() - 2, last.getContent().size());
+        assertTrue(last.isLast());
+    }
+
+    /**
+     * Test to walk the Capitulos ordered by id with a cursor.
+     */
+    @Test
+    void testGetCapitulosKeysetById() throws IllegalOperationException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<CapituloEntity> page = capituloService.getCapitulos(CapituloService.ORDER_BY_ID, cursor, 2);
+            page.getContent().forEach(capitulo -> ids.add(capitulo.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(capituloList.size(), ids.size());
+        for (int i = 0; i < capituloList.size(); i++)
+            assertEquals(capituloList.get(i).getId(), ids.get(i));
+    }
+
+    /**
+     * Test to walk the Capitulos ordered by fechaPublicacion with a cursor, with
+     * repeated and missing dates.
+     */
+    @Test
+    void testGetCapitulosKeysetByFecha() throws IllegalOperationException {
+        Date fecha = new GregorianCalendar(2022, 2, 1).getTime();
+        capituloList.get(0).setFechaPublicacion(fecha);
+        capituloList.get(1).setFechaPublicacion(null);
+        capituloList.get(2).setFechaPublicacion(fecha);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<CapituloEntity> page = capituloService.getCapitulos(CapituloService.ORDER_BY_FECHA, cursor, 1);
+            page.getContent().forEach(capitulo -> ids.add(capitulo.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(capituloList.get(1).getId(), capituloList.get(0).getId(), capituloList.get(2).getId()), ids);
+    }
+
+    /**
+     * Test to walk the Capitulos ordered by fechaPublicacion with pages that go
+     * on from the undated capitulos to the dated ones.
+     */
+    @Test
+    void testGetCapitulosKeysetByFechaAcrossUndated() throws IllegalOperationException {
+        capituloList.get(0).setFechaPublicacion(null);
+        capituloList.get(1).setFechaPublicacion(null);
+        capituloList.get(2).setFechaPublicacion(new GregorianCalendar(2022, 2, 1).getTime());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> expected = List.of(capituloList.get(0).getId(), capituloList.get(1).getId(),
+                capituloList.get(2).getId());
+        for (int limit = 1; limit <= 4; limit++) {
+            List<Long> ids = new ArrayList<>();
+            String cursor = null;
+            do {
+                KeysetPage<CapituloEntity> page = capituloService.getCapitulos(CapituloService.ORDER_BY_FECHA, cursor,
+                        limit);
+                page.getContent().forEach(capitulo -> ids.add(capitulo.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            assertEquals(expected, ids);
+        }
+    }
+
+    /**
+     * Test to list Capitulos with a cursor from another ordering.
+     */
+    @Test
+    void testGetCapitulosKeysetInvalidCursor() throws IllegalOperationException {
+        String cursor = capituloService.getCapitulos(CapituloService.ORDER_BY_ID, null, 1).getNextCursor();
+        assertThrows(IllegalOperationException.class, () -> {
+            capituloService.getCapitulos(CapituloService.ORDER_BY_FECHA, cursor, 1);
+        });
+        assertThrows(IllegalOperationException.class, () -> {
+            capituloService.getCapitulos(CapituloService.ORDER_BY_ID, "not a cursor", 1);
+        });
+    }
+
     @Test
     void testCreateCapitulo() throws EntityNotFoundException, IllegalOperationException {
         CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
@@ -193,6 +297,35 @@ class CapituloServiceTest {
         });
     }
 
+    @Test
+    void testCreateCapituloWithExistingTituloInPodcast() throws EntityNotFoundException, IllegalOperationException {
+        CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+        capitulo.setTitulo("Capítulo Uno");
+        capitulo.setPodcast(podcastList.get(0));
+        capituloService.createCapitulo(capitulo);
+
+        assertThrows(IllegalOperationException.class, () -> {
+            CapituloEntity otro = factory.manufacturePojo(CapituloEntity.class);
+            otro.setTitulo("capitulo uno");
+            otro.setPodcast(podcastList.get(0));
+            capituloService.createCapitulo(otro);
+        });
+    }
+
+    @Test
+    void testUpdateCapituloWithExistingTituloInPodcast() {
+        capituloList.get(0).setTitulo("Capitulo");
+        capituloList.get(0).setPodcast(podcastList.get(0));
+        capituloList.get(1).setPodcast(podcastList.get(0));
+        entityManager.flush();
+        assertThrows(IllegalOperationException.class, () -> {
+            CapituloEntity pojo = factory.manufacturePojo(CapituloEntity.class);
+            pojo.setTitulo("CAPITULO");
+            pojo.setPodcast(podcastList.get(0));
+            capituloService.updateCapitulo(capituloList.get(1).getId(), pojo);
+        });
+    }
+
     @Test
     void testDeleteCapitulo() throws EntityNotFoundException, IllegalOperationException {
         CapituloEntity capitulo = capituloList.get(1);
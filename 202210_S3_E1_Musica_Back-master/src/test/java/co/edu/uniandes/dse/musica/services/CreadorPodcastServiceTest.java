@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
@@ -20,7 +21,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
 
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
@@ -36,12 +39,15 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
 @Transactional
-@Import(CreadorPodcastService.class)
+@Import({ CreadorPodcastService.class, BrowseService.class })
 public class CreadorPodcastServiceTest {
 
     @Autowired
     private CreadorPodcastService creadorPodcastService;
 
+    @Autowired
+    private BrowseService browseService;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -57,8 +63,8 @@ public class CreadorPodcastServiceTest {
     }
 
     private void clearData() {
-        entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
         entityManager.getEntityManager().createQuery("delete from CreadorEntity").executeUpdate();
+        entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
     }
 
     private void insertData() {
@@ -218,6 +224,41 @@ public class CreadorPodcastServiceTest {
         assertTrue(creadorPodcastService.getPodcastsOfCreador(creador.getId()).isEmpty());
     }
 
+    private List<Long> browseByCreador() throws IllegalOperationException {
+        return browseService.browsePodcasts(null, List.of(creador.getId()), null, null, null, 20, 10).getContent()
+                .stream().map(PodcastDTO::getId).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Test that browsing podcasts by creador sees the podcasts added and removed
+     * through the creador once each change commits. The data is committed first
+     * and deleted at the end.
+     */
+    @Test
+    void testBrowseByCreadorAfterAddAndRemove() throws EntityNotFoundException, IllegalOperationException {
+        PodcastEntity podcast = factory.manufacturePojo(PodcastEntity.class);
+        entityManager.persist(podcast);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            browseService.rebuild();
+            List<Long> antes = browseByCreador();
+            assertEquals(podcastList.size(), antes.size());
+
+            creadorPodcastService.addPodcastToCreador(creador.getId(), podcast.getId());
+            List<Long> despues = browseByCreador();
+            assertEquals(podcastList.size() + 1, despues.size());
+            assertTrue(despues.contains(podcast.getId()));
+
+            creadorPodcastService.removePodcastOfCreador(creador.getId(), podcast.getId());
+            assertEquals(antes, browseByCreador());
+        } finally {
+            TestTransaction.start();
+            clearData();
+            TestTransaction.flagForCommit();
+        }
+    }
+
     @Test
     void testRemoveInvalidPodcastOfCreador() {
         assertThrows(EntityNotFoundException.class, () -> {
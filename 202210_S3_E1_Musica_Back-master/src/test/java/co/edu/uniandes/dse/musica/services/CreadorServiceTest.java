@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +26,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
 import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
 import uk.co.jemos.podam.api.PodamFactory;
 import uk.co.jemos.podam.api.PodamFactoryImpl;
@@ -143,6 +145,44 @@ class CreadorServiceTest {
         });
     }
 
+    @Test
+    void testCreateCreadorNormalizedName() throws EntityNotFoundException, IllegalOperationException {
+        CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+        creador.setNombre("  Beyoncé   Knowles ");
+        CreadorEntity newCreador = creadorService.createCreador(creador);
+
+        CreadorEntity retrieved = entityManager.find(CreadorEntity.class, newCreador.getId());
+        assertEquals("  Beyoncé   Knowles ", retrieved.getNombre());
+        assertEquals("beyonce knowles", retrieved.getNombreNormalizado());
+    }
+
+    @Test
+    void testCreateExistingNormalizedName() throws EntityNotFoundException, IllegalOperationException {
+        CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+        creador.setNombre("Beyoncé");
+        creadorService.createCreador(creador);
+
+        IllegalOperationException exception = assertThrows(IllegalOperationException.class, () -> {
+            CreadorEntity other = factory.manufacturePojo(CreadorEntity.class);
+            other.setNombre(" BEYONCE ");
+            creadorService.createCreador(other);
+        });
+        assertEquals(ErrorMessage.CREADOR_ALREADY_EXISTS, exception.getMessage());
+    }
+
+    @Test
+    void testNormalizedNameUniqueIndex() {
+        assertThrows(PersistenceException.class, () -> {
+            CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+            creador.setNombre("Rosalía");
+            entityManager.persist(creador);
+            CreadorEntity other = factory.manufacturePojo(CreadorEntity.class);
+            other.setNombre("ROSALIA");
+            entityManager.persist(other);
+            entityManager.flush();
+        });
+    }
+
 
     @Test
     void testGetCreador() throws EntityNotFoundException, IllegalOperationException {
@@ -203,6 +243,30 @@ class CreadorServiceTest {
         });
     }
 
+    @Test
+    void testUpdateCreadorExistingName() throws EntityNotFoundException, IllegalOperationException {
+        assertThrows(IllegalOperationException.class, () -> {
+            CreadorEntity creador = creadorList.get(0);
+            CreadorEntity pojo = factory.manufacturePojo(CreadorEntity.class);
+            pojo.setNombre(creadorList.get(1).getNombre().toUpperCase());
+            pojo.setId(creador.getId());
+            creadorService.updateCreador(creador.getId(), pojo);
+        });
+    }
+
+    @Test
+    void testUpdateCreadorSameName() throws EntityNotFoundException, IllegalOperationException {
+        CreadorEntity creador = creadorList.get(0);
+        CreadorEntity pojo = factory.manufacturePojo(CreadorEntity.class);
+        pojo.setNombre(creador.getNombre());
+        pojo.setId(creador.getId());
+        creadorService.updateCreador(creador.getId(), pojo);
+
+        CreadorEntity retrieved = entityManager.find(CreadorEntity.class, creador.getId());
+        assertEquals(pojo.getNombre(), retrieved.getNombre());
+        assertEquals(pojo.getNacionalidad(), retrieved.getNacionalidad());
+    }
+
     @Test
     void testDeleteCreador() throws EntityNotFoundException, IllegalOperationException {
         CreadorEntity creador = creadorList.get(1);
@@ -0,0 +1,177 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.musica.config.ApplicationConfig;
+import co.edu.uniandes.dse.musica.dto.AlbumDetailDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.PodcastDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for ExportService.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import({ ExportService.class, ApplicationConfig.class, JacksonAutoConfiguration.class })
+class ExportServiceTest {
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private List<CancionEntity> cancionList = new ArrayList<>();
+
+	private List<AlbumEntity> albumList = new ArrayList<>();
+
+	private GeneroEntity genero;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+		insertData();
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from CapituloEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from AlbumEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CancionEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from GeneroEntity").executeUpdate();
+	}
+
+	/**
+	 * Insert initial data for test. There are more albums than fit in one chunk.
+	 */
+	private void insertData() {
+		genero = factory.manufacturePojo(GeneroEntity.class);
+		entityManager.persist(genero);
+
+		for (int i = 0; i < 3; i++) {
+			CancionEntity cancion = factory.manufacturePojo(CancionEntity.class);
+			entityManager.persist(cancion);
+			cancionList.add(cancion);
+		}
+
+		for (int i = 0; i < 150; i++) {
+			AlbumEntity album = factory.manufacturePojo(AlbumEntity.class);
+			album.getGeneros().add(genero);
+			album.getCanciones().add(cancionList.get(i % cancionList.size()));
+			entityManager.persist(album);
+			albumList.add(album);
+		}
+		entityManager.flush();
+	}
+
+	private List<String> export(String resource) throws EntityNotFoundException, IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = exportService.export(resource, out);
+		String text = out.toString(StandardCharsets.UTF_8);
+		List<String> lines = List.of(text.split("\n"));
+		assertEquals(rows, lines.size());
+		assertEquals('\n', text.charAt(text.length() - 1));
+		return lines;
+	}
+
+	/**
+	 * Test to export the canciones one per line, in id order.
+	 */
+	@Test
+	void testExportCanciones() throws Exception {
+		List<String> lines = export(ExportService.CANCIONES);
+		assertEquals(cancionList.size(), lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			CancionDTO dto = objectMapper.readValue(lines.get(i), CancionDTO.class);
+			assertEquals(cancionList.get(i).getId(), dto.getId());
+			assertEquals(cancionList.get(i).getTitulo(), dto.getTitulo());
+		}
+	}
+
+	/**
+	 * Test to export the albumes with their collections, across chunks.
+	 */
+	@Test
+	void testExportAlbumes() throws Exception {
+		List<String> lines = export(ExportService.ALBUMES);
+		assertEquals(albumList.size(), lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			AlbumDetailDTO dto = objectMapper.readValue(lines.get(i), AlbumDetailDTO.class);
+			assertEquals(albumList.get(i).getId(), dto.getId());
+			assertEquals(1, dto.getGeneros().size());
+			assertEquals(genero.getId(), dto.getGeneros().iterator().next().getId());
+			assertEquals(cancionList.get(i % cancionList.size()).getId(), dto.getCanciones().iterator().next().getId());
+		}
+	}
+
+	/**
+	 * Test to export the podcasts with their capitulos.
+	 */
+	@Test
+	void testExportPodcasts() throws Exception {
+		PodcastEntity podcast = factory.manufacturePojo(PodcastEntity.class);
+		entityManager.persist(podcast);
+		CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+		capitulo.setPodcast(podcast);
+		entityManager.persist(capitulo);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<String> lines = export(ExportService.PODCASTS);
+		assertEquals(1, lines.size());
+		PodcastDetailDTO dto = objectMapper.readValue(lines.get(0), PodcastDetailDTO.class);
+		assertEquals(podcast.getId(), dto.getId());
+		assertEquals(1, dto.getCapitulos().size());
+		assertEquals(capitulo.getTitulo(), dto.getCapitulos().iterator().next().getTitulo());
+	}
+
+	/**
+	 * Test to export a resource that cannot be exported.
+	 */
+	@Test
+	void testExportInvalidResource() {
+		assertThrows(EntityNotFoundException.class, () -> {
+			exportService.export("usuarios", new ByteArrayOutputStream());
+		});
+	}
+}
@@ -7,6 +7,7 @@ import java.util.List;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -150,6 +151,25 @@ class GeneroAlbumServiceTest {
 		});
 	}
 
+	/**
+	 * Prueba para contar y consultar los albumes de un genero sin cargarlos.
+	 */
+	@Test
+	void testCountAlbums() throws EntityNotFoundException, IllegalOperationException {
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(albumList.size(), generoAlbumService.countAlbums(genero.getId()));
+		assertEquals(albumList.get(0).getId(),
+				generoAlbumService.getAlbum(genero.getId(), albumList.get(0).getId()).getId());
+		assertFalse(Hibernate.isInitialized(entityManager.find(GeneroEntity.class, genero.getId()).getAlbumes()));
+	}
+
+	@Test
+	void testCountAlbumsInvalidGenero() {
+		assertThrows(EntityNotFoundException.class, () -> generoAlbumService.countAlbums(0L));
+	}
+
 	/**
 	 * Prueba para consultar un autor de un libro.
 	 *
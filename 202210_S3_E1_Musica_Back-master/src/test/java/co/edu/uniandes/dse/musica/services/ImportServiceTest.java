@@ -0,0 +1,209 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.ImportReportDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.GeneroEntity;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.repositories.CreadorRepository;
+import co.edu.uniandes.dse.musica.repositories.GeneroRepository;
+
+/**
+ * Tests for ImportService. The import commits from its own thread, so the
+ * tests run outside of a transaction and clean the tables themselves.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "musica.import.batch-size=2")
+@Import({ ImportService.class, JacksonAutoConfiguration.class })
+class ImportServiceTest {
+
+	@Autowired
+	private ImportService importService;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private CreadorRepository creadorRepository;
+
+	@Autowired
+	private GeneroRepository generoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+	}
+
+	/**
+	 * Clean tables in the test. Album and cancion reference each other through
+	 * two join tables, so the join tables are emptied first.
+	 */
+	@AfterEach
+	void clearData() {
+		for (String table : List.of("creador_entity_albumes", "cancion_entity_albumes", "album_entity_canciones",
+				"album_entity_generos", "genero_entity_albumes", "creador_entity", "cancion_entity", "album_entity",
+				"genero_entity"))
+			jdbcTemplate.update("DELETE FROM " + table);
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	private ImportReportDTO importLines(ImportService.Format format, String... lines)
+			throws IllegalOperationException, IOException {
+		byte[] content = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+		return importService.importAlbumes(new ByteArrayInputStream(content), format);
+	}
+
+	/**
+	 * Test to import albumes from NDJSON, creating each artista and genero once.
+	 */
+	@Test
+	void testImportNdjson() throws Exception {
+		ImportReportDTO report = importLines(ImportService.Format.NDJSON,
+				"{\"titulo\":\"Lemonade\",\"imagen\":\"l.png\",\"canciones\":[{\"titulo\":\"Hold Up\",\"duracion\":221},"
+						+ "{\"titulo\":\"Sorry\",\"duracion\":232}],\"artistas\":[{\"nombre\":\"Beyoncé\"}],"
+						+ "\"generos\":[{\"nombre\":\"Pop\"}]}",
+				"{\"titulo\":",
+				"{\"titulo\":\"Renaissance\",\"artistas\":[{\"nombre\":\" beyonce \"}],"
+						+ "\"generos\":[{\"nombre\":\"pop\"},{\"nombre\":\"House\"}]}");
+
+		assertEquals(3, report.getRows());
+		assertEquals(2, report.getImported());
+		assertEquals(1, report.getFailed());
+		assertEquals(2, report.getErrors().get(0).getLine());
+		assertTrue(report.getRowsPerSecond() > 0);
+
+		assertEquals(2, albumRepository.count());
+		assertEquals(2, cancionRepository.count());
+		assertEquals(2, generoRepository.count());
+		List<CreadorEntity> creadores = creadorRepository.findAll();
+		assertEquals(1, creadores.size());
+		assertEquals("Beyoncé", creadores.get(0).getNombre());
+
+		List<Long> ids = albumRepository.findAll().stream().map(AlbumEntity::getId).collect(Collectors.toList());
+		for (AlbumEntity album : albumRepository.findWithArtistasByIdIn(ids)) {
+			assertEquals(1, album.getArtistas().size());
+			assertEquals(creadores.get(0).getId(), album.getArtistas().iterator().next().getId());
+		}
+	}
+
+	/**
+	 * Test to import albumes whose artistas and generos already exist.
+	 */
+	@Test
+	void testImportExistingCreadoresAndGeneros() throws Exception {
+		CreadorEntity creador = new CreadorEntity();
+		creador.setNombre("Shakira");
+		creador = creadorRepository.save(creador);
+		GeneroEntity genero = new GeneroEntity();
+		genero.setNombre("Pop");
+		genero = generoRepository.save(genero);
+
+		ImportReportDTO report = importLines(ImportService.Format.NDJSON,
+				"{\"titulo\":\"Laundry Service\",\"artistas\":[{\"nombre\":\"SHAKIRA\"}],\"generos\":[{\"nombre\":\"pop\"}]}");
+
+		assertEquals(1, report.getImported());
+		assertEquals(1, creadorRepository.count());
+		assertEquals(1, generoRepository.count());
+		AlbumEntity album = albumRepository.findWithGenerosByIdIn(List.of(albumRepository.findAll().get(0).getId()))
+				.get(0);
+		assertEquals(genero.getId(), album.getGeneros().iterator().next().getId());
+		album = albumRepository.findWithArtistasByIdIn(List.of(album.getId())).get(0);
+		assertEquals(creador.getId(), album.getArtistas().iterator().next().getId());
+	}
+
+	/**
+	 * Test to import a CSV file, grouping the canciones of each album.
+	 */
+	@Test
+	void testImportCsv() throws Exception {
+		ImportReportDTO report = importLines(ImportService.Format.CSV,
+				"album,imagen,cancion,duracion,link,portada,artistas,generos",
+				"\"Abbey Road\",ar.png,\"Come Together\",259,,,\"John Lennon|Paul McCartney\",Rock",
+				"\"Abbey Road\",ar.png,Something,182,,,\"John Lennon|Paul McCartney\",Rock",
+				"Help!,h.png,Yesterday,abc,,,Paul McCartney,Rock",
+				"Help!,h.png,\"Ticket to Ride\",190,,,Paul McCartney,Rock");
+
+		assertEquals(4, report.getRows());
+		assertEquals(3, report.getImported());
+		assertEquals(1, report.getFailed());
+		assertEquals(4, report.getErrors().get(0).getLine());
+
+		assertEquals(2, albumRepository.count());
+		assertEquals(3, cancionRepository.count());
+		assertEquals(2, creadorRepository.count());
+		assertEquals(1, generoRepository.count());
+	}
+
+	/**
+	 * Test that a row that cannot be written does not reject the rest of its
+	 * batch.
+	 */
+	@Test
+	void testImportInvalidRows() throws Exception {
+		ImportReportDTO report = importLines(ImportService.Format.NDJSON,
+				"{\"titulo\":\"Uno\"}",
+				"{\"titulo\":\"" + "x".repeat(300) + "\"}",
+				"{\"titulo\":\"\"}",
+				"{\"titulo\":\"Dos\"}",
+				"{\"titulo\":\"Tres\"}");
+
+		assertEquals(5, report.getRows());
+		assertEquals(3, report.getImported());
+		assertEquals(2, report.getFailed());
+		assertEquals(List.of(2L, 3L), report.getErrors().stream().map(e -> e.getLine()).sorted()
+				.collect(Collectors.toList()));
+		assertEquals(3, albumRepository.count());
+	}
+
+	/**
+	 * Test to import a CSV file without the album column.
+	 */
+	@Test
+	void testImportCsvWithoutHeader() {
+		assertThrows(IllegalOperationException.class, () -> {
+			importLines(ImportService.Format.CSV, "Abbey Road,ar.png,Something");
+		});
+	}
+}
@@ -1,11 +1,16 @@
 package co.edu.uniandes.dse.musica.services;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +19,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import co.edu.uniandes.dse.musica.dto.PistaDTO;
+import co.edu.uniandes.dse.musica.entities.PistaEntity;
 import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
 import co.edu.uniandes.dse.musica.entities.CancionEntity;
 import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
@@ -47,6 +56,7 @@ class PlaylistCancionServiceTest  {
 	}
 
 	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from PistaEntity").executeUpdate();
 		entityManager.getEntityManager().createQuery("delete from PlaylistEntity").executeUpdate();
 		entityManager.getEntityManager().createQuery("delete from CancionEntity").executeUpdate();
 	}
@@ -108,6 +118,20 @@ class PlaylistCancionServiceTest  {
 		});
 	}
 
+	@Test
+	void testCountCanciones() throws EntityNotFoundException {
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(cancionList.size(), playlistCancionService.countCanciones(playlist.getId()));
+		assertFalse(Hibernate.isInitialized(entityManager.find(PlaylistEntity.class, playlist.getId()).getCanciones()));
+	}
+
+	@Test
+	void testCountCancionesInvalidPlaylist() {
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.countCanciones(0L));
+	}
+
 	@Test
 	void testGetCancion() throws EntityNotFoundException, IllegalOperationException {
 		CancionEntity cancionEntity = cancionList.iterator().next();
@@ -223,6 +247,44 @@ class PlaylistCancionServiceTest  {
 		assertTrue(playlistCancionService.getCanciones(playlist.getId()).isEmpty());
 	}
 
+	@Test
+	void testGetAndRemoveCancionWithoutLoadingPlaylist() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity grande = factory.manufacturePojo(PlaylistEntity.class);
+		for (int i = 0; i < 500; i++) {
+			CancionEntity entity = factory.manufacturePojo(CancionEntity.class);
+			entityManager.persist(entity);
+			grande.getCanciones().add(entity);
+		}
+		entityManager.persist(grande);
+		CancionEntity primera = grande.getCanciones().iterator().next();
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(primera.getId(), playlistCancionService.getCancion(grande.getId(), primera.getId()).getId());
+		playlistCancionService.removeCancion(grande.getId(), primera.getId());
+
+		assertFalse(Hibernate.isInitialized(entityManager.find(PlaylistEntity.class, grande.getId()).getCanciones()));
+		assertThrows(IllegalOperationException.class,
+				() -> playlistCancionService.getCancion(grande.getId(), primera.getId()));
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(499, entityManager.find(PlaylistEntity.class, grande.getId()).getCanciones().size());
+	}
+
+	@Test
+	void testNewCancionKeepsItsPlaceInSet() {
+		CancionEntity nueva = factory.manufacturePojo(CancionEntity.class);
+		CancionEntity otra = factory.manufacturePojo(CancionEntity.class);
+		assertNotEquals(nueva, otra);
+
+		Set<CancionEntity> canciones = new HashSet<>();
+		canciones.add(nueva);
+		entityManager.persist(nueva);
+		assertNotNull(nueva.getId());
+		assertTrue(canciones.contains(nueva));
+		assertTrue(canciones.remove(nueva));
+	}
+
 	@Test
 	void removeInvalidCancion() {
 		assertThrows(EntityNotFoundException.class, () -> {
@@ -237,7 +299,258 @@ class PlaylistCancionServiceTest  {
 			playlistCancionService.removeCancion(0L, cancionList.iterator().next().getId());
 		});
 	}
-}
 
+	/**
+	 * Playlist nueva con las canciones del fixture agregadas en orden, cada una
+	 * con su pista.
+	 */
+	private PlaylistEntity playlistOrdenada() throws EntityNotFoundException {
+		PlaylistEntity ordenada = factory.manufacturePojo(PlaylistEntity.class);
+		entityManager.persist(ordenada);
+		for (CancionEntity cancion : cancionList)
+			playlistCancionService.addCancion(ordenada.getId(), cancion.getId());
+		return ordenada;
+	}
+
+	private List<Long> orden(Long playlistId) throws EntityNotFoundException {
+		return playlistCancionService.getPistas(playlistId, PageRequest.of(0, 100)).stream()
+				.map(pista -> pista.getCancion().getId()).collect(Collectors.toList());
+	}
+
+	private List<Long> idsDe(CancionEntity... canciones) {
+		List<Long> ids = new ArrayList<>();
+		for (CancionEntity cancion : canciones)
+			ids.add(cancion.getId());
+		return ids;
+	}
+
+	@Test
+	void testAddCancionAppendsPista() throws EntityNotFoundException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] canciones = cancionList.toArray(new CancionEntity[0]);
+
+		assertEquals(idsDe(canciones), orden(ordenada.getId()));
+		// Agregar una cancion que ya esta no crea otra pista
+		playlistCancionService.addCancion(ordenada.getId(), canciones[0].getId());
+		assertEquals(idsDe(canciones), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testInsertCancion() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		CancionEntity nueva = factory.manufacturePojo(CancionEntity.class);
+		entityManager.persist(nueva);
+
+		playlistCancionService.insertCancion(ordenada.getId(), nueva.getId(), 1);
+		playlistCancionService.insertCancion(ordenada.getId(), c[2].getId(), 0);
+		playlistCancionService.insertCancion(ordenada.getId(), nueva.getId(), null);
+
+		assertEquals(idsDe(c[2], c[0], nueva, c[1], c[2], nueva), orden(ordenada.getId()));
+		assertEquals(4, playlistCancionService.countCanciones(ordenada.getId()));
+		assertEquals(nueva.getId(), playlistCancionService.getCancion(ordenada.getId(), nueva.getId()).getId());
+	}
+
+	@Test
+	void testInsertCancionInvalidIndex() throws EntityNotFoundException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		Long cancionId = cancionList.iterator().next().getId();
+
+		assertThrows(IllegalOperationException.class,
+				() -> playlistCancionService.insertCancion(ordenada.getId(), cancionId, cancionList.size() + 1));
+		assertThrows(IllegalOperationException.class,
+				() -> playlistCancionService.insertCancion(ordenada.getId(), cancionId, -1));
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.insertCancion(0L, cancionId, 0));
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.insertCancion(ordenada.getId(), 0L, 0));
+	}
 
+	@Test
+	void testInsertCancionSpreadsPositions() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		List<Long> esperado = new ArrayList<>(orden(ordenada.getId()));
+		Long cancionId = cancionList.iterator().next().getId();
+
+		// Mas inserciones en el mismo hueco que las que caben entre dos posiciones
+		for (int i = 0; i < 40; i++) {
+			playlistCancionService.insertCancion(ordenada.getId(), cancionId, 1);
+			esperado.add(1, cancionId);
+		}
+		assertEquals(esperado, orden(ordenada.getId()));
+	}
 
+	@Test
+	void testMoveCancion() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		List<PistaEntity> antes = entityManager.getEntityManager()
+				.createQuery("select p from PistaEntity p where p.playlist.id = :id order by p.posicion", PistaEntity.class)
+				.setParameter("id", ordenada.getId()).getResultList();
+		long segunda = antes.get(1).getPosicion();
+		long tercera = antes.get(2).getPosicion();
+
+		PistaEntity movida = playlistCancionService.moveCancion(ordenada.getId(), 0, 2);
+		assertEquals(c[0].getId(), movida.getCancion().getId());
+		assertEquals(idsDe(c[1], c[2], c[0]), orden(ordenada.getId()));
+		// Solo cambia la posicion de la pista movida
+		assertEquals(segunda, antes.get(1).getPosicion());
+		assertEquals(tercera, antes.get(2).getPosicion());
+
+		playlistCancionService.moveCancion(ordenada.getId(), 2, 1);
+		assertEquals(idsDe(c[1], c[0], c[2]), orden(ordenada.getId()));
+		playlistCancionService.moveCancion(ordenada.getId(), 2, 0);
+		assertEquals(idsDe(c[2], c[1], c[0]), orden(ordenada.getId()));
+		playlistCancionService.moveCancion(ordenada.getId(), 1, 1);
+		assertEquals(idsDe(c[2], c[1], c[0]), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testMoveCancionInvalidIndex() throws EntityNotFoundException {
+		PlaylistEntity ordenada = playlistOrdenada();
+
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.moveCancion(ordenada.getId(), 3, 0));
+		assertThrows(IllegalOperationException.class, () -> playlistCancionService.moveCancion(ordenada.getId(), 0, 3));
+		assertThrows(IllegalOperationException.class, () -> playlistCancionService.moveCancion(ordenada.getId(), 0, -1));
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.moveCancion(0L, 0, 1));
+	}
+
+	private List<PistaEntity> pistas(Long playlistId) {
+		return entityManager.getEntityManager()
+				.createQuery("select p from PistaEntity p where p.playlist.id = :id order by p.posicion, p.id", PistaEntity.class)
+				.setParameter("id", playlistId).getResultList();
+	}
+
+	@Test
+	void testInsertCancionDespues() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		List<PistaEntity> antes = pistas(ordenada.getId());
+
+		playlistCancionService.insertCancionDespues(ordenada.getId(), c[2].getId(), antes.get(0).getId());
+		playlistCancionService.insertCancionDespues(ordenada.getId(), c[1].getId(), null);
+		playlistCancionService.insertCancionDespues(ordenada.getId(), c[0].getId(), antes.get(2).getId());
+
+		assertEquals(idsDe(c[1], c[0], c[2], c[1], c[2], c[0]), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testMoveCancionDespues() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		List<PistaEntity> antes = pistas(ordenada.getId());
+		long segunda = antes.get(1).getPosicion();
+		long tercera = antes.get(2).getPosicion();
+
+		PistaEntity movida = playlistCancionService.moveCancionDespues(ordenada.getId(), antes.get(0).getId(),
+				antes.get(2).getId());
+		assertEquals(c[0].getId(), movida.getCancion().getId());
+		assertEquals(idsDe(c[1], c[2], c[0]), orden(ordenada.getId()));
+		// Solo cambia la posicion de la pista movida
+		assertEquals(segunda, antes.get(1).getPosicion());
+		assertEquals(tercera, antes.get(2).getPosicion());
+
+		playlistCancionService.moveCancionDespues(ordenada.getId(), antes.get(2).getId(), null);
+		assertEquals(idsDe(c[2], c[1], c[0]), orden(ordenada.getId()));
+		// Moverla despues de si misma o de la que ya tiene antes no la cambia
+		long posicion = antes.get(1).getPosicion();
+		playlistCancionService.moveCancionDespues(ordenada.getId(), antes.get(1).getId(), antes.get(1).getId());
+		playlistCancionService.moveCancionDespues(ordenada.getId(), antes.get(1).getId(), antes.get(2).getId());
+		assertEquals(posicion, antes.get(1).getPosicion());
+		assertEquals(idsDe(c[2], c[1], c[0]), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testMoveCancionDespuesSpreadsPositions() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		List<PistaEntity> antes = pistas(ordenada.getId());
+
+		// La primera y la ultima se turnan para quedar despues de la segunda, y el
+		// hueco se parte mas veces que las que caben entre dos posiciones
+		for (int i = 0; i < 40; i++) {
+			PistaEntity pista = antes.get(i % 2 == 0 ? 0 : 2);
+			playlistCancionService.moveCancionDespues(ordenada.getId(), pista.getId(), antes.get(1).getId());
+		}
+		assertEquals(idsDe(c[1], c[2], c[0]), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testPistaDeOtraPlaylist() throws EntityNotFoundException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		PlaylistEntity otra = playlistOrdenada();
+		Long ajena = pistas(otra.getId()).get(0).getId();
+		Long propia = pistas(ordenada.getId()).get(0).getId();
+		Long cancionId = cancionList.iterator().next().getId();
+
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.moveCancionDespues(ordenada.getId(), ajena, null));
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.moveCancionDespues(ordenada.getId(), propia, ajena));
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.insertCancionDespues(ordenada.getId(), cancionId, ajena));
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.removePista(ordenada.getId(), ajena));
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.removePista(0L, propia));
+	}
+
+	@Test
+	void testRemovePista() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		PistaEntity repetida = playlistCancionService.insertCancion(ordenada.getId(), c[0].getId(), null);
+		Long primera = pistas(ordenada.getId()).get(0).getId();
+
+		// La cancion sigue en la playlist mientras le quede una pista
+		playlistCancionService.removePista(ordenada.getId(), primera);
+		assertEquals(idsDe(c[1], c[2], c[0]), orden(ordenada.getId()));
+		assertEquals(c[0].getId(), playlistCancionService.getCancion(ordenada.getId(), c[0].getId()).getId());
+
+		playlistCancionService.removePista(ordenada.getId(), repetida.getId());
+		assertEquals(idsDe(c[1], c[2]), orden(ordenada.getId()));
+		assertThrows(IllegalOperationException.class,
+				() -> playlistCancionService.getCancion(ordenada.getId(), c[0].getId()));
+		assertThrows(EntityNotFoundException.class,
+				() -> playlistCancionService.removePista(ordenada.getId(), repetida.getId()));
+	}
+
+	@Test
+	void testRemoveCancionAt() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		playlistCancionService.insertCancion(ordenada.getId(), c[0].getId(), null);
+
+		// La cancion sigue en la playlist mientras le quede una pista
+		playlistCancionService.removeCancionAt(ordenada.getId(), 0);
+		assertEquals(idsDe(c[1], c[2], c[0]), orden(ordenada.getId()));
+		assertEquals(c[0].getId(), playlistCancionService.getCancion(ordenada.getId(), c[0].getId()).getId());
+
+		playlistCancionService.removeCancionAt(ordenada.getId(), 2);
+		assertEquals(idsDe(c[1], c[2]), orden(ordenada.getId()));
+		assertThrows(IllegalOperationException.class,
+				() -> playlistCancionService.getCancion(ordenada.getId(), c[0].getId()));
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.removeCancionAt(ordenada.getId(), 2));
+	}
+
+	@Test
+	void testRemoveCancionRemovesPistas() throws EntityNotFoundException, IllegalOperationException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+		playlistCancionService.insertCancion(ordenada.getId(), c[1].getId(), 0);
+
+		playlistCancionService.removeCancion(ordenada.getId(), c[1].getId());
+		assertEquals(idsDe(c[0], c[2]), orden(ordenada.getId()));
+	}
+
+	@Test
+	void testGetPistasPage() throws EntityNotFoundException {
+		PlaylistEntity ordenada = playlistOrdenada();
+		CancionEntity[] c = cancionList.toArray(new CancionEntity[0]);
+
+		Page<PistaDTO> pagina = playlistCancionService.getPistas(ordenada.getId(), PageRequest.of(1, 2));
+		assertEquals(3, pagina.getTotalElements());
+		assertEquals(1, pagina.getContent().size());
+		assertEquals(c[2].getId(), pagina.getContent().get(0).getCancion().getId());
+		assertEquals(c[2].getTitulo(), pagina.getContent().get(0).getCancion().getTitulo());
+		assertThrows(EntityNotFoundException.class, () -> playlistCancionService.getPistas(0L, PageRequest.of(0, 2)));
+	}
+}
@@ -3,6 +3,7 @@ package co.edu.uniandes.dse.musica.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -13,6 +14,7 @@ import java.util.Set;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -114,6 +116,36 @@ public class PodcastCapituloServiceTest {
         });
     }
 
+    @Test
+    void testAddCapituloWithNormalizedTituloWithinPodcast() {
+        capituloList.get(0).setTitulo("Episodio Único");
+        capituloList.get(0).setPodcast(podcast);
+        entityManager.flush();
+        CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+        capitulo.setTitulo("  episodio   UNICO ");
+        entityManager.persist(capitulo);
+        assertThrows(IllegalOperationException.class, () -> {
+            podcastCapituloService.addCapituloToPodcast(podcast.getId(), capitulo.getId());
+        });
+    }
+
+    @Test
+    void testAddCapituloToPodcastWithManyCapitulos() throws EntityNotFoundException, IllegalOperationException {
+        for (int i = 0; i < 50; i++) {
+            CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+            capitulo.setPodcast(podcast);
+            entityManager.persist(capitulo);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+        entityManager.persist(capitulo);
+        podcastCapituloService.addCapituloToPodcast(podcast.getId(), capitulo.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(podcast.getId(), entityManager.find(CapituloEntity.class, capitulo.getId()).getPodcast().getId());
+    }
+
     @Test
     void testGetCapitulosOfPodcasts() throws EntityNotFoundException, IllegalOperationException {
         Set<CapituloEntity> capitulos = podcastCapituloService.getCapitulosOfPodcast(podcast.getId());
@@ -178,6 +210,29 @@ public class PodcastCapituloServiceTest {
         capitulos.forEach(capitulo -> assertTrue(retrievedCapitulos.contains(capitulo)));
     }
 
+    @Test
+    void testReplaceCapitulosOfPodcastDeletesOnlyItsRemovedCapitulos()
+            throws EntityNotFoundException, IllegalOperationException {
+        capituloList.get(0).setPodcast(podcast);
+        capituloList.get(1).setPodcast(podcast);
+        PodcastEntity otroPodcast = factory.manufacturePojo(PodcastEntity.class);
+        entityManager.persist(otroPodcast);
+        CapituloEntity otroCapitulo = factory.manufacturePojo(CapituloEntity.class);
+        otroCapitulo.setPodcast(otroPodcast);
+        entityManager.persist(otroCapitulo);
+        entityManager.flush();
+
+        Set<CapituloEntity> capitulos = podcastCapituloService.replaceCapitulosOfPodcast(podcast.getId(),
+                Set.of(capituloList.get(1), otroCapitulo));
+
+        assertEquals(Set.of(capituloList.get(1), otroCapitulo), capitulos);
+        assertNull(entityManager.find(CapituloEntity.class, capituloList.get(0).getId()));
+        assertNotNull(entityManager.find(CapituloEntity.class, capituloList.get(2).getId()));
+        assertEquals(podcast.getId(),
+                entityManager.find(CapituloEntity.class, otroCapitulo.getId()).getPodcast().getId());
+        assertTrue(entityManager.find(PodcastEntity.class, otroPodcast.getId()).getCapitulos().isEmpty());
+    }
+
     @Test
     void testReplaceCapitulosOfPodcastWithDuplicateCreadores()
             throws EntityNotFoundException, IllegalOperationException {
@@ -194,6 +249,15 @@ public class PodcastCapituloServiceTest {
         });
     }
 
+    @Test
+    void testReplaceCapitulosOfPodcastWithNormalizedDuplicate() {
+        capituloList.get(0).setTitulo("Capítulo");
+        capituloList.get(1).setTitulo("capitulo");
+        assertThrows(IllegalOperationException.class, () -> {
+            podcastCapituloService.replaceCapitulosOfPodcast(podcast.getId(), capituloSet);
+        });
+    }
+
     @Test
     void testReplaceCapitulosOfInvalidPodcast() {
         assertThrows(EntityNotFoundException.class, () -> {
@@ -225,6 +289,26 @@ public class PodcastCapituloServiceTest {
         assertFalse(podcastCapituloService.getCapitulosOfPodcast(podcast.getId()).contains(capituloList.get(0)));
     }
 
+    @Test
+    void testGetAndRemoveCapituloWithoutLoadingPodcast() throws EntityNotFoundException, IllegalOperationException {
+        for (int i = 0; i < 200; i++) {
+            CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+            capitulo.setPodcast(podcast);
+            entityManager.persist(capitulo);
+        }
+        capituloList.get(0).setPodcast(podcast);
+        entityManager.flush();
+        entityManager.clear();
+        Long capituloId = capituloList.get(0).getId();
+
+        assertEquals(capituloId, podcastCapituloService.getCapituloOfPodcast(podcast.getId(), capituloId).getId());
+        podcastCapituloService.removeCapituloOfPodcast(podcast.getId(), capituloId);
+
+        assertFalse(Hibernate.isInitialized(entityManager.find(PodcastEntity.class, podcast.getId()).getCapitulos()));
+        assertThrows(IllegalOperationException.class,
+                () -> podcastCapituloService.getCapituloOfPodcast(podcast.getId(), capituloId));
+    }
+
     @Test
     void testRemoveInvalidCapituloOfPodcast() {
         assertThrows(EntityNotFoundException.class, () -> {
@@ -238,4 +322,67 @@ public class PodcastCapituloServiceTest {
             podcastCapituloService.removeCapituloOfPodcast(0L, capituloList.get(0).getId());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateCapitulosOfPodcast() throws EntityNotFoundException, IllegalOperationException {
+        List<CapituloEntity> capitulos = new ArrayList<CapituloEntity>();
+        for (int i = 0; i < 120; i++)
+            capitulos.add(factory.manufacturePojo(CapituloEntity.class));
+
+        List<CapituloEntity> created = podcastCapituloService.createCapitulosOfPodcast(podcast.getId(), capitulos);
+        assertEquals(120, created.size());
+
+        entityManager.clear();
+        for (CapituloEntity capitulo : created) {
+            CapituloEntity entity = entityManager.find(CapituloEntity.class, capitulo.getId());
+            assertEquals(capitulo.getTitulo(), entity.getTitulo());
+            assertEquals(podcast.getId(), entity.getPodcast().getId());
+        }
+    }
+
+    @Test
+    void testCreateCapitulosOfInvalidPodcast() {
+        assertThrows(EntityNotFoundException.class, () -> {
+            List<CapituloEntity> capitulos = new ArrayList<CapituloEntity>();
+            capitulos.add(factory.manufacturePojo(CapituloEntity.class));
+            podcastCapituloService.createCapitulosOfPodcast(0L, capitulos);
+        });
+    }
+
+    @Test
+    void testCreateCapitulosWithEmptyTitulo() {
+        assertThrows(IllegalOperationException.class, () -> {
+            List<CapituloEntity> capitulos = new ArrayList<CapituloEntity>();
+            CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+            capitulo.setTitulo("");
+            capitulos.add(capitulo);
+            podcastCapituloService.createCapitulosOfPodcast(podcast.getId(), capitulos);
+        });
+    }
+
+    @Test
+    void testCreateCapitulosWithExistingTitulo() {
+        capituloList.get(0).setPodcast(podcast);
+        entityManager.flush();
+        assertThrows(IllegalOperationException.class, () -> {
+            List<CapituloEntity> capitulos = new ArrayList<CapituloEntity>();
+            CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+            capitulo.setTitulo(capituloList.get(0).getTitulo());
+            capitulos.add(capitulo);
+            podcastCapituloService.createCapitulosOfPodcast(podcast.getId(), capitulos);
+        });
+    }
+
+    @Test
+    void testCreateCapitulosWithRepeatedTitulo() {
+        assertThrows(IllegalOperationException.class, () -> {
+            List<CapituloEntity> capitulos = new ArrayList<CapituloEntity>();
+            for (int i = 0; i < 2; i++) {
+                CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+                capitulo.setTitulo("Capitulo");
+                capitulos.add(capitulo);
+            }
+            podcastCapituloService.createCapitulosOfPodcast(podcast.getId(), capitulos);
+        });
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -166,16 +167,43 @@ public class PodcastCreadorServiceTest {
         creadores.forEach(creador -> assertTrue(retrievedCreadores.contains(creador)));
     }
 
+    @Test
+    void testReplaceCreadoresOfPodcastRemovesPrevious() throws EntityNotFoundException, IllegalOperationException {
+        Set<CreadorEntity> creadores = new HashSet<CreadorEntity>();
+        for (int i = 0; i < 2; i++) {
+            CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
+            entityManager.persist(creador);
+            creadores.add(creador);
+        }
+        podcastCreadorService.replaceCreadoresOfPodcast(podcast.getId(), creadores);
+
+        CreadorEntity kept = creadores.iterator().next();
+        podcastCreadorService.replaceCreadoresOfPodcast(podcast.getId(), Set.of(kept));
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<CreadorEntity> retrievedCreadores = podcastCreadorService.getCreadoresOfPodcast(podcast.getId());
+        assertEquals(1, retrievedCreadores.size());
+        assertTrue(retrievedCreadores.contains(kept));
+    }
+
     @Test
     void testReplaceCreadoresOfPodcastWithDuplicateCreadores()
             throws EntityNotFoundException, IllegalOperationException {
         assertThrows(IllegalOperationException.class, () -> {
-            Set<CreadorEntity> creadores = new HashSet<CreadorEntity>();
+            // Names are unique in the database, so the repeated name comes in the request
+            Set<CreadorEntity> creadores = new LinkedHashSet<CreadorEntity>();
+            String nombre = null;
             for (int i = 0; i < 5; i++) {
                 CreadorEntity creador = factory.manufacturePojo(CreadorEntity.class);
-                creador.setNombre("Creador");
                 entityManager.persist(creador);
-                creadores.add(creador);
+                if (nombre == null)
+                    nombre = creador.getNombre();
+
+                CreadorEntity requested = new CreadorEntity();
+                requested.setId(creador.getId());
+                requested.setNombre(nombre);
+                creadores.add(requested);
             }
 
             podcastCreadorService.replaceCreadoresOfPodcast(podcast.getId(), creadores);
@@ -15,13 +15,20 @@ import javax.transaction.Transactional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import co.edu.uniandes.dse.musica.dto.PodcastDTO;
 import co.edu.uniandes.dse.musica.entities.CapituloEntity;
 import co.edu.uniandes.dse.musica.entities.CreadorEntity;
 import co.edu.uniandes.dse.musica.entities.PodcastEntity;
@@ -39,6 +46,7 @@ import uk.co.jemos.podam.api.PodamFactoryImpl;
 @DataJpaTest
 @Transactional
 @Import(PodcastService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class PodcastServiceTest {
 
     @Autowired
@@ -113,6 +121,81 @@ class PodcastServiceTest {
         }
     }
 
+    /**
+     * Test that listing podcasts with their creadores and capitulos takes the
+     * same number of queries no matter how many podcasts there are.
+     */
+    @Test
+    void testGetPodcastsQueryCountIsConstant() {
+        long few = countQueriesToListPodcasts();
+        addPodcastsWithDetails(20);
+        long many = countQueriesToListPodcasts();
+
+        // One query for the page and one for each collection of PodcastDetailDTO
+        assertEquals(3, many);
+        assertEquals(few, many);
+    }
+
+    private void addPodcastsWithDetails(int count) {
+        for (int i = 0; i < count; i++) {
+            PodcastEntity podcast = factory.manufacturePojo(PodcastEntity.class);
+            podcast.getCreadores().addAll(creadorList);
+            entityManager.persist(podcast);
+            for (int j = 0; j < 2; j++) {
+                CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+                capitulo.setPodcast(podcast);
+                entityManager.persist(capitulo);
+            }
+        }
+    }
+
+    private long countQueriesToListPodcasts() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<PodcastEntity> podcasts = podcastService.getPodcasts(PageRequest.of(0, 100));
+        for (PodcastEntity podcast : podcasts) {
+            podcast.getCreadores().size();
+            podcast.getCapitulos().size();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Test to list Podcasts one page at a time.
+     */
+    @Test
+    void testGetPodcastsPaged() {
+        Page<PodcastEntity> page = podcastService.getPodcasts(PageRequest.of(0, 2, Sort.by("id")));
+        assertEquals(2, page.getContent().size());
+        assertEquals(podcastList.size(), page.getTotalElements());
+        assertTrue(page.getContent().get(0).getId() < page.getContent().get(1).getId());
+
+        Page<PodcastEntity> last = podcastService.getPodcasts(PageRequest.of(1, 2, Sort.by("id")));
+        assertEquals(podcastList.size() - 2, last.getContent().size());
+        assertTrue(last.isLast());
+    }
+
+    /**
+     * Test to get a page of Podcast summaries.
+     */
+    @Test
+    void testGetPodcastsResumen() {
+        Page<PodcastDTO> page = podcastService.getPodcastsResumen(PageRequest.of(0, 2, Sort.by("id")));
+        assertEquals(2, page.getContent().size());
+        assertEquals(podcastList.size(), page.getTotalElements());
+
+        PodcastEntity entity = podcastList.get(0);
+        PodcastDTO dto = page.getContent().get(0);
+        assertEquals(entity.getId(), dto.getId());
+        assertEquals(entity.getTitulo(), dto.getTitulo());
+        assertEquals(entity.getDescripcion(), dto.getDescripcion());
+        assertEquals(entity.getPrecio(), dto.getPrecio());
+    }
+
     @Test
     void testCreatePodcast() throws EntityNotFoundException, IllegalOperationException {
         Set<CapituloEntity> capitulos = new HashSet<CapituloEntity>();
@@ -0,0 +1,234 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.modelmapper.TypeToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.config.ApplicationConfig;
+import co.edu.uniandes.dse.musica.dto.AlbumDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDTO;
+import co.edu.uniandes.dse.musica.dto.CancionDetailDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.helpers.Versioned;
+import co.edu.uniandes.dse.musica.repositories.AlbumRepository;
+import co.edu.uniandes.dse.musica.repositories.CancionRepository;
+import co.edu.uniandes.dse.musica.services.ReadModelService.ServiceCall;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for ReadModelService. The tests run outside of a transaction, as the
+ * controllers do now that open session in view is disabled.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ReadModelService.class, CancionService.class, ApplicationConfig.class })
+class ReadModelServiceTest {
+
+	@Autowired
+	private ReadModelService readModelService;
+
+	@Autowired
+	private CancionService cancionService;
+
+	@Autowired
+	private CancionRepository cancionRepository;
+
+	@Autowired
+	private AlbumRepository albumRepository;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private CancionEntity cancion;
+
+	private AlbumEntity album;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		album = albumRepository.save(factory.manufacturePojo(AlbumEntity.class));
+		CancionEntity newCancion = factory.manufacturePojo(CancionEntity.class);
+		newCancion.getAlbumes().add(album);
+		cancion = cancionRepository.save(newCancion);
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	@AfterEach
+	void tearDown() {
+		cancionRepository.deleteAll();
+		albumRepository.deleteAll();
+	}
+
+	/**
+	 * Test that an entity returned by a service can not be mapped once its
+	 * transaction is over.
+	 */
+	@Test
+	void testEntityOutsideTransaction() throws EntityNotFoundException {
+		CancionEntity entity = cancionService.getCancion(cancion.getId());
+		assertThrows(LazyInitializationException.class, () -> entity.getAlbumes().size());
+	}
+
+	/**
+	 * Test to read a detail DTO with its lazy collections.
+	 */
+	@Test
+	void testRead() throws EntityNotFoundException, IllegalOperationException {
+		CancionDetailDTO dto = readModelService.read(() -> cancionService.getCancion(cancion.getId()),
+				CancionDetailDTO.class);
+		assertEquals(cancion.getTitulo(), dto.getTitulo());
+		assertEquals(1, dto.getAlbumes().size());
+		assertEquals(album.getId(), dto.getAlbumes().iterator().next().getId());
+	}
+
+	/**
+	 * Test to read a list of DTOs with a TypeToken.
+	 */
+	@Test
+	void testReadList() throws EntityNotFoundException, IllegalOperationException {
+		List<CancionDetailDTO> dtos = readModelService.read(() -> cancionService.getCanciones(),
+				new TypeToken<List<CancionDetailDTO>>() {
+				}.getType());
+		assertEquals(1, dtos.size());
+		assertEquals(1, dtos.get(0).getAlbumes().size());
+	}
+
+	/**
+	 * Test to read a page of DTOs.
+	 */
+	@Test
+	void testReadPage() throws EntityNotFoundException, IllegalOperationException {
+		Page<CancionDetailDTO> page = readModelService.readPage(() -> cancionService.getCanciones(PageRequest.of(0, 5)),
+				CancionDetailDTO.class);
+		assertEquals(1, page.getTotalElements());
+		assertEquals(1, page.getContent().get(0).getAlbumes().size());
+	}
+
+	/**
+	 * Test that the exceptions of the services reach the caller.
+	 */
+	@Test
+	void testReadNotFound() {
+		assertThrows(EntityNotFoundException.class, () -> {
+			readModelService.read(() -> cancionService.getCancion(0L), CancionDetailDTO.class);
+		});
+	}
+
+	/**
+	 * Test to write an entity and map the result.
+	 */
+	@Test
+	void testWrite() throws EntityNotFoundException, IllegalOperationException {
+		CancionEntity newCancion = factory.manufacturePojo(CancionEntity.class);
+		CancionDTO dto = readModelService.write(() -> cancionService.createCancion(newCancion), CancionDTO.class);
+		assertNotNull(dto.getId());
+		assertEquals(newCancion.getTitulo(), cancionRepository.findById(dto.getId()).get().getTitulo());
+	}
+
+	/**
+	 * Test that the ETag of a DTO does not change while its entities do not.
+	 */
+	@Test
+	void testReadVersioned() throws EntityNotFoundException, IllegalOperationException {
+		Versioned<CancionDetailDTO> first = readModelService.readVersioned(() -> cancionService.getCancion(cancion.getId()),
+				CancionDetailDTO.class);
+		Versioned<CancionDetailDTO> second = readModelService
+				.readVersioned(() -> cancionService.getCancion(cancion.getId()), CancionDetailDTO.class);
+		assertEquals(cancion.getTitulo(), first.getContent().getTitulo());
+		assertEquals(first.getEtag(), second.getEtag());
+		assertTrue(first.getLastModified() > 0);
+	}
+
+	/**
+	 * Test that the ETag of a DTO changes when one of its associated entities is
+	 * updated.
+	 */
+	@Test
+	void testReadVersionedAssociationUpdated() throws EntityNotFoundException, IllegalOperationException {
+		ServiceCall<CancionEntity> call = () -> cancionService.getCancion(cancion.getId());
+		String etag = readModelService.readVersioned(call, CancionDetailDTO.class).getEtag();
+
+		AlbumEntity albumEntity = albumRepository.findById(album.getId()).get();
+		albumEntity.setTitulo(albumEntity.getTitulo() + "-editado");
+		albumRepository.save(albumEntity);
+
+		Versioned<CancionDetailDTO> changed = readModelService.readVersioned(call, CancionDetailDTO.class);
+		assertNotEquals(etag, changed.getEtag());
+		assertEquals(albumEntity.getTitulo(), changed.getContent().getAlbumes().iterator().next().getTitulo());
+	}
+
+	/**
+	 * Test that a list of DTOs gets an ETag but no Last-Modified.
+	 */
+	@Test
+	void testReadVersionedList() throws EntityNotFoundException, IllegalOperationException {
+		Versioned<List<AlbumDTO>> albums = readModelService.readVersioned(() -> albumRepository.findAll(),
+				new TypeToken<List<AlbumDTO>>() {
+				}.getType());
+		assertEquals(1, albums.getContent().size());
+		assertNotNull(albums.getEtag());
+		assertEquals(-1, albums.getLastModified());
+	}
+
+	/**
+	 * Test to write an entity with the ETag it was read with.
+	 */
+	@Test
+	void testWriteIfMatch() throws EntityNotFoundException, IllegalOperationException {
+		ServiceCall<CancionEntity> current = () -> cancionService.getCancion(cancion.getId());
+		String etag = readModelService.readVersioned(current, CancionDetailDTO.class).getEtag();
+		CancionEntity changes = factory.manufacturePojo(CancionEntity.class);
+
+		CancionDTO dto = readModelService.writeIfMatch(etag, current, CancionDetailDTO.class,
+				() -> cancionService.updateCancion(cancion.getId(), changes), CancionDTO.class);
+		assertEquals(changes.getTitulo(), dto.getTitulo());
+		assertNotEquals(etag, readModelService.readVersioned(current, CancionDetailDTO.class).getEtag());
+	}
+
+	/**
+	 * Test that an update with an old ETag is rejected and leaves the entity as
+	 * it was.
+	 */
+	@Test
+	void testWriteIfMatchModified() throws EntityNotFoundException, IllegalOperationException {
+		ServiceCall<CancionEntity> current = () -> cancionService.getCancion(cancion.getId());
+		String etag = readModelService.readVersioned(current, CancionDetailDTO.class).getEtag();
+
+		CancionEntity firstChanges = factory.manufacturePojo(CancionEntity.class);
+		readModelService.write(() -> cancionService.updateCancion(cancion.getId(), firstChanges), CancionDTO.class);
+
+		CancionEntity lostChanges = factory.manufacturePojo(CancionEntity.class);
+		assertThrows(IllegalOperationException.class, () -> {
+			readModelService.writeIfMatch(etag, current, CancionDetailDTO.class,
+					() -> cancionService.updateCancion(cancion.getId(), lostChanges), CancionDTO.class);
+		});
+		assertEquals(firstChanges.getTitulo(), cancionRepository.findById(cancion.getId()).get().getTitulo());
+	}
+}
@@ -0,0 +1,185 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.entities.ReproduccionEntity;
+import co.edu.uniandes.dse.musica.entities.UsuarioEntity;
+import co.edu.uniandes.dse.musica.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.musica.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.musica.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.musica.exceptions.ServiceUnavailableException;
+import co.edu.uniandes.dse.musica.repositories.ReproduccionRepository;
+import co.edu.uniandes.dse.musica.repositories.UsuarioRepository;
+
+/**
+ * Tests for ReproduccionService. The plays are written from their own
+ * transactions, so the tests run outside of one and clean the tables
+ * themselves. The writer only wakes up after a minute, so the tests flush.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = { "musica.reproducciones.capacity=4", "musica.reproducciones.flush-millis=60000" })
+@Import({ ReproduccionService.class, JacksonAutoConfiguration.class })
+class ReproduccionServiceTest {
+
+	@Autowired
+	private ReproduccionService reproduccionService;
+
+	@Autowired
+	private ReproduccionRepository reproduccionRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UsuarioEntity usuario;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		usuario = new UsuarioEntity();
+		usuario.setNombre("Ana");
+		usuario = usuarioRepository.save(usuario);
+	}
+
+	/**
+	 * Clean tables in the test, after writing what is left in the buffer.
+	 */
+	@AfterEach
+	void clearData() {
+		reproduccionService.flush();
+		for (String table : List.of("reproduccion_entity", "usuario_entity"))
+			jdbcTemplate.update("DELETE FROM " + table);
+	}
+
+	private int record(Long usuarioId, String json)
+			throws EntityNotFoundException, IllegalOperationException, ServiceUnavailableException, IOException {
+		InputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+		return reproduccionService.record(usuarioId, in);
+	}
+
+	/**
+	 * Test to record a single play and a batch of plays and write them.
+	 */
+	@Test
+	void testRecord() throws Exception {
+		assertEquals(1, record(usuario.getId(), "{\"cancionId\":7,\"fecha\":\"2022-03-01T10:15:30Z\"}"));
+		assertEquals(2, record(usuario.getId(), "[{\"capituloId\":3,\"fecha\":1000},{\"cancionId\":8,\"otro\":[1]}]"));
+		assertEquals(3, reproduccionService.pending());
+		assertEquals(0, reproduccionRepository.count());
+
+		assertEquals(3, reproduccionService.flush());
+		assertEquals(0, reproduccionService.pending());
+		assertEquals(3, reproduccionRepository.countByUsuarioId(usuario.getId()));
+
+		List<ReproduccionEntity> plays = reproduccionRepository.findAll();
+		plays.sort((a, b) -> a.getId().compareTo(b.getId()));
+		assertEquals(7L, plays.get(0).getCancionId());
+		assertNull(plays.get(0).getCapituloId());
+		assertEquals(Instant.parse("2022-03-01T10:15:30Z"), plays.get(0).getFecha());
+		assertEquals(3L, plays.get(1).getCapituloId());
+		assertEquals(Instant.ofEpochMilli(1000), plays.get(1).getFecha());
+		assertEquals(8L, plays.get(2).getCancionId());
+	}
+
+	/**
+	 * Test that the plays of a request are rejected when the buffer has no room
+	 * for all of them, and accepted once it is written.
+	 */
+	@Test
+	void testBufferFull() throws Exception {
+		assertEquals(3, record(usuario.getId(), "[{\"cancionId\":1},{\"cancionId\":2},{\"cancionId\":3}]"));
+		assertThrows(ServiceUnavailableException.class,
+				() -> record(usuario.getId(), "[{\"cancionId\":4},{\"cancionId\":5}]"));
+		assertEquals(3, reproduccionService.pending());
+
+		reproduccionService.flush();
+		assertEquals(2, record(usuario.getId(), "[{\"cancionId\":4},{\"cancionId\":5}]"));
+		assertThrows(IllegalOperationException.class, () -> record(usuario.getId(),
+				"[{\"cancionId\":1},{\"cancionId\":2},{\"cancionId\":3},{\"cancionId\":4},{\"cancionId\":5}]"));
+	}
+
+	/**
+	 * Test that a body with more plays than the buffer holds is rejected as soon
+	 * as they are read, before the end of the body.
+	 */
+	@Test
+	void testTooManyPlaysStopsReading() {
+		IllegalOperationException e = assertThrows(IllegalOperationException.class, () -> record(usuario.getId(),
+				"[{\"cancionId\":1},{\"cancionId\":2},{\"cancionId\":3},{\"cancionId\":4},{\"cancionId\":5}, no es json"));
+		assertEquals(ErrorMessage.TOO_MANY_PLAYS, e.getMessage());
+		assertEquals(0, reproduccionService.pending());
+	}
+
+	/**
+	 * Test that the plays of a batch that cannot be written stay in the buffer
+	 * and are written by a later flush.
+	 */
+	@Test
+	void testFlushFailureKeepsPlays() throws Exception {
+		assertEquals(2, record(usuario.getId(), "[{\"cancionId\":1},{\"cancionId\":2}]"));
+		jdbcTemplate.execute("ALTER TABLE reproduccion_entity RENAME TO reproduccion_entity_aparte");
+		try {
+			assertThrows(DataAccessException.class, () -> reproduccionService.flush());
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE reproduccion_entity_aparte RENAME TO reproduccion_entity");
+		}
+		assertEquals(2, reproduccionService.pending());
+		assertEquals(0, reproduccionService.lost());
+
+		assertEquals(2, reproduccionService.flush());
+		assertEquals(2, reproduccionRepository.countByUsuarioId(usuario.getId()));
+	}
+
+	/**
+	 * Test that no play of a request is accepted when one is not valid.
+	 */
+	@Test
+	void testRecordInvalid() {
+		assertThrows(IllegalOperationException.class,
+				() -> record(usuario.getId(), "[{\"cancionId\":1},{\"cancionId\":2,\"capituloId\":3}]"));
+		assertThrows(IllegalOperationException.class, () -> record(usuario.getId(), "[{\"fecha\":1}]"));
+		assertThrows(IllegalOperationException.class,
+				() -> record(usuario.getId(), "{\"cancionId\":1,\"fecha\":\"ayer\"}"));
+		assertThrows(IllegalOperationException.class, () -> record(usuario.getId(), "[{\"cancionId\":1}"));
+		assertThrows(IllegalOperationException.class, () -> record(usuario.getId(), "7"));
+		assertEquals(0, reproduccionService.pending());
+	}
+
+	/**
+	 * Test to record plays of a usuario that does not exist.
+	 */
+	@Test
+	void testRecordInvalidUsuario() {
+		assertThrows(EntityNotFoundException.class, () -> record(0L, "{\"cancionId\":1}"));
+	}
+}
@@ -0,0 +1,184 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.SearchResultDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for SearchService.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import({ SearchService.class, CancionService.class })
+class SearchServiceTest {
+
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private CancionService cancionService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private CancionEntity cancion;
+
+	private AlbumEntity album;
+
+	private CreadorEntity creador;
+
+	private PodcastEntity podcast;
+
+	private CapituloEntity capitulo;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+		insertData();
+		searchService.rebuild();
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from CapituloEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from AlbumEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CancionEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CreadorEntity").executeUpdate();
+	}
+
+	/**
+	 * Insert initial data for test.
+	 */
+	private void insertData() {
+		cancion = factory.manufacturePojo(CancionEntity.class);
+		cancion.setTitulo("Luces de la Ciudad");
+		entityManager.persist(cancion);
+
+		album = factory.manufacturePojo(AlbumEntity.class);
+		album.setTitulo("Ciudad de la Furia");
+		entityManager.persist(album);
+
+		creador = factory.manufacturePojo(CreadorEntity.class);
+		creador.setNombre("Gustavo Cerati");
+		entityManager.persist(creador);
+
+		podcast = factory.manufacturePojo(PodcastEntity.class);
+		podcast.setTitulo("Historias");
+		podcast.setDescripcion("Relatos de la ciudad de noche");
+		entityManager.persist(podcast);
+
+		capitulo = factory.manufacturePojo(CapituloEntity.class);
+		capitulo.setTitulo("La luz de la noche");
+		capitulo.setPodcast(podcast);
+		entityManager.persist(capitulo);
+		entityManager.flush();
+	}
+
+	/**
+	 * Test that rebuilding the index reads every searchable entity.
+	 */
+	@Test
+	void testRebuild() {
+		assertEquals(5, searchService.rebuild());
+	}
+
+	/**
+	 * Test to search every type of entity by its text.
+	 */
+	@Test
+	void testSearch() {
+		List<SearchResultDTO> results = searchService.search("ciudad", 10);
+		assertEquals(3, results.size());
+		assertEquals(List.of(SearchIndexer.ALBUM, SearchIndexer.CANCION, SearchIndexer.PODCAST),
+				results.stream().map(SearchResultDTO::getTipo).sorted().collect(Collectors.toList()));
+
+		results = searchService.search("LUZ noche", 10);
+		assertEquals(1, results.size());
+		assertEquals(SearchIndexer.CAPITULO, results.get(0).getTipo());
+		assertEquals(capitulo.getId(), results.get(0).getId());
+		assertEquals(capitulo.getTitulo(), results.get(0).getTitulo());
+
+		results = searchService.search("cerati", 10);
+		assertEquals(1, results.size());
+		assertEquals(creador.getId(), results.get(0).getId());
+	}
+
+	/**
+	 * Test that the results are sorted by score and cut at the limit.
+	 */
+	@Test
+	void testSearchLimit() {
+		List<SearchResultDTO> results = searchService.search("ciudad", 2);
+		assertEquals(2, results.size());
+		assertTrue(results.get(0).getScore() >= results.get(1).getScore());
+		assertEquals(1, searchService.search("ciudad", 0).size());
+	}
+
+	/**
+	 * Test that a fuzzy search finds misspelled words.
+	 */
+	@Test
+	void testFuzzySearch() {
+		assertTrue(searchService.search("gustabo zerati", 10).isEmpty());
+		List<SearchResultDTO> results = searchService.search("gustabo zerati", 10, true);
+		assertEquals(1, results.size());
+		assertEquals(creador.getId(), results.get(0).getId());
+
+		results = searchService.search("siudad", 10, true);
+		assertEquals(3, results.size());
+	}
+
+	/**
+	 * Test that a query without terms finds nothing.
+	 */
+	@Test
+	void testSearchWithoutTerms() {
+		assertTrue(searchService.search("de la", 10).isEmpty());
+		assertTrue(searchService.search("", 10).isEmpty());
+	}
+
+	/**
+	 * Test that the index only changes once the transaction commits.
+	 */
+	@Test
+	void testIndexAfterCommit() throws Exception {
+		CancionEntity nueva = factory.manufacturePojo(CancionEntity.class);
+		nueva.setTitulo("Crimen");
+		cancionService.createCancion(nueva);
+		cancionService.deleteCancion(cancion.getId());
+
+		assertTrue(searchService.search("crimen", 10).isEmpty());
+		assertEquals(cancion.getId(), searchService.search("luces ciudad", 10).get(0).getId());
+	}
+}
@@ -0,0 +1,217 @@
+package co.edu.uniandes.dse.musica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.musica.dto.SuggestionDTO;
+import co.edu.uniandes.dse.musica.entities.AlbumEntity;
+import co.edu.uniandes.dse.musica.entities.CancionEntity;
+import co.edu.uniandes.dse.musica.entities.CapituloEntity;
+import co.edu.uniandes.dse.musica.entities.CreadorEntity;
+import co.edu.uniandes.dse.musica.entities.PlaylistEntity;
+import co.edu.uniandes.dse.musica.entities.PodcastEntity;
+import co.edu.uniandes.dse.musica.helpers.SearchIndexer;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Tests for SuggestService.
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Transactional
+@Import({ SuggestService.class, PlaylistCancionService.class, PlaylistService.class })
+class SuggestServiceTest {
+
+	@Autowired
+	private SuggestService suggestService;
+
+	@Autowired
+	private PlaylistCancionService playlistCancionService;
+
+	@Autowired
+	private PlaylistService playlistService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private PodamFactory factory = new PodamFactoryImpl();
+
+	private CancionEntity solitaria;
+
+	private CancionEntity sonada;
+
+	private AlbumEntity album;
+
+	private CreadorEntity creador;
+
+	private PodcastEntity podcast;
+
+	/**
+	 * Initial test configuration.
+	 */
+	@BeforeEach
+	void setUp() {
+		clearData();
+		insertData();
+		suggestService.rebuild();
+	}
+
+	/**
+	 * Clean tables in the test.
+	 */
+	private void clearData() {
+		entityManager.getEntityManager().createQuery("delete from PistaEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CapituloEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from PodcastEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from PlaylistEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CreadorEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from AlbumEntity").executeUpdate();
+		entityManager.getEntityManager().createQuery("delete from CancionEntity").executeUpdate();
+	}
+
+	/**
+	 * Insert initial data for test. Sonada is in two playlists, its album and
+	 * creador inherit that popularity.
+	 */
+	private void insertData() {
+		solitaria = factory.manufacturePojo(CancionEntity.class);
+		solitaria.setTitulo("Soledad");
+		entityManager.persist(solitaria);
+
+		sonada = factory.manufacturePojo(CancionEntity.class);
+		sonada.setTitulo("Sonámbulo");
+		entityManager.persist(sonada);
+
+		for (int i = 0; i < 2; i++) {
+			PlaylistEntity playlist = factory.manufacturePojo(PlaylistEntity.class);
+			playlist.getCanciones().add(sonada);
+			entityManager.persist(playlist);
+		}
+
+		album = factory.manufacturePojo(AlbumEntity.class);
+		album.setTitulo("Sol de Noche");
+		album.getCanciones().add(sonada);
+		album.getCanciones().add(solitaria);
+		entityManager.persist(album);
+
+		creador = factory.manufacturePojo(CreadorEntity.class);
+		creador.setNombre("Soda Stereo");
+		creador.getAlbumes().add(album);
+		entityManager.persist(creador);
+
+		podcast = factory.manufacturePojo(PodcastEntity.class);
+		podcast.setTitulo("Sobremesa");
+		entityManager.persist(podcast);
+
+		CapituloEntity capitulo = factory.manufacturePojo(CapituloEntity.class);
+		capitulo.setTitulo("Solo capitulo");
+		capitulo.setPodcast(podcast);
+		entityManager.persist(capitulo);
+		entityManager.flush();
+	}
+
+	/**
+	 * Test that rebuilding reads the names of every suggested type.
+	 */
+	@Test
+	void testRebuild() {
+		assertEquals(5, suggestService.rebuild());
+	}
+
+	/**
+	 * Test to suggest names by prefix, ranked by popularity and then by length.
+	 */
+	@Test
+	void testSuggest() {
+		List<SuggestionDTO> suggestions = suggestService.suggest("so", 10);
+		assertEquals(5, suggestions.size());
+		assertEquals(List.of(2L, 2L, 2L, 1L, 0L),
+				suggestions.stream().map(SuggestionDTO::getPopularidad).collect(Collectors.toList()));
+		assertEquals(List.of(SearchIndexer.CANCION, SearchIndexer.CREADOR, SearchIndexer.ALBUM),
+				suggestions.subList(0, 3).stream().map(SuggestionDTO::getTipo).collect(Collectors.toList()));
+		assertEquals(podcast.getId(), suggestions.get(3).getId());
+		assertEquals(solitaria.getId(), suggestions.get(4).getId());
+
+		suggestions = suggestService.suggest("SOL", 10);
+		assertEquals(List.of(album.getId(), solitaria.getId()),
+				suggestions.stream().map(SuggestionDTO::getId).collect(Collectors.toList()));
+		assertEquals("Sol de Noche", suggestions.get(0).getTexto());
+	}
+
+	private long popularity(String type, Long id, String prefix) {
+		return suggestService.suggest(prefix, 10).stream()
+				.filter(s -> s.getTipo().equals(type) && s.getId().equals(id)).findFirst().get().getPopularidad();
+	}
+
+	/**
+	 * Test that adding and removing canciones of a playlist changes the
+	 * popularity of the cancion, its album and its creador once each change
+	 * commits. The data is committed first and deleted at the end.
+	 */
+	@Test
+	void testPopularityFollowsPlaylists() throws Exception {
+		PlaylistEntity playlist = factory.manufacturePojo(PlaylistEntity.class);
+		entityManager.persist(playlist);
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		try {
+			playlistCancionService.addCancion(playlist.getId(), solitaria.getId());
+			assertEquals(1, popularity(SearchIndexer.CANCION, solitaria.getId(), "soledad"));
+			assertEquals(3, popularity(SearchIndexer.ALBUM, album.getId(), "sol de"));
+			assertEquals(3, popularity(SearchIndexer.CREADOR, creador.getId(), "soda"));
+
+			// Adding it again does not count it twice
+			playlistCancionService.addCancion(playlist.getId(), solitaria.getId());
+			assertEquals(1, popularity(SearchIndexer.CANCION, solitaria.getId(), "soledad"));
+
+			playlistCancionService.removeCancion(playlist.getId(), solitaria.getId());
+			playlistCancionService.removeCancion(playlist.getId(), solitaria.getId());
+			assertEquals(0, popularity(SearchIndexer.CANCION, solitaria.getId(), "soledad"));
+			assertEquals(2, popularity(SearchIndexer.ALBUM, album.getId(), "sol de"));
+			assertEquals(2, popularity(SearchIndexer.CREADOR, creador.getId(), "soda"));
+
+			// Updating the playlist counts only the canciones that enter or leave it
+			PlaylistEntity cambios = factory.manufacturePojo(PlaylistEntity.class);
+			cambios.getCanciones().add(solitaria);
+			cambios.getCanciones().add(sonada);
+			playlistService.updatePlaylist(playlist.getId(), cambios);
+			assertEquals(1, popularity(SearchIndexer.CANCION, solitaria.getId(), "soledad"));
+			assertEquals(3, popularity(SearchIndexer.CANCION, sonada.getId(), "sonam"));
+			assertEquals(4, popularity(SearchIndexer.ALBUM, album.getId(), "sol de"));
+
+			playlistService.deletePlaylist(playlist.getId());
+			assertEquals(0, popularity(SearchIndexer.CANCION, solitaria.getId(), "soledad"));
+			assertEquals(2, popularity(SearchIndexer.CANCION, sonada.getId(), "sonam"));
+			assertEquals(2, popularity(SearchIndexer.CREADOR, creador.getId(), "soda"));
+		} finally {
+			TestTransaction.start();
+			clearData();
+			TestTransaction.flagForCommit();
+		}
+	}
+
+	/**
+	 * Test that the limit cuts the suggestions and unknown prefixes find none.
+	 */
+	@Test
+	void testSuggestLimit() {
+		assertEquals(2, suggestService.suggest("so", 2).size());
+		assertTrue(suggestService.suggest("xyz", 10).isEmpty());
+		assertTrue(suggestService.suggest(" ", 10).isEmpty());
+	}
+}
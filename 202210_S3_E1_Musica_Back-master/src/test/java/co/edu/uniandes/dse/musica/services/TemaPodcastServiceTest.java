@@ -7,6 +7,7 @@ import java.util.List;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -151,6 +152,25 @@ class TemaPodcastServiceTest {
 		});
 	}
 
+	/**
+	 * Prueba para contar y consultar los podcasts de un tema sin cargarlos.
+	 */
+	@Test
+	void testCountPodcasts() throws EntityNotFoundException, IllegalOperationException {
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(podcastList.size(), podcastTemaService.countPodcasts(tema.getId()));
+		assertEquals(podcastList.get(0).getId(),
+				podcastTemaService.getPodcast(tema.getId(), podcastList.get(0).getId()).getId());
+		assertFalse(Hibernate.isInitialized(entityManager.find(TemaEntity.class, tema.getId()).getPodcasts()));
+	}
+
+	@Test
+	void testCountPodcastsInvalidTema() {
+		assertThrows(EntityNotFoundException.class, () -> podcastTemaService.countPodcasts(0L));
+	}
+
 	/**
 	 * Prueba para consultar un autor de un libro.
 	 *
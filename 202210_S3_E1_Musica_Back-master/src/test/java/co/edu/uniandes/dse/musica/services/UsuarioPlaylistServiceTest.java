@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -119,6 +120,22 @@ public class UsuarioPlaylistServiceTest {
 	        	usuarioPlaylistService.getPlaylists(0L);
 	        });
 	    }
+
+	    @Test
+	    void testCountPlaylists() throws EntityNotFoundException, IllegalOperationException {
+	        entityManager.flush();
+	        entityManager.clear();
+
+	        assertEquals(playList.size(), usuarioPlaylistService.countPlaylists(usuario.getId()));
+	        assertEquals(playList.get(0).getId(),
+	                usuarioPlaylistService.getPlaylist(playList.get(0).getId(), usuario.getId()).getId());
+	        assertFalse(Hibernate.isInitialized(entityManager.find(UsuarioEntity.class, usuario.getId()).getPlaylists()));
+	    }
+
+	    @Test
+	    void testCountPlaylistsInvalidUsuario() {
+	        assertThrows(EntityNotFoundException.class, () -> usuarioPlaylistService.countPlaylists(0L));
+	    }
 	    
 	    
 	    